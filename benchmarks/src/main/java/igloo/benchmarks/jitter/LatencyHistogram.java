@@ -0,0 +1,81 @@
+package igloo.benchmarks.jitter;
+
+/**
+ * Log-linear latency histogram (nanoseconds): each power of two is split in {@value #SUB_BUCKETS} linear buckets,
+ * so that recorded values are kept with a relative precision better than 7%. Not thread-safe: each recording thread
+ * uses its own histogram, merged with {@link #add(LatencyHistogram)} for reporting.
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private final long[] counts = new long[64 * SUB_BUCKETS];
+
+	private long count;
+
+	private long max;
+
+	public void record(long nanos) {
+		long value = Math.max(nanos, 0);
+		counts[index(value)]++;
+		count++;
+		max = Math.max(max, value);
+	}
+
+	public void add(LatencyHistogram other) {
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] += other.counts[i];
+		}
+		count += other.count;
+		max = Math.max(max, other.max);
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getMax() {
+		return max;
+	}
+
+	/**
+	 * @param percentile a percentile, between 0 and 100.
+	 * @return upper bound of the bucket containing `percentile`, capped by max value; 0 if histogram is empty.
+	 */
+	public long getPercentile(double percentile) {
+		if (count == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(percentile / 100d * count);
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= Math.max(rank, 1)) {
+				return Math.min(upperBound(i), max);
+			}
+		}
+		return max;
+	}
+
+	private static int index(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+
+	private static long upperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		long subBucket = index % SUB_BUCKETS;
+		long shift = exponent - SUB_BUCKET_BITS;
+		return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+	}
+
+}
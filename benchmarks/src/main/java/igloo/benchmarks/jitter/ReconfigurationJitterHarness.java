@@ -0,0 +1,203 @@
+package igloo.benchmarks.jitter;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.LogManager;
+
+import org.apache.logging.log4j.core.LoggerContext;
+
+import igloo.julhelper.jmx.JulLoggingConfigurator;
+import igloo.julhelper.jmx.JulLoggingManagerImpl;
+import igloo.log4j2jmx.jmx.Log4j2LoggingConfigurator;
+import igloo.log4j2jmx.jmx.Log4j2LoggingManagerImpl;
+import igloo.log4j2jmx.jul.Log4j2BridgeHandler;
+
+/**
+ * Logging latency seen by application threads while levels are modified through the logging managers.
+ * 
+ * `threads` threads log at a fixed rate (`rate` calls per second and per thread), alternately through a Log4j2 logger
+ * and a JUL logger bridged by {@link Log4j2BridgeHandler}. Call latency is measured from the intended call time, so
+ * that a stalled thread accounts for the calls it could not perform (no coordinated omission). Meanwhile, a
+ * reconfiguration thread runs {@link Log4j2LoggingManagerImpl} and {@link JulLoggingManagerImpl} operations in turn,
+ * every `interval` milliseconds. Each call latency is recorded in the histogram of the operation running when the call
+ * starts (`NONE` between operations), and the report gives, by operation, latency percentiles and worst pause.
+ * 
+ * Parameters are system properties: `jitter.threads` (default 4), `jitter.rate` (1000), `jitter.duration` (seconds,
+ * 30), `jitter.interval` (milliseconds, 100), `jitter.loggers` (live loggers, 10000).
+ * 
+ * <pre>{@code
+ * mvn -pl benchmarks -am verify -Pjitter [-Djitter.duration=60]
+ * }</pre>
+ */
+public class ReconfigurationJitterHarness {
+
+	private static final String LOG4J2_TARGET = "bench.jitter.log4j2";
+
+	private static final String JUL_TARGET = "bench.jitter.jul";
+
+	public enum Operation {
+		NONE,
+		LOG4J2_SET_LEVEL,
+		LOG4J2_UNSET_LEVEL,
+		LOG4J2_RESET,
+		JUL_SET_LEVEL,
+		JUL_UNSET_LEVEL,
+		JUL_RESET
+	}
+
+	private final int threads = Integer.getInteger("jitter.threads", 4);
+
+	private final int rate = Integer.getInteger("jitter.rate", 1000);
+
+	private final long durationNanos = TimeUnit.SECONDS.toNanos(Long.getLong("jitter.duration", 30));
+
+	private final long intervalMillis = Long.getLong("jitter.interval", 100);
+
+	private final int loggers = Integer.getInteger("jitter.loggers", 10000);
+
+	/**
+	 * Operation running on reconfiguration thread.
+	 */
+	private volatile Operation currentOperation = Operation.NONE;
+
+	private volatile boolean running = true;
+
+	public static void main(String[] args) throws InterruptedException {
+		new ReconfigurationJitterHarness().run();
+	}
+
+	public void run() throws InterruptedException {
+		LoggerContext ctx = (LoggerContext) org.apache.logging.log4j.LogManager.getContext(false);
+		List<Object> liveLoggers = new ArrayList<>();
+		for (int i = 0; i < loggers; i++) {
+			liveLoggers.add(ctx.getLogger(String.format("bench.jitter.live.package%d.Logger%d", i % 100, i)));
+			liveLoggers.add(java.util.logging.Logger.getLogger(String.format("bench.jitter.jul.live.package%d.Logger%d", i % 100, i)));
+		}
+		
+		LogManager.getLogManager().reset();
+		java.util.logging.Logger julRoot = java.util.logging.Logger.getLogger("");
+		julRoot.setLevel(java.util.logging.Level.WARNING);
+		julRoot.addHandler(new Log4j2BridgeHandler());
+		JulLoggingManagerImpl julManager = new JulLoggingManagerImpl(null, new JulLoggingConfigurator(Log4j2BridgeHandler::new));
+		julManager.updateJulKnownLoggers(JUL_TARGET);
+		Log4j2LoggingManagerImpl log4j2Manager = new Log4j2LoggingManagerImpl(julManager, new Log4j2LoggingConfigurator(), true);
+		
+		org.apache.logging.log4j.Logger log4j2Logger = ctx.getLogger(LOG4J2_TARGET + ".Service");
+		java.util.logging.Logger julLogger = java.util.logging.Logger.getLogger(JUL_TARGET + ".Resource");
+		liveLoggers.add(julLogger);
+		
+		List<Map<Operation, LatencyHistogram>> histograms = new ArrayList<>();
+		CountDownLatch done = new CountDownLatch(threads);
+		for (int t = 0; t < threads; t++) {
+			Map<Operation, LatencyHistogram> threadHistograms = new EnumMap<>(Operation.class);
+			for (Operation operation : Operation.values()) {
+				threadHistograms.put(operation, new LatencyHistogram());
+			}
+			histograms.add(threadHistograms);
+			Thread thread = new Thread(() -> {
+				try {
+					log(log4j2Logger, julLogger, threadHistograms);
+				} finally {
+					done.countDown();
+				}
+			}, "jitter-logger-" + t);
+			thread.setDaemon(true);
+			thread.start();
+		}
+		
+		long end = System.nanoTime() + durationNanos;
+		Map<Operation, Long> operationMaxNanos = new EnumMap<>(Operation.class);
+		Operation[] operations = Operation.values();
+		for (int i = 0; System.nanoTime() < end; i++) {
+			Thread.sleep(intervalMillis);
+			Operation operation = operations[1 + i % (operations.length - 1)];
+			long start = System.nanoTime();
+			currentOperation = operation;
+			perform(operation, log4j2Manager, julManager);
+			currentOperation = Operation.NONE;
+			operationMaxNanos.merge(operation, System.nanoTime() - start, Math::max);
+		}
+		running = false;
+		done.await();
+		log4j2Manager.reset();
+		julManager.reset();
+		
+		report(histograms, operationMaxNanos);
+		liveLoggers.clear();
+	}
+
+	private void perform(Operation operation, Log4j2LoggingManagerImpl log4j2Manager, JulLoggingManagerImpl julManager) {
+		switch (operation) {
+		case LOG4J2_SET_LEVEL:
+			// propagated to JUL manager as a known logger
+			log4j2Manager.setLevel(LOG4J2_TARGET, "DEBUG");
+			log4j2Manager.setLevel(JUL_TARGET, "DEBUG");
+			break;
+		case LOG4J2_UNSET_LEVEL:
+			log4j2Manager.unsetLevel(LOG4J2_TARGET);
+			log4j2Manager.unsetLevel(JUL_TARGET);
+			break;
+		case LOG4J2_RESET:
+			log4j2Manager.setLevel(LOG4J2_TARGET, "TRACE");
+			log4j2Manager.reset();
+			break;
+		case JUL_SET_LEVEL:
+			julManager.setLevel(JUL_TARGET, "FINE");
+			break;
+		case JUL_UNSET_LEVEL:
+			julManager.unsetLevel(JUL_TARGET);
+			break;
+		case JUL_RESET:
+			julManager.setLevel(JUL_TARGET, "FINEST");
+			julManager.reset();
+			break;
+		default:
+			throw new IllegalStateException(operation.name());
+		}
+	}
+
+	private void log(org.apache.logging.log4j.Logger log4j2Logger, java.util.logging.Logger julLogger,
+			Map<Operation, LatencyHistogram> threadHistograms) {
+		long period = TimeUnit.SECONDS.toNanos(1) / rate;
+		long intended = System.nanoTime();
+		for (long i = 0; running; i++) {
+			intended += period;
+			long wait;
+			while ((wait = intended - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			Operation operation = currentOperation;
+			if (i % 2 == 0) {
+				log4j2Logger.debug("request {} processed", i);
+			} else {
+				julLogger.log(java.util.logging.Level.FINE, "request {0} processed", i);
+			}
+			threadHistograms.get(operation).record(System.nanoTime() - intended);
+		}
+	}
+
+	private void report(List<Map<Operation, LatencyHistogram>> histograms, Map<Operation, Long> operationMaxNanos) {
+		System.out.printf(Locale.ROOT, "%d threads x %d calls/s, %d live loggers, operation every %d ms%n", threads, rate,
+				loggers, intervalMillis);
+		System.out.printf(Locale.ROOT, "%-20s %10s %10s %10s %10s %12s %14s%n", "operation", "calls", "p50 (us)",
+				"p99 (us)", "p99.9 (us)", "worst (us)", "op. max (us)");
+		for (Operation operation : Operation.values()) {
+			LatencyHistogram merged = new LatencyHistogram();
+			histograms.forEach(h -> merged.add(h.get(operation)));
+			System.out.printf(Locale.ROOT, "%-20s %10d %10.1f %10.1f %10.1f %12.1f %14.1f%n", operation.name(),
+					merged.getCount(),
+					merged.getPercentile(50) / 1000d,
+					merged.getPercentile(99) / 1000d,
+					merged.getPercentile(99.9) / 1000d,
+					merged.getMax() / 1000d,
+					operationMaxNanos.getOrDefault(operation, 0L) / 1000d);
+		}
+	}
+
+}
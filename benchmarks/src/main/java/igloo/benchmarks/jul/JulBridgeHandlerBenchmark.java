@@ -0,0 +1,92 @@
+package igloo.benchmarks.jul;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import igloo.julhelper.bridge.IglooSlf4jBridgeHandler;
+import igloo.julhelper.bridge.JulBridgeHandlerType;
+import igloo.log4j2jmx.jul.Log4j2BridgeHandler;
+
+/**
+ * Throughput of JUL events bridged to Log4j2 (Null appender) by the stock {@link org.slf4j.bridge.SLF4JBridgeHandler},
+ * {@link IglooSlf4jBridgeHandler} (both through log4j-slf4j binding) and {@link Log4j2BridgeHandler} (direct).
+ * 
+ * JUL loggers accept all levels, as managed loggers do; filtering is left to the SLF4J backend:
+ * 
+ * * `disabled`: event discarded by SLF4J level (`bench.jul.disabled` is at ERROR);
+ * * `enabled*`: event accepted by SLF4J level (`bench.jul.enabled` is at INFO).
+ * 
+ * Run with `-prof gc` to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class JulBridgeHandlerBenchmark {
+
+	@Param({ "SLF4J", "IGLOO", "LOG4J2" })
+	private String handlerType;
+
+	private Logger disabledLogger;
+
+	private Logger enabledLogger;
+
+	private Handler handler;
+
+	private final Object parameter = "value";
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		handler = "LOG4J2".equals(handlerType) ? new Log4j2BridgeHandler() : JulBridgeHandlerType.valueOf(handlerType).newHandler();
+		disabledLogger = configure(Logger.getLogger("bench.jul.disabled"));
+		enabledLogger = configure(Logger.getLogger("bench.jul.enabled"));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		disabledLogger.removeHandler(handler);
+		enabledLogger.removeHandler(handler);
+	}
+
+	@Benchmark
+	public void disabled() {
+		disabledLogger.log(java.util.logging.Level.FINE, "disabled message {0}", parameter);
+	}
+
+	@Benchmark
+	public void enabled() {
+		enabledLogger.info("enabled message");
+	}
+
+	@Benchmark
+	public void enabledParameterized() {
+		enabledLogger.log(java.util.logging.Level.INFO, "enabled message {0}", parameter);
+	}
+
+	private Logger configure(Logger logger) {
+		logger.setLevel(java.util.logging.Level.ALL);
+		logger.setUseParentHandlers(false);
+		logger.addHandler(handler);
+		return logger;
+	}
+
+}
@@ -0,0 +1,145 @@
+package igloo.benchmarks.jul;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import igloo.julhelper.jmx.JulLoggingConfigurator;
+import igloo.julhelper.jmx.JulLoggingManagerImpl;
+import igloo.julhelper.util.LoggerNameTrie;
+
+/**
+ * Cost of {@link JulLoggingManagerImpl} operations with `loggers` live JUL loggers, `overrides` managed loggers and
+ * `knownLoggerPrefixes` JUL known loggers.
+ * 
+ * * `setLevelIfWellKnown*`: modification propagated by Log4j2LoggingManager, on a known logger descendant (level is
+ *   toggled) or on an unknown logger (no-op);
+ * * `matchJulKnownLoggers*`: known loggers lookup, on a matching or non-matching name;
+ * * `getLoggerConfig`: JMX attribute read.
+ * 
+ * Bridge handler is a no-op handler, so that only configuration cost is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JulLoggingManagerBenchmark {
+
+	@Param({ "1000", "10000", "100000" })
+	private int loggers;
+
+	@Param({ "0", "100", "1000" })
+	private int overrides;
+
+	@Param({ "10", "100", "1000" })
+	private int knownLoggerPrefixes;
+
+	/**
+	 * Strong references, as JUL keeps loggers as weak references.
+	 */
+	private final List<Logger> liveLoggers = new ArrayList<>();
+
+	private final JulLoggingConfigurator configurator = new JulLoggingConfigurator(NoopHandler::new);
+
+	private JulLoggingManagerImpl manager;
+
+	private LoggerNameTrie julKnownLoggers;
+
+	private String knownLogger;
+
+	private boolean debug;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		for (int i = 0; i < loggers; i++) {
+			liveLoggers.add(Logger.getLogger(liveLoggerName(i)));
+		}
+		List<String> prefixes = new ArrayList<>();
+		for (int i = 0; i < knownLoggerPrefixes; i++) {
+			prefixes.add(String.format("bench.jul.known%d.package%d", i, i % 10));
+		}
+		julKnownLoggers = LoggerNameTrie.of(prefixes);
+		knownLogger = prefixes.get(prefixes.size() / 2) + ".sub.Logger";
+		
+		manager = new JulLoggingManagerImpl(null, configurator);
+		manager.updateJulKnownLoggers(String.join("\n", prefixes));
+		for (int i = 0; i < Math.min(overrides, loggers); i++) {
+			manager.setLevel(liveLoggerName(i), "FINE");
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		manager.reset();
+		liveLoggers.clear();
+	}
+
+	@Benchmark
+	public void setLevelIfWellKnown_known() {
+		debug = !debug;
+		manager.setLevelIfWellKnown(knownLogger, debug ? "FINE" : "INFO");
+	}
+
+	@Benchmark
+	public void setLevelIfWellKnown_unknown() {
+		manager.setLevelIfWellKnown("bench.jul.unknown.sub.Logger", "FINE");
+	}
+
+	@Benchmark
+	public boolean matchJulKnownLoggers_match() {
+		return configurator.matchJulKnownLoggers(knownLogger, julKnownLoggers);
+	}
+
+	@Benchmark
+	public boolean matchJulKnownLoggers_noMatch() {
+		return configurator.matchJulKnownLoggers("bench.jul.unknown.sub.Logger", julKnownLoggers);
+	}
+
+	@Benchmark
+	public String getLoggerConfig() {
+		return manager.getLoggerConfig();
+	}
+
+	private static String liveLoggerName(int i) {
+		return String.format("bench.jul.live.package%d.Logger%d", i % 100, i);
+	}
+
+	public static class NoopHandler extends Handler {
+
+		@Override
+		public void publish(LogRecord record) {
+			// nothing
+		}
+
+		@Override
+		public void flush() {
+			// nothing
+		}
+
+		@Override
+		public void close() {
+			// nothing
+		}
+
+	}
+
+}
@@ -0,0 +1,155 @@
+package igloo.benchmarks.jul;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.bridge.SLF4JBridgeHandler;
+
+import igloo.julhelper.bridge.IglooSlf4jBridgeHandler;
+import igloo.julhelper.bridge.JulBridgeHandlerType;
+import igloo.julhelper.internal.AbstractJulLoggingListener;
+import igloo.julhelper.jmx.JulLoggingConfigurator;
+import igloo.julhelper.util.ManagedLogger;
+import igloo.julhelper.util.ManagedLoggerRegistry;
+
+/**
+ * Compare the JUL routing strategies described by {@link AbstractJulLoggingListener}, with the bridge wired as
+ * `initSlf4jBridgeHandler` (root handler) and {@link JulLoggingConfigurator#setLevel} (per-logger handler) do:
+ * 
+ * * `CATCH_ALL_ROOT`: root logger at ALL with bridge handler, no child level. Every record reaches the bridge and
+ *   filtering is left to the SLF4J backend;
+ * * `ROOT_SUPPRESSION`: same root setup, chatty library loggers set to WARNING so that JUL filters them;
+ * * `WARN_ROOT_CHILD_HANDLERS`: root logger at WARNING with bridge handler, application logger set to ALL with its
+ *   own bridge handler (and no parent handlers).
+ * 
+ * Backend (Log4j2, Null appender) has `bench.routing.app` at INFO and root at ERROR. Calls mimic an application:
+ * 
+ * * `appInfo`: enabled application record, with a parameter;
+ * * `appDebug`: application debug record, discarded by the backend (or by JUL);
+ * * `libraryInfo`: chatty library record, discarded by the backend (or by JUL);
+ * * `libraryWarning`: library warning, discarded by the backend at ERROR, but reaching the bridge in all strategies.
+ * 
+ * Run with `-prof gc` for allocation rates; p99 latency is reported by the `SampleTime` mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class JulRoutingStrategyBenchmark {
+
+	private static final String APP_LOGGER = "bench.routing.app";
+
+	private static final List<String> LIBRARY_LOGGERS = List.of("bench.routing.library.server",
+			"bench.routing.library.client");
+
+	public enum Strategy {
+		CATCH_ALL_ROOT,
+		ROOT_SUPPRESSION,
+		WARN_ROOT_CHILD_HANDLERS
+	}
+
+	@Param({ "CATCH_ALL_ROOT", "ROOT_SUPPRESSION", "WARN_ROOT_CHILD_HANDLERS" })
+	private Strategy strategy;
+
+	@Param({ "SLF4J", "IGLOO" })
+	private JulBridgeHandlerType handlerType;
+
+	/**
+	 * Strong references, so that JUL configuration is not lost by garbage collection.
+	 */
+	private final List<Logger> configuredLoggers = new ArrayList<>();
+
+	private final ManagedLoggerRegistry<java.util.logging.Level, Logger> managedLoggers =
+			new ManagedLoggerRegistry<>(ManagedLogger::getName);
+
+	private Logger appLogger;
+
+	private Logger libraryLogger;
+
+	private final Object parameter = "value";
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		// initSlf4jBridgeHandler
+		LogManager.getLogManager().reset();
+		Logger rootLogger = Logger.getLogger("");
+		rootLogger.setLevel(java.util.logging.Level.WARNING);
+		SLF4JBridgeHandler.removeHandlersForRootLogger();
+		IglooSlf4jBridgeHandler.removeHandlersForRootLogger();
+		rootLogger.addHandler(handlerType.newHandler());
+		configuredLoggers.add(rootLogger);
+		
+		appLogger = Logger.getLogger(APP_LOGGER);
+		libraryLogger = Logger.getLogger(LIBRARY_LOGGERS.get(0) + ".Resource");
+		configuredLoggers.add(appLogger);
+		configuredLoggers.add(libraryLogger);
+		
+		switch (strategy) {
+		case CATCH_ALL_ROOT:
+			rootLogger.setLevel(java.util.logging.Level.ALL);
+			break;
+		case ROOT_SUPPRESSION:
+			rootLogger.setLevel(java.util.logging.Level.ALL);
+			for (String name : LIBRARY_LOGGERS) {
+				Logger logger = Logger.getLogger(name);
+				logger.setLevel(java.util.logging.Level.WARNING);
+				configuredLoggers.add(logger);
+			}
+			break;
+		case WARN_ROOT_CHILD_HANDLERS:
+			new JulLoggingConfigurator(handlerType::newHandler).setLevel(APP_LOGGER, "ALL", managedLoggers, Map.of());
+			break;
+		default:
+			throw new IllegalStateException(strategy.name());
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		LogManager.getLogManager().reset();
+		configuredLoggers.clear();
+		managedLoggers.clear();
+	}
+
+	@Benchmark
+	public void appInfo() {
+		appLogger.log(java.util.logging.Level.INFO, "processed request {0}", parameter);
+	}
+
+	@Benchmark
+	public void appDebug() {
+		appLogger.log(java.util.logging.Level.FINE, "request detail {0}", parameter);
+	}
+
+	@Benchmark
+	public void libraryInfo() {
+		libraryLogger.log(java.util.logging.Level.INFO, "resource loaded {0}", parameter);
+	}
+
+	@Benchmark
+	public void libraryWarning() {
+		libraryLogger.warning("resource deprecated");
+	}
+
+}
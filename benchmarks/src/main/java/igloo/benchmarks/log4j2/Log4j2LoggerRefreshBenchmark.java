@@ -0,0 +1,96 @@
+package igloo.benchmarks.log4j2;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import igloo.log4j2jmx.jmx.Log4j2LoggerRefresher;
+
+/**
+ * Cost of a level modification on a subtree of `subtreeLoggers` loggers, in a context of `loggers` other loggers.
+ * 
+ * `targetedRefresh` ({@link Log4j2LoggerRefresher}) is expected to grow with `subtreeLoggers`, `updateLoggers`
+ * ({@link LoggerContext#updateLoggers(Configuration)}) with `loggers`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Log4j2LoggerRefreshBenchmark {
+
+	private static final String TARGET = "bench.refresh.target";
+
+	@Param({ "1000", "10000", "50000" })
+	private int loggers;
+
+	@Param({ "10", "100", "1000" })
+	private int subtreeLoggers;
+
+	private final Log4j2LoggerRefresher refresher = new Log4j2LoggerRefresher();
+
+	private LoggerContext ctx;
+
+	private Configuration conf;
+
+	private LoggerConfig targetConfig;
+
+	private boolean debug;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		ctx = (LoggerContext) LogManager.getContext(false);
+		conf = ctx.getConfiguration();
+		for (int i = 0; i < loggers; i++) {
+			ctx.getLogger(String.format("bench.refresh.other%d.Logger%d", i % 100, i));
+		}
+		for (int i = 0; i < subtreeLoggers; i++) {
+			ctx.getLogger(String.format("%s.package%d.Logger%d", TARGET, i % 10, i));
+		}
+		targetConfig = new LoggerConfig(TARGET, org.apache.logging.log4j.Level.INFO, true);
+		conf.addLogger(TARGET, targetConfig);
+		ctx.updateLoggers(conf);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		conf.removeLogger(TARGET);
+		ctx.updateLoggers(conf);
+	}
+
+	@Benchmark
+	public int targetedRefresh() {
+		toggleLevel();
+		return refresher.refresh(ctx, conf, List.of(TARGET));
+	}
+
+	@Benchmark
+	public void updateLoggers() {
+		toggleLevel();
+		ctx.updateLoggers(conf);
+	}
+
+	private void toggleLevel() {
+		debug = !debug;
+		targetConfig.setLevel(debug ? org.apache.logging.log4j.Level.DEBUG : org.apache.logging.log4j.Level.INFO);
+	}
+
+}
@@ -0,0 +1,117 @@
+package igloo.benchmarks.log4j2;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import igloo.log4j2jmx.jmx.Log4j2LoggingConfigurator;
+import igloo.log4j2jmx.jmx.Log4j2LoggingManagerImpl;
+
+/**
+ * Cost of {@link Log4j2LoggingManagerImpl} operations with `loggers` live Log4j2 loggers and `overrides` active
+ * overrides. Loggers are updated synchronously and JUL propagation is disabled.
+ * 
+ * * `setUnsetLevel`: override and restore a logger with a 10-logger subtree;
+ * * `setLevel`: modify an existing override;
+ * * `setLevelsReset`: {@link Log4j2LoggingManagerImpl#reset()}, then apply again `overrides` overrides in a single
+ *   batch;
+ * * `getLoggerConfig`: JMX attribute read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Log4j2LoggingManagerBenchmark {
+
+	private static final String TARGET = "bench.manager.target";
+
+	private static final String OVERRIDDEN = "bench.manager.overridden";
+
+	@Param({ "1000", "10000", "100000" })
+	private int loggers;
+
+	@Param({ "0", "100", "1000" })
+	private int overrides;
+
+	private Log4j2LoggingManagerImpl manager;
+
+	private String overridesConfig;
+
+	private boolean debug;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
+		for (int i = 0; i < loggers; i++) {
+			ctx.getLogger(liveLoggerName(i));
+		}
+		for (int i = 0; i < 10; i++) {
+			ctx.getLogger(String.format("%s.Logger%d", TARGET, i));
+			ctx.getLogger(String.format("%s.Logger%d", OVERRIDDEN, i));
+		}
+		StringBuilder config = new StringBuilder();
+		for (int i = 0; i < Math.min(overrides, loggers); i++) {
+			config.append(liveLoggerName(i)).append("=DEBUG\n");
+		}
+		overridesConfig = config.toString();
+		
+		manager = new Log4j2LoggingManagerImpl(null, new Log4j2LoggingConfigurator(), false);
+		setOverrides();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		manager.reset();
+	}
+
+	@Benchmark
+	public void setUnsetLevel() {
+		manager.setLevel(TARGET, "DEBUG");
+		manager.unsetLevel(TARGET);
+	}
+
+	@Benchmark
+	public void setLevel() {
+		debug = !debug;
+		manager.setLevel(OVERRIDDEN, debug ? "DEBUG" : "INFO");
+	}
+
+	@Benchmark
+	public void setLevelsReset() {
+		manager.reset();
+		setOverrides();
+	}
+
+	@Benchmark
+	public String getLoggerConfig() {
+		return manager.getLoggerConfig();
+	}
+
+	private void setOverrides() {
+		if (!overridesConfig.isEmpty()) {
+			manager.setLevels(overridesConfig);
+		}
+		manager.setLevel(OVERRIDDEN, "INFO");
+	}
+
+	private static String liveLoggerName(int i) {
+		return String.format("bench.manager.live.package%d.Logger%d", i % 100, i);
+	}
+
+}
@@ -0,0 +1,83 @@
+package igloo.julhelper.api;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generation counter for JUL levels computed from the logging backend configuration (see jul-helper
+ * `IglooJulLogManager`). Cached levels are recomputed when the generation changes.
+ * 
+ * Backend integrations (like Log4j2LoggingManager) call {@link #invalidate()} after each reconfiguration. With other
+ * backends, {@link #invalidate()} must be called by the application when backend configuration is modified.
+ * 
+ * Levels overridden by `JulLoggingManager` are also registered here (see {@link #setOverride(String, int)}), so that
+ * platform loggers can apply them without a JUL logger tree lookup.
+ */
+public final class JulBackendLevelCache {
+
+	private static final AtomicInteger GENERATION = new AtomicInteger();
+
+	private static final Map<String, Integer> OVERRIDES = new ConcurrentHashMap<>();
+
+	private JulBackendLevelCache() {}
+
+	/**
+	 * @return current generation.
+	 */
+	public static int generation() {
+		return GENERATION.get();
+	}
+
+	/**
+	 * Discard all cached backend levels.
+	 */
+	public static void invalidate() {
+		GENERATION.incrementAndGet();
+	}
+
+	/**
+	 * Register a JUL level override and discard all cached backend levels.
+	 * 
+	 * @param name overridden logger name. Required.
+	 * @param severity JUL level value (see {@link java.util.logging.Level#intValue()}).
+	 */
+	public static void setOverride(String name, int severity) {
+		OVERRIDES.put(name, severity);
+		invalidate();
+	}
+
+	/**
+	 * Unregister a JUL level override and discard all cached backend levels.
+	 * 
+	 * @param name overridden logger name. Required.
+	 */
+	public static void removeOverride(String name) {
+		OVERRIDES.remove(name);
+		invalidate();
+	}
+
+	/**
+	 * @param name a logger name. Required.
+	 * @return severity of the override registered for `name` or its nearest ancestor (root logger excluded), or
+	 *         {@link Integer#MIN_VALUE}.
+	 */
+	public static int overrideSeverity(String name) {
+		if (OVERRIDES.isEmpty()) {
+			return Integer.MIN_VALUE;
+		}
+		for (String current = name; !current.isEmpty(); current = parent(current)) {
+			Integer severity = OVERRIDES.get(current);
+			if (severity != null) {
+				return severity;
+			}
+		}
+		return Integer.MIN_VALUE;
+	}
+
+	private static String parent(String name) {
+		int index = name.lastIndexOf('.');
+		return index < 0 ? "" : name.substring(0, index);
+	}
+
+}
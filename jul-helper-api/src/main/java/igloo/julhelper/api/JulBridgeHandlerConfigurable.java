@@ -0,0 +1,22 @@
+package igloo.julhelper.api;
+
+import java.util.function.Supplier;
+import java.util.logging.Handler;
+
+/**
+ * Optional capability of a {@link JulLoggingManager} implementation: allows a third-party component (like
+ * Log4j2LoggingManager) to choose the bridge handler attached to managed JUL loggers. Not exposed through JMX.
+ */
+public interface JulBridgeHandlerConfigurable {
+
+	/**
+	 * Handler is used for subsequent {@link JulLoggingManager#setLevel(String, String)} calls; already managed loggers
+	 * keep their current handler. When bridge handlers are wrapped (asynchronous publishing, suppression,
+	 * fingerprinting), supplied handler replaces the end of the chain instead, for all bridged loggers: wrapping
+	 * handlers are kept.
+	 * 
+	 * @param bridgeHandlerSupplier provides the bridge handler attached to each managed logger. Required.
+	 */
+	void setBridgeHandlerSupplier(Supplier<Handler> bridgeHandlerSupplier);
+
+}
@@ -0,0 +1,233 @@
+package igloo.julhelper.api;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Per JUL logger counters of records published to bridge handlers, and of records accepted by the backend (backend
+ * level allows them). Records published but not accepted are wasted work: they are built, filtered and dispatched by
+ * JUL, then discarded by the bridge handler.
+ * 
+ * Bridge handlers (IglooSlf4jBridgeHandler, Log4j2BridgeHandler) keep the {@link LoggerCounters} of each JUL logger
+ * alongside their cached backend logger, so that no lookup is performed on logging path; cached counters are resolved
+ * again when {@link #version()} changes ({@link #enable(int)}, {@link #disable()}). Counters are {@link LongAdder}
+ * (striped), so that concurrent logging threads do not contend on a single counter. Counters are kept by JUL level:
+ * FINEST, FINER, FINE, CONFIG, INFO, WARNING and SEVERE (custom levels are counted with the closest lower level).
+ * 
+ * Counting is disabled by default: it is enabled with {@link #enable(int)} (see jul-helper `julBridgeStatistics`
+ * listener parameter). At most `maxLoggers` JUL loggers are tracked; other
+ * loggers are not counted. {@link #disable()} discards all counters (on application undeploy).
+ */
+public final class JulBridgeStatistics {
+
+	private static final Level[] LEVELS = { Level.FINEST, Level.FINER, Level.FINE, Level.CONFIG, Level.INFO,
+			Level.WARNING, Level.SEVERE };
+
+	public static final int DEFAULT_MAX_LOGGERS = 1000;
+
+	private static final ConcurrentMap<String, LoggerCounters> COUNTERS = new ConcurrentHashMap<>();
+
+	/**
+	 * Counters returned for untracked loggers: records are not counted.
+	 */
+	private static volatile LoggerCounters untracked = new LoggerCounters(null, false, 0);
+
+	private static final AtomicInteger VERSION = new AtomicInteger();
+
+	/**
+	 * Maximum number of tracked loggers; 0 if counting is disabled.
+	 */
+	private static volatile int maxLoggers;
+
+	private JulBridgeStatistics() {}
+
+	/**
+	 * Enable counting. Counters returned by {@link #forLogger(String)} before this call do not count records; they must
+	 * be resolved again (see {@link #version()}).
+	 * 
+	 * @param maxLoggers maximum number of tracked loggers. Must be positive.
+	 */
+	public static synchronized void enable(int maxLoggers) {
+		if (maxLoggers <= 0) {
+			throw new IllegalArgumentException(String.format("Max loggers must be positive (%d)", maxLoggers));
+		}
+		JulBridgeStatistics.maxLoggers = maxLoggers;
+		nextVersion();
+	}
+
+	/**
+	 * Disable counting and discard all counters.
+	 */
+	public static synchronized void disable() {
+		maxLoggers = 0;
+		COUNTERS.clear();
+		nextVersion();
+	}
+
+	/**
+	 * @return a counter incremented by {@link #enable(int)} and {@link #disable()}. Counters returned by
+	 *         {@link #forLogger(String)} are valid while {@link LoggerCounters#getVersion()} matches.
+	 */
+	public static int version() {
+		return VERSION.get();
+	}
+
+	public static boolean isEnabled() {
+		return maxLoggers > 0;
+	}
+
+	/**
+	 * @param loggerName a JUL logger name. Required.
+	 * @return counters for `loggerName`, created if needed; counters that do not count records if counting is
+	 *         disabled or if `maxLoggers` loggers are already tracked.
+	 */
+	public static LoggerCounters forLogger(String loggerName) {
+		int version = VERSION.get();
+		int max = maxLoggers;
+		if (max == 0) {
+			return untracked;
+		}
+		LoggerCounters counters = COUNTERS.get(loggerName);
+		if (counters == null) {
+			// approximate bound under concurrent creation
+			if (COUNTERS.size() >= max) {
+				return untracked;
+			}
+			counters = COUNTERS.computeIfAbsent(loggerName, n -> new LoggerCounters(n, true, version));
+		}
+		// tracked counters are kept by enable(int)
+		counters.version = version;
+		return counters;
+	}
+
+	/**
+	 * @return counters of all JUL loggers with published records. Unmodifiable view.
+	 */
+	public static Collection<LoggerCounters> getAll() {
+		return Collections.unmodifiableCollection(COUNTERS.values());
+	}
+
+	/**
+	 * Reset all counters. Counters instances are kept, as they are cached by bridge handlers.
+	 */
+	public static void reset() {
+		COUNTERS.values().forEach(LoggerCounters::reset);
+	}
+
+	private static void nextVersion() {
+		int version = VERSION.incrementAndGet();
+		untracked = new LoggerCounters(null, false, version);
+	}
+
+	private static int bucket(int levelValue) {
+		for (int i = LEVELS.length - 1; i > 0; i--) {
+			if (levelValue >= LEVELS[i].intValue()) {
+				return i;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Counters of a JUL logger.
+	 */
+	public static final class LoggerCounters {
+
+		private final String loggerName;
+		
+		private final boolean tracked;
+		
+		private final LongAdder[] published = new LongAdder[LEVELS.length];
+		
+		private final LongAdder[] accepted = new LongAdder[LEVELS.length];
+		
+		private volatile int version;
+		
+		private LoggerCounters(String loggerName, boolean tracked, int version) {
+			this.loggerName = loggerName;
+			this.tracked = tracked;
+			this.version = version;
+			for (int i = 0; i < LEVELS.length; i++) {
+				published[i] = new LongAdder();
+				accepted[i] = new LongAdder();
+			}
+		}
+		
+		/**
+		 * @param levelValue JUL record level value.
+		 * @param acceptedByBackend true if backend level allows the record.
+		 */
+		public void record(int levelValue, boolean acceptedByBackend) {
+			if (!tracked || maxLoggers == 0) {
+				return;
+			}
+			int bucket = bucket(levelValue);
+			published[bucket].increment();
+			if (acceptedByBackend) {
+				accepted[bucket].increment();
+			}
+		}
+		
+		public String getLoggerName() {
+			return loggerName;
+		}
+		
+		/**
+		 * @return {@link JulBridgeStatistics#version()} these counters are valid for.
+		 */
+		public int getVersion() {
+			return version;
+		}
+		
+		public long getPublishedCount() {
+			return sum(published);
+		}
+		
+		public long getAcceptedCount() {
+			return sum(accepted);
+		}
+		
+		/**
+		 * @return ratio of published records discarded by the backend, between 0 and 1; 0 if no record is published.
+		 */
+		public double getWasteRatio() {
+			long publishedCount = getPublishedCount();
+			return publishedCount == 0 ? 0d : (double) (publishedCount - getAcceptedCount()) / publishedCount;
+		}
+		
+		/**
+		 * @return the lowest JUL level with accepted records, so that JUL discards lower (wasted) records before they
+		 *         reach the bridge; {@link Level#OFF} if no record is accepted.
+		 */
+		public Level getSuggestedLevel() {
+			for (int i = 0; i < LEVELS.length; i++) {
+				if (accepted[i].sum() > 0) {
+					return LEVELS[i];
+				}
+			}
+			return Level.OFF;
+		}
+		
+		private void reset() {
+			for (int i = 0; i < LEVELS.length; i++) {
+				published[i].reset();
+				accepted[i].reset();
+			}
+		}
+		
+		private static long sum(LongAdder[] counters) {
+			long sum = 0;
+			for (LongAdder counter : counters) {
+				sum += counter.sum();
+			}
+			return sum;
+		}
+
+	}
+
+}
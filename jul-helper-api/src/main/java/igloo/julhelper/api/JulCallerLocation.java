@@ -0,0 +1,72 @@
+package igloo.julhelper.api;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import igloo.julhelper.util.LoggerNameTrie;
+
+/**
+ * Caller location switch for bridged JUL records. Location is disabled by default: bridge handlers that support it
+ * (like Log4j2BridgeHandler) publish records with a placeholder location, so that no stack walking is performed, even
+ * if backend layout prints location. Location is enabled for loggers (and their descendants) added with
+ * {@link #enable(String)}, or for all loggers with the `igloo.julhelper.callerLocation=true` system property; it is
+ * then computed lazily by the backend, only if layout needs it.
+ * 
+ * Handlers may cache {@link #isEnabled(String)} results until {@link #version()} changes.
+ */
+public final class JulCallerLocation {
+
+	private static final String PROPERTY_CALLER_LOCATION = "igloo.julhelper.callerLocation";
+
+	private static final boolean ENABLED_BY_DEFAULT = Boolean.getBoolean(PROPERTY_CALLER_LOCATION);
+
+	private static final AtomicInteger VERSION = new AtomicInteger();
+
+	private static volatile LoggerNameTrie enabledLoggers = LoggerNameTrie.EMPTY;
+
+	private JulCallerLocation() {}
+
+	/**
+	 * @param loggerName a logger name. Required.
+	 * @return true if caller location is enabled for `loggerName`.
+	 */
+	public static boolean isEnabled(String loggerName) {
+		return ENABLED_BY_DEFAULT || enabledLoggers.matches(loggerName);
+	}
+
+	/**
+	 * Enable caller location for logger `name` and its descendants.
+	 * 
+	 * @param name a logger name. Required.
+	 */
+	public static synchronized void enable(String name) {
+		enabledLoggers = enabledLoggers.with(List.of(name));
+		VERSION.incrementAndGet();
+	}
+
+	/**
+	 * Remove logger `name` from location-enabled loggers. Descendants of another location-enabled logger keep location.
+	 * 
+	 * @param name a logger name. Required.
+	 */
+	public static synchronized void disable(String name) {
+		enabledLoggers = enabledLoggers.without(List.of(name));
+		VERSION.incrementAndGet();
+	}
+
+	/**
+	 * @return location-enabled logger names, sorted by name. Unmodifiable.
+	 */
+	public static Set<String> getEnabledLoggers() {
+		return enabledLoggers.getNames();
+	}
+
+	/**
+	 * @return a counter incremented on each modification.
+	 */
+	public static int version() {
+		return VERSION.get();
+	}
+
+}
@@ -1,6 +1,7 @@
 package igloo.julhelper.api;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -33,6 +34,31 @@ public interface JulLoggingManager {
 	 */
 	void setLevel(String name, String level);
 
+	/**
+	 * Apply {@link #setLevel(String, String)}, then restore logger `name` (see {@link #unsetLevel(String)}) after
+	 * `durationMillis`. Overrides falling due together are restored together. Remaining time is shown by
+	 * {@link #getLoggerConfig()}. A later {@link #setLevel(String, String)} on the same logger makes it permanent.
+	 * 
+	 * @param name a logger name. Required.
+	 * @param level a JUL logging level. Required.
+	 * @param durationMillis override duration in milliseconds. Must be positive.
+	 */
+	void setLevel(String name, String level, long durationMillis);
+
+	/**
+	 * Apply {@link #setLevel(String, String)}, but records less severe than the level in effect before override are
+	 * logged only when sampled: 1 record in `sampleRate`, and at most `maxEventsPerSecond` records by second.
+	 * Unsampled records are dropped by the JUL logger, before they are bridged. Sampling is shown by
+	 * {@link #getLoggerConfig()}; a later {@link #setLevel(String, String)} on the same logger removes it.
+	 * 
+	 * @param name a logger name. Required.
+	 * @param level a JUL logging level. Required.
+	 * @param sampleRate log 1 record in `sampleRate`; 1 to log all records up to `maxEventsPerSecond`. Must be
+	 *        positive.
+	 * @param maxEventsPerSecond maximum sampled records by second; 0 for no cap. Must not be negative.
+	 */
+	void setSampledLevel(String name, String level, int sampleRate, long maxEventsPerSecond);
+
 	/**
 	 * Switch the logger `name` to `level`, add SLF4JBridgeHandler and disable parent handlers if logger
 	 * is a JUL known logger (see {@link #getJulKnownLoggers()}.
@@ -43,6 +69,28 @@ public interface JulLoggingManager {
 	 */
 	void setLevelIfWellKnown(String name, String level);
 
+	/**
+	 * Apply {@link #setLevel(String, String)} on a batch of loggers.
+	 * 
+	 * ```ini
+	 * logger.name=FINE
+	 * logger2.name=INFO
+	 * ```
+	 * 
+	 * @param levels a multiline string of loggerName=loggerLevel entries. Blank lines and lines starting with `#`
+	 *               are ignored. Required.
+	 */
+	void setLevels(String levels);
+
+	/**
+	 * Apply {@link #setLevelIfWellKnown(String, String)} on a batch of loggers.
+	 * 
+	 * @param levels a multiline string of loggerName=loggerLevel entries. Blank lines and lines starting with `#`
+	 *               are ignored. Required.
+	 * @see #setLevels(String)
+	 */
+	void setLevelsIfWellKnown(String levels);
+
 	/**
 	 * Reset logger `name` level, reset handlers and enable usage of parent handlers.
 	 * 
@@ -50,12 +98,19 @@ public interface JulLoggingManager {
 	 */
 	void unsetLevel(String name);
 
+	/**
+	 * Apply {@link #unsetLevel(String)} on a batch of loggers.
+	 * 
+	 * @param names a list of logger names, separated by any whitespace or newline character. Required.
+	 */
+	void unsetLevels(String names);
+
 	/**
 	 * Print managed configuration as a string.
 	 * 
 	 * ```ini
 	 * logger.name=FINE
-	 * logger2.name=INFO
+	 * logger2.name=INFO (expires in 120 s)
 	 * ```
 	 * 
 	 * @return overrided configuration as a multiline string of loggerName=loggerLevel entries.
@@ -69,9 +124,9 @@ public interface JulLoggingManager {
 
 	/**
 	 * View current list of JUL known loggers; if a JulLoggingManager is available, logger's modification for
-	 * logger with a name starting by a JUL known logger name are propagated to JUL.
+	 * a JUL known logger or one of its descendants (`known.logger.*`) are propagated to JUL.
 	 * 
-	 * @return list of JUL known loggers.
+	 * @return list of JUL known loggers. Unmodifiable.
 	 */
 	Set<String> getJulKnownLoggers();
 
@@ -90,4 +145,146 @@ public interface JulLoggingManager {
 	 */
 	void updateJulKnownLoggers(String julKnownLoggers);
 
-}
\ No newline at end of file
+	/**
+	 * Attach a bridge handler to each JUL known logger (see {@link #getJulKnownLoggers()}) and disable parent
+	 * handlers, so that these subtrees are bridged without relying on root logger handlers. Known loggers that are
+	 * descendants of another known logger are skipped, as they are already covered by their ancestor bridge.
+	 * Subtrees already bridged are kept.
+	 * 
+	 * Subtree levels are not modified: a subtree without level inherits root logger level (usually WARNING). Lower
+	 * levels must be enabled with {@link #setLevel(String, String)}, JUL configuration, or backend level propagation
+	 * (like Log4j2LoggingManager `Log4j2JulLevelPropagator`).
+	 */
+	void bridgeJulKnownLoggers();
+
+	/**
+	 * View current list of bridged subtrees (see {@link #bridgeJulKnownLoggers()}). {@link #unsetLevel(String)} and
+	 * {@link #reset()} keep the bridge handler on these loggers.
+	 * 
+	 * @return bridged subtree logger names, sorted by name. Unmodifiable.
+	 */
+	Set<String> getBridgedSubtrees();
+
+	/**
+	 * Enable caller location (class, method, line) on records bridged from logger `name` and its descendants.
+	 * Location is disabled by default, so that bridged records never trigger stack walking (see
+	 * {@link JulCallerLocation}).
+	 * 
+	 * @param name a logger name. Required.
+	 */
+	void enableCallerLocation(String name);
+
+	/**
+	 * Disable caller location enabled by {@link #enableCallerLocation(String)} on logger `name`.
+	 * 
+	 * @param name a logger name. Required.
+	 */
+	void disableCallerLocation(String name);
+
+	/**
+	 * @return logger names with caller location enabled, sorted by name. Unmodifiable.
+	 */
+	Set<String> getCallerLocationLoggers();
+
+	/**
+	 * @return true if JUL records are bridged asynchronously (`julAsyncBridge` listener parameter).
+	 */
+	boolean getAsyncBridgeEnabled();
+
+	/**
+	 * @return number of records queued by the asynchronous bridge, or 0 if it is not enabled.
+	 */
+	int getAsyncBridgeQueueDepth();
+
+	/**
+	 * @return asynchronous bridge queue capacity, or 0 if it is not enabled.
+	 */
+	int getAsyncBridgeQueueCapacity();
+
+	/**
+	 * @return number of DEBUG and lower records dropped by the asynchronous bridge because its queue was full.
+	 */
+	long getAsyncBridgeDroppedDebugCount();
+
+	/**
+	 * @return number of oldest queued records dropped by the asynchronous bridge because its queue was full.
+	 */
+	long getAsyncBridgeDroppedOldestCount();
+
+	/**
+	 * @return mean time spent by logging threads to enqueue a record in the asynchronous bridge, in nanoseconds.
+	 */
+	long getAsyncBridgeMeanEnqueueNanos();
+
+	/**
+	 * @return maximum time spent by a logging thread to enqueue a record in the asynchronous bridge, in nanoseconds.
+	 */
+	long getAsyncBridgeMaxEnqueueNanos();
+
+	/**
+	 * Override repeated-message suppression window for JUL logger `name` and its descendants. Within the window, only
+	 * the first occurrence of a record (same logger, level and message template) is bridged, followed by a single
+	 * `repeated N times` summary. Suppression must be enabled with `julSuppressionWindow` listener parameter.
+	 * 
+	 * @param name a logger name. Required.
+	 * @param windowMillis suppression window in milliseconds; 0 disables suppression for this subtree.
+	 * @throws IllegalStateException if repeated-message suppression is not enabled.
+	 */
+	void setSuppressionWindow(String name, long windowMillis);
+
+	/**
+	 * Remove suppression window override set by {@link #setSuppressionWindow(String, long)} on logger `name`.
+	 * 
+	 * @param name a logger name. Required.
+	 */
+	void unsetSuppressionWindow(String name);
+
+	/**
+	 * @return suppression window overrides in milliseconds, by logger name. Empty if suppression is not enabled.
+	 */
+	Map<String, Long> getSuppressionWindows();
+
+	/**
+	 * @return default suppression window in milliseconds, or 0 if suppression is not enabled.
+	 */
+	long getSuppressionDefaultWindowMillis();
+
+	/**
+	 * @return number of JUL records suppressed as repeated messages.
+	 */
+	long getSuppressedRecordCount();
+
+	/**
+	 * @return number of bridged JUL throwables rendered as a reference to a previous identical stack trace
+	 *         (`julThrowableFingerprintWindow` listener parameter).
+	 */
+	long getThrowableFingerprintHitCount();
+
+	/**
+	 * @return number of bridged JUL throwables rendered with their full stack trace, once fingerprinting is enabled.
+	 */
+	long getThrowableFingerprintMissCount();
+
+	/**
+	 * @return throwable fingerprint cache hit ratio, between 0 and 1; 0 if fingerprinting is not enabled.
+	 */
+	double getThrowableFingerprintHitRate();
+
+	/**
+	 * Report JUL loggers with the worst waste ratio: records published to the bridge handler but discarded by the
+	 * backend because of its level (see {@link JulBridgeStatistics}). Each line gives logger name, discarded and
+	 * published counts, waste ratio and the JUL level that would discard these records before they reach the bridge.
+	 * Only IglooSlf4jBridgeHandler and Log4j2BridgeHandler records are counted, and only if counting is enabled
+	 * (`julBridgeStatistics` listener parameter); report is empty otherwise.
+	 * 
+	 * @param maxLoggers maximum number of reported loggers.
+	 * @return a multiline report, sorted by decreasing waste ratio then decreasing discarded count.
+	 */
+	String reportWastedWork(int maxLoggers);
+
+	/**
+	 * Reset counters used by {@link #reportWastedWork(int)}.
+	 */
+	void resetWastedWorkCounters();
+
+}
@@ -0,0 +1,27 @@
+package igloo.julhelper.api;
+
+/**
+ * Backend for `System.Logger` platform loggers, used by jul-helper `IglooLoggerFinder`. Implementations are
+ * discovered with {@link java.util.ServiceLoader}. A backend is used only if selected with the
+ * `igloo.julhelper.systemLoggerBackend` system property: by name, or the available backend with the highest priority
+ * with `auto`.
+ */
+public interface SystemLoggerBackend {
+
+	/**
+	 * @return backend name, used for explicit selection.
+	 */
+	String getName();
+
+	/**
+	 * @return backend priority; backend with the highest priority is used by default.
+	 */
+	int getPriority();
+
+	/**
+	 * @param name a platform logger name. Required.
+	 * @return a logger publishing to this backend.
+	 */
+	System.Logger getLogger(String name);
+
+}
@@ -0,0 +1,170 @@
+package igloo.julhelper.util;
+
+import java.lang.System.Logger;
+import java.text.MessageFormat;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.function.Supplier;
+
+import igloo.julhelper.api.JulBackendLevelCache;
+
+/**
+ * Base `System.Logger` implementation for logging backends.
+ * 
+ * Level is checked before any supplier call, resource bundle lookup or message processing. A level is enabled if it
+ * is enabled by the backend and if it is not disabled by a `JulLoggingManager` override on the matching logger or one
+ * of its ancestors (root logger excluded; see {@link JulBackendLevelCache#overrideSeverity(String)}), so that
+ * overrides apply to platform loggers as they apply to bridged JUL records. JUL logger tree is not used. Override
+ * lookup is cached until {@link JulBackendLevelCache} generation changes.
+ * 
+ * All {@link Logger} methods are implemented by this class, so that backends can compute caller location with
+ * {@link #FQCN}.
+ */
+public abstract class AbstractSystemLogger implements Logger {
+
+	/**
+	 * Caller location boundary: caller is the method calling this class.
+	 */
+	protected static final String FQCN = AbstractSystemLogger.class.getName();
+
+	private final String name;
+
+	private volatile JulOverride julOverride = new JulOverride(-1, Integer.MIN_VALUE);
+
+	protected AbstractSystemLogger(String name) {
+		super();
+		this.name = name;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public boolean isLoggable(Level level) {
+		return level != Level.OFF && level.getSeverity() >= julOverrideSeverity() && isEnabled(level);
+	}
+
+	@Override
+	public void log(Level level, String msg) {
+		if (isLoggable(level)) {
+			publish(level, msg, null, null);
+		}
+	}
+
+	@Override
+	public void log(Level level, Supplier<String> msgSupplier) {
+		if (isLoggable(level)) {
+			publish(level, msgSupplier.get(), null, null);
+		}
+	}
+
+	@Override
+	public void log(Level level, Object obj) {
+		if (isLoggable(level)) {
+			publish(level, String.valueOf(obj), null, null);
+		}
+	}
+
+	@Override
+	public void log(Level level, String msg, Throwable thrown) {
+		if (isLoggable(level)) {
+			publish(level, msg, null, thrown);
+		}
+	}
+
+	@Override
+	public void log(Level level, Supplier<String> msgSupplier, Throwable thrown) {
+		if (isLoggable(level)) {
+			publish(level, msgSupplier.get(), null, thrown);
+		}
+	}
+
+	@Override
+	public void log(Level level, String format, Object... params) {
+		if (isLoggable(level)) {
+			publish(level, format, params != null && params.length > 0 ? params : null, null);
+		}
+	}
+
+	@Override
+	public void log(Level level, ResourceBundle bundle, String msg, Throwable thrown) {
+		if (isLoggable(level)) {
+			publish(level, localize(bundle, msg), null, thrown);
+		}
+	}
+
+	@Override
+	public void log(Level level, ResourceBundle bundle, String format, Object... params) {
+		if (isLoggable(level)) {
+			publish(level, localize(bundle, format), params != null && params.length > 0 ? params : null, null);
+		}
+	}
+
+	/**
+	 * @param level a level, other than {@link Level#OFF}. Required.
+	 * @return true if level is enabled by backend.
+	 */
+	protected abstract boolean isEnabled(Level level);
+
+	/**
+	 * Publish an event to backend. Level is already checked.
+	 * 
+	 * @param level event level. Required.
+	 * @param message message, or {@link MessageFormat} pattern if parameters is not null.
+	 * @param parameters {@link MessageFormat} parameters, or null if message is not a pattern.
+	 * @param thrown event throwable, or null.
+	 */
+	protected abstract void publish(Level level, String message, Object[] parameters, Throwable thrown);
+
+	/**
+	 * @return `pattern` formatted with {@link MessageFormat}, or `pattern` if it cannot be formatted.
+	 */
+	protected static String format(String pattern, Object[] parameters) {
+		try {
+			return MessageFormat.format(pattern, parameters);
+		} catch (IllegalArgumentException e) {
+			return pattern;
+		}
+	}
+
+	private static String localize(ResourceBundle bundle, String msg) {
+		if (bundle == null || msg == null) {
+			return msg;
+		}
+		try {
+			return bundle.getString(msg);
+		} catch (MissingResourceException e) {
+			return msg;
+		}
+	}
+
+	/**
+	 * @return severity of the nearest `JulLoggingManager` override (root logger excluded), or
+	 *         {@link Integer#MIN_VALUE}.
+	 */
+	private int julOverrideSeverity() {
+		JulOverride current = julOverride;
+		int generation = JulBackendLevelCache.generation();
+		if (current.generation != generation) {
+			current = new JulOverride(generation, JulBackendLevelCache.overrideSeverity(name));
+			julOverride = current;
+		}
+		return current.severity;
+	}
+
+	private static final class JulOverride {
+
+		private final int generation;
+		
+		private final int severity;
+		
+		private JulOverride(int generation, int severity) {
+			this.generation = generation;
+			this.severity = severity;
+		}
+
+	}
+
+}
@@ -0,0 +1,101 @@
+package igloo.julhelper.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sampler of logging events for sampled level overrides: an event is kept with a probability of 1 in `sampleRate`,
+ * and at most `maxEventsPerSecond` events are kept by second.
+ * 
+ * Sampling is called on logging threads and takes no lock:
+ * 
+ * * ratio is drawn from {@link ThreadLocalRandom}, so that logging threads share no state;
+ * * kept events are counted with a {@link LongAdder} (striped); counter is reset once per second by the thread that
+ *   wins the compare-and-set of the current second. Once the cap is reached, events are only compared with the counter
+ *   sum. Concurrent threads may exceed the cap by a few events.
+ */
+public final class EventSampler {
+
+	private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private final int sampleRate;
+
+	private final long maxEventsPerSecond;
+
+	private final LongAdder keptInSecond = new LongAdder();
+
+	/**
+	 * Current second, as {@link System#nanoTime()} / 1 s.
+	 */
+	private final AtomicLong second = new AtomicLong(System.nanoTime() / SECOND_NANOS);
+
+	/**
+	 * @param sampleRate keep 1 event in `sampleRate`; 1 to keep all events (cap only). Must be positive.
+	 * @param maxEventsPerSecond maximum events kept by second; 0 for no cap. Must not be negative.
+	 * @throws IllegalArgumentException if a parameter is invalid, or if sampler would keep all events.
+	 */
+	public EventSampler(int sampleRate, long maxEventsPerSecond) {
+		if (sampleRate <= 0) {
+			throw new IllegalArgumentException(String.format("Sample rate must be positive (%d)", sampleRate));
+		}
+		if (maxEventsPerSecond < 0) {
+			throw new IllegalArgumentException(String.format("Event cap must not be negative (%d)", maxEventsPerSecond));
+		}
+		if (sampleRate == 1 && maxEventsPerSecond == 0) {
+			throw new IllegalArgumentException("Sample rate or event cap is required");
+		}
+		this.sampleRate = sampleRate;
+		this.maxEventsPerSecond = maxEventsPerSecond;
+	}
+
+	/**
+	 * @return true if current event is kept.
+	 */
+	public boolean sample() {
+		if (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+			return false;
+		}
+		if (maxEventsPerSecond == 0) {
+			return true;
+		}
+		long now = System.nanoTime() / SECOND_NANOS;
+		long current = second.get();
+		if (now != current && second.compareAndSet(current, now)) {
+			// increments performed concurrently with reset may be counted in next second
+			keptInSecond.reset();
+		}
+		if (keptInSecond.sum() >= maxEventsPerSecond) {
+			return false;
+		}
+		keptInSecond.increment();
+		return true;
+	}
+
+	public int getSampleRate() {
+		return sampleRate;
+	}
+
+	public long getMaxEventsPerSecond() {
+		return maxEventsPerSecond;
+	}
+
+	/**
+	 * @return `sampled 1/<n>`, `sampled max <n> events/s` or both, for override configuration lines.
+	 */
+	public String describe() {
+		if (maxEventsPerSecond == 0) {
+			return String.format("sampled 1/%d", sampleRate);
+		} else if (sampleRate == 1) {
+			return String.format("sampled max %d events/s", maxEventsPerSecond);
+		}
+		return String.format("sampled 1/%d, max %d events/s", sampleRate, maxEventsPerSecond);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("EventSampler[sampleRate=%d, maxEventsPerSecond=%d]", sampleRate, maxEventsPerSecond);
+	}
+
+}
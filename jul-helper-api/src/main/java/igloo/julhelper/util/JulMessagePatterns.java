@@ -0,0 +1,94 @@
+package igloo.julhelper.util;
+
+import java.text.MessageFormat;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Date;
+
+/**
+ * Conversion of JUL {@link MessageFormat} patterns to `{}` parameterized patterns (SLF4J, Log4j2), so that bridged
+ * records can be formatted lazily by the logging backend.
+ */
+public final class JulMessagePatterns {
+
+	private JulMessagePatterns() {
+	}
+
+	/**
+	 * Rewrite a JUL pattern as a `{}` parameterized pattern.
+	 * 
+	 * @param message a JUL message pattern. Required.
+	 * @param parameters JUL record parameters. Required.
+	 * @return parameterized pattern, or null if `message` uses quotes, escapes, non-sequential or typed placeholders,
+	 *         or if a used parameter is rendered differently by {@link MessageFormat} and by `{}` formatting
+	 *         (numbers, dates, arrays).
+	 */
+	public static String toParameterizedPattern(String message, Object[] parameters) {
+		StringBuilder pattern = null;
+		int placeholders = 0;
+		int start = 0;
+		for (int i = 0; i < message.length(); i++) {
+			char c = message.charAt(i);
+			if (c == '\'' || c == '\\' || c == '}') {
+				return null;
+			}
+			if (c != '{') {
+				continue;
+			}
+			int end = message.indexOf('}', i);
+			if (end < 0 || !isPlaceholder(message, i + 1, end, placeholders) || placeholders >= parameters.length
+					|| !isSlf4jCompatible(parameters[placeholders])) {
+				return null;
+			}
+			if (pattern == null) {
+				pattern = new StringBuilder(message.length());
+			}
+			pattern.append(message, start, i).append("{}");
+			placeholders++;
+			start = end + 1;
+			i = end;
+		}
+		if (pattern == null) {
+			// no placeholder, MessageFormat output is the message itself
+			return message;
+		}
+		return pattern.append(message, start, message.length()).toString();
+	}
+
+	/**
+	 * @return true if `message[start, end)` is the decimal representation of `expected`.
+	 */
+	private static boolean isPlaceholder(String message, int start, int end, int expected) {
+		if (start == end) {
+			return false;
+		}
+		int value = 0;
+		for (int i = start; i < end; i++) {
+			char c = message.charAt(i);
+			if (c < '0' || c > '9' || value > expected) {
+				return false;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value == expected;
+	}
+
+	private static boolean isSlf4jCompatible(Object parameter) {
+		return !(parameter instanceof Number || parameter instanceof Date || parameter instanceof TemporalAccessor
+				|| (parameter != null && parameter.getClass().isArray()));
+	}
+
+	/**
+	 * @param pattern a pattern returned by {@link #toParameterizedPattern(String, Object[])}. Required.
+	 * @param parameters JUL record parameters. Required.
+	 * @return parameters used by `pattern`.
+	 */
+	public static Object[] usedParameters(String pattern, Object[] parameters) {
+		int placeholders = 0;
+		for (int i = pattern.indexOf("{}"); i >= 0; i = pattern.indexOf("{}", i + 2)) {
+			placeholders++;
+		}
+		return placeholders == parameters.length ? parameters : Arrays.copyOf(parameters, placeholders);
+	}
+
+}
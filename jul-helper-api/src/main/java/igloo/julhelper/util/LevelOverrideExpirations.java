@@ -0,0 +1,208 @@
+package igloo.julhelper.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Expiry times of time-boxed logger overrides, shared by logging managers. Expiries run on a single daemon timer
+ * thread, started by the first {@link #schedule(String, long)} or {@link #expireNow(String)} call.
+ * 
+ * When an expiry falls due, the expiry action is called on timer thread. It is expected to take the manager lock,
+ * then to retrieve with {@link #pollExpired()} all the overrides due at this time (or within the next
+ * `coalesceMillis`), so that they are reverted by a single reconfiguration, and so that an override replaced or
+ * removed concurrently is never reverted.
+ */
+public class LevelOverrideExpirations implements AutoCloseable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(LevelOverrideExpirations.class);
+
+	public static final long DEFAULT_COALESCE_MILLIS = 100;
+
+	private final String threadName;
+
+	private final Runnable expiryAction;
+
+	private final long coalesceNanos;
+
+	/**
+	 * Expiry deadlines ({@link System#nanoTime()}), by logger name. Guarded by this.
+	 */
+	private final Map<String, Long> deadlines = new HashMap<>();
+
+	/**
+	 * Timer, created on first use. Guarded by this.
+	 */
+	private ScheduledExecutorService executor;
+
+	private boolean closed;
+
+	/**
+	 * @param threadName timer thread name. Required.
+	 * @param expiryAction action called on timer thread when an expiry falls due. Required.
+	 */
+	public LevelOverrideExpirations(String threadName, Runnable expiryAction) {
+		this(threadName, expiryAction, DEFAULT_COALESCE_MILLIS);
+	}
+
+	/**
+	 * @param threadName timer thread name. Required.
+	 * @param expiryAction action called on timer thread when an expiry falls due. Required.
+	 * @param coalesceMillis overrides due within this delay after an expiry are reverted with it.
+	 */
+	public LevelOverrideExpirations(String threadName, Runnable expiryAction, long coalesceMillis) {
+		super();
+		this.threadName = threadName;
+		this.expiryAction = expiryAction;
+		this.coalesceNanos = TimeUnit.MILLISECONDS.toNanos(coalesceMillis);
+	}
+
+	/**
+	 * Schedule (or reschedule) expiry of logger `name` override.
+	 * 
+	 * @param name a logger name. Required.
+	 * @param durationMillis override duration in milliseconds. Must be positive.
+	 * @throws IllegalStateException if expirations are closed.
+	 */
+	public synchronized void schedule(String name, long durationMillis) {
+		checkDuration(durationMillis);
+		if (closed) {
+			throw new IllegalStateException("Level override expirations are closed");
+		}
+		deadlines.put(name, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis));
+		executor().schedule(this::expire, durationMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Expire logger `name` override right away, on timer thread. Can be called from any thread, including logging
+	 * threads. Ignored if expirations are closed.
+	 * 
+	 * @param name a logger name. Required.
+	 */
+	public synchronized void expireNow(String name) {
+		if (closed) {
+			return;
+		}
+		deadlines.put(name, System.nanoTime());
+		executor().execute(this::expire);
+	}
+
+	private ScheduledExecutorService executor() {
+		if (executor == null) {
+			executor = Executors.newSingleThreadScheduledExecutor(r -> {
+				Thread thread = new Thread(r, threadName);
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return executor;
+	}
+
+	/**
+	 * Check duration before any modification, so that an invalid duration does not leave a permanent override.
+	 * 
+	 * @throws IllegalArgumentException if `durationMillis` is not positive.
+	 */
+	public static void checkDuration(long durationMillis) {
+		if (durationMillis <= 0) {
+			throw new IllegalArgumentException(String.format("Duration must be positive (%d)", durationMillis));
+		}
+	}
+
+	/**
+	 * Cancel logger `name` expiry, if any. Override is then permanent.
+	 */
+	public synchronized void cancel(String name) {
+		deadlines.remove(name);
+	}
+
+	public synchronized void cancelAll() {
+		deadlines.clear();
+	}
+
+	/**
+	 * Remove and return overrides due now or within the next `coalesceMillis`.
+	 * 
+	 * @return expired logger names; may be empty.
+	 */
+	public synchronized List<String> pollExpired() {
+		long limit = System.nanoTime() + coalesceNanos;
+		List<String> expired = new ArrayList<>();
+		for (Iterator<Map.Entry<String, Long>> it = deadlines.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<String, Long> deadline = it.next();
+			if (deadline.getValue() - limit <= 0) {
+				expired.add(deadline.getKey());
+				it.remove();
+			}
+		}
+		return expired;
+	}
+
+	/**
+	 * @return remaining time before logger `name` override expires, in milliseconds; -1 if override is permanent.
+	 */
+	public synchronized long getRemainingMillis(String name) {
+		Long deadline = deadlines.get(name);
+		if (deadline == null) {
+			return -1;
+		}
+		return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+	}
+
+	/**
+	 * @return ` (expires in <n> s)` suffix for logger `name` override configuration line; empty if override is
+	 *         permanent.
+	 */
+	public String renderRemaining(String name) {
+		long remainingMillis = getRemainingMillis(name);
+		if (remainingMillis < 0) {
+			return "";
+		}
+		return String.format(" (expires in %d s)", TimeUnit.MILLISECONDS.toSeconds(remainingMillis + 999));
+	}
+
+	public synchronized boolean isEmpty() {
+		return deadlines.isEmpty();
+	}
+
+	private void expire() {
+		synchronized (this) {
+			// a single action handles overrides falling due together; later timers find nothing to do
+			long now = System.nanoTime();
+			if (deadlines.values().stream().noneMatch(d -> d - now <= 0)) {
+				return;
+			}
+		}
+		try {
+			expiryAction.run();
+		} catch (RuntimeException e) {
+			LOGGER.error("Level override expiry failed", e);
+		}
+	}
+
+	/**
+	 * Stop timer thread. Pending expiries are discarded: overrides are kept.
+	 */
+	@Override
+	public void close() {
+		ScheduledExecutorService toShutdown;
+		synchronized (this) {
+			closed = true;
+			deadlines.clear();
+			toShutdown = executor;
+			executor = null;
+		}
+		if (toShutdown != null) {
+			toShutdown.shutdownNow();
+		}
+	}
+
+}
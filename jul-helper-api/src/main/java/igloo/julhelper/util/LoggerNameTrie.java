@@ -0,0 +1,128 @@
+package igloo.julhelper.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Immutable set of logger name prefixes, indexed as a trie of dot-separated segments. A logger name matches if it is
+ * one of the prefixes or a descendant of one of the prefixes (`org.glassfish.jersey` matches
+ * `org.glassfish.jersey.server` but not `org.glassfish.jerseyx`).
+ * 
+ * Lookup cost depends on the logger name length, not on the number of prefixes. Instances are never modified, so they
+ * can be shared with concurrent readers and replaced atomically with a new instance.
+ */
+public final class LoggerNameTrie {
+
+	public static final LoggerNameTrie EMPTY = new LoggerNameTrie(Collections.emptySet());
+
+	private final Node root;
+
+	private final Set<String> names;
+
+	private LoggerNameTrie(Set<String> names) {
+		this.names = Collections.unmodifiableSet(names);
+		this.root = new Node();
+		for (String name : names) {
+			Node node = root;
+			if (!name.isEmpty()) {
+				for (String segment : name.split("\\.", -1)) {
+					node = node.children.computeIfAbsent(segment, s -> new Node());
+				}
+			}
+			node.name = name;
+		}
+	}
+
+	/**
+	 * @param names logger name prefixes. Required.
+	 * @return a trie containing `names`.
+	 */
+	public static LoggerNameTrie of(Collection<String> names) {
+		return names.isEmpty() ? EMPTY : new LoggerNameTrie(new TreeSet<>(names));
+	}
+
+	/**
+	 * @param added logger name prefixes to add. Required.
+	 * @return a new trie containing current and `added` prefixes.
+	 */
+	public LoggerNameTrie with(Collection<String> added) {
+		Set<String> union = new TreeSet<>(names);
+		union.addAll(added);
+		return new LoggerNameTrie(union);
+	}
+
+	/**
+	 * @param removed logger name prefixes to remove. Required.
+	 * @return a new trie containing current prefixes except `removed` prefixes.
+	 */
+	public LoggerNameTrie without(Collection<String> removed) {
+		Set<String> difference = new TreeSet<>(names);
+		difference.removeAll(removed);
+		return of(difference);
+	}
+
+	/**
+	 * @param loggerName a logger name. Required.
+	 * @return true if `loggerName` is a prefix or a descendant of a prefix.
+	 */
+	public boolean matches(String loggerName) {
+		return longestMatch(loggerName) != null;
+	}
+
+	/**
+	 * @param loggerName a logger name. Required.
+	 * @return the most specific prefix matching `loggerName`, or null if there is no match.
+	 */
+	public String longestMatch(String loggerName) {
+		Node node = root;
+		String match = node.name;
+		int start = 0;
+		while (start <= loggerName.length() && !node.children.isEmpty()) {
+			int end = loggerName.indexOf('.', start);
+			if (end < 0) {
+				end = loggerName.length();
+			}
+			node = node.children.get(loggerName.substring(start, end));
+			if (node == null) {
+				break;
+			}
+			if (node.name != null) {
+				match = node.name;
+			}
+			start = end + 1;
+		}
+		return match;
+	}
+
+	/**
+	 * @return prefixes, sorted by name. Unmodifiable.
+	 */
+	public Set<String> getNames() {
+		return names;
+	}
+
+	public int size() {
+		return names.size();
+	}
+
+	@Override
+	public String toString() {
+		return names.toString();
+	}
+
+	private static class Node {
+
+		private final Map<String, Node> children = new HashMap<>();
+		
+		/**
+		 * Prefix ending on this node, or null if no prefix ends on this node.
+		 */
+		private String name;
+
+	}
+
+}
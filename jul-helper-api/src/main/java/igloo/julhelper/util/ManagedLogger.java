@@ -0,0 +1,63 @@
+package igloo.julhelper.util;
+
+import java.util.Objects;
+
+/**
+ * Immutable description of a logger override: logger name, overridden level, original level and, if needed by the
+ * logging implementation, a live logger reference.
+ * 
+ * @param <L> level type.
+ * @param <R> logger reference type; {@link Void} if no reference is kept.
+ */
+public final class ManagedLogger<L, R> {
+
+	private final String name;
+
+	private final L level;
+
+	private final L originalLevel;
+
+	private final R reference;
+
+	/**
+	 * @param name logger name. Required.
+	 * @param level overridden level. Required.
+	 * @param originalLevel level before override; null if unknown or if there is no level to restore.
+	 * @param reference a live logger reference; null if not needed.
+	 */
+	public ManagedLogger(String name, L level, L originalLevel, R reference) {
+		this.name = Objects.requireNonNull(name);
+		this.level = Objects.requireNonNull(level);
+		this.originalLevel = originalLevel;
+		this.reference = reference;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public L getLevel() {
+		return level;
+	}
+
+	public L getOriginalLevel() {
+		return originalLevel;
+	}
+
+	public R getReference() {
+		return reference;
+	}
+
+	/**
+	 * @return a copy with an updated level; original level and reference are kept.
+	 */
+	public ManagedLogger<L, R> withLevel(L newLevel) {
+		return new ManagedLogger<>(name, newLevel, originalLevel, reference);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s=%s (original: %s)", name, level, originalLevel);
+	}
+
+}
@@ -0,0 +1,157 @@
+package igloo.julhelper.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Name-indexed registry of logger overrides, shared by logging managers. Lookup, addition and removal do not depend
+ * on the number of registered overrides.
+ * 
+ * Read-only views (sorted names, rendered configuration) are served from an immutable {@link ManagedLoggerSnapshot},
+ * without locking. The snapshot is rebuilt on the first read following a modification, and reused until the next
+ * modification.
+ * 
+ * @param <L> level type.
+ * @param <R> logger reference type; {@link Void} if no reference is kept.
+ */
+public class ManagedLoggerRegistry<L, R> {
+
+	private final Map<String, ManagedLogger<L, R>> loggers = new ConcurrentHashMap<>();
+
+	private final Function<ManagedLogger<L, R>, String> renderer;
+
+	private final AtomicLong version = new AtomicLong();
+
+	private volatile ManagedLoggerSnapshot<L, R> snapshot;
+
+	/**
+	 * Overrides are rendered with {@link ManagedLogger#toString()}.
+	 */
+	public ManagedLoggerRegistry() {
+		this(ManagedLogger::toString);
+	}
+
+	/**
+	 * @param renderer used to render each override in {@link ManagedLoggerSnapshot#getConfig()}. Required.
+	 */
+	public ManagedLoggerRegistry(Function<ManagedLogger<L, R>, String> renderer) {
+		this.renderer = renderer;
+	}
+
+	/**
+	 * @return the override for logger `name`, or null if logger is not managed.
+	 */
+	public ManagedLogger<L, R> get(String name) {
+		return loggers.get(name);
+	}
+
+	/**
+	 * Add or replace the override for logger {@link ManagedLogger#getName()}.
+	 * 
+	 * @return the replaced override, or null.
+	 */
+	public ManagedLogger<L, R> put(ManagedLogger<L, R> logger) {
+		ManagedLogger<L, R> previous = loggers.put(logger.getName(), logger);
+		version.incrementAndGet();
+		return previous;
+	}
+
+	/**
+	 * @return the removed override, or null if logger was not managed.
+	 */
+	public ManagedLogger<L, R> remove(String name) {
+		ManagedLogger<L, R> removed = loggers.remove(name);
+		if (removed != null) {
+			version.incrementAndGet();
+		}
+		return removed;
+	}
+
+	public boolean contains(String name) {
+		return loggers.containsKey(name);
+	}
+
+	/**
+	 * @return registered overrides. Unmodifiable view.
+	 */
+	public Collection<ManagedLogger<L, R>> values() {
+		return Collections.unmodifiableCollection(loggers.values());
+	}
+
+	/**
+	 * @return managed logger names, sorted. Unmodifiable.
+	 */
+	public List<String> getSortedNames() {
+		return snapshot().getNames();
+	}
+
+	/**
+	 * Current immutable state. No lock is taken; if a modification is performed concurrently, returned snapshot may
+	 * not include it, but next call will.
+	 * 
+	 * @return the snapshot of the current overrides.
+	 */
+	public ManagedLoggerSnapshot<L, R> snapshot() {
+		ManagedLoggerSnapshot<L, R> current = snapshot;
+		long currentVersion = version.get();
+		if (current == null || current.getVersion() != currentVersion) {
+			// version is read before loggers, so a concurrent modification always invalidates the built snapshot
+			List<ManagedLogger<L, R>> sorted = new ArrayList<>(loggers.values());
+			sorted.sort(Comparator.comparing(ManagedLogger::getName));
+			String config = sorted.stream().map(renderer).collect(Collectors.joining("\n"));
+			current = new ManagedLoggerSnapshot<>(currentVersion, sorted, config);
+			snapshot = current;
+		}
+		return current;
+	}
+
+	public int size() {
+		return loggers.size();
+	}
+
+	public boolean isEmpty() {
+		return loggers.isEmpty();
+	}
+
+	public void clear() {
+		loggers.clear();
+		version.incrementAndGet();
+	}
+
+	/**
+	 * Parse a multiline `name=LEVEL` configuration, as accepted by logging managers `setLevels` operations. Blank lines
+	 * and lines starting with `#` are ignored.
+	 * 
+	 * @param levels a multiline string of loggerName=loggerLevel entries. Required.
+	 * @return logger names to levels, in declaration order.
+	 * @throws IllegalArgumentException if a line cannot be parsed.
+	 */
+	public static Map<String, String> parseLevels(final String levels) {
+		Map<String, String> result = new LinkedHashMap<>();
+		try (Scanner scanner = new Scanner(levels)) {
+			while (scanner.hasNextLine()) {
+				String line = scanner.nextLine().strip();
+				if (line.isEmpty() || line.startsWith("#")) {
+					continue;
+				}
+				int separator = line.indexOf('=');
+				if (separator <= 0 || separator == line.length() - 1) {
+					throw new IllegalArgumentException(String.format("%s cannot be parsed as name=LEVEL", line));
+				}
+				result.put(line.substring(0, separator).strip(), line.substring(separator + 1).strip());
+			}
+		}
+		return result;
+	}
+
+}
@@ -0,0 +1,58 @@
+package igloo.julhelper.util;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable state of a {@link ManagedLoggerRegistry}: overrides sorted by name and rendered configuration. A snapshot
+ * is built once after a modification and can be shared with any number of concurrent readers.
+ * 
+ * @param <L> level type.
+ * @param <R> logger reference type.
+ */
+public final class ManagedLoggerSnapshot<L, R> {
+
+	private final long version;
+
+	private final List<ManagedLogger<L, R>> loggers;
+
+	private final List<String> names;
+
+	private final String config;
+
+	ManagedLoggerSnapshot(long version, List<ManagedLogger<L, R>> sortedLoggers, String config) {
+		this.version = version;
+		this.loggers = List.copyOf(sortedLoggers);
+		this.names = sortedLoggers.stream().map(ManagedLogger::getName).collect(Collectors.toUnmodifiableList());
+		this.config = config;
+	}
+
+	/**
+	 * @return registry modification count when this snapshot was built.
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * @return overrides, sorted by name. Unmodifiable.
+	 */
+	public List<ManagedLogger<L, R>> getLoggers() {
+		return loggers;
+	}
+
+	/**
+	 * @return managed logger names, sorted. Unmodifiable.
+	 */
+	public List<String> getNames() {
+		return names;
+	}
+
+	/**
+	 * @return overrides rendered by the registry renderer, one line by override.
+	 */
+	public String getConfig() {
+		return config;
+	}
+
+}
@@ -0,0 +1,217 @@
+package igloo.julhelper.util;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of recently logged throwables, used to render a given stack trace once per window. A throwable is
+ * identified by its fingerprint: a hash of its type and stack frames, and of its causes and suppressed throwables.
+ * Messages are not part of the fingerprint, so that the same failure with a varying message (an id, a timestamp) is
+ * recognized.
+ * 
+ * {@link #record(Throwable, long)} tells whether the full trace must be rendered (first occurrence in the window) or
+ * whether a short reference to the first occurrence is enough. Least recently used fingerprints are evicted when
+ * cache is full. Fingerprint is computed without lock; cache access is synchronized.
+ */
+public class ThrowableFingerprintCache {
+
+	public static final int DEFAULT_MAX_SIZE = 256;
+
+	public static final long DEFAULT_WINDOW_MILLIS = 60_000;
+
+	/**
+	 * Maximum cause and suppressed throwables walked to compute a fingerprint.
+	 */
+	private static final int MAX_THROWABLES = 16;
+
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final long windowMillis;
+
+	private final Map<Long, Window> entries;
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	public ThrowableFingerprintCache() {
+		this(DEFAULT_MAX_SIZE, DEFAULT_WINDOW_MILLIS);
+	}
+
+	/**
+	 * @param maxSize maximum number of fingerprints kept. Must be positive.
+	 * @param windowMillis time during which occurrences of a fingerprint are reported as references. Must be positive.
+	 */
+	public ThrowableFingerprintCache(int maxSize, long windowMillis) {
+		super();
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException(String.format("Max size must be positive (%d)", maxSize));
+		}
+		if (windowMillis <= 0) {
+			throw new IllegalArgumentException(String.format("Window must be positive (%d)", windowMillis));
+		}
+		this.windowMillis = windowMillis;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Window> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Record an occurrence of `throwable`.
+	 * 
+	 * @param throwable a logged throwable. Required.
+	 * @param timestampMillis occurrence timestamp.
+	 * @return occurrence, with {@link Occurrence#isFirst()} true if full trace must be rendered.
+	 */
+	public Occurrence record(Throwable throwable, long timestampMillis) {
+		long fingerprint = fingerprint(throwable);
+		long count;
+		synchronized (entries) {
+			Window entry = entries.get(fingerprint);
+			if (entry == null || timestampMillis - entry.start >= windowMillis) {
+				entries.put(fingerprint, new Window(timestampMillis));
+				count = 1;
+			} else {
+				count = ++entry.count;
+			}
+		}
+		if (count == 1) {
+			missCount.increment();
+		} else {
+			hitCount.increment();
+		}
+		return new Occurrence(fingerprint, count);
+	}
+
+	/**
+	 * @param throwable a throwable. Required.
+	 * @return a hash of `throwable` type and frames, and of its causes and suppressed throwables.
+	 */
+	public static long fingerprint(Throwable throwable) {
+		return fingerprint(throwable, FNV_OFFSET, Collections.newSetFromMap(new IdentityHashMap<>()));
+	}
+
+	private static long fingerprint(Throwable throwable, long hash, Set<Throwable> visited) {
+		if (throwable == null || visited.size() >= MAX_THROWABLES || !visited.add(throwable)) {
+			return hash;
+		}
+		hash = mix(hash, throwable.getClass().getName().hashCode());
+		for (StackTraceElement frame : throwable.getStackTrace()) {
+			hash = mix(hash, frame.getClassName().hashCode());
+			hash = mix(hash, frame.getMethodName().hashCode());
+			hash = mix(hash, frame.getLineNumber());
+		}
+		for (Throwable suppressed : throwable.getSuppressed()) {
+			hash = fingerprint(suppressed, hash, visited);
+		}
+		return fingerprint(throwable.getCause(), hash, visited);
+	}
+
+	private static long mix(long hash, int value) {
+		return (hash ^ value) * FNV_PRIME;
+	}
+
+	public long getWindowMillis() {
+		return windowMillis;
+	}
+
+	/**
+	 * @return number of occurrences reported as a reference to a previous occurrence.
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/**
+	 * @return number of occurrences whose full trace is rendered.
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/**
+	 * @return hit ratio, between 0 and 1; 0 if no throwable is recorded.
+	 */
+	public double getHitRate() {
+		long hits = getHitCount();
+		long total = hits + getMissCount();
+		return total == 0 ? 0d : (double) hits / total;
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	private static final class Window {
+
+		/**
+		 * Window start, as occurrence timestamp (milliseconds). Guarded by cache lock.
+		 */
+		private final long start;
+		
+		/**
+		 * Occurrences in current window. Guarded by cache lock.
+		 */
+		private long count = 1;
+		
+		private Window(long start) {
+			this.start = start;
+		}
+
+	}
+
+	/**
+	 * A throwable occurrence.
+	 */
+	public static final class Occurrence {
+
+		private final long fingerprint;
+		
+		private final long count;
+		
+		private Occurrence(long fingerprint, long count) {
+			this.fingerprint = fingerprint;
+			this.count = count;
+		}
+		
+		/**
+		 * @return a short id for the fingerprint, printed with full trace and references.
+		 */
+		public String getId() {
+			return String.format("%08x", (int) (fingerprint ^ (fingerprint >>> 32)));
+		}
+		
+		public long getFingerprint() {
+			return fingerprint;
+		}
+		
+		/**
+		 * @return occurrence number in current window, starting at 1.
+		 */
+		public long getCount() {
+			return count;
+		}
+		
+		/**
+		 * @return true if this is the first occurrence in window: full trace must be rendered.
+		 */
+		public boolean isFirst() {
+			return count == 1;
+		}
+
+	}
+
+}
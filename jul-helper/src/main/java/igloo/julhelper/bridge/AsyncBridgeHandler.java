@@ -0,0 +1,367 @@
+package igloo.julhelper.bridge;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.Date;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * JUL handler that decouples logging threads from the backend: record fields are copied into a preallocated bounded
+ * ring buffer, and a dedicated consumer thread publishes them with a delegate handler (a bridge handler like
+ * {@link IglooSlf4jBridgeHandler}).
+ * 
+ * * Only fields used by bridge handlers are copied: level, logger name, message, parameters, thrown, resource bundle,
+ *   instant, thread id and sequence number. Source class and method are not copied (no caller inference), and caller
+ *   location computed by the backend is meaningless;
+ * * parameters are formatted by the consumer thread. They are snapshot when the record is queued, so that objects
+ *   modified after the logging call are rendered as they were: strings, boxed primitives, big numbers and enums are
+ *   kept, dates are copied, and other objects are replaced by their `String.valueOf` value;
+ * * when the ring buffer is full, {@link AsyncOverflowPolicy} applies;
+ * * records published by the consumer thread itself (backend logging through JUL) are published synchronously, so
+ *   that the consumer never waits for a free slot.
+ * 
+ * {@link #close()} stops accepting records, drains the ring buffer and stops the consumer thread. Records published
+ * after {@link #close()} are published synchronously with the delegate handler, which is not closed. Delegate
+ * failures, errors included, are reported to the {@link ErrorManager}; if the consumer thread stops anyway, records
+ * are published synchronously as after {@link #close()}, so that publishers never wait for a dead consumer.
+ */
+public class AsyncBridgeHandler extends Handler {
+
+	public static final int DEFAULT_CAPACITY = 8192;
+
+	private static final int BATCH_SIZE = 64;
+
+	private static final int DEBUG_LEVEL_THRESHOLD = Level.FINE.intValue();
+
+	private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+
+	/**
+	 * Immutable parameter types, queued as is.
+	 */
+	private static final Set<Class<?>> IMMUTABLE_PARAMETER_TYPES = Set.of(String.class, Boolean.class, Character.class,
+			Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class, BigInteger.class, BigDecimal.class);
+
+	private final Handler delegate;
+
+	private final AsyncOverflowPolicy overflowPolicy;
+
+	private final AsyncBridgeStatistics statistics = new AsyncBridgeStatistics();
+
+	private final Slot[] slots;
+
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private final Condition notEmpty = lock.newCondition();
+
+	private final Condition notFull = lock.newCondition();
+
+	private final Thread consumer;
+
+	/**
+	 * Index of the oldest queued record. Guarded by {@link #lock}.
+	 */
+	private int head;
+
+	/**
+	 * Number of queued records. Guarded by {@link #lock}.
+	 */
+	private int count;
+
+	private volatile boolean closed;
+
+	/**
+	 * Consumer thread is stopped, either after {@link #close()} or abnormally. Written with {@link #lock} held.
+	 */
+	private volatile boolean stopped;
+
+	/**
+	 * Bridge with a {@link IglooSlf4jBridgeHandler}, a ring buffer of {@link #DEFAULT_CAPACITY} records and
+	 * {@link AsyncOverflowPolicy#BLOCK} policy.
+	 */
+	public AsyncBridgeHandler() {
+		this(new IglooSlf4jBridgeHandler(), DEFAULT_CAPACITY, AsyncOverflowPolicy.BLOCK);
+	}
+
+	/**
+	 * @param delegate handler used by the consumer thread to publish records. Required.
+	 * @param capacity ring buffer capacity. Must be positive.
+	 * @param overflowPolicy behavior when ring buffer is full. Required.
+	 */
+	public AsyncBridgeHandler(Handler delegate, int capacity, AsyncOverflowPolicy overflowPolicy) {
+		super();
+		if (capacity <= 0) {
+			throw new IllegalArgumentException(String.format("Capacity must be positive (%d)", capacity));
+		}
+		this.delegate = delegate;
+		this.overflowPolicy = overflowPolicy;
+		this.slots = new Slot[capacity];
+		for (int i = 0; i < capacity; i++) {
+			slots[i] = new Slot();
+		}
+		this.consumer = new Thread(this::consume, "igloo-jul-async-bridge");
+		this.consumer.setDaemon(true);
+		this.consumer.start();
+	}
+
+	@Override
+	public void publish(LogRecord record) {
+		if (record == null || !isLoggable(record)) {
+			return;
+		}
+		if (closed || stopped || Thread.currentThread() == consumer) {
+			delegate.publish(record);
+			return;
+		}
+		long start = System.nanoTime();
+		boolean enqueued = false;
+		lock.lock();
+		try {
+			while (count == slots.length && !closed && !stopped) {
+				if (overflowPolicy == AsyncOverflowPolicy.DROP_OLDEST) {
+					slots[head].clear();
+					head = (head + 1) % slots.length;
+					count--;
+					statistics.recordDroppedOldest();
+				} else if (overflowPolicy == AsyncOverflowPolicy.DROP_DEBUG && record.getLevel().intValue() <= DEBUG_LEVEL_THRESHOLD) {
+					statistics.recordDroppedDebug();
+					return;
+				} else {
+					notFull.awaitUninterruptibly();
+				}
+			}
+			if (!closed && !stopped) {
+				slots[(head + count) % slots.length].copyFrom(record);
+				count++;
+				notEmpty.signal();
+				enqueued = true;
+			}
+		} finally {
+			lock.unlock();
+		}
+		if (enqueued) {
+			statistics.recordEnqueue(System.nanoTime() - start);
+		} else {
+			// closed or consumer stopped while waiting for a free slot
+			delegate.publish(record);
+		}
+	}
+
+	@Override
+	public void flush() {
+		// records are published by the consumer thread
+	}
+
+	/**
+	 * Stop accepting records, publish queued records and stop the consumer thread.
+	 */
+	@Override
+	public void close() {
+		lock.lock();
+		try {
+			closed = true;
+			notEmpty.signalAll();
+			notFull.signalAll();
+		} finally {
+			lock.unlock();
+		}
+		try {
+			consumer.join(CLOSE_TIMEOUT_MILLIS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		delegate.flush();
+	}
+
+	/**
+	 * @return number of queued records.
+	 */
+	public int getQueueDepth() {
+		lock.lock();
+		try {
+			return count;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public int getCapacity() {
+		return slots.length;
+	}
+
+	public AsyncOverflowPolicy getOverflowPolicy() {
+		return overflowPolicy;
+	}
+
+	public AsyncBridgeStatistics getStatistics() {
+		return statistics;
+	}
+
+	private void consume() {
+		try {
+			doConsume();
+		} finally {
+			// wake up blocked publishers; subsequent records are published synchronously
+			lock.lock();
+			try {
+				stopped = true;
+				notFull.signalAll();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	private void doConsume() {
+		Slot[] batch = new Slot[Math.min(BATCH_SIZE, slots.length)];
+		for (int i = 0; i < batch.length; i++) {
+			batch[i] = new Slot();
+		}
+		LogRecord record = new LogRecord(Level.INFO, null);
+		while (true) {
+			int size;
+			lock.lock();
+			try {
+				while (count == 0 && !closed) {
+					notEmpty.awaitUninterruptibly();
+				}
+				if (count == 0) {
+					// closed and drained
+					return;
+				}
+				size = Math.min(count, batch.length);
+				for (int i = 0; i < size; i++) {
+					Slot slot = slots[(head + i) % slots.length];
+					batch[i].copyFrom(slot);
+					slot.clear();
+				}
+				head = (head + size) % slots.length;
+				count -= size;
+				notFull.signalAll();
+			} finally {
+				lock.unlock();
+			}
+			for (int i = 0; i < size; i++) {
+				try {
+					delegate.publish(batch[i].toRecord(record));
+				} catch (Throwable e) {
+					// keep consuming: publishers may be blocked on a full ring buffer
+					reportError(null, e instanceof Exception ? (Exception) e : new RuntimeException(e), ErrorManager.WRITE_FAILURE);
+				} finally {
+					batch[i].clear();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Preallocated copy of {@link LogRecord} fields.
+	 */
+	private static final class Slot {
+
+		private Level level;
+
+		private String loggerName;
+
+		private String message;
+
+		private Object[] parameters;
+
+		private Throwable thrown;
+
+		private ResourceBundle resourceBundle;
+
+		private String resourceBundleName;
+
+		private Instant instant;
+
+		private int threadId;
+
+		private long sequenceNumber;
+
+		private void copyFrom(LogRecord record) {
+			level = record.getLevel();
+			loggerName = record.getLoggerName();
+			message = record.getMessage();
+			parameters = snapshot(record.getParameters());
+			thrown = record.getThrown();
+			resourceBundle = record.getResourceBundle();
+			resourceBundleName = record.getResourceBundleName();
+			instant = record.getInstant();
+			threadId = record.getThreadID();
+			sequenceNumber = record.getSequenceNumber();
+		}
+
+		private static Object[] snapshot(Object[] parameters) {
+			if (parameters == null) {
+				return null;
+			}
+			Object[] snapshot = new Object[parameters.length];
+			for (int i = 0; i < parameters.length; i++) {
+				Object parameter = parameters[i];
+				if (parameter == null || parameter instanceof Enum || IMMUTABLE_PARAMETER_TYPES.contains(parameter.getClass())) {
+					snapshot[i] = parameter;
+				} else if (parameter instanceof Date) {
+					// keep date formatting
+					snapshot[i] = ((Date) parameter).clone();
+				} else {
+					snapshot[i] = String.valueOf(parameter);
+				}
+			}
+			return snapshot;
+		}
+
+		private void copyFrom(Slot slot) {
+			level = slot.level;
+			loggerName = slot.loggerName;
+			message = slot.message;
+			parameters = slot.parameters;
+			thrown = slot.thrown;
+			resourceBundle = slot.resourceBundle;
+			resourceBundleName = slot.resourceBundleName;
+			instant = slot.instant;
+			threadId = slot.threadId;
+			sequenceNumber = slot.sequenceNumber;
+		}
+
+		/**
+		 * @param record a reusable record. Required.
+		 * @return `record`, updated with slot fields.
+		 */
+		private LogRecord toRecord(LogRecord record) {
+			record.setLevel(level);
+			record.setLoggerName(loggerName);
+			record.setMessage(message);
+			record.setParameters(parameters);
+			record.setThrown(thrown);
+			record.setResourceBundle(resourceBundle);
+			record.setResourceBundleName(resourceBundleName);
+			record.setInstant(instant);
+			record.setThreadID(threadId);
+			record.setSequenceNumber(sequenceNumber);
+			return record;
+		}
+
+		/**
+		 * Release references, so that queued objects can be garbage collected.
+		 */
+		private void clear() {
+			loggerName = null;
+			message = null;
+			parameters = null;
+			thrown = null;
+			resourceBundle = null;
+			resourceBundleName = null;
+			instant = null;
+		}
+
+	}
+
+}
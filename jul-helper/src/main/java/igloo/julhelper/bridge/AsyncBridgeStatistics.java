@@ -0,0 +1,72 @@
+package igloo.julhelper.bridge;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters on {@link AsyncBridgeHandler}: enqueued and dropped records, and time spent by logging threads to enqueue
+ * a record (including wait for a free slot).
+ */
+public class AsyncBridgeStatistics {
+
+	private final LongAdder enqueuedCount = new LongAdder();
+
+	private final LongAdder enqueueNanos = new LongAdder();
+
+	private final LongAccumulator maxEnqueueNanos = new LongAccumulator(Math::max, 0);
+
+	private final LongAdder droppedDebugCount = new LongAdder();
+
+	private final LongAdder droppedOldestCount = new LongAdder();
+
+	public void recordEnqueue(long nanos) {
+		enqueuedCount.increment();
+		enqueueNanos.add(nanos);
+		maxEnqueueNanos.accumulate(nanos);
+	}
+
+	public void recordDroppedDebug() {
+		droppedDebugCount.increment();
+	}
+
+	public void recordDroppedOldest() {
+		droppedOldestCount.increment();
+	}
+
+	/**
+	 * @return number of records enqueued.
+	 */
+	public long getEnqueuedCount() {
+		return enqueuedCount.sum();
+	}
+
+	/**
+	 * @return mean enqueue time in nanoseconds, or 0 if no record is enqueued.
+	 */
+	public long getMeanEnqueueNanos() {
+		long count = enqueuedCount.sum();
+		return count == 0 ? 0 : enqueueNanos.sum() / count;
+	}
+
+	/**
+	 * @return maximum enqueue time in nanoseconds.
+	 */
+	public long getMaxEnqueueNanos() {
+		return maxEnqueueNanos.get();
+	}
+
+	/**
+	 * @return number of records dropped by {@link AsyncOverflowPolicy#DROP_DEBUG} policy.
+	 */
+	public long getDroppedDebugCount() {
+		return droppedDebugCount.sum();
+	}
+
+	/**
+	 * @return number of records dropped by {@link AsyncOverflowPolicy#DROP_OLDEST} policy.
+	 */
+	public long getDroppedOldestCount() {
+		return droppedOldestCount.sum();
+	}
+
+}
@@ -0,0 +1,37 @@
+package igloo.julhelper.bridge;
+
+import java.util.Locale;
+
+/**
+ * Behavior of {@link AsyncBridgeHandler} when its ring buffer is full.
+ */
+public enum AsyncOverflowPolicy {
+
+	/**
+	 * Logging thread waits for a free slot.
+	 */
+	BLOCK,
+	/**
+	 * Records with a level lower than or equal to `FINE` (SLF4J DEBUG and TRACE) are dropped; logging thread waits for
+	 * a free slot for other records.
+	 */
+	DROP_DEBUG,
+	/**
+	 * Oldest queued record is dropped to free a slot; logging thread never waits.
+	 */
+	DROP_OLDEST;
+
+	/**
+	 * @param value a policy name (case-insensitive, `-` and `_` are equivalent), or null or blank for default policy
+	 *        ({@link #BLOCK}).
+	 * @return matching policy.
+	 * @throws IllegalArgumentException if value is not a known policy.
+	 */
+	public static AsyncOverflowPolicy fromParameter(String value) {
+		if (value == null || value.isBlank()) {
+			return BLOCK;
+		}
+		return valueOf(value.strip().replace('-', '_').toUpperCase(Locale.ROOT));
+	}
+
+}
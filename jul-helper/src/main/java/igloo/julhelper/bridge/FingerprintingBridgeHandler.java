@@ -0,0 +1,105 @@
+package igloo.julhelper.bridge;
+
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+import igloo.julhelper.util.ThrowableFingerprintCache;
+import igloo.julhelper.util.ThrowableFingerprintCache.Occurrence;
+
+/**
+ * JUL handler that avoids rendering identical stack traces repeatedly: records with a throwable are fingerprinted
+ * (see {@link ThrowableFingerprintCache}) before they reach a delegate handler (a bridge handler like
+ * {@link IglooSlf4jBridgeHandler}).
+ * 
+ * * First occurrence in window is published with its throwable, and message is suffixed with `[throwable #<id>]`;
+ * * later occurrences are published without throwable, and message is suffixed with
+ *   `[<type> #<id>, occurrence <n>, stack trace omitted]`.
+ * 
+ * Records are copied before modification. Source class and method are not copied (no caller inference). Message is
+ * localized with record resource bundle before it is suffixed, so copies carry no resource bundle; parameters are
+ * kept and formatted by the delegate handler.
+ */
+public class FingerprintingBridgeHandler extends Handler {
+
+	private final Handler delegate;
+
+	private final ThrowableFingerprintCache cache;
+
+	/**
+	 * @param delegate handler used to publish records. Required.
+	 * @param cache fingerprint cache. Required.
+	 */
+	public FingerprintingBridgeHandler(Handler delegate, ThrowableFingerprintCache cache) {
+		super();
+		this.delegate = delegate;
+		this.cache = cache;
+	}
+
+	@Override
+	public void publish(LogRecord record) {
+		if (record == null || !isLoggable(record)) {
+			return;
+		}
+		Throwable thrown = record.getThrown();
+		if (thrown == null) {
+			delegate.publish(record);
+			return;
+		}
+		Occurrence occurrence = cache.record(thrown, record.getMillis());
+		LogRecord copy = new LogRecord(record.getLevel(), null);
+		copy.setLoggerName(record.getLoggerName());
+		copy.setParameters(record.getParameters());
+		copy.setInstant(record.getInstant());
+		copy.setThreadID(record.getThreadID());
+		copy.setSequenceNumber(record.getSequenceNumber());
+		String message = localize(record);
+		if (occurrence.isFirst()) {
+			copy.setMessage(String.format("%s [throwable #%s]", message, occurrence.getId()));
+			copy.setThrown(thrown);
+		} else {
+			copy.setMessage(String.format("%s [%s #%s, occurrence %d, stack trace omitted]", message,
+					thrown.getClass().getName(), occurrence.getId(), occurrence.getCount()));
+		}
+		delegate.publish(copy);
+	}
+
+	/**
+	 * @return record message, translated with record resource bundle if message is one of its keys; "" if message is
+	 *         null.
+	 */
+	private static String localize(LogRecord record) {
+		String message = record.getMessage();
+		if (message == null) {
+			return "";
+		}
+		ResourceBundle bundle = record.getResourceBundle();
+		if (bundle != null) {
+			try {
+				return bundle.getString(message);
+			} catch (MissingResourceException e) {
+				// keep message as is
+			}
+		}
+		return message;
+	}
+
+	@Override
+	public void flush() {
+		delegate.flush();
+	}
+
+	/**
+	 * Delegate handler is flushed but not closed.
+	 */
+	@Override
+	public void close() {
+		delegate.flush();
+	}
+
+	public ThrowableFingerprintCache getCache() {
+		return cache;
+	}
+
+}
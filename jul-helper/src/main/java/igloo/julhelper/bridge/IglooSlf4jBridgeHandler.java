@@ -0,0 +1,257 @@
+package igloo.julhelper.bridge;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Handler;
+import java.util.logging.LogManager;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.slf4j.LoggerFactory;
+import org.slf4j.bridge.SLF4JBridgeHandler;
+import org.slf4j.spi.LocationAwareLogger;
+
+import igloo.julhelper.api.JulBridgeStatistics;
+import igloo.julhelper.api.JulBridgeStatistics.LoggerCounters;
+import igloo.julhelper.util.JulMessagePatterns;
+
+/**
+ * Drop-in replacement for {@link SLF4JBridgeHandler}, tuned for chatty JUL loggers:
+ * 
+ * * SLF4J loggers are cached by JUL logger name;
+ * * target level is checked before any message processing: resource bundle lookup and formatting are only performed
+ *   for records that will be written;
+ * * when the JUL message only uses simple sequential placeholders (`{0}`, `{1}`, ...) and parameters are rendered the
+ *   same way by {@link MessageFormat} and SLF4J, placeholders are rewritten as `{}` and parameters are handed to SLF4J
+ *   as arguments. Formatting is then left to the SLF4J backend. Other messages are formatted with
+ *   {@link MessageFormat}, as {@link SLF4JBridgeHandler} does.
+ * 
+ * Published and accepted records are counted by JUL logger (see {@link JulBridgeStatistics}).
+ * 
+ * Level mapping and caller location (for {@link LocationAwareLogger}) are the same as {@link SLF4JBridgeHandler}.
+ */
+public class IglooSlf4jBridgeHandler extends Handler {
+
+	private static final String FQCN = Logger.class.getName();
+
+	private static final String UNKNOWN_LOGGER_NAME = "unknown.jul.logger";
+
+	private static final int TRACE_LEVEL_THRESHOLD = java.util.logging.Level.FINEST.intValue();
+	private static final int DEBUG_LEVEL_THRESHOLD = java.util.logging.Level.FINE.intValue();
+	private static final int INFO_LEVEL_THRESHOLD = java.util.logging.Level.INFO.intValue();
+	private static final int WARN_LEVEL_THRESHOLD = java.util.logging.Level.WARNING.intValue();
+
+	private final Function<String, org.slf4j.Logger> loggerFactory;
+
+	private final Map<String, BridgedLogger> loggers = new ConcurrentHashMap<>();
+
+	public IglooSlf4jBridgeHandler() {
+		this(LoggerFactory::getLogger);
+	}
+
+	/**
+	 * @param loggerFactory SLF4J logger lookup, called once by JUL logger name. Required.
+	 */
+	public IglooSlf4jBridgeHandler(Function<String, org.slf4j.Logger> loggerFactory) {
+		super();
+		this.loggerFactory = loggerFactory;
+	}
+
+	/**
+	 * Add a {@link IglooSlf4jBridgeHandler} on JUL root logger.
+	 */
+	public static void install() {
+		LogManager.getLogManager().getLogger("").addHandler(new IglooSlf4jBridgeHandler());
+	}
+
+	/**
+	 * Remove {@link IglooSlf4jBridgeHandler} instances from JUL root logger.
+	 */
+	public static void removeHandlersForRootLogger() {
+		Logger rootLogger = LogManager.getLogManager().getLogger("");
+		for (Handler handler : rootLogger.getHandlers()) {
+			if (handler instanceof IglooSlf4jBridgeHandler) {
+				rootLogger.removeHandler(handler);
+			}
+		}
+	}
+
+	@Override
+	public void publish(LogRecord record) {
+		if (record == null) {
+			return;
+		}
+		BridgedLogger bridgedLogger = getBridgedLogger(record);
+		org.slf4j.Logger logger = bridgedLogger.logger;
+		int level = toSlf4jLevel(record.getLevel().intValue());
+		boolean enabled = isEnabled(logger, level);
+		bridgedLogger.counters().record(record.getLevel().intValue(), enabled);
+		if (!enabled) {
+			return;
+		}
+		
+		String message = record.getMessage();
+		Object[] arguments = null;
+		if (message != null) {
+			ResourceBundle bundle = record.getResourceBundle();
+			if (bundle != null) {
+				try {
+					message = bundle.getString(message);
+				} catch (MissingResourceException e) {
+					// keep message as is
+				}
+			}
+			Object[] parameters = record.getParameters();
+			if (parameters != null && parameters.length > 0) {
+				String pattern = JulMessagePatterns.toParameterizedPattern(message, parameters);
+				if (pattern != null) {
+					arguments = JulMessagePatterns.usedParameters(pattern, parameters);
+					message = pattern;
+				} else {
+					message = format(message, parameters);
+				}
+			}
+		}
+		log(logger, level, message, arguments, record.getThrown());
+	}
+
+	@Override
+	public void flush() {
+		// nothing to flush
+	}
+
+	@Override
+	public void close() {
+		// nothing to close
+	}
+
+	private BridgedLogger getBridgedLogger(LogRecord record) {
+		String name = record.getLoggerName();
+		if (name == null) {
+			name = UNKNOWN_LOGGER_NAME;
+		}
+		return loggers.computeIfAbsent(name, n -> new BridgedLogger(n, loggerFactory.apply(n)));
+	}
+
+	private static int toSlf4jLevel(int julLevelValue) {
+		if (julLevelValue <= TRACE_LEVEL_THRESHOLD) {
+			return LocationAwareLogger.TRACE_INT;
+		} else if (julLevelValue <= DEBUG_LEVEL_THRESHOLD) {
+			return LocationAwareLogger.DEBUG_INT;
+		} else if (julLevelValue <= INFO_LEVEL_THRESHOLD) {
+			return LocationAwareLogger.INFO_INT;
+		} else if (julLevelValue <= WARN_LEVEL_THRESHOLD) {
+			return LocationAwareLogger.WARN_INT;
+		} else {
+			return LocationAwareLogger.ERROR_INT;
+		}
+	}
+
+	private static boolean isEnabled(org.slf4j.Logger logger, int level) {
+		switch (level) {
+		case LocationAwareLogger.TRACE_INT:
+			return logger.isTraceEnabled();
+		case LocationAwareLogger.DEBUG_INT:
+			return logger.isDebugEnabled();
+		case LocationAwareLogger.INFO_INT:
+			return logger.isInfoEnabled();
+		case LocationAwareLogger.WARN_INT:
+			return logger.isWarnEnabled();
+		default:
+			return logger.isErrorEnabled();
+		}
+	}
+
+	private static void log(org.slf4j.Logger logger, int level, String message, Object[] arguments, Throwable thrown) {
+		if (logger instanceof LocationAwareLogger) {
+			((LocationAwareLogger) logger).log(null, FQCN, level, message, arguments, thrown);
+			return;
+		}
+		if (arguments == null) {
+			switch (level) {
+			case LocationAwareLogger.TRACE_INT:
+				logger.trace(message, thrown);
+				break;
+			case LocationAwareLogger.DEBUG_INT:
+				logger.debug(message, thrown);
+				break;
+			case LocationAwareLogger.INFO_INT:
+				logger.info(message, thrown);
+				break;
+			case LocationAwareLogger.WARN_INT:
+				logger.warn(message, thrown);
+				break;
+			default:
+				logger.error(message, thrown);
+			}
+			return;
+		}
+		// SLF4J uses a trailing Throwable argument as the event throwable
+		Object[] argumentsWithThrown = arguments;
+		if (thrown != null) {
+			argumentsWithThrown = Arrays.copyOf(arguments, arguments.length + 1);
+			argumentsWithThrown[arguments.length] = thrown;
+		}
+		switch (level) {
+		case LocationAwareLogger.TRACE_INT:
+			logger.trace(message, argumentsWithThrown);
+			break;
+		case LocationAwareLogger.DEBUG_INT:
+			logger.debug(message, argumentsWithThrown);
+			break;
+		case LocationAwareLogger.INFO_INT:
+			logger.info(message, argumentsWithThrown);
+			break;
+		case LocationAwareLogger.WARN_INT:
+			logger.warn(message, argumentsWithThrown);
+			break;
+		default:
+			logger.error(message, argumentsWithThrown);
+		}
+	}
+
+	private static String format(String message, Object[] parameters) {
+		try {
+			return MessageFormat.format(message, parameters);
+		} catch (IllegalArgumentException e) {
+			return message;
+		}
+	}
+
+	/**
+	 * SLF4J logger, with {@link JulBridgeStatistics} counters of its JUL logger.
+	 */
+	private static final class BridgedLogger {
+
+		private final String name;
+		
+		private final org.slf4j.Logger logger;
+		
+		private volatile LoggerCounters counters;
+		
+		private BridgedLogger(String name, org.slf4j.Logger logger) {
+			this.name = name;
+			this.logger = logger;
+			this.counters = JulBridgeStatistics.forLogger(name);
+		}
+		
+		/**
+		 * @return counters, resolved again when {@link JulBridgeStatistics#version()} changes.
+		 */
+		private LoggerCounters counters() {
+			LoggerCounters current = counters;
+			if (current.getVersion() != JulBridgeStatistics.version()) {
+				current = JulBridgeStatistics.forLogger(name);
+				counters = current;
+			}
+			return current;
+		}
+
+	}
+
+}
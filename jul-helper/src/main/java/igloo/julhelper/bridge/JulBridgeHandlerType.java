@@ -0,0 +1,45 @@
+package igloo.julhelper.bridge;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.logging.Handler;
+
+import org.slf4j.bridge.SLF4JBridgeHandler;
+
+/**
+ * Available JUL to SLF4J bridge handlers.
+ */
+public enum JulBridgeHandlerType {
+
+	/**
+	 * jul-to-slf4j {@link SLF4JBridgeHandler}.
+	 */
+	SLF4J(SLF4JBridgeHandler::new),
+	/**
+	 * {@link IglooSlf4jBridgeHandler}.
+	 */
+	IGLOO(IglooSlf4jBridgeHandler::new);
+
+	private final Supplier<Handler> handlerSupplier;
+
+	private JulBridgeHandlerType(Supplier<Handler> handlerSupplier) {
+		this.handlerSupplier = handlerSupplier;
+	}
+
+	public Handler newHandler() {
+		return handlerSupplier.get();
+	}
+
+	/**
+	 * @param value a type name (case-insensitive), or null or blank for default type ({@link #SLF4J}).
+	 * @return matching type.
+	 * @throws IllegalArgumentException if value is not a known type.
+	 */
+	public static JulBridgeHandlerType fromParameter(String value) {
+		if (value == null || value.isBlank()) {
+			return SLF4J;
+		}
+		return valueOf(value.strip().toUpperCase(Locale.ROOT));
+	}
+
+}
@@ -0,0 +1,293 @@
+package igloo.julhelper.bridge;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import igloo.julhelper.util.LoggerNameTrie;
+
+/**
+ * JUL handler that suppresses repeated records before they reach a delegate handler (a bridge handler like
+ * {@link IglooSlf4jBridgeHandler}). Records are keyed on logger name, level and message template (unformatted message).
+ * Within a suppression window, the first occurrence is published and the following ones are counted; a single
+ * `repeated N times` summary record is published when the key occurs again after the window, when the key is evicted,
+ * on {@link #flush()} (expired windows) and {@link #close()} (all windows). Expired windows are also drained by the
+ * next published record of any key, at most once per {@link #DRAIN_INTERVAL_MILLIS}, so that a summary is not held
+ * until its key occurs again.
+ * 
+ * Windows are measured with record timestamps. Default window applies to all loggers; it can be overridden for a
+ * logger and its descendants with {@link #setWindow(String, long)}. A 0 window disables suppression.
+ * 
+ * Keys are stored in a fixed-size table indexed by key hash and updated with compare-and-set: a colliding key evicts
+ * the previous one, so memory is bounded and no lock is taken. Counts are approximate under concurrent eviction.
+ */
+public class SuppressingBridgeHandler extends Handler {
+
+	public static final int DEFAULT_TABLE_SIZE = 1024;
+
+	/**
+	 * Minimum delay between two drains of expired windows triggered by {@link #publish(LogRecord)}.
+	 */
+	public static final long DRAIN_INTERVAL_MILLIS = 1000;
+
+	/**
+	 * Parameters: suppressed occurrences, elapsed time from first to last occurrence, message template.
+	 */
+	private static final String SUMMARY_MESSAGE = "Previous message repeated {0,number,#} times in {1,number,#} ms: {2}";
+
+	private final Handler delegate;
+
+	private final long defaultWindowMillis;
+
+	private final AtomicReferenceArray<Entry> table;
+
+	private final int mask;
+
+	private final LongAdder suppressedCount = new LongAdder();
+
+	/**
+	 * Record timestamp from which next drain is triggered by {@link #publish(LogRecord)}.
+	 */
+	private final AtomicLong nextDrain = new AtomicLong(Long.MIN_VALUE);
+
+	/**
+	 * Logger-specific windows. Replaced on each modification.
+	 */
+	private volatile Windows windows = new Windows(Map.of());
+
+	/**
+	 * @param delegate handler used to publish records and summaries. Required.
+	 * @param defaultWindowMillis suppression window for loggers without a specific window. 0 to disable.
+	 */
+	public SuppressingBridgeHandler(Handler delegate, long defaultWindowMillis) {
+		this(delegate, defaultWindowMillis, DEFAULT_TABLE_SIZE);
+	}
+
+	/**
+	 * @param delegate handler used to publish records and summaries. Required.
+	 * @param defaultWindowMillis suppression window for loggers without a specific window. 0 to disable.
+	 * @param tableSize maximum number of tracked keys; rounded up to a power of two. Must be positive.
+	 */
+	public SuppressingBridgeHandler(Handler delegate, long defaultWindowMillis, int tableSize) {
+		super();
+		if (tableSize <= 0) {
+			throw new IllegalArgumentException(String.format("Table size must be positive (%d)", tableSize));
+		}
+		if (defaultWindowMillis < 0) {
+			throw new IllegalArgumentException(String.format("Window must not be negative (%d)", defaultWindowMillis));
+		}
+		this.delegate = delegate;
+		this.defaultWindowMillis = defaultWindowMillis;
+		int size = Integer.highestOneBit(tableSize) == tableSize ? tableSize : Integer.highestOneBit(tableSize) << 1;
+		this.table = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	@Override
+	public void publish(LogRecord record) {
+		if (record == null || !isLoggable(record)) {
+			return;
+		}
+		String loggerName = record.getLoggerName() != null ? record.getLoggerName() : "";
+		long window = getWindow(loggerName);
+		if (window <= 0) {
+			delegate.publish(record);
+			return;
+		}
+		
+		long now = record.getMillis();
+		long drain = nextDrain.get();
+		if (now >= drain && nextDrain.compareAndSet(drain, now + DRAIN_INTERVAL_MILLIS)) {
+			drain(e -> now - e.start >= e.window);
+		}
+		int hash = hash(loggerName, record.getLevel(), record.getMessage());
+		int index = hash & mask;
+		Entry current = table.get(index);
+		if (current != null && current.matches(hash, loggerName, record.getLevel(), record.getMessage())
+				&& now - current.start < window) {
+			current.suppressed.incrementAndGet();
+			current.last = now;
+			suppressedCount.increment();
+			return;
+		}
+		Entry entry = new Entry(hash, loggerName, record.getLevel(), record.getMessage(), now, window);
+		if (table.compareAndSet(index, current, entry)) {
+			publishSummary(current);
+		}
+		// on a lost race, record is published without being tracked
+		delegate.publish(record);
+	}
+
+	/**
+	 * Publish summaries for expired windows, then flush delegate handler.
+	 */
+	@Override
+	public void flush() {
+		long now = System.currentTimeMillis();
+		drain(e -> now - e.start >= e.window);
+		delegate.flush();
+	}
+
+	/**
+	 * Publish pending summaries. Delegate handler is flushed but not closed.
+	 */
+	@Override
+	public void close() {
+		drain(e -> true);
+		delegate.flush();
+	}
+
+	/**
+	 * Override suppression window for logger `name` and its descendants.
+	 * 
+	 * @param name a logger name. Required.
+	 * @param windowMillis suppression window; 0 disables suppression. Must not be negative.
+	 */
+	public synchronized void setWindow(String name, long windowMillis) {
+		if (windowMillis < 0) {
+			throw new IllegalArgumentException(String.format("Window must not be negative (%d)", windowMillis));
+		}
+		Map<String, Long> updated = new TreeMap<>(windows.windows);
+		updated.put(name, windowMillis);
+		windows = new Windows(updated);
+	}
+
+	/**
+	 * Remove window override for logger `name`. Logger then uses its closest parent override or default window.
+	 * 
+	 * @param name a logger name. Required.
+	 */
+	public synchronized void unsetWindow(String name) {
+		Map<String, Long> updated = new TreeMap<>(windows.windows);
+		updated.remove(name);
+		windows = new Windows(updated);
+	}
+
+	/**
+	 * @return window overrides, by logger name. Unmodifiable.
+	 */
+	public Map<String, Long> getWindows() {
+		return windows.windows;
+	}
+
+	public long getDefaultWindowMillis() {
+		return defaultWindowMillis;
+	}
+
+	/**
+	 * @param loggerName a logger name. Required.
+	 * @return suppression window applied to `loggerName`; 0 if suppression is disabled.
+	 */
+	public long getWindow(String loggerName) {
+		Windows current = windows;
+		if (current.windows.isEmpty()) {
+			return defaultWindowMillis;
+		}
+		String match = current.names.longestMatch(loggerName);
+		return match != null ? current.windows.get(match) : defaultWindowMillis;
+	}
+
+	/**
+	 * @return number of records suppressed since handler creation.
+	 */
+	public long getSuppressedCount() {
+		return suppressedCount.sum();
+	}
+
+	private void drain(Predicate<Entry> expired) {
+		for (int i = 0; i < table.length(); i++) {
+			Entry entry = table.get(i);
+			if (entry != null && expired.test(entry) && table.compareAndSet(i, entry, null)) {
+				publishSummary(entry);
+			}
+		}
+	}
+
+	private void publishSummary(Entry entry) {
+		if (entry == null) {
+			return;
+		}
+		// reset count so that a concurrent increment is not reported twice
+		long suppressed = entry.suppressed.getAndSet(0);
+		if (suppressed <= 0) {
+			return;
+		}
+		LogRecord summary = new LogRecord(entry.level, SUMMARY_MESSAGE);
+		summary.setLoggerName(entry.loggerName);
+		summary.setParameters(new Object[] { suppressed, entry.last - entry.start, entry.message });
+		delegate.publish(summary);
+	}
+
+	private static int hash(String loggerName, Level level, String message) {
+		int hash = Objects.hash(loggerName, level, message);
+		// spread high bits, as table size is a power of two
+		return hash ^ (hash >>> 16);
+	}
+
+	private static final class Entry {
+
+		private final int hash;
+		
+		private final String loggerName;
+		
+		private final Level level;
+		
+		private final String message;
+		
+		/**
+		 * Window start, as record timestamp (milliseconds).
+		 */
+		private final long start;
+		
+		private final long window;
+		
+		/**
+		 * Last suppressed occurrence, as record timestamp (milliseconds). Approximate under concurrent updates.
+		 */
+		private volatile long last;
+		
+		private final AtomicLong suppressed = new AtomicLong();
+		
+		private Entry(int hash, String loggerName, Level level, String message, long start, long window) {
+			this.hash = hash;
+			this.loggerName = loggerName;
+			this.level = level;
+			this.message = message;
+			this.start = start;
+			this.window = window;
+			this.last = start;
+		}
+		
+		private boolean matches(int hash, String loggerName, Level level, String message) {
+			return this.hash == hash && this.level.equals(level) && this.loggerName.equals(loggerName)
+					&& Objects.equals(this.message, message);
+		}
+
+	}
+
+	/**
+	 * Immutable window overrides with their prefix index.
+	 */
+	private static final class Windows {
+
+		private final Map<String, Long> windows;
+		
+		private final LoggerNameTrie names;
+		
+		private Windows(Map<String, Long> windows) {
+			this.windows = Collections.unmodifiableMap(windows);
+			this.names = LoggerNameTrie.of(List.copyOf(windows.keySet()));
+		}
+
+	}
+
+}
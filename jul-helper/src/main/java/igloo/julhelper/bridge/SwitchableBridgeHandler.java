@@ -0,0 +1,56 @@
+package igloo.julhelper.bridge;
+
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+/**
+ * JUL handler placed at the end of a bridge handler chain ({@link AsyncBridgeHandler}, {@link SuppressingBridgeHandler},
+ * {@link FingerprintingBridgeHandler}): it publishes records with a delegate handler that can be replaced at runtime
+ * (see {@link igloo.julhelper.api.JulBridgeHandlerConfigurable}), so that wrapping handlers and their state are kept.
+ */
+public class SwitchableBridgeHandler extends Handler {
+
+	private volatile Handler delegate;
+
+	/**
+	 * @param delegate initial handler used to publish records. Required.
+	 */
+	public SwitchableBridgeHandler(Handler delegate) {
+		super();
+		this.delegate = delegate;
+	}
+
+	@Override
+	public void publish(LogRecord record) {
+		delegate.publish(record);
+	}
+
+	@Override
+	public void flush() {
+		delegate.flush();
+	}
+
+	/**
+	 * Delegate handler is flushed but not closed.
+	 */
+	@Override
+	public void close() {
+		delegate.flush();
+	}
+
+	/**
+	 * Replace delegate handler; previous delegate is flushed but not closed.
+	 * 
+	 * @param delegate handler used to publish subsequent records. Required.
+	 */
+	public void setDelegate(Handler delegate) {
+		Handler previous = this.delegate;
+		this.delegate = delegate;
+		previous.flush();
+	}
+
+	public Handler getDelegate() {
+		return delegate;
+	}
+
+}
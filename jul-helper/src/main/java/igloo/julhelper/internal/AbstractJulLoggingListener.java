@@ -1,6 +1,9 @@
 package igloo.julhelper.internal;
 
+import java.util.Locale;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.LogManager;
 
@@ -10,7 +13,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.bridge.SLF4JBridgeHandler;
 
+import igloo.julhelper.api.JulBridgeStatistics;
+import igloo.julhelper.bridge.AsyncBridgeHandler;
+import igloo.julhelper.bridge.AsyncOverflowPolicy;
+import igloo.julhelper.bridge.FingerprintingBridgeHandler;
+import igloo.julhelper.bridge.IglooSlf4jBridgeHandler;
+import igloo.julhelper.bridge.JulBridgeHandlerType;
+import igloo.julhelper.bridge.SuppressingBridgeHandler;
+import igloo.julhelper.bridge.SwitchableBridgeHandler;
+import igloo.julhelper.jmx.JulLoggingConfigurator;
+import igloo.julhelper.jmx.JulLoggingManagerImpl;
 import igloo.julhelper.jmx.JulLoggingManagerMBean;
+import igloo.julhelper.logmanager.IglooJulLogManager;
+import igloo.julhelper.util.ThrowableFingerprintCache;
 
 /**
  * # Usage
@@ -20,6 +35,41 @@ import igloo.julhelper.jmx.JulLoggingManagerMBean;
  * Behavior can be controlled with `skipJulSlf4jBridgeHandler` and `skipJulJmxHelper` init parameters.
  * Default behavior is to add both helpers.
  * 
+ * `julBridgeHandler` init parameter selects the bridge handler installed on root logger and on loggers managed by
+ * JMX: `slf4j` (default) for {@link SLF4JBridgeHandler}, `igloo` for {@link IglooSlf4jBridgeHandler} (logger
+ * caching, level check before formatting, parameters handed to SLF4J).
+ * 
+ * `julBridgeScope` init parameter selects where bridge handlers are installed:
+ * 
+ * * `root` (default): a bridge handler is installed on root logger;
+ * * `knownLoggers`: root logger is left at WARNING level with its bridge handler, and a bridge handler is installed
+ *   on each JUL known logger subtree (see `julKnownLoggersResourcePath`), without parent handlers. This is the third
+ *   strategy described below, driven by the known loggers list. Records from loggers outside these subtrees are
+ *   forwarded to SLF4J only from WARNING level. Subtree levels are not modified: they inherit root WARNING level
+ *   until a level is set from JMX bean, JUL configuration or backend level propagation. JMX helper is needed to load
+ *   the known loggers list: if `skipJulJmxHelper` is `true`, `root` scope is used. Bridged subtrees can be retrieved
+ *   from JMX bean.
+ * 
+ * `julAsyncBridge` init parameter (default `false`) wraps the bridge handler in an {@link AsyncBridgeHandler}, so that
+ * logging threads do not wait for backend appenders. `julAsyncBridgeCapacity` (default 8192) sets its ring buffer
+ * capacity, and `julAsyncBridgeOverflowPolicy` (`block` (default), `drop_debug` or `drop_oldest`) its behavior when
+ * the ring buffer is full (see {@link AsyncOverflowPolicy}). Queue depth, drop counts and enqueue latency can be
+ * retrieved from JMX bean. Queued records are published on {@link #contextDestroyed()}.
+ * 
+ * `julSuppressionWindow` init parameter (milliseconds) enables repeated-message suppression with
+ * {@link SuppressingBridgeHandler}: within the window, a record with the same logger, level and message template as a
+ * previous record is not bridged, and a single `repeated N times` summary is bridged afterwards. `0` enables
+ * suppression without default window; windows can then be tuned by logger from JMX bean.
+ * 
+ * `julThrowableFingerprintWindow` init parameter (milliseconds) enables throwable fingerprinting with
+ * {@link FingerprintingBridgeHandler}: an identical stack trace is rendered once per window, later occurrences are
+ * bridged with a short reference id. `julThrowableFingerprintCacheSize` (default 256) bounds the number of
+ * fingerprints kept. Cache hit rate can be retrieved from JMX bean.
+ * 
+ * `julBridgeStatistics` init parameter (default `false`) enables per logger counters of records bridged but discarded
+ * by the backend (see {@link JulBridgeStatistics}). `julBridgeStatisticsMaxLoggers` (default 1000) bounds the number
+ * of tracked loggers. Report can be retrieved from JMX bean. Counters are discarded on {@link #contextDestroyed()}.
+ * 
  * `julKnownLoggersResourcePath` init parameter allows to point a resource for loading well-known JUL logger names.
  * This file must contain a line by JUL logger. This list is used to conditionally apply logger updates from
  * third-party components (like Log4j2LoggingManager), so that JUL logger configuration is applied only for loggers
@@ -41,6 +91,18 @@ import igloo.julhelper.jmx.JulLoggingManagerMBean;
  *   <param-name>skipJulJmxHelper</param-name>
  *   <param-value>false</param-value>
  * </context-param>
+ * <context-param>
+ *   <param-name>julBridgeHandler</param-name>
+ *   <param-value>slf4j</param-value>
+ * </context-param>
+ * <context-param>
+ *   <param-name>julBridgeScope</param-name>
+ *   <param-value>root</param-value>
+ * </context-param>
+ * <context-param>
+ *   <param-name>julAsyncBridge</param-name>
+ *   <param-value>false</param-value>
+ * </context-param>
  * }</pre>
  * 
  * # About SLF4JBridgeHandler
@@ -55,8 +117,16 @@ import igloo.julhelper.jmx.JulLoggingManagerMBean;
  * * Set a catch-all root level, set warning or error level to limit propagation of unwanted loggers. This allows to
  *   limit log event volume. This configuration needs to configure both JUL and SLF4J backend consistently;
  * * Set a WARN root level, and attach {@link SLF4JBridgeHandler} on each targeted child logger. JUL and SLF4J
- *   backend need to be configured consistently.
+ *   backend need to be configured consistently. `julBridgeScope=knownLoggers` applies this setup on JUL known
+ *   loggers.
  *   
+ * # About IglooJulLogManager
+ * 
+ * {@link IglooJulLogManager} is an optional alternative to bridge handlers: JUL loggers take their level from the
+ * SLF4J backend and publish records straight to it. It must be installed with the `java.util.logging.manager` system
+ * property. This listener can still be used to install the JMX helper (`skipJulSlf4jBridgeHandler=true` is then
+ * advised).
+ * 
  * # About JUL JMX helper
  * 
  * This JMX MBean allows to bind {@link SLF4JBridgeHandler} and set level on arbitrary loggers to activate logging
@@ -69,9 +139,30 @@ public abstract class AbstractJulLoggingListener {
 	private static final String PARAMETER_SKIP_JUL_SLF4J_BRIDGE_HANDLER = "skipJulSlf4jBridgeHandler";
 	private static final String PARAMETER_SKIP_JUL_JMX_HELPER = "skipJulJmxHelper";
 	private static final String PARAMETER_JUL_KNOWN_LOGGERS_RESOURCE_PATH = "julKnownLoggersResourcePath";
+	private static final String PARAMETER_JUL_BRIDGE_HANDLER = "julBridgeHandler";
+	private static final String PARAMETER_JUL_BRIDGE_SCOPE = "julBridgeScope";
+	private static final String JUL_BRIDGE_SCOPE_KNOWN_LOGGERS = "knownLoggers";
+	private static final String PARAMETER_JUL_ASYNC_BRIDGE = "julAsyncBridge";
+	private static final String PARAMETER_JUL_ASYNC_BRIDGE_CAPACITY = "julAsyncBridgeCapacity";
+	private static final String PARAMETER_JUL_ASYNC_BRIDGE_OVERFLOW_POLICY = "julAsyncBridgeOverflowPolicy";
+	private static final String PARAMETER_JUL_SUPPRESSION_WINDOW = "julSuppressionWindow";
+	private static final String PARAMETER_JUL_THROWABLE_FINGERPRINT_WINDOW = "julThrowableFingerprintWindow";
+	private static final String PARAMETER_JUL_THROWABLE_FINGERPRINT_CACHE_SIZE = "julThrowableFingerprintCacheSize";
+	private static final String PARAMETER_JUL_BRIDGE_STATISTICS = "julBridgeStatistics";
+	private static final String PARAMETER_JUL_BRIDGE_STATISTICS_MAX_LOGGERS = "julBridgeStatisticsMaxLoggers";
 
 	private ObjectName mbeanObjectName;
 
+	private JulLoggingManagerImpl manager;
+
+	private AsyncBridgeHandler asyncBridgeHandler;
+
+	private SuppressingBridgeHandler suppressingBridgeHandler;
+
+	private FingerprintingBridgeHandler fingerprintingBridgeHandler;
+
+	private SwitchableBridgeHandler switchableBridgeHandler;
+
 	/**
 	 * @see AbstractJulLoggingListener
 	 */
@@ -83,25 +174,90 @@ public abstract class AbstractJulLoggingListener {
 			julKnownLoggersResourcePath = null;
 		}
 		
-		if (!getBooleanParameter(sce, PARAMETER_SKIP_JUL_SLF4J_BRIDGE_HANDLER)) {
-			initSlf4jBridgeHandler();
+		JulBridgeHandlerType bridgeHandlerType = JulBridgeHandlerType.fromParameter(sce.getInitParameter(PARAMETER_JUL_BRIDGE_HANDLER));
+		
+		boolean skipBridgeHandler = getBooleanParameter(sce, PARAMETER_SKIP_JUL_SLF4J_BRIDGE_HANDLER);
+		boolean skipJmxHelper = getBooleanParameter(sce, PARAMETER_SKIP_JUL_JMX_HELPER);
+		boolean subtreeScope = Optional.ofNullable(sce.getInitParameter(PARAMETER_JUL_BRIDGE_SCOPE))
+				.map(String::strip)
+				.filter(JUL_BRIDGE_SCOPE_KNOWN_LOGGERS::equalsIgnoreCase)
+				.isPresent();
+		if (subtreeScope && skipJmxHelper) {
+			LOGGER.warn("{}={} needs JUL JMX helper; root bridge handler is used", PARAMETER_JUL_BRIDGE_SCOPE, JUL_BRIDGE_SCOPE_KNOWN_LOGGERS);
+			subtreeScope = false;
 		}
 		
-		if (!getBooleanParameter(sce, PARAMETER_SKIP_JUL_JMX_HELPER)) {
-			mbeanObjectName = JulLoggingManagerMBean.registerMBean(julKnownLoggersResourcePath);
+		boolean asyncBridge = getBooleanParameter(sce, PARAMETER_JUL_ASYNC_BRIDGE);
+		Long fingerprintWindow = getLongParameter(sce, PARAMETER_JUL_THROWABLE_FINGERPRINT_WINDOW, null);
+		Long suppressionWindow = getLongParameter(sce, PARAMETER_JUL_SUPPRESSION_WINDOW, null);
+		
+		if (getBooleanParameter(sce, PARAMETER_JUL_BRIDGE_STATISTICS)) {
+			JulBridgeStatistics.enable(getIntParameter(sce, PARAMETER_JUL_BRIDGE_STATISTICS_MAX_LOGGERS, JulBridgeStatistics.DEFAULT_MAX_LOGGERS));
 		}
 		
-		LOGGER.info("jul-to-slf4j installed");
+		Supplier<Handler> bridgeHandlerSupplier = bridgeHandlerType::newHandler;
+		if ((asyncBridge || fingerprintWindow != null || suppressionWindow != null) && !(skipBridgeHandler && skipJmxHelper)) {
+			// wrapping handlers are shared; backend handler may be replaced by a third-party component
+			SwitchableBridgeHandler handler = new SwitchableBridgeHandler(bridgeHandlerType.newHandler());
+			switchableBridgeHandler = handler;
+			bridgeHandlerSupplier = () -> handler;
+		}
+		if (asyncBridge && !(skipBridgeHandler && skipJmxHelper)) {
+			int capacity = getIntParameter(sce, PARAMETER_JUL_ASYNC_BRIDGE_CAPACITY, AsyncBridgeHandler.DEFAULT_CAPACITY);
+			AsyncOverflowPolicy overflowPolicy = AsyncOverflowPolicy.fromParameter(sce.getInitParameter(PARAMETER_JUL_ASYNC_BRIDGE_OVERFLOW_POLICY));
+			AsyncBridgeHandler handler = new AsyncBridgeHandler(bridgeHandlerSupplier.get(), capacity, overflowPolicy);
+			asyncBridgeHandler = handler;
+			// a single consumer thread is shared by root logger and managed loggers
+			bridgeHandlerSupplier = () -> handler;
+		}
+		
+		if (fingerprintWindow != null && !(skipBridgeHandler && skipJmxHelper)) {
+			int cacheSize = getIntParameter(sce, PARAMETER_JUL_THROWABLE_FINGERPRINT_CACHE_SIZE, ThrowableFingerprintCache.DEFAULT_MAX_SIZE);
+			FingerprintingBridgeHandler handler = new FingerprintingBridgeHandler(bridgeHandlerSupplier.get(),
+					new ThrowableFingerprintCache(cacheSize, fingerprintWindow));
+			fingerprintingBridgeHandler = handler;
+			bridgeHandlerSupplier = () -> handler;
+		}
+		
+		if (suppressionWindow != null && !(skipBridgeHandler && skipJmxHelper)) {
+			// suppression is performed before async bridge, so that suppressed records are not queued
+			SuppressingBridgeHandler handler = new SuppressingBridgeHandler(bridgeHandlerSupplier.get(), suppressionWindow);
+			suppressingBridgeHandler = handler;
+			bridgeHandlerSupplier = () -> handler;
+		}
+		
+		if (!skipBridgeHandler) {
+			initSlf4jBridgeHandler(bridgeHandlerSupplier);
+		}
+		
+		if (!skipJmxHelper) {
+			manager = new JulLoggingManagerImpl(julKnownLoggersResourcePath,
+					new JulLoggingConfigurator(bridgeHandlerSupplier));
+			manager.setSwitchableBridgeHandler(switchableBridgeHandler);
+			manager.setAsyncBridgeHandler(asyncBridgeHandler);
+			manager.setSuppressingBridgeHandler(suppressingBridgeHandler);
+			manager.setFingerprintingBridgeHandler(fingerprintingBridgeHandler);
+			mbeanObjectName = JulLoggingManagerMBean.registerMBean(manager);
+			if (subtreeScope && !skipBridgeHandler) {
+				manager.bridgeJulKnownLoggers();
+			}
+		}
+		
+		LOGGER.info("jul-to-slf4j installed ({}{} bridge handler, {} scope)", asyncBridgeHandler != null ? "async " : "",
+				bridgeHandlerType.name().toLowerCase(Locale.ROOT), subtreeScope ? JUL_BRIDGE_SCOPE_KNOWN_LOGGERS : "root");
 	}
 
 	/**
-	 * Install jul-to-slf4j bridge handler.
+	 * Install jul-to-slf4j bridge handler on root logger. With `knownLoggers` scope, it bridges WARNING and SEVERE
+	 * records of loggers outside known subtrees; known subtrees do not use parent handlers.
 	 */
-	private void initSlf4jBridgeHandler() {
+	private void initSlf4jBridgeHandler(Supplier<Handler> bridgeHandlerSupplier) {
 		LogManager.getLogManager().reset();
-		java.util.logging.Logger.getLogger("").setLevel(Level.WARNING);
+		java.util.logging.Logger rootLogger = java.util.logging.Logger.getLogger("");
+		rootLogger.setLevel(Level.WARNING);
 		SLF4JBridgeHandler.removeHandlersForRootLogger();
-		SLF4JBridgeHandler.install();
+		IglooSlf4jBridgeHandler.removeHandlersForRootLogger();
+		rootLogger.addHandler(bridgeHandlerSupplier.get());
 	}
 
 	/**
@@ -111,6 +267,19 @@ public abstract class AbstractJulLoggingListener {
 		if (mbeanObjectName != null) {
 			JulLoggingManagerMBean.unregisterMBean(mbeanObjectName);
 		}
+		if (manager != null) {
+			// stop time-boxed overrides timer
+			manager.close();
+		}
+		if (suppressingBridgeHandler != null) {
+			// publish pending summaries
+			suppressingBridgeHandler.close();
+		}
+		if (asyncBridgeHandler != null) {
+			// publish queued records; records published later are bridged synchronously
+			asyncBridgeHandler.close();
+		}
+		JulBridgeStatistics.disable();
 	}
 
 	/**
@@ -125,4 +294,38 @@ public abstract class AbstractJulLoggingListener {
 		return Boolean.TRUE.toString().equals(param);
 	}
 
+	/**
+	 * Extract long parameter named `paramName` from `sce`.
+	 * 
+	 * @param sce configuration provider. Required.
+	 * @param paramName name of the long parameter to extract. Required.
+	 * @param defaultValue value returned for a missing or blank parameter. May be null.
+	 * @return parameter value, or `defaultValue`.
+	 * @throws NumberFormatException if parameter value is not a long.
+	 */
+	private Long getLongParameter(CommonContextEvent sce, String paramName, Long defaultValue) {
+		return Optional.ofNullable(sce.getInitParameter(paramName))
+				.map(String::strip)
+				.filter(s -> !s.isEmpty())
+				.map(Long::parseLong)
+				.orElse(defaultValue);
+	}
+
+	/**
+	 * Extract int parameter named `paramName` from `sce`.
+	 * 
+	 * @param sce configuration provider. Required.
+	 * @param paramName name of the int parameter to extract. Required.
+	 * @param defaultValue value returned for a missing or blank parameter.
+	 * @return parameter value, or `defaultValue`.
+	 * @throws NumberFormatException if parameter value is not an int.
+	 */
+	private int getIntParameter(CommonContextEvent sce, String paramName, int defaultValue) {
+		return Optional.ofNullable(sce.getInitParameter(paramName))
+				.map(String::strip)
+				.filter(s -> !s.isEmpty())
+				.map(Integer::parseInt)
+				.orElse(defaultValue);
+	}
+
 }
@@ -1,9 +1,11 @@
 package igloo.julhelper.jmx;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
-import java.util.Set;
 import java.util.function.Supplier;
+import java.util.logging.Filter;
 import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -11,21 +13,105 @@ import java.util.logging.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.bridge.SLF4JBridgeHandler;
 
+import igloo.julhelper.api.JulBackendLevelCache;
 import igloo.julhelper.exceptions.JulLevelMappingException;
+import igloo.julhelper.util.EventSampler;
+import igloo.julhelper.util.LoggerNameTrie;
+import igloo.julhelper.util.ManagedLogger;
+import igloo.julhelper.util.ManagedLoggerRegistry;
 
 public class JulLoggingConfigurator {
 
 	private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(JulLoggingConfigurator.class);
 
-	public Logger setLevel(final String name, final String level, Set<Logger> loggers, Map<String, Level> julLevelMapping) {
+	private volatile Supplier<Handler> bridgeHandlerSupplier;
+
+	/**
+	 * Managed loggers are bridged with {@link SLF4JBridgeHandler}.
+	 */
+	public JulLoggingConfigurator() {
+		this(SLF4JBridgeHandler::new);
+	}
+
+	/**
+	 * @param bridgeHandlerSupplier provides the bridge handler attached to each managed logger. Required.
+	 */
+	public JulLoggingConfigurator(Supplier<Handler> bridgeHandlerSupplier) {
+		super();
+		this.bridgeHandlerSupplier = bridgeHandlerSupplier;
+	}
+
+	/**
+	 * @param bridgeHandlerSupplier provides the bridge handler attached to loggers on subsequent
+	 *        {@link #setLevel(String, String, ManagedLoggerRegistry, Map)} calls. Required.
+	 */
+	public void setBridgeHandlerSupplier(Supplier<Handler> bridgeHandlerSupplier) {
+		this.bridgeHandlerSupplier = bridgeHandlerSupplier;
+	}
+
+	/**
+	 * Set logger level and redirect its events to SLF4J with the configured bridge handler. Managed logger keeps a strong reference on JUL logger so that
+	 * the configuration is not lost by garbage collection.
+	 * 
+	 * @param name a logger name. Required.
+	 * @param level a JUL level or a mapped level. Required.
+	 * @param loggers managed loggers; updated with the added or replaced logger.
+	 * @param julLevelMapping mapping used when level is not a JUL level.
+	 * @return the managed logger.
+	 */
+	public ManagedLogger<Level, Logger> setLevel(final String name, final String level, ManagedLoggerRegistry<Level, Logger> loggers, Map<String, Level> julLevelMapping) {
+		return setLevel(name, level, loggers, julLevelMapping, null);
+	}
+
+	/**
+	 * Apply {@link #setLevel(String, String, ManagedLoggerRegistry, Map)}; if `sampler` is not null, records less
+	 * severe than the level in effect before override are sampled by a {@link JulSamplingFilter} set on the logger.
+	 * Unsampled records are dropped before they reach the bridge handler.
+	 * 
+	 * @param name a logger name. Required.
+	 * @param level a JUL level or a mapped level. Required.
+	 * @param loggers managed loggers; updated with the added or replaced logger.
+	 * @param julLevelMapping mapping used when level is not a JUL level.
+	 * @param sampler sampler applied to records below original level; null to log all records.
+	 * @return the managed logger.
+	 */
+	public ManagedLogger<Level, Logger> setLevel(final String name, final String level, ManagedLoggerRegistry<Level, Logger> loggers,
+			Map<String, Level> julLevelMapping, EventSampler sampler) {
+		Level julLevel = parseLevel(level, julLevelMapping);
+		boolean managed = loggers.get(name) != null;
 		Logger logger = getLogger(name, loggers);
-		logger.setLevel(parseLevel(level, julLevelMapping));
+		Filter filter = removeSamplingFilter(logger);
+		if (sampler != null) {
+			filter = new JulSamplingFilter(getOriginalEffectiveLevel(logger, managed), sampler, filter);
+		}
+		logger.setFilter(filter);
+		logger.setLevel(julLevel);
 		clearHandlers(logger);
 		
 		logger.setUseParentHandlers(false);
-		logger.addHandler(new SLF4JBridgeHandler());
-		loggers.add(logger);
+		logger.addHandler(bridgeHandlerSupplier.get());
+		ManagedLogger<Level, Logger> managedLogger = new ManagedLogger<>(name, julLevel, null, logger);
+		loggers.put(managedLogger);
+		// platform loggers and backend-aware loggers cache JUL levels
+		JulBackendLevelCache.setOverride(name, julLevel.intValue());
 		
+		return managedLogger;
+	}
+
+	/**
+	 * Attach a bridge handler to logger `name` and disable parent handlers, so that the logger and its descendants
+	 * are bridged without relying on root logger handlers. Logger level is not modified: without level, the subtree
+	 * inherits root logger level.
+	 * 
+	 * @param name a logger name. Required.
+	 * @return the bridged logger; caller must keep a strong reference so that the configuration is not lost by
+	 *         garbage collection.
+	 */
+	public Logger bridgeSubtree(final String name) {
+		Logger logger = Logger.getLogger(name);
+		clearHandlers(logger);
+		logger.setUseParentHandlers(false);
+		logger.addHandler(bridgeHandlerSupplier.get());
 		return logger;
 	}
 
@@ -41,46 +127,66 @@ public class JulLoggingConfigurator {
 		}
 	}
 
+	/**
+	 * Parse a multiline `name=LEVEL` configuration. Blank lines and lines starting with `#` are ignored.
+	 * 
+	 * @param levels a multiline string of loggerName=loggerLevel entries. Required.
+	 * @return logger names to levels, in declaration order.
+	 * @throws JulLevelMappingException if a line cannot be parsed.
+	 * 
+	 * @see ManagedLoggerRegistry#parseLevels(String)
+	 */
+	public Map<String, String> parseLevels(final String levels) {
+		try {
+			return ManagedLoggerRegistry.parseLevels(levels);
+		} catch (IllegalArgumentException e) {
+			throw new JulLevelMappingException(e.getMessage(), e);
+		}
+	}
+
 	/**
 	 * Compare logger name against known JUL loggers to decide if change must be propagated to JUL.
 	 * 
 	 * @param loggerName logger name.
-	 * @param julKnownLoggers collection of JUL known logger names to match loggerName against.
+	 * @param julKnownLoggers JUL known logger names to match loggerName against.
 	 * 
-	 * @return true if loggerName match a given julKnownLoggers.
+	 * @return true if loggerName is a given julKnownLoggers or a descendant of a given julKnownLoggers.
 	 */
-	public boolean matchJulKnownLoggers(String loggerName, Set<String> julKnownLoggers) {
-		return julKnownLoggers.stream().anyMatch(loggerName::startsWith);
+	public boolean matchJulKnownLoggers(String loggerName, LoggerNameTrie julKnownLoggers) {
+		return julKnownLoggers.matches(loggerName);
 	}
 
 	/**
-	 * Update collection of JUL known loggers from a resource file.
+	 * Build an updated collection of JUL known loggers from a resource file. Provided julKnownLoggers is not modified.
 	 * 
 	 * @param updateSource resource name (used for logging).
 	 * @param supplier supplier JUL known loggers.
-	 * @param reset true if julKnownLoggers must be emptied before update.
-	 * @param julKnownLoggers collection to update.
+	 * @param reset true if julKnownLoggers must be ignored.
+	 * @param julKnownLoggers current JUL known loggers.
+	 * @return a new {@link LoggerNameTrie} with loaded JUL known loggers (and julKnownLoggers items if reset is false).
 	 */
-	public void updateJulKnownLoggers(String updateSource, Supplier<Scanner> supplier, boolean reset, Set<String> julKnownLoggers) {
+	public LoggerNameTrie updateJulKnownLoggers(String updateSource, Supplier<Scanner> supplier, boolean reset, LoggerNameTrie julKnownLoggers) {
 		if (reset) {
 			LOGGER.info("Removing all JUL known loggers ({} items removed)", julKnownLoggers.size());
-			julKnownLoggers.clear();
 		}
 		LOGGER.info("Loading JUL known loggers from resource {}.", updateSource);
-		int i = 0;
+		List<String> loaded = new ArrayList<>();
 		try (Scanner scanner = supplier.get()) {
 			while (scanner.hasNextLine()) {
 				String line = scanner.nextLine();
 				if (!line.startsWith("#")) {
 					// remove trailing newline and any other leading and trailing whitespaces
-					String strippedLine = line.strip();
-					LOGGER.trace("Adding JUL known logger {}", strippedLine);
-					julKnownLoggers.add(strippedLine);
-					i++;
+					for (String name : line.strip().split("\\s+")) {
+						if (!name.isEmpty()) {
+							LOGGER.trace("Adding JUL known logger {}", name);
+							loaded.add(name);
+						}
+					}
 				}
 			}
 		}
-		LOGGER.info("Loaded {} JUL known loggers.", i);
+		LOGGER.info("Loaded {} JUL known loggers.", loaded.size());
+		return reset ? LoggerNameTrie.of(loaded) : julKnownLoggers.with(loaded);
 	}
 
 	/**
@@ -88,14 +194,42 @@ public class JulLoggingConfigurator {
 	 * Logger is removed from the list of managed loggers.
 	 * 
 	 * @param name a logger name. Required.
-	 * @param loggers list of managed loggers; updated to remove logger identified by name.
+	 * @param loggers managed loggers; updated to remove logger identified by name.
 	 */
-	public void doUnsetLevel(final String name, Set<Logger> loggers) {
+	public void doUnsetLevel(final String name, ManagedLoggerRegistry<Level, Logger> loggers) {
 		Logger logger = getLogger(name, loggers);
 		clearHandlers(logger);
+		logger.setFilter(removeSamplingFilter(logger));
 		logger.setUseParentHandlers(true);
 		logger.setLevel(null);
-		loggers.remove(logger);
+		loggers.remove(name);
+		JulBackendLevelCache.removeOverride(name);
+	}
+
+	/**
+	 * @return logger filter without sampling filter set by a previous override.
+	 */
+	private Filter removeSamplingFilter(Logger logger) {
+		Filter filter = logger.getFilter();
+		return filter instanceof JulSamplingFilter ? ((JulSamplingFilter) filter).getPrevious() : filter;
+	}
+
+	/**
+	 * Level in effect before override. A managed logger level is reset to null when override is removed: its
+	 * original level is inherited from its parents.
+	 * 
+	 * @param managed true if logger is currently overridden.
+	 */
+	private Level getOriginalEffectiveLevel(Logger logger, boolean managed) {
+		if (!managed && logger.getLevel() != null) {
+			return logger.getLevel();
+		}
+		for (Logger parent = logger.getParent(); parent != null; parent = parent.getParent()) {
+			if (parent.getLevel() != null) {
+				return parent.getLevel();
+			}
+		}
+		return Level.INFO;
 	}
 
 	/**
@@ -113,11 +247,10 @@ public class JulLoggingConfigurator {
 	 * Retrieve a logger from list of managed loggers, else retrieve it from JUL API.
 	 * 
 	 * @param name a logger name. Required.
-	 * @param loggers list of managed loggers; updated to remove logger identified by name.
+	 * @param loggers managed loggers.
 	 */
-	private Logger getLogger(final String name, Set<Logger> loggers) {
-		return loggers.stream().filter(i -> i.getName().equals(name))
-				.findFirst()
-				.orElseGet(() -> Logger.getLogger(name));
+	private Logger getLogger(final String name, ManagedLoggerRegistry<Level, Logger> loggers) {
+		ManagedLogger<Level, Logger> managedLogger = loggers.get(name);
+		return managedLogger != null ? managedLogger.getReference() : Logger.getLogger(name);
 	}
 }
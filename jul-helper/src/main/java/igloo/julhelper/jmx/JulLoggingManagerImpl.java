@@ -2,33 +2,50 @@ package igloo.julhelper.jmx;
 
 import java.lang.ref.WeakReference;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Scanner;
 import java.util.Set;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.TreeMap;
 import java.util.function.Supplier;
+import java.util.logging.Filter;
+import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
+import igloo.julhelper.api.JulBridgeHandlerConfigurable;
+import igloo.julhelper.api.JulBridgeStatistics;
+import igloo.julhelper.api.JulBridgeStatistics.LoggerCounters;
+import igloo.julhelper.api.JulCallerLocation;
 import igloo.julhelper.api.JulLoggingManager;
+import igloo.julhelper.bridge.AsyncBridgeHandler;
+import igloo.julhelper.bridge.FingerprintingBridgeHandler;
+import igloo.julhelper.bridge.SuppressingBridgeHandler;
+import igloo.julhelper.bridge.SwitchableBridgeHandler;
+import igloo.julhelper.util.EventSampler;
+import igloo.julhelper.util.LevelOverrideExpirations;
+import igloo.julhelper.util.LoggerNameTrie;
+import igloo.julhelper.util.ManagedLogger;
+import igloo.julhelper.util.ManagedLoggerRegistry;
+import igloo.julhelper.util.ManagedLoggerSnapshot;
 
 /**
- * Implementation for {@link JulLoggingManager} MBean. All public methods are synchronized to ensure
- * {@link #loggers} consistency.
+ * Implementation for {@link JulLoggingManager} MBean. All modification methods are synchronized to ensure
+ * {@link #loggers} consistency. Attribute reads are served from an immutable snapshot and do not take the lock.
  */
-public class JulLoggingManagerImpl implements JulLoggingManager {
+public class JulLoggingManagerImpl implements JulLoggingManager, JulBridgeHandlerConfigurable {
 
 	/**
 	 * A set of well-known JUL logger names. Used to conditionally apply  {@link #setLevelIfWellKnown(String, String)}
-	 * calls.
+	 * calls. This immutable index is replaced on each update, so that readers never see a partially loaded list.
 	 */
-	private final Set<String> julKnownLoggers = new TreeSet<>();
+	private volatile LoggerNameTrie julKnownLoggers = LoggerNameTrie.EMPTY;
 
 	/**
 	 * A mapping to transform level given to {@link #setLevel(String, String)} when it is not known by JUL.
@@ -36,16 +53,35 @@ public class JulLoggingManagerImpl implements JulLoggingManager {
 	private final Map<String, Level> julLevelMapping = new HashMap<>();
 
 	/**
-	 * This set is used to store managed loggers. It is needed:
+	 * This registry is used to store managed loggers, indexed by name. It is needed:
 	 * 
 	 * * to keep track of modified loggers, provides feedback, and perform reset operations;
 	 * * to ensure that managed loggers are not garbage collected (if not used, logger are stored as
-	 *   {@link WeakReference}.
+	 *   {@link WeakReference}; entries keep a strong reference on JUL logger).
 	 */
-	private final Set<Logger> loggers = ConcurrentHashMap.newKeySet();
+	private final ManagedLoggerRegistry<Level, Logger> loggers = new ManagedLoggerRegistry<>(JulLoggingManagerImpl::render);
+
+	/**
+	 * Expiry of overrides set by {@link #setLevel(String, String, long)}. Timer thread is started on first use.
+	 */
+	private final LevelOverrideExpirations expirations = new LevelOverrideExpirations("igloo-jul-level-expiry", this::expireLevels);
+
+	/**
+	 * Subtrees bridged by {@link #bridgeJulKnownLoggers()}, sorted by name. Map values keep a strong reference on JUL
+	 * loggers. This immutable map is replaced on each update.
+	 */
+	private volatile Map<String, Logger> bridgedSubtrees = Collections.emptyMap();
 
 	private final JulLoggingConfigurator julLoggingConfigurator;
 
+	private volatile Optional<SwitchableBridgeHandler> switchableBridgeHandler = Optional.empty();
+
+	private volatile Optional<AsyncBridgeHandler> asyncBridgeHandler = Optional.empty();
+
+	private volatile Optional<SuppressingBridgeHandler> suppressingBridgeHandler = Optional.empty();
+
+	private volatile Optional<FingerprintingBridgeHandler> fingerprintingBridgeHandler = Optional.empty();
+
 	public JulLoggingManagerImpl(String julKnownLoggersResourcePath) {
 		this(julKnownLoggersResourcePath, new JulLoggingConfigurator());
 	}
@@ -69,6 +105,7 @@ public class JulLoggingManagerImpl implements JulLoggingManager {
 		julLevelMapping.put("INFO", Level.INFO);
 		julLevelMapping.put("WARN", Level.WARNING);
 		julLevelMapping.put("ERROR", Level.SEVERE);
+		julLevelMapping.put("FATAL", Level.SEVERE);
 		julLevelMapping.put("OFF", Level.OFF);
 		// resource path
 		// empty or blank -> default value
@@ -82,7 +119,7 @@ public class JulLoggingManagerImpl implements JulLoggingManager {
 		if (resourceOptional.isPresent()) {
 			ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
 			Supplier<Scanner> supplier = () -> new Scanner(classLoader.getResourceAsStream(resourceOptional.get()), StandardCharsets.UTF_8);
-			julLoggingConfigurator.updateJulKnownLoggers(julKnownLoggersResourcePath, supplier, false, julKnownLoggers);
+			julKnownLoggers = julLoggingConfigurator.updateJulKnownLoggers(julKnownLoggersResourcePath, supplier, false, julKnownLoggers);
 		}
 	}
 
@@ -90,20 +127,32 @@ public class JulLoggingManagerImpl implements JulLoggingManager {
 	 * @see JulLoggingManager#getLoggerNames
 	 */
 	@Override
-	public synchronized List<String> getLoggerNames() {
-		List<String> names = loggers.stream().map(Logger::getName).collect(Collectors.toList());
-		names.sort(String::compareTo);
-		return names;
+	public List<String> getLoggerNames() {
+		return loggers.snapshot().getNames();
 	}
 
 	/**
 	 * @see JulLoggingManager#getLoggerConfig
 	 */
 	@Override
-	public synchronized String getLoggerConfig() {
-		List<Logger> names = loggers.stream().collect(Collectors.toList());
-		names.sort((l1, l2) -> l1.getName().compareTo(l2.getName()));
-		return names.stream().map(l -> String.format("%s=%s", l.getName(), l.getLevel().getName())).collect(Collectors.joining("\n"));
+	public String getLoggerConfig() {
+		ManagedLoggerSnapshot<Level, Logger> snapshot = loggers.snapshot();
+		if (expirations.isEmpty()) {
+			return snapshot.getConfig();
+		}
+		// remaining time changes on each read; it is not part of the cached configuration
+		return snapshot.getLoggers().stream()
+				.map(l -> render(l) + expirations.renderRemaining(l.getName()))
+				.collect(Collectors.joining("\n"));
+	}
+
+	private static String render(ManagedLogger<Level, Logger> logger) {
+		Filter filter = logger.getReference().getFilter();
+		if (filter instanceof JulSamplingFilter) {
+			return String.format("%s=%s (%s)", logger.getName(), logger.getLevel().getName(),
+					((JulSamplingFilter) filter).getSampler().describe());
+		}
+		return String.format("%s=%s", logger.getName(), logger.getLevel().getName());
 	}
 
 	/**
@@ -112,6 +161,37 @@ public class JulLoggingManagerImpl implements JulLoggingManager {
 	@Override
 	public synchronized void setLevel(final String name, final String level) {
 		julLoggingConfigurator.setLevel(name, level, loggers, julLevelMapping);
+		expirations.cancel(name);
+	}
+
+	/**
+	 * @see JulLoggingManager#setLevel(String, String, long)
+	 */
+	@Override
+	public synchronized void setLevel(final String name, final String level, final long durationMillis) {
+		LevelOverrideExpirations.checkDuration(durationMillis);
+		julLoggingConfigurator.setLevel(name, level, loggers, julLevelMapping);
+		expirations.schedule(name, durationMillis);
+	}
+
+	/**
+	 * @see JulLoggingManager#setSampledLevel(String, String, int, long)
+	 */
+	@Override
+	public synchronized void setSampledLevel(final String name, final String level, final int sampleRate,
+			final long maxEventsPerSecond) {
+		EventSampler sampler = new EventSampler(sampleRate, maxEventsPerSecond);
+		julLoggingConfigurator.setLevel(name, level, loggers, julLevelMapping, sampler);
+		expirations.cancel(name);
+	}
+
+	/**
+	 * Restore overrides set by {@link #setLevel(String, String, long)} that fall due. Called on expiry timer thread.
+	 */
+	private synchronized void expireLevels() {
+		for (String name : expirations.pollExpired()) {
+			doUnsetLevel(name);
+		}
 	}
 
 	/**
@@ -124,12 +204,48 @@ public class JulLoggingManagerImpl implements JulLoggingManager {
 		}
 	}
 
+	/**
+	 * @see JulLoggingManager#setLevels(String)
+	 */
+	@Override
+	public synchronized void setLevels(final String levels) {
+		Map<String, String> parsedLevels = julLoggingConfigurator.parseLevels(levels);
+		// check all levels before any modification
+		parsedLevels.values().forEach(level -> julLoggingConfigurator.parseLevel(level, julLevelMapping));
+		parsedLevels.forEach(this::setLevel);
+	}
+
+	/**
+	 * @see JulLoggingManager#setLevelsIfWellKnown(String)
+	 */
+	@Override
+	public synchronized void setLevelsIfWellKnown(final String levels) {
+		Map<String, String> parsedLevels = julLoggingConfigurator.parseLevels(levels);
+		// check levels of well-known loggers before any modification; other entries are ignored
+		parsedLevels.entrySet().stream()
+				.filter(entry -> julLoggingConfigurator.matchJulKnownLoggers(entry.getKey(), julKnownLoggers))
+				.forEach(entry -> julLoggingConfigurator.parseLevel(entry.getValue(), julLevelMapping));
+		parsedLevels.forEach(this::setLevelIfWellKnown);
+	}
+
 	/**
 	 * @see JulLoggingManager#unsetLevel(String)
 	 */
 	@Override
 	public synchronized void unsetLevel(final String name) {
-		julLoggingConfigurator.doUnsetLevel(name, loggers);
+		doUnsetLevel(name);
+	}
+
+	/**
+	 * @see JulLoggingManager#unsetLevels(String)
+	 */
+	@Override
+	public synchronized void unsetLevels(final String names) {
+		for (String name : names.strip().split("\\s+")) {
+			if (!name.isEmpty()) {
+				unsetLevel(name);
+			}
+		}
 	}
 
 	/**
@@ -137,40 +253,301 @@ public class JulLoggingManagerImpl implements JulLoggingManager {
 	 */
 	@Override
 	public synchronized void reset() {
-		Set<Logger> loggersCopy = new HashSet<>(this.loggers);
-		for (Logger logger : loggersCopy) {
-			julLoggingConfigurator.doUnsetLevel(logger.getName(), loggers);
+		for (String name : loggers.getSortedNames()) {
+			doUnsetLevel(name);
 		}
 	}
 
+	/**
+	 * Reset logger `name`; bridge handler is restored if logger is a bridged subtree.
+	 */
+	private void doUnsetLevel(final String name) {
+		expirations.cancel(name);
+		julLoggingConfigurator.doUnsetLevel(name, loggers);
+		if (bridgedSubtrees.containsKey(name)) {
+			julLoggingConfigurator.bridgeSubtree(name);
+		}
+	}
+
+	/**
+	 * @see JulBridgeHandlerConfigurable#setBridgeHandlerSupplier(Supplier)
+	 */
+	@Override
+	public synchronized void setBridgeHandlerSupplier(Supplier<Handler> bridgeHandlerSupplier) {
+		if (switchableBridgeHandler.isPresent()) {
+			// wrapping handlers are kept; supplied handler is the end of the chain
+			switchableBridgeHandler.get().setDelegate(bridgeHandlerSupplier.get());
+		} else {
+			julLoggingConfigurator.setBridgeHandlerSupplier(bridgeHandlerSupplier);
+		}
+	}
+
+	/**
+	 * @param switchableBridgeHandler end of the bridge handler chain, replaced by
+	 *        {@link #setBridgeHandlerSupplier(Supplier)}; null if bridge handlers are not wrapped.
+	 */
+	public void setSwitchableBridgeHandler(SwitchableBridgeHandler switchableBridgeHandler) {
+		this.switchableBridgeHandler = Optional.ofNullable(switchableBridgeHandler);
+	}
+
 	/**
 	 * @see JulLoggingManager#getJulKnownLoggers()
 	 */
 	@Override
 	public Set<String> getJulKnownLoggers() {
-		return julKnownLoggers;
+		return julKnownLoggers.getNames();
 	}
 
 	/**
 	 * @see JulLoggingManager#addJulKnownLoggers(String)
 	 */
 	@Override
-	public void addJulKnownLoggers(String julKnownLoggers) {
+	public synchronized void addJulKnownLoggers(String julKnownLoggers) {
 		Supplier<Scanner> supplier = () -> new Scanner(julKnownLoggers);
-		julLoggingConfigurator.updateJulKnownLoggers("JMX addJulKnownLoggers operation", supplier, false, this.julKnownLoggers);
+		this.julKnownLoggers = julLoggingConfigurator.updateJulKnownLoggers("JMX addJulKnownLoggers operation", supplier, false, this.julKnownLoggers);
 	}
 
 	/**
 	 * @see JulLoggingManager#updateJulKnownLoggers(String)
 	 */
 	@Override
-	public void updateJulKnownLoggers(String julKnownLoggers) {
+	public synchronized void updateJulKnownLoggers(String julKnownLoggers) {
 		Supplier<Scanner> supplier = () ->  new Scanner(julKnownLoggers);
-		julLoggingConfigurator.updateJulKnownLoggers("JMX addJulKnownLoggers operation", supplier, true, this.julKnownLoggers);
+		this.julKnownLoggers = julLoggingConfigurator.updateJulKnownLoggers("JMX updateJulKnownLoggers operation", supplier, true, this.julKnownLoggers);
+	}
+
+	/**
+	 * @see JulLoggingManager#bridgeJulKnownLoggers()
+	 */
+	@Override
+	public synchronized void bridgeJulKnownLoggers() {
+		Map<String, Logger> subtrees = new TreeMap<>(bridgedSubtrees);
+		LoggerNameTrie bridged = LoggerNameTrie.of(subtrees.keySet());
+		// sorted names: ancestors are processed before their descendants
+		for (String name : julKnownLoggers.getNames()) {
+			if (bridged.matches(name)) {
+				continue;
+			}
+			// a managed logger is already bridged; keep its handler and level
+			ManagedLogger<Level, Logger> managedLogger = loggers.get(name);
+			subtrees.put(name, managedLogger != null ? managedLogger.getReference() : julLoggingConfigurator.bridgeSubtree(name));
+			bridged = bridged.with(List.of(name));
+		}
+		bridgedSubtrees = Collections.unmodifiableMap(subtrees);
+	}
+
+	/**
+	 * @see JulLoggingManager#getBridgedSubtrees()
+	 */
+	@Override
+	public Set<String> getBridgedSubtrees() {
+		return bridgedSubtrees.keySet();
+	}
+
+	/**
+	 * @see JulLoggingManager#enableCallerLocation(String)
+	 */
+	@Override
+	public void enableCallerLocation(String name) {
+		JulCallerLocation.enable(name.strip());
+	}
+
+	/**
+	 * @see JulLoggingManager#disableCallerLocation(String)
+	 */
+	@Override
+	public void disableCallerLocation(String name) {
+		JulCallerLocation.disable(name.strip());
+	}
+
+	/**
+	 * @see JulLoggingManager#getCallerLocationLoggers()
+	 */
+	@Override
+	public Set<String> getCallerLocationLoggers() {
+		return JulCallerLocation.getEnabledLoggers();
+	}
+
+	/**
+	 * @param asyncBridgeHandler asynchronous bridge handler whose statistics are exposed, or null.
+	 */
+	public void setAsyncBridgeHandler(AsyncBridgeHandler asyncBridgeHandler) {
+		this.asyncBridgeHandler = Optional.ofNullable(asyncBridgeHandler);
+	}
+
+	/**
+	 * @see JulLoggingManager#getAsyncBridgeEnabled()
+	 */
+	@Override
+	public boolean getAsyncBridgeEnabled() {
+		return asyncBridgeHandler.isPresent();
+	}
+
+	/**
+	 * @see JulLoggingManager#getAsyncBridgeQueueDepth()
+	 */
+	@Override
+	public int getAsyncBridgeQueueDepth() {
+		return asyncBridgeHandler.map(AsyncBridgeHandler::getQueueDepth).orElse(0);
+	}
+
+	/**
+	 * @see JulLoggingManager#getAsyncBridgeQueueCapacity()
+	 */
+	@Override
+	public int getAsyncBridgeQueueCapacity() {
+		return asyncBridgeHandler.map(AsyncBridgeHandler::getCapacity).orElse(0);
+	}
+
+	/**
+	 * @see JulLoggingManager#getAsyncBridgeDroppedDebugCount()
+	 */
+	@Override
+	public long getAsyncBridgeDroppedDebugCount() {
+		return asyncBridgeHandler.map(h -> h.getStatistics().getDroppedDebugCount()).orElse(0L);
+	}
+
+	/**
+	 * @see JulLoggingManager#getAsyncBridgeDroppedOldestCount()
+	 */
+	@Override
+	public long getAsyncBridgeDroppedOldestCount() {
+		return asyncBridgeHandler.map(h -> h.getStatistics().getDroppedOldestCount()).orElse(0L);
+	}
+
+	/**
+	 * @see JulLoggingManager#getAsyncBridgeMeanEnqueueNanos()
+	 */
+	@Override
+	public long getAsyncBridgeMeanEnqueueNanos() {
+		return asyncBridgeHandler.map(h -> h.getStatistics().getMeanEnqueueNanos()).orElse(0L);
+	}
+
+	/**
+	 * @see JulLoggingManager#getAsyncBridgeMaxEnqueueNanos()
+	 */
+	@Override
+	public long getAsyncBridgeMaxEnqueueNanos() {
+		return asyncBridgeHandler.map(h -> h.getStatistics().getMaxEnqueueNanos()).orElse(0L);
+	}
+
+	/**
+	 * @param suppressingBridgeHandler repeated-message suppression handler configured by this manager, or null.
+	 */
+	public void setSuppressingBridgeHandler(SuppressingBridgeHandler suppressingBridgeHandler) {
+		this.suppressingBridgeHandler = Optional.ofNullable(suppressingBridgeHandler);
+	}
+
+	/**
+	 * @see JulLoggingManager#setSuppressionWindow(String, long)
+	 */
+	@Override
+	public void setSuppressionWindow(String name, long windowMillis) {
+		suppressingBridgeHandler
+				.orElseThrow(() -> new IllegalStateException("Repeated-message suppression is not enabled (julSuppressionWindow)"))
+				.setWindow(name.strip(), windowMillis);
+	}
+
+	/**
+	 * @see JulLoggingManager#unsetSuppressionWindow(String)
+	 */
+	@Override
+	public void unsetSuppressionWindow(String name) {
+		suppressingBridgeHandler.ifPresent(h -> h.unsetWindow(name.strip()));
+	}
+
+	/**
+	 * @see JulLoggingManager#getSuppressionWindows()
+	 */
+	@Override
+	public Map<String, Long> getSuppressionWindows() {
+		return suppressingBridgeHandler.map(SuppressingBridgeHandler::getWindows).orElseGet(Collections::emptyMap);
+	}
+
+	/**
+	 * @see JulLoggingManager#getSuppressionDefaultWindowMillis()
+	 */
+	@Override
+	public long getSuppressionDefaultWindowMillis() {
+		return suppressingBridgeHandler.map(SuppressingBridgeHandler::getDefaultWindowMillis).orElse(0L);
+	}
+
+	/**
+	 * @see JulLoggingManager#getSuppressedRecordCount()
+	 */
+	@Override
+	public long getSuppressedRecordCount() {
+		return suppressingBridgeHandler.map(SuppressingBridgeHandler::getSuppressedCount).orElse(0L);
+	}
+
+	/**
+	 * @param fingerprintingBridgeHandler throwable fingerprinting handler whose statistics are exposed, or null.
+	 */
+	public void setFingerprintingBridgeHandler(FingerprintingBridgeHandler fingerprintingBridgeHandler) {
+		this.fingerprintingBridgeHandler = Optional.ofNullable(fingerprintingBridgeHandler);
+	}
+
+	/**
+	 * @see JulLoggingManager#getThrowableFingerprintHitCount()
+	 */
+	@Override
+	public long getThrowableFingerprintHitCount() {
+		return fingerprintingBridgeHandler.map(h -> h.getCache().getHitCount()).orElse(0L);
+	}
+
+	/**
+	 * @see JulLoggingManager#getThrowableFingerprintMissCount()
+	 */
+	@Override
+	public long getThrowableFingerprintMissCount() {
+		return fingerprintingBridgeHandler.map(h -> h.getCache().getMissCount()).orElse(0L);
+	}
+
+	/**
+	 * @see JulLoggingManager#getThrowableFingerprintHitRate()
+	 */
+	@Override
+	public double getThrowableFingerprintHitRate() {
+		return fingerprintingBridgeHandler.map(h -> h.getCache().getHitRate()).orElse(0d);
+	}
+
+	/**
+	 * @see JulLoggingManager#reportWastedWork(int)
+	 */
+	@Override
+	public String reportWastedWork(int maxLoggers) {
+		return JulBridgeStatistics.getAll().stream()
+				.filter(c -> c.getPublishedCount() > c.getAcceptedCount())
+				.sorted(Comparator.comparingDouble(LoggerCounters::getWasteRatio)
+						.thenComparingLong(c -> c.getPublishedCount() - c.getAcceptedCount())
+						.reversed())
+				.limit(maxLoggers)
+				.map(c -> String.format(Locale.ROOT, "%s: %d/%d discarded (%.1f%%), suggested level %s",
+						c.getLoggerName(),
+						c.getPublishedCount() - c.getAcceptedCount(),
+						c.getPublishedCount(),
+						c.getWasteRatio() * 100,
+						c.getSuggestedLevel().getName()))
+				.collect(Collectors.joining("\n"));
+	}
+
+	/**
+	 * @see JulLoggingManager#resetWastedWorkCounters()
+	 */
+	@Override
+	public void resetWastedWorkCounters() {
+		JulBridgeStatistics.reset();
+	}
+
+	/**
+	 * Stop override expiry timer. Pending time-boxed overrides are kept.
+	 */
+	public void close() {
+		expirations.close();
 	}
 
 	// Used for unit tests
-	public Set<Logger> getLoggers() {
+	public ManagedLoggerRegistry<Level, Logger> getLoggers() {
 		return loggers;
 	}
 
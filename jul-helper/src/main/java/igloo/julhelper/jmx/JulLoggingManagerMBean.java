@@ -31,7 +31,7 @@ public class JulLoggingManagerMBean extends StandardMBean {
 	 * @see #registerMBean(String)
 	 */
 	public static void registerMBean() {
-		registerMBean(null);
+		registerMBean((String) null);
 	}
 
 	/**
@@ -43,10 +43,34 @@ public class JulLoggingManagerMBean extends StandardMBean {
 	 * @see JulLoggingManager
 	 */
 	public static ObjectName registerMBean(String julKnownLogger) {
+		return registerMBean(julKnownLogger, new JulLoggingConfigurator());
+	}
+
+	/**
+	 * Install `igloo:type=LoggingManager,name=JulLoggingManager` JMX MBean.
+	 * 
+	 * @param julKnownLogger path used to load well-known JUL logger names. Use null to disable loading.
+	 * @param julLoggingConfigurator configurator used by the manager. Required.
+	 * @return added MBean {@link ObjectName}
+	 * 
+	 * @see JulLoggingManager
+	 */
+	public static ObjectName registerMBean(String julKnownLogger, JulLoggingConfigurator julLoggingConfigurator) {
+		return registerMBean(new JulLoggingManagerImpl(julKnownLogger, julLoggingConfigurator));
+	}
+
+	/**
+	 * Install `igloo:type=LoggingManager,name=JulLoggingManager` JMX MBean.
+	 * 
+	 * @param manager MBean implementation. Required.
+	 * @return added MBean {@link ObjectName}
+	 * 
+	 * @see JulLoggingManager
+	 */
+	public static ObjectName registerMBean(JulLoggingManagerImpl manager) {
 		try {
 			ObjectName objectName = new ObjectName(String.format("igloo:type=%s,name=%s", JulLoggingManagerMBean.TYPE, JulLoggingManagerMBean.NAME));
 			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
-			JulLoggingManagerImpl manager = new JulLoggingManagerImpl(julKnownLogger);
 			server.registerMBean(new JulLoggingManagerMBean(manager), objectName);
 			JulLoggingManagerHolder.register(manager);
 			return objectName;
@@ -0,0 +1,53 @@
+package igloo.julhelper.jmx;
+
+import java.util.logging.Filter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import igloo.julhelper.util.EventSampler;
+
+/**
+ * JUL logger filter of sampled overrides (see {@link JulLoggingConfigurator}): records at least as severe as the level
+ * in effect before override are always logged; lower records are logged only when sampled. Unsampled records are
+ * dropped by the JUL logger, before they reach the bridge handler.
+ * 
+ * A filter previously set on the logger is kept and applied to logged records; it is restored when override is
+ * removed.
+ */
+public final class JulSamplingFilter implements Filter {
+
+	private final int thresholdValue;
+
+	private final EventSampler sampler;
+
+	private final Filter previous;
+
+	/**
+	 * @param threshold records at least as severe are not sampled. Required.
+	 * @param sampler sampler applied to lower records. Required.
+	 * @param previous filter previously set on the logger; null if none.
+	 */
+	public JulSamplingFilter(Level threshold, EventSampler sampler, Filter previous) {
+		super();
+		this.thresholdValue = threshold.intValue();
+		this.sampler = sampler;
+		this.previous = previous;
+	}
+
+	@Override
+	public boolean isLoggable(LogRecord record) {
+		if (record.getLevel().intValue() < thresholdValue && !sampler.sample()) {
+			return false;
+		}
+		return previous == null || previous.isLoggable(record);
+	}
+
+	public EventSampler getSampler() {
+		return sampler;
+	}
+
+	public Filter getPrevious() {
+		return previous;
+	}
+
+}
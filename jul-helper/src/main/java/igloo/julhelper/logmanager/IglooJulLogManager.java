@@ -0,0 +1,86 @@
+package igloo.julhelper.logmanager;
+
+import java.util.function.Supplier;
+import java.util.logging.Handler;
+import java.util.logging.LogManager;
+import java.util.logging.Logger;
+
+import org.slf4j.LoggerFactory;
+
+import igloo.julhelper.api.JulBackendLevelCache;
+import igloo.julhelper.api.JulBridgeHandlerConfigurable;
+import igloo.julhelper.bridge.IglooSlf4jBridgeHandler;
+import igloo.julhelper.bridge.JulBridgeHandlerType;
+
+/**
+ * Optional JUL {@link LogManager} whose loggers ({@link IglooJulLogger}) take their effective level from the SLF4J
+ * backend configuration and publish records straight to a backend handler, without any root logger bridge handler.
+ * 
+ * It is activated with the system property `-Djava.util.logging.manager=igloo.julhelper.logmanager.IglooJulLogManager`;
+ * jul-helper and SLF4J must then be available from the system class loader.
+ * 
+ * Backend handler is {@link IglooSlf4jBridgeHandler} by default. System property `igloo.julhelper.backendHandler`
+ * (`slf4j` or `igloo`) selects another {@link JulBridgeHandlerType}, and third-party components (like
+ * Log4j2LoggingManager) may replace it with {@link #setBridgeHandlerSupplier(Supplier)}.
+ * 
+ * Backend levels are cached until {@link JulBackendLevelCache#invalidate()} is called. Overrides performed with
+ * `JulLoggingManager` are plain JUL level and handler modifications; they are applied as with the default
+ * {@link LogManager}.
+ * 
+ * As with the default {@link LogManager}, {@link #getLogger(String)} returns null for unknown names; loggers are created
+ * as {@link IglooJulLogger} only when demanded with {@link Logger#getLogger(String)}.
+ */
+public class IglooJulLogManager extends LogManager implements JulBridgeHandlerConfigurable {
+
+	private static final String PROPERTY_BACKEND_HANDLER = "igloo.julhelper.backendHandler";
+
+	private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+	private volatile Handler backendHandler;
+
+	public IglooJulLogManager() {
+		super();
+		this.backendHandler = JulBridgeHandlerType.fromParameter(System.getProperty(PROPERTY_BACKEND_HANDLER)).newHandler();
+	}
+
+	@Override
+	public Logger getLogger(String name) {
+		Logger logger = super.getLogger(name);
+		if (logger != null || name == null || !isDemanded()) {
+			return logger;
+		}
+		Logger created = new IglooJulLogger(name, LoggerFactory.getLogger(name), this::getBackendHandler);
+		if (addLogger(created)) {
+			return created;
+		}
+		// concurrent creation
+		return super.getLogger(name);
+	}
+
+	/**
+	 * `LogManager.demandLogger` (package-private, used by {@link Logger#getLogger(String)}) creates a plain
+	 * {@link Logger} when {@link #getLogger(String)} returns null; other callers (like `LoggingMXBean`) only look up
+	 * existing loggers.
+	 * 
+	 * @return true if {@link #getLogger(String)} is called by `LogManager.demandLogger`.
+	 */
+	private static boolean isDemanded() {
+		return STACK_WALKER.walk(frames -> frames.skip(2).findFirst()
+				.filter(f -> LogManager.class.getName().equals(f.getClassName()) && "demandLogger".equals(f.getMethodName()))
+				.isPresent());
+	}
+
+	/**
+	 * @see JulBridgeHandlerConfigurable#setBridgeHandlerSupplier(Supplier)
+	 */
+	@Override
+	public void setBridgeHandlerSupplier(Supplier<Handler> bridgeHandlerSupplier) {
+		this.backendHandler = bridgeHandlerSupplier.get();
+		JulBackendLevelCache.invalidate();
+	}
+
+	public Handler getBackendHandler() {
+		return backendHandler;
+	}
+
+}
@@ -0,0 +1,163 @@
+package igloo.julhelper.logmanager;
+
+import java.util.function.Supplier;
+import java.util.logging.Filter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import igloo.julhelper.api.JulBackendLevelCache;
+
+/**
+ * JUL logger created by {@link IglooJulLogManager}.
+ * 
+ * * If neither this logger nor its ancestors (root logger excluded) has a level, {@link #isLoggable(Level)} is
+ *   answered from the backend logger enabled levels;
+ * * if neither this logger nor its ancestors (root logger excluded) has a handler, records are published straight
+ *   to the backend handler, without walking parent handlers.
+ * 
+ * Otherwise (logger overridden by `JulLoggingManager` or bridged subtree), default JUL behavior is used. Computed
+ * state is cached and recomputed when {@link JulBackendLevelCache} generation changes; level and handler modifications
+ * on {@link IglooJulLogger} invalidate the cache.
+ */
+public class IglooJulLogger extends Logger {
+
+	private static final int OFF_VALUE = Level.OFF.intValue();
+
+	private final org.slf4j.Logger backendLogger;
+
+	private final Supplier<Handler> backendHandler;
+
+	private volatile State state = new State(-1, OFF_VALUE, true, true);
+
+	/**
+	 * @param name a logger name. Required.
+	 * @param backendLogger backend logger used to compute the effective level. Required.
+	 * @param backendHandler handler used to publish records when no JUL handler is configured. Required.
+	 */
+	public IglooJulLogger(String name, org.slf4j.Logger backendLogger, Supplier<Handler> backendHandler) {
+		super(name, null);
+		this.backendLogger = backendLogger;
+		this.backendHandler = backendHandler;
+	}
+
+	@Override
+	public boolean isLoggable(Level level) {
+		State current = state();
+		if (current.julLevel) {
+			return super.isLoggable(level);
+		}
+		return level.intValue() >= current.levelValue && current.levelValue != OFF_VALUE;
+	}
+
+	@Override
+	public void log(LogRecord record) {
+		State current = state();
+		if (current.julHandlers) {
+			super.log(record);
+			return;
+		}
+		if (!isLoggable(record.getLevel())) {
+			return;
+		}
+		Filter filter = getFilter();
+		if (filter != null && !filter.isLoggable(record)) {
+			return;
+		}
+		backendHandler.get().publish(record);
+	}
+
+	@Override
+	public void setLevel(Level newLevel) {
+		super.setLevel(newLevel);
+		JulBackendLevelCache.invalidate();
+	}
+
+	@Override
+	public void addHandler(Handler handler) {
+		super.addHandler(handler);
+		JulBackendLevelCache.invalidate();
+	}
+
+	@Override
+	public void removeHandler(Handler handler) {
+		super.removeHandler(handler);
+		JulBackendLevelCache.invalidate();
+	}
+
+	@Override
+	public void setUseParentHandlers(boolean useParentHandlers) {
+		super.setUseParentHandlers(useParentHandlers);
+		JulBackendLevelCache.invalidate();
+	}
+
+	@Override
+	public void setParent(Logger parent) {
+		super.setParent(parent);
+		JulBackendLevelCache.invalidate();
+	}
+
+	private State state() {
+		State current = state;
+		int generation = JulBackendLevelCache.generation();
+		if (current.generation != generation) {
+			current = computeState(generation);
+			state = current;
+		}
+		return current;
+	}
+
+	private State computeState(int generation) {
+		boolean julLevel = false;
+		boolean julHandlers = false;
+		// root logger (no parent) is excluded
+		for (Logger logger = this; logger.getParent() != null && !(julLevel && julHandlers); logger = logger.getParent()) {
+			julLevel |= logger.getLevel() != null;
+			julHandlers |= logger.getHandlers().length > 0;
+		}
+		return new State(generation, julLevel ? OFF_VALUE : backendLevelValue(), julLevel, julHandlers);
+	}
+
+	/**
+	 * @return lowest JUL level value accepted by backend logger, with the level mapping used by bridge handlers.
+	 */
+	private int backendLevelValue() {
+		if (backendLogger.isTraceEnabled()) {
+			return Level.ALL.intValue();
+		} else if (backendLogger.isDebugEnabled()) {
+			return Level.FINEST.intValue() + 1;
+		} else if (backendLogger.isInfoEnabled()) {
+			return Level.FINE.intValue() + 1;
+		} else if (backendLogger.isWarnEnabled()) {
+			return Level.INFO.intValue() + 1;
+		} else if (backendLogger.isErrorEnabled()) {
+			return Level.WARNING.intValue() + 1;
+		} else {
+			return OFF_VALUE;
+		}
+	}
+
+	private static final class State {
+
+		private final int generation;
+		
+		/**
+		 * Lowest accepted level value when {@link #julLevel} is false.
+		 */
+		private final int levelValue;
+		
+		private final boolean julLevel;
+		
+		private final boolean julHandlers;
+		
+		private State(int generation, int levelValue, boolean julLevel, boolean julHandlers) {
+			this.generation = generation;
+			this.levelValue = levelValue;
+			this.julLevel = julLevel;
+			this.julHandlers = julHandlers;
+		}
+
+	}
+
+}
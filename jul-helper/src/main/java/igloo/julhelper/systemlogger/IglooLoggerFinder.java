@@ -0,0 +1,149 @@
+package igloo.julhelper.systemlogger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.slf4j.LoggerFactory;
+
+import igloo.julhelper.api.SystemLoggerBackend;
+
+/**
+ * `System.LoggerFinder` provider mapping platform loggers (`System.getLogger(...)`, JDK internals) straight to a
+ * logging backend, without JUL `LogRecord` allocation, JUL hierarchy and bridge handler.
+ * 
+ * Backends are discovered with {@link ServiceLoader} ({@link SystemLoggerBackend}); log4j2-jmx-helper provides a
+ * Log4j2 backend. Built-in backends:
+ * 
+ * * `slf4j`: platform loggers are mapped to SLF4J loggers; used by `auto` if no other backend is available;
+ * * `jul`: platform loggers are mapped to JUL loggers, as with the JDK default provider.
+ * 
+ * Redirection is opt-in, as this provider applies to the whole JVM as soon as jul-helper is on the class path: system
+ * property `igloo.julhelper.systemLoggerBackend` selects a backend by name, or the available backend with the highest
+ * priority with `auto`. Without this property (or with `jul`), platform loggers are JUL loggers, as with the JDK
+ * default routing.
+ * 
+ * Platform loggers are backend loggers with the same name: `Log4j2LoggingManager` operations apply to them.
+ * `JulLoggingManager` explicit levels are applied as an additional filter (see
+ * {@link igloo.julhelper.util.AbstractSystemLogger}).
+ * 
+ * This provider is registered as a `java.lang.System$LoggerFinder` service. The JDK looks it up with the system class
+ * loader: jul-helper and the backend must be on the application class path (not in a webapp `WEB-INF/lib`).
+ */
+public class IglooLoggerFinder extends System.LoggerFinder {
+
+	private static final String PROPERTY_BACKEND = "igloo.julhelper.systemLoggerBackend";
+
+	/**
+	 * {@link #PROPERTY_BACKEND} value selecting the available backend with the highest priority.
+	 */
+	public static final String BACKEND_AUTO = "auto";
+
+	private static final SystemLoggerBackend SLF4J = new SimpleBackend("slf4j", 0, name -> new Slf4jSystemLogger(LoggerFactory.getLogger(name)));
+
+	private static final SystemLoggerBackend JUL = new SimpleBackend("jul", Integer.MIN_VALUE, name -> new JulSystemLogger(java.util.logging.Logger.getLogger(name)));
+
+	private final SystemLoggerBackend backend;
+
+	private final Map<String, System.Logger> loggers = new ConcurrentHashMap<>();
+
+	public IglooLoggerFinder() {
+		this(System.getProperty(PROPERTY_BACKEND), loadBackends());
+	}
+
+	/**
+	 * @param backendName backend name; {@link #BACKEND_AUTO} to select the backend with the highest priority; null or
+	 *        blank to keep JUL routing.
+	 * @param backends available backends, in addition to built-in backends. Required. If `backendName` does not match
+	 *        any backend, a warning is logged and JUL routing is kept.
+	 */
+	public IglooLoggerFinder(String backendName, List<SystemLoggerBackend> backends) {
+		super();
+		List<SystemLoggerBackend> candidates = new ArrayList<>(backends);
+		candidates.add(SLF4J);
+		candidates.add(JUL);
+		Optional<SystemLoggerBackend> selected;
+		if (backendName == null || backendName.isBlank()) {
+			selected = Optional.of(JUL);
+		} else if (BACKEND_AUTO.equalsIgnoreCase(backendName.strip())) {
+			selected = candidates.stream().max(Comparator.comparingInt(SystemLoggerBackend::getPriority));
+		} else {
+			selected = candidates.stream().filter(b -> b.getName().equalsIgnoreCase(backendName.strip())).findFirst();
+		}
+		if (selected.isEmpty()) {
+			// JUL logger: platform loggers are not redirected yet
+			java.util.logging.Logger.getLogger(IglooLoggerFinder.class.getName()).warning(
+					String.format("%s System.Logger backend is not available; JUL is used", backendName));
+		}
+		this.backend = selected.orElse(JUL);
+	}
+
+	@Override
+	public System.Logger getLogger(String name, Module module) {
+		System.Logger logger = loggers.get(name);
+		if (logger != null) {
+			return logger;
+		}
+		// created outside of the map: backend initialization (Log4j2 JMX registration) may look up platform loggers
+		logger = backend.getLogger(name);
+		System.Logger previous = loggers.putIfAbsent(name, logger);
+		return previous != null ? previous : logger;
+	}
+
+	public SystemLoggerBackend getBackend() {
+		return backend;
+	}
+
+	/**
+	 * Backends that cannot be loaded (missing backend library) are ignored.
+	 */
+	private static List<SystemLoggerBackend> loadBackends() {
+		List<SystemLoggerBackend> backends = new ArrayList<>();
+		ServiceLoader.load(SystemLoggerBackend.class, IglooLoggerFinder.class.getClassLoader()).stream().forEach(provider -> {
+			try {
+				backends.add(provider.get());
+			} catch (ServiceConfigurationError | LinkageError e) {
+				// backend dependencies are not available
+			}
+		});
+		return backends;
+	}
+
+	private static final class SimpleBackend implements SystemLoggerBackend {
+
+		private final String name;
+		
+		private final int priority;
+		
+		private final Function<String, System.Logger> loggerFactory;
+		
+		private SimpleBackend(String name, int priority, Function<String, System.Logger> loggerFactory) {
+			this.name = name;
+			this.priority = priority;
+			this.loggerFactory = loggerFactory;
+		}
+		
+		@Override
+		public String getName() {
+			return name;
+		}
+		
+		@Override
+		public int getPriority() {
+			return priority;
+		}
+		
+		@Override
+		public System.Logger getLogger(String name) {
+			return loggerFactory.apply(name);
+		}
+
+	}
+
+}
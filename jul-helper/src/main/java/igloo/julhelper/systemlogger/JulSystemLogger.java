@@ -0,0 +1,59 @@
+package igloo.julhelper.systemlogger;
+
+import java.util.logging.LogRecord;
+
+import igloo.julhelper.util.AbstractSystemLogger;
+
+/**
+ * `System.Logger` publishing to the JUL logger with the same name, as the JDK default implementation does. Used unless
+ * platform logger redirection is enabled with `igloo.julhelper.systemLoggerBackend`.
+ */
+public class JulSystemLogger extends AbstractSystemLogger {
+
+	private final java.util.logging.Logger logger;
+
+	/**
+	 * @param logger target JUL logger. Required.
+	 */
+	public JulSystemLogger(java.util.logging.Logger logger) {
+		super(logger.getName());
+		this.logger = logger;
+	}
+
+	@Override
+	protected boolean isEnabled(Level level) {
+		return logger.isLoggable(toJulLevel(level));
+	}
+
+	@Override
+	protected void publish(Level level, String message, Object[] parameters, Throwable thrown) {
+		LogRecord record = new LogRecord(toJulLevel(level), message);
+		record.setLoggerName(logger.getName());
+		record.setParameters(parameters);
+		record.setThrown(thrown);
+		logger.log(record);
+	}
+
+	/**
+	 * @return JUL level with the same severity (JDK default mapping).
+	 */
+	private static java.util.logging.Level toJulLevel(Level level) {
+		switch (level) {
+		case ALL:
+			return java.util.logging.Level.ALL;
+		case TRACE:
+			return java.util.logging.Level.FINER;
+		case DEBUG:
+			return java.util.logging.Level.FINE;
+		case INFO:
+			return java.util.logging.Level.INFO;
+		case WARNING:
+			return java.util.logging.Level.WARNING;
+		case ERROR:
+			return java.util.logging.Level.SEVERE;
+		default:
+			return java.util.logging.Level.OFF;
+		}
+	}
+
+}
@@ -0,0 +1,103 @@
+package igloo.julhelper.systemlogger;
+
+import java.util.Arrays;
+
+import org.slf4j.spi.LocationAwareLogger;
+
+import igloo.julhelper.util.AbstractSystemLogger;
+import igloo.julhelper.util.JulMessagePatterns;
+
+/**
+ * `System.Logger` publishing to a SLF4J logger. Simple `{0}` patterns are handed to SLF4J as parameterized messages
+ * (see {@link JulMessagePatterns}); other patterns are formatted with {@link java.text.MessageFormat}.
+ */
+public class Slf4jSystemLogger extends AbstractSystemLogger {
+
+	private final org.slf4j.Logger logger;
+
+	/**
+	 * @param logger target SLF4J logger. Required.
+	 */
+	public Slf4jSystemLogger(org.slf4j.Logger logger) {
+		super(logger.getName());
+		this.logger = logger;
+	}
+
+	@Override
+	protected boolean isEnabled(Level level) {
+		switch (level) {
+		case ALL:
+		case TRACE:
+			return logger.isTraceEnabled();
+		case DEBUG:
+			return logger.isDebugEnabled();
+		case INFO:
+			return logger.isInfoEnabled();
+		case WARNING:
+			return logger.isWarnEnabled();
+		default:
+			return logger.isErrorEnabled();
+		}
+	}
+
+	@Override
+	protected void publish(Level level, String message, Object[] parameters, Throwable thrown) {
+		Object[] arguments = null;
+		if (parameters != null && message != null) {
+			String pattern = JulMessagePatterns.toParameterizedPattern(message, parameters);
+			if (pattern != null) {
+				arguments = JulMessagePatterns.usedParameters(pattern, parameters);
+				message = pattern;
+			} else {
+				message = format(message, parameters);
+			}
+		}
+		int slf4jLevel = toSlf4jLevel(level);
+		if (logger instanceof LocationAwareLogger) {
+			((LocationAwareLogger) logger).log(null, FQCN, slf4jLevel, message, arguments, thrown);
+			return;
+		}
+		Object[] argumentsWithThrown = arguments;
+		if (thrown != null) {
+			// SLF4J uses a trailing Throwable argument as the event throwable
+			argumentsWithThrown = arguments != null ? Arrays.copyOf(arguments, arguments.length + 1) : new Object[1];
+			argumentsWithThrown[argumentsWithThrown.length - 1] = thrown;
+		}
+		if (argumentsWithThrown == null) {
+			argumentsWithThrown = new Object[0];
+		}
+		switch (slf4jLevel) {
+		case LocationAwareLogger.TRACE_INT:
+			logger.trace(message, argumentsWithThrown);
+			break;
+		case LocationAwareLogger.DEBUG_INT:
+			logger.debug(message, argumentsWithThrown);
+			break;
+		case LocationAwareLogger.INFO_INT:
+			logger.info(message, argumentsWithThrown);
+			break;
+		case LocationAwareLogger.WARN_INT:
+			logger.warn(message, argumentsWithThrown);
+			break;
+		default:
+			logger.error(message, argumentsWithThrown);
+		}
+	}
+
+	private static int toSlf4jLevel(Level level) {
+		switch (level) {
+		case ALL:
+		case TRACE:
+			return LocationAwareLogger.TRACE_INT;
+		case DEBUG:
+			return LocationAwareLogger.DEBUG_INT;
+		case INFO:
+			return LocationAwareLogger.INFO_INT;
+		case WARNING:
+			return LocationAwareLogger.WARN_INT;
+		default:
+			return LocationAwareLogger.ERROR_INT;
+		}
+	}
+
+}
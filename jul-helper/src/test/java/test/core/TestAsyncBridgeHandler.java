@@ -0,0 +1,251 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import igloo.julhelper.bridge.AsyncBridgeHandler;
+import igloo.julhelper.bridge.AsyncOverflowPolicy;
+import igloo.julhelper.jmx.JulLoggingConfigurator;
+import igloo.julhelper.jmx.JulLoggingManagerImpl;
+
+class TestAsyncBridgeHandler {
+
+	private final List<String> published = new CopyOnWriteArrayList<>();
+
+	private final CountDownLatch consumerBlocked = new CountDownLatch(1);
+
+	private final CountDownLatch consumerReleased = new CountDownLatch(1);
+
+	private AsyncBridgeHandler handler;
+
+	@AfterEach
+	void tearDown() {
+		consumerReleased.countDown();
+		if (handler != null) {
+			handler.close();
+		}
+	}
+
+	@Test
+	void test_publish() {
+		handler = new AsyncBridgeHandler(new RecordingHandler(false), 16, AsyncOverflowPolicy.BLOCK);
+		
+		handler.publish(record(Level.INFO, "message {0}", "1"));
+		handler.publish(record(Level.WARNING, "message {0}", "2"));
+		handler.close();
+		
+		assertThat(published).containsExactly("INFO message 1", "WARNING message 2");
+		assertThat(handler.getQueueDepth()).isZero();
+		assertThat(handler.getStatistics().getEnqueuedCount()).isEqualTo(2);
+		assertThat(handler.getStatistics().getMaxEnqueueNanos()).isPositive();
+	}
+
+	@Test
+	void test_publish_parametersSnapshot() {
+		handler = new AsyncBridgeHandler(new RecordingHandler(false), 16, AsyncOverflowPolicy.BLOCK);
+		StringBuilder mutable = new StringBuilder("before");
+		LogRecord record = new LogRecord(Level.INFO, "message {0} {1,number,#}");
+		record.setParameters(new Object[] { mutable, 42 });
+		
+		handler.publish(record);
+		mutable.replace(0, mutable.length(), "after");
+		handler.close();
+		
+		assertThat(published).containsExactly("INFO message before 42");
+	}
+
+	@Test
+	void test_publish_fromConsumerThread() {
+		Handler delegate = new RecordingHandler(false) {
+			@Override
+			public void publish(LogRecord record) {
+				super.publish(record);
+				if ("nested".equals(record.getMessage())) {
+					// backend logging through JUL while a record is published
+					handler.publish(TestAsyncBridgeHandler.record(Level.INFO, "from consumer", null));
+				}
+			}
+		};
+		handler = new AsyncBridgeHandler(delegate, 1, AsyncOverflowPolicy.BLOCK);
+		
+		handler.publish(record(Level.INFO, "nested", null));
+		handler.publish(record(Level.INFO, "queued", null));
+		handler.close();
+		
+		assertThat(published).contains("INFO nested", "INFO from consumer", "INFO queued");
+	}
+
+	@Test
+	void test_publish_afterClose() {
+		handler = new AsyncBridgeHandler(new RecordingHandler(false), 16, AsyncOverflowPolicy.BLOCK);
+		handler.close();
+		
+		handler.publish(record(Level.INFO, "late", null));
+		
+		assertThat(published).containsExactly("INFO late");
+		assertThat(handler.getStatistics().getEnqueuedCount()).isZero();
+	}
+
+	@Test
+	void test_publish_dropDebug() throws InterruptedException {
+		handler = new AsyncBridgeHandler(new RecordingHandler(true), 2, AsyncOverflowPolicy.DROP_DEBUG);
+		fillQueue();
+		
+		handler.publish(record(Level.FINE, "debug", null));
+		
+		assertThat(handler.getQueueDepth()).isEqualTo(2);
+		assertThat(handler.getStatistics().getDroppedDebugCount()).isEqualTo(1);
+		consumerReleased.countDown();
+		handler.close();
+		assertThat(published).containsExactly("INFO blocking", "INFO queued 1", "INFO queued 2");
+	}
+
+	@Test
+	void test_publish_dropOldest() throws InterruptedException {
+		handler = new AsyncBridgeHandler(new RecordingHandler(true), 2, AsyncOverflowPolicy.DROP_OLDEST);
+		fillQueue();
+		
+		handler.publish(record(Level.INFO, "newest", null));
+		
+		assertThat(handler.getQueueDepth()).isEqualTo(2);
+		assertThat(handler.getStatistics().getDroppedOldestCount()).isEqualTo(1);
+		consumerReleased.countDown();
+		handler.close();
+		assertThat(published).containsExactly("INFO blocking", "INFO queued 2", "INFO newest");
+	}
+
+	@Test
+	void test_publish_delegateError() {
+		handler = new AsyncBridgeHandler(new RecordingHandler(false), 16, AsyncOverflowPolicy.BLOCK);
+		handler.setErrorManager(new ErrorManager() {
+			@Override
+			public synchronized void error(String msg, Exception ex, int code) {
+				// ignored
+			}
+		});
+		
+		handler.publish(record(Level.INFO, "error", null));
+		handler.publish(record(Level.INFO, "message", null));
+		handler.close();
+		
+		// consumer thread survives errors
+		assertThat(published).containsExactly("INFO error", "INFO message");
+	}
+
+	@Test
+	void test_publish_consumerStopped() throws InterruptedException {
+		handler = new AsyncBridgeHandler(new RecordingHandler(false), 1, AsyncOverflowPolicy.BLOCK);
+		CountDownLatch reported = new CountDownLatch(1);
+		handler.setErrorManager(new ErrorManager() {
+			@Override
+			public synchronized void error(String msg, Exception ex, int code) {
+				reported.countDown();
+				// stop consumer thread
+				throw new AssertionError(ex);
+			}
+		});
+		
+		handler.publish(record(Level.INFO, "error", null));
+		assertThat(reported.await(5, TimeUnit.SECONDS)).isTrue();
+		// first record may be queued before consumer thread stops; second record is published synchronously instead
+		// of waiting forever for a free slot
+		handler.publish(record(Level.INFO, "message 1", null));
+		handler.publish(record(Level.INFO, "message 2", null));
+		
+		assertThat(published).contains("INFO message 2");
+	}
+
+	@Test
+	void test_julLoggingManager_asyncBridge() {
+		JulLoggingManagerImpl manager = new JulLoggingManagerImpl("", Mockito.mock(JulLoggingConfigurator.class));
+		assertThat(manager.getAsyncBridgeEnabled()).isFalse();
+		assertThat(manager.getAsyncBridgeQueueDepth()).isZero();
+		
+		handler = new AsyncBridgeHandler(new RecordingHandler(false), 16, AsyncOverflowPolicy.BLOCK);
+		manager.setAsyncBridgeHandler(handler);
+		handler.publish(record(Level.INFO, "message", null));
+		handler.close();
+		
+		assertThat(manager.getAsyncBridgeEnabled()).isTrue();
+		assertThat(manager.getAsyncBridgeQueueCapacity()).isEqualTo(16);
+		assertThat(manager.getAsyncBridgeQueueDepth()).isZero();
+		assertThat(manager.getAsyncBridgeDroppedDebugCount()).isZero();
+		assertThat(manager.getAsyncBridgeDroppedOldestCount()).isZero();
+		assertThat(manager.getAsyncBridgeMaxEnqueueNanos()).isPositive();
+	}
+
+	/**
+	 * Block consumer thread on a first record, then fill the 2-slot ring buffer.
+	 */
+	private void fillQueue() throws InterruptedException {
+		handler.publish(record(Level.INFO, "blocking", null));
+		assertThat(consumerBlocked.await(5, TimeUnit.SECONDS)).isTrue();
+		handler.publish(record(Level.INFO, "queued 1", null));
+		handler.publish(record(Level.INFO, "queued 2", null));
+	}
+
+	private static LogRecord record(Level level, String message, String parameter) {
+		LogRecord record = new LogRecord(level, message);
+		record.setLoggerName("test.async");
+		if (parameter != null) {
+			record.setParameters(new Object[] { parameter });
+		}
+		return record;
+	}
+
+	/**
+	 * Records formatted messages; optionally blocks on first record until {@link #consumerReleased}.
+	 */
+	private class RecordingHandler extends Handler {
+
+		private final boolean blockFirst;
+		
+		private RecordingHandler(boolean blockFirst) {
+			this.blockFirst = blockFirst;
+		}
+		
+		@Override
+		public void publish(LogRecord record) {
+			String message = record.getParameters() != null
+					? MessageFormat.format(record.getMessage(), record.getParameters())
+					: record.getMessage();
+			published.add(record.getLevel() + " " + message);
+			if ("error".equals(message)) {
+				throw new AssertionError(message);
+			}
+			if (blockFirst && consumerBlocked.getCount() > 0) {
+				consumerBlocked.countDown();
+				try {
+					consumerReleased.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+		
+		@Override
+		public void flush() {
+			// nothing
+		}
+		
+		@Override
+		public void close() {
+			// nothing
+		}
+
+	}
+
+}
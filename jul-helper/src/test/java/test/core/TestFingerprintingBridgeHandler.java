@@ -0,0 +1,144 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import igloo.julhelper.bridge.FingerprintingBridgeHandler;
+import igloo.julhelper.jmx.JulLoggingConfigurator;
+import igloo.julhelper.jmx.JulLoggingManagerImpl;
+import igloo.julhelper.util.ThrowableFingerprintCache;
+import igloo.julhelper.util.ThrowableFingerprintCache.Occurrence;
+
+class TestFingerprintingBridgeHandler {
+
+	@Test
+	void test_fingerprint() {
+		// same frames, different messages
+		List<IllegalStateException> sameFrames = List.of(
+				new IllegalStateException("first"),
+				new IllegalStateException("second"));
+		IllegalStateException otherLine = new IllegalStateException("first");
+		IllegalArgumentException otherType = new IllegalArgumentException("first");
+		otherType.setStackTrace(sameFrames.get(0).getStackTrace());
+		
+		assertThat(ThrowableFingerprintCache.fingerprint(sameFrames.get(0)))
+				.isEqualTo(ThrowableFingerprintCache.fingerprint(sameFrames.get(1)))
+				.isNotEqualTo(ThrowableFingerprintCache.fingerprint(otherLine))
+				.isNotEqualTo(ThrowableFingerprintCache.fingerprint(otherType));
+		
+		// cause is part of the fingerprint; cycles are handled
+		IllegalStateException withCause = new IllegalStateException("first", otherType);
+		withCause.setStackTrace(sameFrames.get(0).getStackTrace());
+		otherType.initCause(withCause);
+		assertThat(ThrowableFingerprintCache.fingerprint(withCause))
+				.isNotEqualTo(ThrowableFingerprintCache.fingerprint(sameFrames.get(0)));
+	}
+
+	@Test
+	void test_record() {
+		ThrowableFingerprintCache cache = new ThrowableFingerprintCache(2, 1000);
+		IllegalStateException exception = new IllegalStateException();
+		
+		Occurrence first = cache.record(exception, 0);
+		Occurrence second = cache.record(exception, 999);
+		Occurrence nextWindow = cache.record(exception, 1000);
+		
+		assertThat(first.isFirst()).isTrue();
+		assertThat(second.isFirst()).isFalse();
+		assertThat(second.getCount()).isEqualTo(2);
+		assertThat(second.getId()).isEqualTo(first.getId()).hasSize(8);
+		assertThat(nextWindow.isFirst()).isTrue();
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(2);
+		assertThat(cache.getHitRate()).isEqualTo(1d / 3);
+		
+		// least recently used fingerprint is evicted
+		cache.record(new IllegalArgumentException(), 1001);
+		cache.record(new UnsupportedOperationException(), 1002);
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.record(exception, 1003).isFirst()).isTrue();
+	}
+
+	@Test
+	void test_publish() {
+		MockHandler delegate = Mockito.spy(new MockHandler());
+		FingerprintingBridgeHandler handler = new FingerprintingBridgeHandler(delegate, new ThrowableFingerprintCache());
+		IllegalStateException exception = new IllegalStateException();
+		LogRecord noThrowable = record(null);
+		
+		handler.publish(noThrowable);
+		handler.publish(record(exception));
+		handler.publish(record(exception));
+		
+		ArgumentCaptor<LogRecord> records = ArgumentCaptor.forClass(LogRecord.class);
+		verify(delegate, times(3)).publish(records.capture());
+		assertThat(records.getAllValues().get(0)).isSameAs(noThrowable);
+		LogRecord full = records.getAllValues().get(1);
+		LogRecord reference = records.getAllValues().get(2);
+		assertThat(full.getThrown()).isSameAs(exception);
+		assertThat(full.getMessage()).matches("failure \\{0\\} \\[throwable #[0-9a-f]{8}\\]");
+		assertThat(full.getParameters()).containsExactly("param");
+		assertThat(full.getLoggerName()).isEqualTo("test.fingerprint");
+		assertThat(reference.getThrown()).isNull();
+		assertThat(reference.getMessage()).matches(
+				"failure \\{0\\} \\[java.lang.IllegalStateException #[0-9a-f]{8}, occurrence 2, stack trace omitted\\]");
+	}
+
+	@Test
+	void test_publish_resourceBundle() {
+		MockHandler delegate = Mockito.spy(new MockHandler());
+		FingerprintingBridgeHandler handler = new FingerprintingBridgeHandler(delegate, new ThrowableFingerprintCache());
+		LogRecord record = record(new IllegalStateException());
+		record.setMessage("failure.key");
+		record.setResourceBundle(new ListResourceBundle() {
+			@Override
+			protected Object[][] getContents() {
+				return new Object[][] { { "failure.key", "localized failure {0}" } };
+			}
+		});
+		
+		handler.publish(record);
+		
+		ArgumentCaptor<LogRecord> records = ArgumentCaptor.forClass(LogRecord.class);
+		verify(delegate, times(1)).publish(records.capture());
+		// localized before suffix is appended
+		assertThat(records.getValue().getMessage()).matches("localized failure \\{0\\} \\[throwable #[0-9a-f]{8}\\]");
+		assertThat(records.getValue().getResourceBundle()).isNull();
+		assertThat(records.getValue().getParameters()).containsExactly("param");
+	}
+
+	@Test
+	void test_julLoggingManager_throwableFingerprint() {
+		JulLoggingManagerImpl manager = new JulLoggingManagerImpl("", Mockito.mock(JulLoggingConfigurator.class));
+		assertThat(manager.getThrowableFingerprintHitRate()).isZero();
+		
+		FingerprintingBridgeHandler handler = new FingerprintingBridgeHandler(new MockHandler(), new ThrowableFingerprintCache());
+		manager.setFingerprintingBridgeHandler(handler);
+		IllegalStateException exception = new IllegalStateException();
+		handler.publish(record(exception));
+		handler.publish(record(exception));
+		
+		assertThat(manager.getThrowableFingerprintHitCount()).isEqualTo(1);
+		assertThat(manager.getThrowableFingerprintMissCount()).isEqualTo(1);
+		assertThat(manager.getThrowableFingerprintHitRate()).isEqualTo(0.5d);
+	}
+
+	private static LogRecord record(Throwable thrown) {
+		LogRecord record = new LogRecord(Level.SEVERE, "failure {0}");
+		record.setLoggerName("test.fingerprint");
+		record.setParameters(new Object[] { "param" });
+		record.setThrown(thrown);
+		return record;
+	}
+
+}
@@ -0,0 +1,115 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import igloo.julhelper.api.JulBackendLevelCache;
+import igloo.julhelper.logmanager.IglooJulLogManager;
+import igloo.julhelper.logmanager.IglooJulLogger;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TestIglooJulLogger {
+
+	@Mock
+	private org.slf4j.Logger backendLoggerMock;
+
+	private MockHandler backendHandler;
+
+	private IglooJulLogger logger;
+
+	@BeforeEach
+	void setUp() {
+		backendHandler = Mockito.spy(new MockHandler());
+		logger = new IglooJulLogger("igloo.test", backendLoggerMock, () -> backendHandler);
+		// non-root parent, so that parent overrides are taken into account
+		Logger parent = Logger.getAnonymousLogger();
+		parent.setParent(Logger.getLogger(""));
+		logger.setParent(parent);
+		when(backendLoggerMock.isDebugEnabled()).thenReturn(true);
+		when(backendLoggerMock.isInfoEnabled()).thenReturn(true);
+		when(backendLoggerMock.isWarnEnabled()).thenReturn(true);
+		when(backendLoggerMock.isErrorEnabled()).thenReturn(true);
+	}
+
+	@Test
+	void test_isLoggable_backendLevel() {
+		assertThat(logger.isLoggable(Level.FINER)).isTrue();
+		assertThat(logger.isLoggable(Level.FINEST)).isFalse();
+		
+		when(backendLoggerMock.isDebugEnabled()).thenReturn(false);
+		
+		// cached until invalidation
+		assertThat(logger.isLoggable(Level.FINER)).isTrue();
+		
+		JulBackendLevelCache.invalidate();
+		
+		assertThat(logger.isLoggable(Level.FINER)).isFalse();
+		assertThat(logger.isLoggable(Level.INFO)).isTrue();
+	}
+
+	@Test
+	void test_log_backendHandler() {
+		logger.fine("published");
+		logger.finest("discarded");
+		
+		verify(backendHandler, times(1)).publish(any());
+	}
+
+	@Test
+	void test_override() {
+		MockHandler overrideHandler = Mockito.spy(new MockHandler());
+		logger.setLevel(Level.FINEST);
+		logger.addHandler(overrideHandler);
+		logger.setUseParentHandlers(false);
+		
+		logger.finest("published");
+		
+		verify(overrideHandler, times(1)).publish(any());
+		verify(backendHandler, never()).publish(any());
+		
+		logger.removeHandler(overrideHandler);
+		logger.setUseParentHandlers(true);
+		logger.setLevel(null);
+		logger.finest("discarded");
+		logger.fine("published");
+		
+		verify(overrideHandler, times(1)).publish(any());
+		verify(backendHandler, times(1)).publish(any());
+	}
+
+	@Test
+	void test_override_parentLevel() {
+		logger.getParent().setLevel(Level.SEVERE);
+		JulBackendLevelCache.invalidate();
+		
+		assertThat(logger.isLoggable(Level.WARNING)).isFalse();
+		assertThat(logger.isLoggable(Level.SEVERE)).isTrue();
+	}
+
+	@Test
+	void test_logManager_unknownLogger() {
+		IglooJulLogManager logManager = new IglooJulLogManager();
+		
+		// lookup does not create loggers
+		assertThat(logManager.getLogger("zz.unknown")).isNull();
+		assertThat(logManager.getLoggerNames().asIterator()).toIterable().doesNotContain("zz.unknown");
+	}
+
+}
@@ -0,0 +1,130 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.System.Logger.Level;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import igloo.julhelper.api.JulBackendLevelCache;
+import igloo.julhelper.api.SystemLoggerBackend;
+import igloo.julhelper.systemlogger.IglooLoggerFinder;
+import igloo.julhelper.systemlogger.JulSystemLogger;
+import igloo.julhelper.systemlogger.Slf4jSystemLogger;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TestIglooLoggerFinder {
+
+	@Mock
+	private org.slf4j.Logger slf4jLoggerMock;
+
+	@Mock
+	private SystemLoggerBackend backendMock;
+
+	@Mock
+	private Supplier<String> messageSupplierMock;
+
+	@BeforeEach
+	void setUp() {
+		when(slf4jLoggerMock.getName()).thenReturn("igloo.platform");
+		when(slf4jLoggerMock.isInfoEnabled()).thenReturn(true);
+		when(slf4jLoggerMock.isWarnEnabled()).thenReturn(true);
+		when(slf4jLoggerMock.isErrorEnabled()).thenReturn(true);
+		when(backendMock.getName()).thenReturn("mock");
+		when(backendMock.getPriority()).thenReturn(5);
+	}
+
+	@Test
+	void test_backendSelection() {
+		// opt-in
+		assertThat(new IglooLoggerFinder(null, List.of(backendMock)).getBackend().getName()).isEqualTo("jul");
+		assertThat(new IglooLoggerFinder(" ", List.of(backendMock)).getBackend().getName()).isEqualTo("jul");
+		assertThat(new IglooLoggerFinder("auto", List.of()).getBackend().getName()).isEqualTo("slf4j");
+		assertThat(new IglooLoggerFinder("auto", List.of(backendMock)).getBackend()).isSameAs(backendMock);
+		assertThat(new IglooLoggerFinder("slf4j", List.of(backendMock)).getBackend().getName()).isEqualTo("slf4j");
+		assertThat(new IglooLoggerFinder("JUL", List.of(backendMock)).getLogger("igloo.platform", getClass().getModule()))
+			.isInstanceOf(JulSystemLogger.class);
+		// fallback to JUL
+		assertThat(new IglooLoggerFinder("unknown", List.of(backendMock)).getBackend().getName()).isEqualTo("jul");
+	}
+
+	@Test
+	void test_getLogger_cached() {
+		IglooLoggerFinder finder = new IglooLoggerFinder("slf4j", List.of());
+		
+		assertThat(finder.getLogger("igloo.platform", getClass().getModule()))
+			.isInstanceOf(Slf4jSystemLogger.class)
+			.isSameAs(finder.getLogger("igloo.platform", getClass().getModule()));
+	}
+
+	@Test
+	void test_getLogger_reentrant() {
+		IglooLoggerFinder[] finder = new IglooLoggerFinder[1];
+		// backend initialization looks up another platform logger
+		when(backendMock.getLogger(anyString())).thenAnswer(invocation -> {
+			if ("igloo.platform".equals(invocation.getArgument(0))) {
+				finder[0].getLogger("igloo.platform.init", getClass().getModule());
+			}
+			return new Slf4jSystemLogger(slf4jLoggerMock);
+		});
+		finder[0] = new IglooLoggerFinder("mock", List.of(backendMock));
+		
+		assertThat(finder[0].getLogger("igloo.platform", getClass().getModule())).isNotNull();
+		assertThat(finder[0].getLogger("igloo.platform.init", getClass().getModule())).isNotNull();
+	}
+
+	@Test
+	void test_log_levelCheckedFirst() {
+		Slf4jSystemLogger logger = new Slf4jSystemLogger(slf4jLoggerMock);
+		
+		logger.log(Level.DEBUG, messageSupplierMock);
+		logger.log(Level.INFO, "message {0} {1}", "a", "b");
+		
+		verify(messageSupplierMock, never()).get();
+		verify(slf4jLoggerMock, never()).debug(anyString(), any(Object[].class));
+		verify(slf4jLoggerMock, times(1)).info("message {} {}", new Object[] { "a", "b" });
+	}
+
+	@Test
+	void test_julOverride() {
+		Slf4jSystemLogger logger = new Slf4jSystemLogger(slf4jLoggerMock);
+		
+		assertThat(logger.isLoggable(Level.INFO)).isTrue();
+		
+		// JUL logger tree is ignored
+		java.util.logging.Logger.getLogger("igloo.platform").setLevel(java.util.logging.Level.SEVERE);
+		JulBackendLevelCache.invalidate();
+		try {
+			assertThat(logger.isLoggable(Level.INFO)).isTrue();
+		} finally {
+			java.util.logging.Logger.getLogger("igloo.platform").setLevel(null);
+		}
+		
+		// ancestor override
+		JulBackendLevelCache.setOverride("igloo", java.util.logging.Level.SEVERE.intValue());
+		try {
+			assertThat(logger.isLoggable(Level.WARNING)).isFalse();
+			assertThat(logger.isLoggable(Level.ERROR)).isTrue();
+		} finally {
+			JulBackendLevelCache.removeOverride("igloo");
+		}
+		
+		assertThat(logger.isLoggable(Level.INFO)).isTrue();
+	}
+
+}
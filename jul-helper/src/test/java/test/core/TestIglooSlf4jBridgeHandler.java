@@ -0,0 +1,203 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.text.MessageFormat;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.slf4j.Logger;
+
+import igloo.julhelper.api.JulBridgeStatistics;
+import igloo.julhelper.api.JulBridgeStatistics.LoggerCounters;
+import igloo.julhelper.bridge.IglooSlf4jBridgeHandler;
+import igloo.julhelper.jmx.JulLoggingConfigurator;
+import igloo.julhelper.jmx.JulLoggingManagerImpl;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TestIglooSlf4jBridgeHandler {
+
+	@Mock
+	private Logger slf4jLogger;
+
+	@Mock
+	private Function<String, Logger> loggerFactory;
+
+	private IglooSlf4jBridgeHandler handler;
+
+	@BeforeEach
+	void setUp() {
+		when(loggerFactory.apply(any())).thenReturn(slf4jLogger);
+		handler = new IglooSlf4jBridgeHandler(loggerFactory);
+	}
+
+	@Test
+	void test_publish_loggerCached() {
+		when(slf4jLogger.isInfoEnabled()).thenReturn(true);
+		
+		handler.publish(record(Level.INFO, "message"));
+		handler.publish(record(Level.INFO, "message"));
+		
+		verify(loggerFactory, times(1)).apply("loggerTest");
+		verify(slf4jLogger, times(2)).info("message", (Throwable) null);
+	}
+
+	@Test
+	void test_publish_disabled() {
+		when(slf4jLogger.isDebugEnabled()).thenReturn(false);
+		LogRecord record = record(Level.FINE, "value {0}", 1234);
+		
+		handler.publish(record);
+		
+		verify(slf4jLogger, never()).debug(anyString(), any(Object[].class));
+		verify(slf4jLogger, never()).debug(anyString(), any(Throwable.class));
+	}
+
+	@Test
+	void test_publish_parametersAsArguments() {
+		when(slf4jLogger.isWarnEnabled()).thenReturn(true);
+		
+		handler.publish(record(Level.WARNING, "value {0} and {1}", "a", "b"));
+		
+		verify(slf4jLogger).warn("value {} and {}", new Object[] { "a", "b" });
+	}
+
+	@Test
+	void test_publish_messageFormatFallback() {
+		when(slf4jLogger.isInfoEnabled()).thenReturn(true);
+		
+		// reordered placeholders, numbers and quotes are formatted by MessageFormat
+		handler.publish(record(Level.INFO, "{1} then {0}", "a", "b"));
+		handler.publish(record(Level.INFO, "number {0}", 1234));
+		handler.publish(record(Level.INFO, "it''s {0}", "a"));
+		
+		verify(slf4jLogger).info("b then a", (Throwable) null);
+		verify(slf4jLogger).info(MessageFormat.format("number {0}", 1234), (Throwable) null);
+		verify(slf4jLogger).info("it's a", (Throwable) null);
+	}
+
+	@Test
+	void test_publish_levelMapping() {
+		when(slf4jLogger.isTraceEnabled()).thenReturn(true);
+		when(slf4jLogger.isDebugEnabled()).thenReturn(true);
+		when(slf4jLogger.isErrorEnabled()).thenReturn(true);
+		
+		handler.publish(record(Level.FINEST, "trace"));
+		handler.publish(record(Level.FINER, "debug"));
+		handler.publish(record(Level.SEVERE, "error"));
+		
+		verify(slf4jLogger).trace("trace", (Throwable) null);
+		verify(slf4jLogger).debug("debug", (Throwable) null);
+		verify(slf4jLogger).error("error", (Throwable) null);
+	}
+
+	@Test
+	void test_publish_wastedWorkCounters() {
+		when(slf4jLogger.isInfoEnabled()).thenReturn(true);
+		when(slf4jLogger.isDebugEnabled()).thenReturn(false);
+		JulLoggingManagerImpl manager = new JulLoggingManagerImpl(null, Mockito.mock(JulLoggingConfigurator.class));
+		JulBridgeStatistics.enable(JulBridgeStatistics.DEFAULT_MAX_LOGGERS);
+		try {
+			for (int i = 0; i < 3; i++) {
+				handler.publish(record("loggerWasteTest", Level.FINE, "debug"));
+			}
+			handler.publish(record("loggerWasteTest", Level.INFO, "info"));
+			handler.publish(record("loggerNoWasteTest", Level.INFO, "info"));
+			
+			LoggerCounters counters = JulBridgeStatistics.forLogger("loggerWasteTest");
+			assertThat(counters.getPublishedCount()).isEqualTo(4);
+			assertThat(counters.getAcceptedCount()).isEqualTo(1);
+			assertThat(counters.getWasteRatio()).isEqualTo(0.75d);
+			assertThat(counters.getSuggestedLevel()).isEqualTo(Level.INFO);
+			assertThat(manager.reportWastedWork(10)).isEqualTo("loggerWasteTest: 3/4 discarded (75.0%), suggested level INFO");
+			
+			manager.resetWastedWorkCounters();
+			assertThat(counters.getPublishedCount()).isZero();
+			assertThat(manager.reportWastedWork(10)).isEmpty();
+		} finally {
+			JulBridgeStatistics.disable();
+		}
+	}
+
+	@Test
+	void test_publish_wastedWorkCounters_disabled() {
+		when(slf4jLogger.isInfoEnabled()).thenReturn(true);
+		
+		handler.publish(record("loggerDisabledTest", Level.INFO, "info"));
+		
+		assertThat(JulBridgeStatistics.isEnabled()).isFalse();
+		assertThat(JulBridgeStatistics.getAll()).isEmpty();
+		assertThat(JulBridgeStatistics.forLogger("loggerDisabledTest").getPublishedCount()).isZero();
+	}
+
+	@Test
+	void test_publish_wastedWorkCounters_enabledLater() {
+		when(slf4jLogger.isInfoEnabled()).thenReturn(true);
+		// logger cached before counting is enabled
+		handler.publish(record("loggerLaterTest", Level.INFO, "info"));
+		
+		JulBridgeStatistics.enable(JulBridgeStatistics.DEFAULT_MAX_LOGGERS);
+		try {
+			handler.publish(record("loggerLaterTest", Level.INFO, "info"));
+			assertThat(JulBridgeStatistics.forLogger("loggerLaterTest").getPublishedCount()).isEqualTo(1);
+		} finally {
+			JulBridgeStatistics.disable();
+		}
+		
+		// counters discarded by disable() are not updated after a new enable()
+		JulBridgeStatistics.enable(JulBridgeStatistics.DEFAULT_MAX_LOGGERS);
+		try {
+			handler.publish(record("loggerLaterTest", Level.INFO, "info"));
+			assertThat(JulBridgeStatistics.getAll()).extracting(LoggerCounters::getPublishedCount).containsExactly(1L);
+		} finally {
+			JulBridgeStatistics.disable();
+		}
+	}
+
+	@Test
+	void test_publish_wastedWorkCounters_maxLoggers() {
+		when(slf4jLogger.isInfoEnabled()).thenReturn(true);
+		JulBridgeStatistics.enable(2);
+		try {
+			handler.publish(record("loggerMax1", Level.INFO, "info"));
+			handler.publish(record("loggerMax2", Level.INFO, "info"));
+			handler.publish(record("loggerMax3", Level.INFO, "info"));
+			
+			assertThat(JulBridgeStatistics.getAll()).extracting(LoggerCounters::getLoggerName)
+				.containsExactlyInAnyOrder("loggerMax1", "loggerMax2");
+		} finally {
+			JulBridgeStatistics.disable();
+		}
+		
+		// counters are discarded
+		assertThat(JulBridgeStatistics.getAll()).isEmpty();
+	}
+
+	private static LogRecord record(Level level, String message, Object... parameters) {
+		return record("loggerTest", level, message, parameters);
+	}
+
+	private static LogRecord record(String loggerName, Level level, String message, Object... parameters) {
+		LogRecord record = new LogRecord(level, message);
+		record.setLoggerName(loggerName);
+		record.setParameters(parameters);
+		return record;
+	}
+
+}
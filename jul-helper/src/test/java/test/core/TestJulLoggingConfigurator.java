@@ -3,16 +3,17 @@ package test.core;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
-import java.util.Set;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.logging.Filter;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -21,6 +22,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import igloo.julhelper.jmx.JulLoggingConfigurator;
+import igloo.julhelper.jmx.JulSamplingFilter;
+import igloo.julhelper.util.EventSampler;
+import igloo.julhelper.util.LoggerNameTrie;
+import igloo.julhelper.util.ManagedLogger;
+import igloo.julhelper.util.ManagedLoggerRegistry;
 
 class TestJulLoggingConfigurator {
 
@@ -37,16 +43,17 @@ class TestJulLoggingConfigurator {
 		String level = "INFO";
 		
 		Map<String, Level> julLevelMapping = new HashMap<>();
-		Set<Logger> loggers = ConcurrentHashMap.newKeySet();
-		loggers.add(Logger.getLogger("otherLogger"));
+		ManagedLoggerRegistry<Level, Logger> loggers = new ManagedLoggerRegistry<>();
+		loggers.put(managedLogger(Logger.getLogger("otherLogger")));
 		
-		Logger result = julLoggingConfigurator.setLevel(loggerName, level, loggers, julLevelMapping);
+		ManagedLogger<Level, Logger> result = julLoggingConfigurator.setLevel(loggerName, level, loggers, julLevelMapping);
 		
 		assertThat(result.getName()).isEqualTo(loggerName);
 		assertThat(result.getLevel().getName()).isEqualTo(level);
-		assertThat(loggers)
-			.hasSize(2)
-			.contains(result);
+		assertThat(result.getReference()).isSameAs(Logger.getLogger(loggerName));
+		assertThat(result.getReference().getLevel().getName()).isEqualTo(level);
+		assertThat(loggers.size()).isEqualTo(2);
+		assertThat(loggers.get(loggerName)).isSameAs(result);
 	}
 
 	@Test
@@ -57,8 +64,8 @@ class TestJulLoggingConfigurator {
 		Logger logger = Logger.getLogger(loggerName);
 		
 		Map<String, Level> julLevelMapping = new HashMap<>();
-		Set<Logger> loggers = ConcurrentHashMap.newKeySet();
-		loggers.add(logger);
+		ManagedLoggerRegistry<Level, Logger> loggers = new ManagedLoggerRegistry<>();
+		loggers.put(managedLogger(logger));
 		logger.addHandler(mockHandler);
 		
 		logger.warning("log");
@@ -70,21 +77,64 @@ class TestJulLoggingConfigurator {
 		verify(mockHandler, times(2)).publish(any());
 	}
 
+	@Test
+	void test_setLevel_sampler() {
+		String loggerName = "samplingTest";
+		MockHandler mockHandler = Mockito.spy(new MockHandler());
+		Filter previous = r -> true;
+		
+		Logger logger = Logger.getLogger(loggerName);
+		logger.setLevel(Level.WARNING);
+		logger.setFilter(previous);
+		ManagedLoggerRegistry<Level, Logger> loggers = new ManagedLoggerRegistry<>();
+		
+		julLoggingConfigurator.setLevel(loggerName, Level.FINEST.getName(), loggers, new HashMap<>(), new EventSampler(1_000_000, 1));
+		logger.addHandler(mockHandler);
+		
+		assertThat(logger.getFilter()).isInstanceOf(JulSamplingFilter.class);
+		assertThat(((JulSamplingFilter) logger.getFilter()).getPrevious()).isSameAs(previous);
+		for (int i = 0; i < 100; i++) {
+			logger.warning("log");
+			logger.fine("log sampled");
+		}
+		// WARNING records are not sampled
+		verify(mockHandler, atLeast(100)).publish(any());
+		verify(mockHandler, atMost(101)).publish(any());
+		
+		julLoggingConfigurator.doUnsetLevel(loggerName, loggers);
+		
+		assertThat(logger.getFilter()).isSameAs(previous);
+		logger.setFilter(null);
+	}
+
+	@Test
+	void test_bridgeSubtree() {
+		String loggerName = "subtreeTest";
+		Logger logger = Logger.getLogger(loggerName);
+		logger.addHandler(new MockHandler());
+		
+		Logger result = julLoggingConfigurator.bridgeSubtree(loggerName);
+		
+		assertThat(result).isSameAs(logger);
+		assertThat(result.getLevel()).isNull();
+		assertThat(result.getUseParentHandlers()).isFalse();
+		assertThat(result.getHandlers()).hasSize(1).allMatch(h -> !(h instanceof MockHandler));
+	}
+
 	@Test
 	void test_doUnsetLevel() {
 		String loggerName = "loggerTest";
 		
 		Logger logger = Logger.getLogger(loggerName);
 		
-		Set<Logger> loggers = ConcurrentHashMap.newKeySet();
-		loggers.add(Logger.getLogger("otherLogger"));
-		loggers.add(logger);
+		ManagedLoggerRegistry<Level, Logger> loggers = new ManagedLoggerRegistry<>();
+		loggers.put(managedLogger(Logger.getLogger("otherLogger")));
+		loggers.put(managedLogger(logger));
 		
 		julLoggingConfigurator.doUnsetLevel(loggerName, loggers);
 		
-		assertThat(loggers)
-			.hasSize(1)
-			.doesNotContain(logger);
+		assertThat(loggers.getSortedNames())
+			.containsExactly("otherLogger");
 	}
 
 	@Test
@@ -95,8 +145,8 @@ class TestJulLoggingConfigurator {
 		Logger logger = Logger.getLogger(loggerName);
 		logger.setLevel(Level.FINE);
 		logger.addHandler(mockHandler);
-		Set<Logger> loggers = ConcurrentHashMap.newKeySet();
-		loggers.add(logger);
+		ManagedLoggerRegistry<Level, Logger> loggers = new ManagedLoggerRegistry<>();
+		loggers.put(managedLogger(logger));
 		
 		logger.warning("log");
 		logger.fine("log");
@@ -143,21 +193,27 @@ class TestJulLoggingConfigurator {
 	void test_matchJulKnownLoggers() {
 		String loggerName = "loggerTest";
 		
-		Set<String> julKnownLoggers = new TreeSet<>();
-		julKnownLoggers.add(loggerName);
-		julKnownLoggers.add("otherLogger");
+		LoggerNameTrie julKnownLoggers = LoggerNameTrie.of(List.of(loggerName, "otherLogger"));
 		
 		boolean result = julLoggingConfigurator.matchJulKnownLoggers(loggerName, julKnownLoggers);
 		
 		assertThat(result).isTrue();
 	}
 
+	@Test
+	void test_matchJulKnownLoggers_child() {
+		LoggerNameTrie julKnownLoggers = LoggerNameTrie.of(List.of("org.glassfish.jersey"));
+		
+		assertThat(julLoggingConfigurator.matchJulKnownLoggers("org.glassfish.jersey.server", julKnownLoggers)).isTrue();
+		assertThat(julLoggingConfigurator.matchJulKnownLoggers("org.glassfish.jerseyx", julKnownLoggers)).isFalse();
+		assertThat(julLoggingConfigurator.matchJulKnownLoggers("org.glassfish", julKnownLoggers)).isFalse();
+	}
+
 	@Test
 	void test_matchJulKnownLoggers_notMatch() {
 		String loggerName = "loggerTest";
 		
-		Set<String> julKnownLoggers = new TreeSet<>();
-		julKnownLoggers.add("otherLogger");
+		LoggerNameTrie julKnownLoggers = LoggerNameTrie.of(List.of("otherLogger"));
 		
 		boolean result = julLoggingConfigurator.matchJulKnownLoggers(loggerName, julKnownLoggers);
 		
@@ -171,15 +227,16 @@ class TestJulLoggingConfigurator {
 		String loggerNotExpected = "#loggerNotExpected";
 		String loggerExists = "loggerExists";
 		
-		Set<String> julKnownLoggers = new TreeSet<>();
-		julKnownLoggers.add(loggerExists);
+		LoggerNameTrie julKnownLoggers = LoggerNameTrie.of(List.of(loggerExists));
 		Supplier<Scanner> supplier = () -> new Scanner(loggerExpected + "\n" + otherLoggerExpected + "\n" + loggerNotExpected);
 		
-		julLoggingConfigurator.updateJulKnownLoggers("source", supplier, false, julKnownLoggers);
+		LoggerNameTrie result = julLoggingConfigurator.updateJulKnownLoggers("source", supplier, false, julKnownLoggers);
 		
-		assertThat(julKnownLoggers)
+		assertThat(result.getNames())
 			.hasSize(3)
 			.containsExactly(loggerExists, loggerExpected, otherLoggerExpected);
+		assertThat(julKnownLoggers.getNames())
+			.containsExactly(loggerExists);
 	}
 
 	@Test
@@ -189,15 +246,18 @@ class TestJulLoggingConfigurator {
 		String loggerNotExpected = "#loggerNotExpected";
 		String loggerExists = "loggerExists";
 		
-		Set<String> julKnownLoggers = new TreeSet<>();
-		julKnownLoggers.add(loggerExists);
-		Supplier<Scanner> supplier = () -> new Scanner(loggerExpected + "\n" + otherLoggerExpected + "\n" + loggerNotExpected);
+		LoggerNameTrie julKnownLoggers = LoggerNameTrie.of(List.of(loggerExists));
+		Supplier<Scanner> supplier = () -> new Scanner(loggerExpected + "\n\n" + otherLoggerExpected + "\n" + loggerNotExpected);
 		
-		julLoggingConfigurator.updateJulKnownLoggers("source", supplier, true, julKnownLoggers);
+		LoggerNameTrie result = julLoggingConfigurator.updateJulKnownLoggers("source", supplier, true, julKnownLoggers);
 		
-		assertThat(julKnownLoggers)
+		assertThat(result.getNames())
 			.hasSize(2)
 			.containsExactly(loggerExpected, otherLoggerExpected);
 	}
 
+	private static ManagedLogger<Level, Logger> managedLogger(Logger logger) {
+		return new ManagedLogger<>(logger.getName(), Level.INFO, null, logger);
+	}
+
 }
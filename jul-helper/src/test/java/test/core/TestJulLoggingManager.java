@@ -1,29 +1,38 @@
 package test.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import igloo.julhelper.api.JulCallerLocation;
+import igloo.julhelper.bridge.SwitchableBridgeHandler;
 import igloo.julhelper.jmx.JulLoggingConfigurator;
 import igloo.julhelper.jmx.JulLoggingManagerImpl;
+import igloo.julhelper.jmx.JulSamplingFilter;
+import igloo.julhelper.util.EventSampler;
+import igloo.julhelper.util.ManagedLogger;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -46,8 +55,8 @@ class TestJulLoggingManager {
 		Logger loggerExpected = Logger.getLogger("loggerExpected");
 		Logger loggerOtherExpected = Logger.getLogger("loggerOtherExpected");
 		
-		julLoggingManager.getLoggers().add(loggerExpected);
-		julLoggingManager.getLoggers().add(loggerOtherExpected);
+		julLoggingManager.getLoggers().put(new ManagedLogger<>(loggerExpected.getName(), Level.INFO, null, loggerExpected));
+		julLoggingManager.getLoggers().put(new ManagedLogger<>(loggerOtherExpected.getName(), Level.INFO, null, loggerOtherExpected));
 		
 		List<String> results = julLoggingManager.getLoggerNames();
 		
@@ -63,8 +72,8 @@ class TestJulLoggingManager {
 		Logger loggerOtherExpected = Logger.getLogger("loggerOtherExpected");
 		loggerOtherExpected.setLevel(Level.INFO);
 		
-		julLoggingManager.getLoggers().add(loggerExpected);
-		julLoggingManager.getLoggers().add(loggerOtherExpected);
+		julLoggingManager.getLoggers().put(new ManagedLogger<>(loggerExpected.getName(), Level.INFO, null, loggerExpected));
+		julLoggingManager.getLoggers().put(new ManagedLogger<>(loggerOtherExpected.getName(), Level.INFO, null, loggerOtherExpected));
 		
 		String result = julLoggingManager.getLoggerConfig();
 		
@@ -83,6 +92,64 @@ class TestJulLoggingManager {
 		verify(julLoggingConfiguratorMock, times(1)).setLevel(eq(loggerName), eq(level), any(), any());
 	}
 
+	@Test
+	void test_setLevel_duration() throws Exception {
+		Logger logger = Logger.getLogger(loggerName);
+		julLoggingManager.getLoggers().put(new ManagedLogger<>(loggerName, Level.FINE, null, logger));
+		
+		try {
+			julLoggingManager.setLevel(loggerName, "FINE", 60_000);
+			
+			verify(julLoggingConfiguratorMock, times(1)).setLevel(eq(loggerName), eq("FINE"), any(), any());
+			assertThat(julLoggingManager.getLoggerConfig()).isEqualTo("loggerTest=FINE (expires in 60 s)");
+			
+			// permanent override
+			julLoggingManager.setLevel(loggerName, "FINE");
+			
+			assertThat(julLoggingManager.getLoggerConfig()).isEqualTo("loggerTest=FINE");
+		} finally {
+			julLoggingManager.close();
+		}
+	}
+
+	@Test
+	void test_setSampledLevel() throws Exception {
+		Logger logger = Logger.getLogger(loggerName);
+		ArgumentCaptor<EventSampler> samplerCaptor = ArgumentCaptor.forClass(EventSampler.class);
+		
+		julLoggingManager.setSampledLevel(loggerName, "FINE", 100, 0);
+		
+		verify(julLoggingConfiguratorMock, times(1)).setLevel(eq(loggerName), eq("FINE"), any(), any(), samplerCaptor.capture());
+		assertThat(samplerCaptor.getValue().getSampleRate()).isEqualTo(100);
+		
+		try {
+			logger.setFilter(new JulSamplingFilter(Level.INFO, samplerCaptor.getValue(), null));
+			julLoggingManager.getLoggers().put(new ManagedLogger<>(loggerName, Level.FINE, null, logger));
+			
+			assertThat(julLoggingManager.getLoggerConfig()).isEqualTo("loggerTest=FINE (sampled 1/100)");
+		} finally {
+			logger.setFilter(null);
+		}
+	}
+
+	@Test
+	void test_setLevel_duration_expiry() throws Exception {
+		try {
+			julLoggingManager.setLevel(loggerName, "FINE", 50);
+			
+			verify(julLoggingConfiguratorMock, timeout(5000).times(1)).doUnsetLevel(loggerName, julLoggingManager.getLoggers());
+		} finally {
+			julLoggingManager.close();
+		}
+	}
+
+	@Test
+	void test_setLevel_duration_invalid() throws Exception {
+		assertThatThrownBy(() -> julLoggingManager.setLevel(loggerName, "FINE", 0)).isInstanceOf(IllegalArgumentException.class);
+		
+		verify(julLoggingConfiguratorMock, never()).setLevel(any(), any(), any(), any());
+	}
+
 	@Test
 	void test_setLevelIfWellKnown_setLevel() throws Exception {
 		julLoggingManager = Mockito.spy(julLoggingManager);
@@ -109,6 +176,47 @@ class TestJulLoggingManager {
 		verify(julLoggingManager, never()).setLevel(loggerName, level);
 	}
 
+	@Test
+	void test_setLevelsIfWellKnown() throws Exception {
+		julLoggingManager = Mockito.spy(julLoggingManager);
+		String levels = "loggerExpected=INFO\nloggerOtherExpected=FINE";
+		
+		when(julLoggingConfiguratorMock.parseLevels(levels)).thenReturn(Map.of("loggerExpected", "INFO", "loggerOtherExpected", "FINE"));
+		doNothing().when(julLoggingManager).setLevelIfWellKnown(any(), any());
+		
+		julLoggingManager.setLevelsIfWellKnown(levels);
+		
+		verify(julLoggingManager, times(1)).setLevelIfWellKnown("loggerExpected", "INFO");
+		verify(julLoggingManager, times(1)).setLevelIfWellKnown("loggerOtherExpected", "FINE");
+	}
+
+	@Test
+	void test_setLevelsIfWellKnown_unknownLoggerLevelIgnored() throws Exception {
+		julLoggingManager = Mockito.spy(julLoggingManager);
+		String levels = "loggerExpected=INFO\nloggerIgnored=NOTICE";
+		
+		when(julLoggingConfiguratorMock.parseLevels(levels)).thenReturn(Map.of("loggerExpected", "INFO", "loggerIgnored", "NOTICE"));
+		when(julLoggingConfiguratorMock.matchJulKnownLoggers(eq("loggerExpected"), any())).thenReturn(true);
+		when(julLoggingConfiguratorMock.matchJulKnownLoggers(eq("loggerIgnored"), any())).thenReturn(false);
+		doNothing().when(julLoggingManager).setLevel(any(), any());
+		
+		julLoggingManager.setLevelsIfWellKnown(levels);
+		
+		// only levels of well-known loggers are checked
+		verify(julLoggingConfiguratorMock, times(1)).parseLevel(eq("INFO"), any());
+		verify(julLoggingConfiguratorMock, never()).parseLevel(eq("NOTICE"), any());
+		verify(julLoggingManager, times(1)).setLevel("loggerExpected", "INFO");
+	}
+
+	@Test
+	void test_unsetLevels() throws Exception {
+		julLoggingManager.unsetLevels(" loggerExpected\n\tloggerOtherExpected ");
+		
+		verify(julLoggingConfiguratorMock, times(2)).doUnsetLevel(any(), any());
+		verify(julLoggingConfiguratorMock, times(1)).doUnsetLevel("loggerExpected", julLoggingManager.getLoggers());
+		verify(julLoggingConfiguratorMock, times(1)).doUnsetLevel("loggerOtherExpected", julLoggingManager.getLoggers());
+	}
+
 	@Test
 	void test_unsetLevel() throws Exception {
 		doNothing().when(julLoggingConfiguratorMock).doUnsetLevel(loggerName, julLoggingManager.getLoggers());
@@ -123,8 +231,8 @@ class TestJulLoggingManager {
 		Logger loggerExpected = Logger.getLogger("loggerExpected");
 		Logger loggerOtherExpected = Logger.getLogger("loggerOtherExpected");
 		
-		julLoggingManager.getLoggers().add(loggerExpected);
-		julLoggingManager.getLoggers().add(loggerOtherExpected);
+		julLoggingManager.getLoggers().put(new ManagedLogger<>(loggerExpected.getName(), Level.INFO, null, loggerExpected));
+		julLoggingManager.getLoggers().put(new ManagedLogger<>(loggerOtherExpected.getName(), Level.INFO, null, loggerOtherExpected));
 		
 		julLoggingManager.reset();
 		
@@ -148,4 +256,63 @@ class TestJulLoggingManager {
 		verify(julLoggingConfiguratorMock, times(1)).updateJulKnownLoggers(any(), any(), eq(true), any());
 	}
 
+	@Test
+	void test_bridgeJulKnownLoggers() throws Exception {
+		julLoggingManager = new JulLoggingManagerImpl(null, new JulLoggingConfigurator(MockHandler::new));
+		julLoggingManager.addJulKnownLoggers("subtree.bridged subtree.bridged.child subtree.other");
+		
+		julLoggingManager.bridgeJulKnownLoggers();
+		
+		assertThat(julLoggingManager.getBridgedSubtrees()).containsExactly("subtree.bridged", "subtree.other");
+		Logger bridged = Logger.getLogger("subtree.bridged");
+		assertThat(bridged.getUseParentHandlers()).isFalse();
+		assertThat(bridged.getHandlers()).hasSize(1);
+		assertThat(Logger.getLogger("subtree.bridged.child").getHandlers()).isEmpty();
+		
+		julLoggingManager.setLevel("subtree.bridged", "FINE");
+		julLoggingManager.reset();
+		
+		assertThat(bridged.getLevel()).isNull();
+		assertThat(bridged.getUseParentHandlers()).isFalse();
+		assertThat(bridged.getHandlers()).hasSize(1);
+		
+		julLoggingManager.bridgeJulKnownLoggers();
+		
+		assertThat(bridged.getHandlers()).hasSize(1);
+	}
+
+	@Test
+	void test_callerLocation() throws Exception {
+		julLoggingManager.enableCallerLocation(" org.glassfish.jersey ");
+		
+		assertThat(julLoggingManager.getCallerLocationLoggers()).containsExactly("org.glassfish.jersey");
+		assertThat(JulCallerLocation.isEnabled("org.glassfish.jersey.server")).isTrue();
+		assertThat(JulCallerLocation.isEnabled("org.glassfish")).isFalse();
+		
+		julLoggingManager.disableCallerLocation("org.glassfish.jersey");
+		
+		assertThat(julLoggingManager.getCallerLocationLoggers()).isEmpty();
+		assertThat(JulCallerLocation.isEnabled("org.glassfish.jersey.server")).isFalse();
+	}
+
+	@Test
+	void test_setBridgeHandlerSupplier() throws Exception {
+		julLoggingManager.setBridgeHandlerSupplier(MockHandler::new);
+		
+		verify(julLoggingConfiguratorMock, times(1)).setBridgeHandlerSupplier(any());
+	}
+
+	@Test
+	void test_setBridgeHandlerSupplier_chain() throws Exception {
+		SwitchableBridgeHandler switchableBridgeHandler = new SwitchableBridgeHandler(new MockHandler());
+		julLoggingManager.setSwitchableBridgeHandler(switchableBridgeHandler);
+		MockHandler handler = new MockHandler();
+		
+		julLoggingManager.setBridgeHandlerSupplier(() -> handler);
+		
+		// wrapping handlers are kept, end of the chain is replaced
+		verify(julLoggingConfiguratorMock, never()).setBridgeHandlerSupplier(any());
+		assertThat(switchableBridgeHandler.getDelegate()).isSameAs(handler);
+	}
+
 }
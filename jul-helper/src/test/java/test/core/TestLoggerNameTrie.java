@@ -0,0 +1,63 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import igloo.julhelper.util.LoggerNameTrie;
+
+class TestLoggerNameTrie {
+
+	@Test
+	void test_longestMatch() {
+		LoggerNameTrie trie = LoggerNameTrie.of(List.of("org.glassfish", "org.glassfish.jersey", "com.google.common"));
+		
+		assertThat(trie.longestMatch("org.glassfish.jersey.server.ServerRuntime")).isEqualTo("org.glassfish.jersey");
+		assertThat(trie.longestMatch("org.glassfish.grizzly")).isEqualTo("org.glassfish");
+		assertThat(trie.longestMatch("org.glassfish")).isEqualTo("org.glassfish");
+		assertThat(trie.longestMatch("com.google")).isNull();
+		assertThat(trie.longestMatch("com.google.commons")).isNull();
+		assertThat(trie.longestMatch("")).isNull();
+	}
+
+	@Test
+	void test_rootPrefix() {
+		LoggerNameTrie trie = LoggerNameTrie.of(List.of("", "org.glassfish"));
+		
+		assertThat(trie.longestMatch("com.google")).isEmpty();
+		assertThat(trie.longestMatch("org.glassfish.jersey")).isEqualTo("org.glassfish");
+	}
+
+	@Test
+	void test_with() {
+		LoggerNameTrie trie = LoggerNameTrie.of(List.of("org.glassfish"));
+		
+		LoggerNameTrie result = trie.with(List.of("com.google.common"));
+		
+		assertThat(result.getNames()).containsExactly("com.google.common", "org.glassfish");
+		assertThat(trie.getNames()).containsExactly("org.glassfish");
+		assertThat(trie.matches("com.google.common")).isFalse();
+		assertThat(result.matches("com.google.common")).isTrue();
+	}
+
+	@Test
+	void test_without() {
+		LoggerNameTrie trie = LoggerNameTrie.of(List.of("org.glassfish", "com.google.common"));
+		
+		LoggerNameTrie result = trie.without(List.of("org.glassfish", "org.unknown"));
+		
+		assertThat(result.getNames()).containsExactly("com.google.common");
+		assertThat(trie.matches("org.glassfish.jersey")).isTrue();
+		assertThat(result.matches("org.glassfish.jersey")).isFalse();
+		assertThat(result.without(List.of("com.google.common"))).isSameAs(LoggerNameTrie.EMPTY);
+	}
+
+	@Test
+	void test_empty() {
+		assertThat(LoggerNameTrie.EMPTY.matches("org.glassfish")).isFalse();
+		assertThat(LoggerNameTrie.of(List.of())).isSameAs(LoggerNameTrie.EMPTY);
+	}
+
+}
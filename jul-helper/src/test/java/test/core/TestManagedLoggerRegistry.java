@@ -0,0 +1,61 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.Map;
+import java.util.logging.Level;
+
+import org.junit.jupiter.api.Test;
+
+import igloo.julhelper.util.ManagedLogger;
+import igloo.julhelper.util.ManagedLoggerRegistry;
+import igloo.julhelper.util.ManagedLoggerSnapshot;
+
+class TestManagedLoggerRegistry {
+
+	@Test
+	void test_snapshot() {
+		ManagedLoggerRegistry<Level, Void> registry = new ManagedLoggerRegistry<>(l -> l.getName() + "=" + l.getLevel());
+		registry.put(new ManagedLogger<>("org.b", Level.FINE, null, null));
+		registry.put(new ManagedLogger<>("org.a", Level.INFO, null, null));
+		
+		ManagedLoggerSnapshot<Level, Void> snapshot = registry.snapshot();
+		
+		assertThat(snapshot.getNames()).containsExactly("org.a", "org.b");
+		assertThat(snapshot.getConfig()).isEqualTo("org.a=INFO\norg.b=FINE");
+		assertThatThrownBy(() -> snapshot.getNames().add("org.c")).isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	void test_snapshot_cachedUntilModification() {
+		ManagedLoggerRegistry<Level, Void> registry = new ManagedLoggerRegistry<>();
+		registry.put(new ManagedLogger<>("org.a", Level.INFO, null, null));
+		
+		ManagedLoggerSnapshot<Level, Void> snapshot = registry.snapshot();
+		
+		assertThat(registry.snapshot()).isSameAs(snapshot);
+		// unknown name: no modification
+		registry.remove("org.unknown");
+		assertThat(registry.snapshot()).isSameAs(snapshot);
+		
+		registry.remove("org.a");
+		
+		assertThat(registry.snapshot()).isNotSameAs(snapshot);
+		assertThat(registry.snapshot().getNames()).isEmpty();
+		assertThat(registry.snapshot().getConfig()).isEmpty();
+		// previous snapshot is not modified
+		assertThat(snapshot.getNames()).containsExactly("org.a");
+	}
+
+	@Test
+	void test_parseLevels() {
+		Map<String, String> result = ManagedLoggerRegistry.parseLevels("# comment\n org.a = FINE \n\norg.b=INFO");
+		
+		assertThat(result).containsExactly(entry("org.a", "FINE"), entry("org.b", "INFO"));
+		assertThatThrownBy(() -> ManagedLoggerRegistry.parseLevels("org.a")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> ManagedLoggerRegistry.parseLevels("org.a=")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+}
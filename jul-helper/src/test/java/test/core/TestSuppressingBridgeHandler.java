@@ -0,0 +1,145 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.text.MessageFormat;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import igloo.julhelper.bridge.SuppressingBridgeHandler;
+import igloo.julhelper.jmx.JulLoggingConfigurator;
+import igloo.julhelper.jmx.JulLoggingManagerImpl;
+
+class TestSuppressingBridgeHandler {
+
+	private final List<String> published = new ArrayList<>();
+
+	private final Handler delegate = new Handler() {
+		@Override
+		public void publish(LogRecord record) {
+			String message = record.getParameters() != null
+					? MessageFormat.format(record.getMessage(), record.getParameters())
+					: record.getMessage();
+			published.add(record.getLoggerName() + " " + record.getLevel() + " " + message);
+		}
+		
+		@Override
+		public void flush() {
+			// nothing
+		}
+		
+		@Override
+		public void close() {
+			// nothing
+		}
+	};
+
+	@Test
+	void test_publish_suppressed() {
+		SuppressingBridgeHandler handler = new SuppressingBridgeHandler(delegate, 500);
+		
+		handler.publish(record("jersey", Level.WARNING, "warning {0}", 0));
+		handler.publish(record("jersey", Level.WARNING, "warning {0}", 100));
+		handler.publish(record("jersey", Level.WARNING, "warning {0}", 499));
+		// another level, another template
+		handler.publish(record("jersey", Level.SEVERE, "warning {0}", 100));
+		handler.publish(record("jersey", Level.WARNING, "other", 100));
+		
+		assertThat(published).containsExactly("jersey WARNING warning 0", "jersey SEVERE warning 100", "jersey WARNING other");
+		assertThat(handler.getSuppressedCount()).isEqualTo(2);
+		
+		// next occurrence after window
+		handler.publish(record("jersey", Level.WARNING, "warning {0}", 500));
+		
+		assertThat(published).containsSubsequence(
+				"jersey WARNING Previous message repeated 2 times in 499 ms: warning {0}",
+				"jersey WARNING warning 500");
+	}
+
+	@Test
+	void test_publish_expiredSummary() {
+		SuppressingBridgeHandler handler = new SuppressingBridgeHandler(delegate, 500);
+		handler.publish(record("jersey", Level.WARNING, "warning", 0));
+		handler.publish(record("jersey", Level.WARNING, "warning", 100));
+		
+		// jersey key does not occur again; another key drains expired windows
+		handler.publish(record("other", Level.WARNING, "warning", SuppressingBridgeHandler.DRAIN_INTERVAL_MILLIS));
+		
+		assertThat(published).containsExactly("jersey WARNING warning",
+				"jersey WARNING Previous message repeated 1 times in 100 ms: warning", "other WARNING warning");
+	}
+
+	@Test
+	void test_close_summary() {
+		SuppressingBridgeHandler handler = new SuppressingBridgeHandler(delegate, 500);
+		handler.publish(record("jersey", Level.WARNING, "warning", 0));
+		handler.publish(record("jersey", Level.WARNING, "warning", 1));
+		handler.publish(record("other", Level.WARNING, "warning", 1));
+		
+		handler.close();
+		
+		assertThat(published).containsExactly("jersey WARNING warning", "other WARNING warning",
+				"jersey WARNING Previous message repeated 1 times in 1 ms: warning");
+	}
+
+	@Test
+	void test_window_byLogger() {
+		SuppressingBridgeHandler handler = new SuppressingBridgeHandler(delegate, 0);
+		handler.setWindow("org.glassfish.jersey", 1000);
+		handler.setWindow("org.glassfish.jersey.server", 0);
+		
+		assertThat(handler.getWindow("org.glassfish.jersey.client")).isEqualTo(1000);
+		assertThat(handler.getWindow("org.glassfish.jersey.server.wadl")).isZero();
+		assertThat(handler.getWindow("org.hibernate")).isZero();
+		
+		handler.publish(record("org.glassfish.jersey.client", Level.WARNING, "warning", 0));
+		handler.publish(record("org.glassfish.jersey.client", Level.WARNING, "warning", 1));
+		handler.publish(record("org.glassfish.jersey.server", Level.WARNING, "warning", 0));
+		handler.publish(record("org.glassfish.jersey.server", Level.WARNING, "warning", 1));
+		
+		assertThat(handler.getSuppressedCount()).isEqualTo(1);
+		
+		handler.unsetWindow("org.glassfish.jersey");
+		assertThat(handler.getWindow("org.glassfish.jersey.client")).isZero();
+		assertThat(handler.getWindows()).containsOnlyKeys("org.glassfish.jersey.server");
+	}
+
+	@Test
+	void test_julLoggingManager_suppressionWindow() {
+		JulLoggingManagerImpl manager = new JulLoggingManagerImpl("", Mockito.mock(JulLoggingConfigurator.class));
+		assertThatThrownBy(() -> manager.setSuppressionWindow("jersey", 1000)).isInstanceOf(IllegalStateException.class);
+		assertThat(manager.getSuppressionWindows()).isEmpty();
+		
+		SuppressingBridgeHandler handler = new SuppressingBridgeHandler(delegate, 500);
+		manager.setSuppressingBridgeHandler(handler);
+		manager.setSuppressionWindow(" jersey ", 1000);
+		handler.publish(record("jersey", Level.WARNING, "warning", 0));
+		handler.publish(record("jersey", Level.WARNING, "warning", 700));
+		
+		assertThat(manager.getSuppressionWindows()).containsEntry("jersey", 1000L);
+		assertThat(manager.getSuppressionDefaultWindowMillis()).isEqualTo(500);
+		assertThat(manager.getSuppressedRecordCount()).isEqualTo(1);
+		
+		manager.unsetSuppressionWindow("jersey");
+		assertThat(manager.getSuppressionWindows()).isEmpty();
+	}
+
+	private static LogRecord record(String loggerName, Level level, String message, long millis) {
+		LogRecord record = new LogRecord(level, message);
+		record.setLoggerName(loggerName);
+		record.setInstant(Instant.ofEpochMilli(millis));
+		if (message.contains("{0}")) {
+			record.setParameters(new Object[] { millis });
+		}
+		return record;
+	}
+
+}
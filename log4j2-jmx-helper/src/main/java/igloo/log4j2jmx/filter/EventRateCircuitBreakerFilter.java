@@ -0,0 +1,114 @@
+package igloo.log4j2jmx.filter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+
+/**
+ * LoggerConfig filter that counts events and trips when event rate exceeds a ceiling for a sustained window. Events
+ * are never filtered out: the filter only observes the traffic of the LoggerConfig it is attached to.
+ * 
+ * Counting is lock-free: each event increments a {@link LongAdder}. Rate is evaluated once per second (based on
+ * event timestamps), by the logging thread that wins the compare-and-set of the current bucket start. Trip action is
+ * called once, on this logging thread; it is expected to hand over the actual reconfiguration to another thread.
+ */
+public final class EventRateCircuitBreakerFilter extends AbstractFilter {
+
+	private static final long BUCKET_MILLIS = 1000;
+
+	private final long maxEventsPerSecond;
+
+	private final long windowMillis;
+
+	private final Consumer<EventRateCircuitBreakerFilter> tripAction;
+
+	private final LongAdder events = new LongAdder();
+
+	private final AtomicLong bucketStart;
+
+	/**
+	 * Time spent above ceiling, in consecutive buckets.
+	 */
+	private final AtomicLong exceededMillis = new AtomicLong();
+
+	private final AtomicBoolean tripped = new AtomicBoolean();
+
+	private volatile long lastEventsPerSecond;
+
+	/**
+	 * @param maxEventsPerSecond event rate ceiling. Must be positive.
+	 * @param windowSeconds duration the ceiling must be exceeded before trip. Must be positive.
+	 * @param tripAction called once when filter trips. Required.
+	 */
+	public EventRateCircuitBreakerFilter(long maxEventsPerSecond, int windowSeconds,
+			Consumer<EventRateCircuitBreakerFilter> tripAction) {
+		super(Result.NEUTRAL, Result.NEUTRAL);
+		if (maxEventsPerSecond <= 0) {
+			throw new IllegalArgumentException(String.format("Event rate ceiling must be positive (%d)", maxEventsPerSecond));
+		}
+		if (windowSeconds <= 0) {
+			throw new IllegalArgumentException(String.format("Window must be positive (%d)", windowSeconds));
+		}
+		this.maxEventsPerSecond = maxEventsPerSecond;
+		this.windowMillis = windowSeconds * BUCKET_MILLIS;
+		this.tripAction = tripAction;
+		this.bucketStart = new AtomicLong(System.currentTimeMillis());
+	}
+
+	@Override
+	public Result filter(LogEvent event) {
+		events.increment();
+		long start = bucketStart.get();
+		long time = event.getTimeMillis();
+		if (time - start >= BUCKET_MILLIS && bucketStart.compareAndSet(start, time)) {
+			evaluate(time - start);
+		}
+		return Result.NEUTRAL;
+	}
+
+	/**
+	 * Called by a single thread for each bucket.
+	 */
+	private void evaluate(long elapsedMillis) {
+		// increments performed concurrently with reset may be counted in next bucket
+		long eventsPerSecond = events.sumThenReset() * BUCKET_MILLIS / elapsedMillis;
+		lastEventsPerSecond = eventsPerSecond;
+		if (eventsPerSecond <= maxEventsPerSecond) {
+			exceededMillis.set(0);
+			return;
+		}
+		if (exceededMillis.addAndGet(elapsedMillis) >= windowMillis && tripped.compareAndSet(false, true)) {
+			tripAction.accept(this);
+		}
+	}
+
+	public long getMaxEventsPerSecond() {
+		return maxEventsPerSecond;
+	}
+
+	public long getWindowSeconds() {
+		return windowMillis / BUCKET_MILLIS;
+	}
+
+	/**
+	 * @return event rate measured on last evaluated bucket.
+	 */
+	public long getLastEventsPerSecond() {
+		return lastEventsPerSecond;
+	}
+
+	public boolean isTripped() {
+		return tripped.get();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("EventRateCircuitBreaker[maxEventsPerSecond=%d, windowSeconds=%d]", maxEventsPerSecond,
+				getWindowSeconds());
+	}
+
+}
@@ -0,0 +1,226 @@
+package igloo.log4j2jmx.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+import org.apache.logging.log4j.message.Message;
+
+/**
+ * Context-wide Log4j2 filter that enforces a per-thread level override: when {@link ThreadContext} key `key` holds a
+ * level name, calls at least as specific as this level are accepted whatever the logger level. Other calls are left to
+ * logger level. Only the threads carrying the key pay for the additional logging.
+ * 
+ * Overrides are opened with {@link #enter(String, Level)} (see `Log4j2RequestLevelFilter` servlet filters). While
+ * no override is open, the filter only reads a shared counter: {@link ThreadContext} is not looked up.
+ * 
+ * The filter can be declared in Log4j2 configuration, or installed at runtime by {@link RequestLevelFilterInstaller}:
+ * 
+ * <pre>{@code
+ * <Configuration>
+ *   <RequestLevel key="igloo.requestLevel"/>
+ *   ...
+ * </Configuration>
+ * }</pre>
+ * 
+ * Overridden calls are accepted ({@link Result#ACCEPT}): in a composite context-wide filter, filters listed after
+ * this one (like {@link VolumeEstimateFilter}) are skipped for these calls. When declared with other context-wide
+ * filters, it must be listed last; {@link RequestLevelFilterInstaller} appends it after declared filters. Logger
+ * filters (like {@link EventRateCircuitBreakerFilter}) are evaluated anyway.
+ */
+@Plugin(name = "RequestLevel", category = Core.CATEGORY_NAME, elementType = Filter.ELEMENT_TYPE, printObject = true)
+public final class RequestLevelFilter extends AbstractFilter {
+
+	public static final String DEFAULT_KEY = "igloo.requestLevel";
+
+	/**
+	 * Overrides currently open, on all threads.
+	 */
+	private static final AtomicInteger OPEN_OVERRIDES = new AtomicInteger();
+
+	private final String key;
+
+	/**
+	 * @param key {@link ThreadContext} key holding the override level. Required.
+	 */
+	public RequestLevelFilter(String key) {
+		super(Result.ACCEPT, Result.NEUTRAL);
+		this.key = key;
+	}
+
+	/**
+	 * @param key {@link ThreadContext} key holding the override level; {@link #DEFAULT_KEY} if blank.
+	 */
+	@PluginFactory
+	public static RequestLevelFilter createFilter(@PluginAttribute("key") String key) {
+		return new RequestLevelFilter(key == null || key.isBlank() ? DEFAULT_KEY : key.strip());
+	}
+
+	/**
+	 * Open a level override for current thread: {@link ThreadContext} key `key` is set to `level` until returned scope
+	 * is closed, then restored.
+	 * 
+	 * <pre>{@code
+	 * try (RequestLevelFilter.Scope scope = RequestLevelFilter.enter(key, Level.DEBUG)) {
+	 *   ...
+	 * }
+	 * }</pre>
+	 * 
+	 * @param key {@link ThreadContext} key. Required.
+	 * @param level override level. Required.
+	 * @return scope to close on the same thread.
+	 */
+	public static Scope enter(String key, Level level) {
+		Scope scope = new Scope(key, ThreadContext.get(key));
+		ThreadContext.put(key, level.name());
+		OPEN_OVERRIDES.incrementAndGet();
+		return scope;
+	}
+
+	private Result filter(Level level) {
+		if (OPEN_OVERRIDES.get() == 0 || level == null) {
+			return Result.NEUTRAL;
+		}
+		return filter(level, ThreadContext.get(key));
+	}
+
+	private Result filter(Level level, String override) {
+		if (override == null) {
+			return Result.NEUTRAL;
+		}
+		Level overrideLevel = Level.getLevel(override);
+		return overrideLevel != null && level.isMoreSpecificThan(overrideLevel) ? onMatch : onMismatch;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	@Override
+	public Result filter(LogEvent event) {
+		// event may be processed on another thread: context data is used
+		return filter(event.getLevel(), event.getContextData().getValue(key));
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, Message msg, Throwable t) {
+		return filter(level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, Object msg, Throwable t) {
+		return filter(level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object... params) {
+		return filter(level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0) {
+		return filter(level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1) {
+		return filter(level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2) {
+		return filter(level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3) {
+		return filter(level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4) {
+		return filter(level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4, Object p5) {
+		return filter(level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4, Object p5, Object p6) {
+		return filter(level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4, Object p5, Object p6, Object p7) {
+		return filter(level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4, Object p5, Object p6, Object p7, Object p8) {
+		return filter(level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4, Object p5, Object p6, Object p7, Object p8, Object p9) {
+		return filter(level);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("RequestLevel[key=%s]", key);
+	}
+
+	/**
+	 * Level override opened by {@link RequestLevelFilter#enter(String, Level)}.
+	 */
+	public static final class Scope implements AutoCloseable {
+
+		private final String key;
+		
+		private final String previous;
+		
+		private boolean closed;
+		
+		private Scope(String key, String previous) {
+			this.key = key;
+			this.previous = previous;
+		}
+		
+		/**
+		 * Restore previous {@link ThreadContext} value. Must be called on the thread that opened the override.
+		 */
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			if (previous != null) {
+				ThreadContext.put(key, previous);
+			} else {
+				ThreadContext.remove(key);
+			}
+			OPEN_OVERRIDES.decrementAndGet();
+		}
+
+	}
+
+}
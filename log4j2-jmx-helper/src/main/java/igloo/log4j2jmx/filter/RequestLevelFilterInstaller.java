@@ -0,0 +1,108 @@
+package igloo.log4j2jmx.filter;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.filter.CompositeFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Install a context-wide {@link RequestLevelFilter} in Log4j2 configuration, unless configuration already declares
+ * one with the same key. Filter is installed again on each Log4j2 reconfiguration. It is appended after declared
+ * context-wide filters, so that its {@link org.apache.logging.log4j.core.Filter.Result#ACCEPT} result does not skip
+ * them; a warning is logged if a declared filter is not listed last.
+ * 
+ * Loggers read context-wide filter on each call: no loggers update is needed.
+ */
+public class RequestLevelFilterInstaller implements PropertyChangeListener, AutoCloseable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(RequestLevelFilterInstaller.class);
+
+	private final LoggerContext loggerContext;
+
+	private final RequestLevelFilter filter;
+
+	/**
+	 * Configuration the filter is installed in; null if filter is declared by configuration.
+	 */
+	private volatile Configuration installedIn;
+
+	/**
+	 * @param loggerContext Log4j2 context. Required.
+	 * @param key {@link org.apache.logging.log4j.ThreadContext} key holding the override level. Required.
+	 */
+	public RequestLevelFilterInstaller(LoggerContext loggerContext, String key) {
+		super();
+		this.loggerContext = loggerContext;
+		this.filter = new RequestLevelFilter(key);
+	}
+
+	public void start() {
+		filter.start();
+		loggerContext.addPropertyChangeListener(this);
+		install(loggerContext.getConfiguration());
+	}
+
+	@Override
+	public void propertyChange(PropertyChangeEvent evt) {
+		if (LoggerContext.PROPERTY_CONFIG.equals(evt.getPropertyName()) && evt.getNewValue() instanceof Configuration) {
+			install((Configuration) evt.getNewValue());
+		}
+	}
+
+	private synchronized void install(Configuration configuration) {
+		if (configuration == installedIn) {
+			return;
+		}
+		Filter configured = configuration.getFilter();
+		if (isDeclared(configured)) {
+			LOGGER.debug("RequestLevel filter {} declared by Log4j2 configuration", filter.getKey());
+			if (configured instanceof CompositeFilter) {
+				Filter[] filters = ((CompositeFilter) configured).getFiltersArray();
+				if (!isDeclared(filters[filters.length - 1])) {
+					LOGGER.warn("RequestLevel filter {} is not the last context-wide filter; overridden calls skip next filters", filter.getKey());
+				}
+			}
+			installedIn = null;
+			return;
+		}
+		// appended last (see AbstractFilterable#addFilter)
+		configuration.addFilter(filter);
+		installedIn = configuration;
+	}
+
+	private boolean isDeclared(Filter configured) {
+		if (configured instanceof CompositeFilter) {
+			for (Filter f : (CompositeFilter) configured) {
+				if (isDeclared(f)) {
+					return true;
+				}
+			}
+			return false;
+		}
+		return configured instanceof RequestLevelFilter && ((RequestLevelFilter) configured).getKey().equals(filter.getKey());
+	}
+
+	public RequestLevelFilter getFilter() {
+		return filter;
+	}
+
+	/**
+	 * Stop following reconfigurations and remove installed filter.
+	 */
+	@Override
+	public synchronized void close() {
+		loggerContext.removePropertyChangeListener(this);
+		Configuration configuration = installedIn;
+		if (configuration != null) {
+			configuration.removeFilter(filter);
+			installedIn = null;
+		}
+		filter.stop();
+	}
+
+}
@@ -0,0 +1,54 @@
+package igloo.log4j2jmx.filter;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+
+import igloo.julhelper.util.EventSampler;
+
+/**
+ * LoggerConfig filter of sampled overrides: events at least as specific as the level in effect before override are
+ * always accepted; less specific events are accepted only when sampled by an {@link EventSampler}, and denied
+ * otherwise.
+ * 
+ * Sampling takes no lock on logging threads (see {@link EventSampler}).
+ */
+public final class SamplingFilter extends AbstractFilter {
+
+	private final Level threshold;
+
+	private final EventSampler sampler;
+
+	/**
+	 * @param threshold events at least as specific are not sampled; null to sample all events.
+	 * @param sampler sampler applied to less specific events. Required.
+	 */
+	public SamplingFilter(Level threshold, EventSampler sampler) {
+		super(Result.NEUTRAL, Result.DENY);
+		this.threshold = threshold;
+		this.sampler = sampler;
+	}
+
+	@Override
+	public Result filter(LogEvent event) {
+		if (threshold != null && event.getLevel().isMoreSpecificThan(threshold)) {
+			return Result.NEUTRAL;
+		}
+		return sampler.sample() ? onMatch : onMismatch;
+	}
+
+	public Level getThreshold() {
+		return threshold;
+	}
+
+	public EventSampler getSampler() {
+		return sampler;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("Sampling[threshold=%s, sampleRate=%d, maxEventsPerSecond=%d]", threshold,
+				sampler.getSampleRate(), sampler.getMaxEventsPerSecond());
+	}
+
+}
@@ -0,0 +1,282 @@
+package igloo.log4j2jmx.filter;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+import org.apache.logging.log4j.message.Message;
+
+import igloo.julhelper.util.LoggerNameTrie;
+
+/**
+ * Context-wide Log4j2 filter that counts logging calls rejected by logger level, so that the volume produced by a
+ * lower level can be estimated before it is enabled (see {@link #estimate(String, Level)}). Calls are never filtered
+ * out.
+ * 
+ * Log4j2 evaluates context-wide filters before the level check, for each logging call. This filter only compares
+ * the call level with the logger level and increments a {@link LongAdder}: messages are neither formatted nor
+ * allocated, and parameters are not read. Counted loggers can be restricted to a list of prefixes:
+ * 
+ * <pre>{@code
+ * <Configuration>
+ *   <VolumeEstimate prefixes="com.example org.hibernate.SQL"/>
+ *   ...
+ * </Configuration>
+ * }</pre>
+ * 
+ * Counters of all instances are shared and kept across Log4j2 reconfigurations. Estimates are average rates since
+ * startup or since last {@link #reset()}.
+ */
+@Plugin(name = "VolumeEstimate", category = Core.CATEGORY_NAME, elementType = Filter.ELEMENT_TYPE, printObject = true)
+public final class VolumeEstimateFilter extends AbstractFilter {
+
+	/**
+	 * Standard levels, from the most specific; custom levels are counted with the next less specific standard level.
+	 */
+	private static final Level[] LEVELS = { Level.FATAL, Level.ERROR, Level.WARN, Level.INFO, Level.DEBUG, Level.TRACE };
+
+	private static final ConcurrentMap<String, RejectedCounters> COUNTERS = new ConcurrentHashMap<>();
+
+	/**
+	 * Marker for loggers not matching prefixes.
+	 */
+	private static final RejectedCounters IGNORED = new RejectedCounters();
+
+	private static final AtomicInteger STARTED_INSTANCES = new AtomicInteger();
+
+	private static volatile long sinceNanos = System.nanoTime();
+
+	/**
+	 * Counted logger prefixes; null to count all loggers.
+	 */
+	private final LoggerNameTrie prefixes;
+
+	/**
+	 * Counters by logger name, so that prefixes are matched once by logger.
+	 */
+	private final ConcurrentMap<String, RejectedCounters> resolved = new ConcurrentHashMap<>();
+
+	private VolumeEstimateFilter(LoggerNameTrie prefixes) {
+		super(Result.NEUTRAL, Result.NEUTRAL);
+		this.prefixes = prefixes;
+	}
+
+	/**
+	 * @param prefixes counted logger prefixes, separated by whitespace or commas; all loggers are counted if blank.
+	 */
+	@PluginFactory
+	public static VolumeEstimateFilter createFilter(@PluginAttribute("prefixes") String prefixes) {
+		if (prefixes == null || prefixes.isBlank()) {
+			return new VolumeEstimateFilter(null);
+		}
+		return new VolumeEstimateFilter(LoggerNameTrie.of(Arrays.asList(prefixes.strip().split("[\\s,]+"))));
+	}
+
+	private Result count(Logger logger, Level level) {
+		if (level != null && level.intLevel() > logger.getLevel().intLevel()) {
+			String name = logger.getName();
+			RejectedCounters counters = resolved.get(name);
+			if (counters == null) {
+				counters = resolved.computeIfAbsent(name, this::resolve);
+			}
+			if (counters != IGNORED) {
+				counters.increment(level);
+			}
+		}
+		return Result.NEUTRAL;
+	}
+
+	private RejectedCounters resolve(String name) {
+		if (prefixes != null && !prefixes.matches(name)) {
+			return IGNORED;
+		}
+		return COUNTERS.computeIfAbsent(name, n -> new RejectedCounters());
+	}
+
+	/**
+	 * Estimate the rate of calls that would be logged if level of logger `name` was `level`: calls of `name` and its
+	 * descendants, rejected by their current level, with a level at least as specific as `level`.
+	 * 
+	 * @param name a logger name; empty for root logger. Required.
+	 * @param level target level. Required.
+	 * @return additional events per second, averaged since startup or last {@link #reset()}.
+	 */
+	public static double estimate(String name, Level level) {
+		LoggerNameTrie subtree = name.isEmpty() ? null : LoggerNameTrie.of(Arrays.asList(name));
+		long count = 0;
+		for (Map.Entry<String, RejectedCounters> counters : COUNTERS.entrySet()) {
+			if (subtree == null || subtree.matches(counters.getKey())) {
+				count += counters.getValue().sum(level);
+			}
+		}
+		double seconds = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sinceNanos)) / 1000d;
+		return count / seconds;
+	}
+
+	/**
+	 * Reset all counters; estimates are then computed from now.
+	 */
+	public static void reset() {
+		COUNTERS.values().forEach(RejectedCounters::reset);
+		sinceNanos = System.nanoTime();
+	}
+
+	/**
+	 * @return true if at least one filter instance is started.
+	 */
+	public static boolean isInstalled() {
+		return STARTED_INSTANCES.get() > 0;
+	}
+
+	@Override
+	public void start() {
+		if (!isStarted()) {
+			STARTED_INSTANCES.incrementAndGet();
+		}
+		super.start();
+	}
+
+	@Override
+	public boolean stop(long timeout, TimeUnit timeUnit) {
+		if (isStarted()) {
+			STARTED_INSTANCES.decrementAndGet();
+		}
+		return super.stop(timeout, timeUnit);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, Message msg, Throwable t) {
+		return count(logger, level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, Object msg, Throwable t) {
+		return count(logger, level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object... params) {
+		return count(logger, level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0) {
+		return count(logger, level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1) {
+		return count(logger, level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2) {
+		return count(logger, level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3) {
+		return count(logger, level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4) {
+		return count(logger, level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4, Object p5) {
+		return count(logger, level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4, Object p5, Object p6) {
+		return count(logger, level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4, Object p5, Object p6, Object p7) {
+		return count(logger, level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4, Object p5, Object p6, Object p7, Object p8) {
+		return count(logger, level);
+	}
+
+	@Override
+	public Result filter(Logger logger, Level level, Marker marker, String msg, Object p0, Object p1, Object p2,
+			Object p3, Object p4, Object p5, Object p6, Object p7, Object p8, Object p9) {
+		return count(logger, level);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("VolumeEstimate[prefixes=%s]", prefixes != null ? prefixes.getNames() : "*");
+	}
+
+	/**
+	 * Rejected calls of a logger, by standard level.
+	 */
+	private static final class RejectedCounters {
+
+		private final LongAdder[] counters = new LongAdder[LEVELS.length];
+
+		private RejectedCounters() {
+			for (int i = 0; i < LEVELS.length; i++) {
+				counters[i] = new LongAdder();
+			}
+		}
+
+		private void increment(Level level) {
+			counters[bucket(level.intLevel())].increment();
+		}
+
+		/**
+		 * @return rejected calls with a level at least as specific as `level`.
+		 */
+		private long sum(Level level) {
+			long sum = 0;
+			for (int i = 0; i < LEVELS.length && LEVELS[i].intLevel() <= level.intLevel(); i++) {
+				sum += counters[i].sum();
+			}
+			return sum;
+		}
+
+		private void reset() {
+			for (LongAdder counter : counters) {
+				counter.reset();
+			}
+		}
+
+		private static int bucket(int intLevel) {
+			for (int i = 0; i < LEVELS.length; i++) {
+				if (intLevel <= LEVELS[i].intLevel()) {
+					return i;
+				}
+			}
+			return LEVELS.length - 1;
+		}
+
+	}
+
+}
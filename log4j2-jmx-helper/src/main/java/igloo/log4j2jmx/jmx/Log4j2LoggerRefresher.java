@@ -0,0 +1,222 @@
+package igloo.log4j2jmx.jmx;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.spi.LoggerRegistry;
+
+/**
+ * Update only the {@link Logger}s impacted by a {@link LoggerConfig} modification, instead of
+ * {@link LoggerContext#updateLoggers(Configuration)} that rebuilds the configuration of every logger of the context.
+ * 
+ * A modification (level update, addition or removal) of the LoggerConfig `name` only changes the configuration
+ * resolution of logger `name` and its descendants (`name.*`): added or removed LoggerConfig only move the resolution
+ * between `name` and its nearest configured ancestor. Only these loggers are updated.
+ * 
+ * As {@link LoggerContext#updateLoggers(Configuration)}, a targeted update fires a {@link LoggerContext#PROPERTY_CONFIG}
+ * event, so that listeners registered with {@link LoggerContext#addPropertyChangeListener(PropertyChangeListener)}
+ * (JUL level propagation, cached levels) see level modifications.
+ * 
+ * A complete update ({@link LoggerContext#updateLoggers(Configuration)}) is performed if:
+ * 
+ * * root LoggerConfig is modified (all loggers are impacted);
+ * * configuration is not the current context configuration (a reconfiguration happened in-between);
+ * * `Logger#updateConfiguration` or `LoggerContext#firePropertyChangeEvent` is not accessible (log4j-core internals
+ *   changed, or log4j-core module not open to this module).
+ * 
+ * Impacted loggers are looked up in a name-sorted index of context loggers. The index is rebuilt only when the
+ * number of context loggers changes, so that lookup cost depends on the subtree size, not on the total number of
+ * loggers. If the number of context loggers cannot be read, the index is rebuilt on each call.
+ */
+public class Log4j2LoggerRefresher {
+
+	private static final MethodHandle UPDATE_CONFIGURATION = findUpdateConfiguration();
+
+	private static final MethodHandle LOGGER_REGISTRY_MAP = findLoggerRegistryMap();
+
+	private static final MethodHandle FIRE_PROPERTY_CHANGE_EVENT = findFirePropertyChangeEvent();
+
+	private volatile LoggerIndex index;
+
+	/**
+	 * Update loggers impacted by modifications on LoggerConfig `names`.
+	 * 
+	 * @param ctx the modified context. Required.
+	 * @param conf the modified configuration. Required.
+	 * @param names modified LoggerConfig names. Required.
+	 * @return number of updated loggers, or -1 if all context loggers are updated.
+	 */
+	public int refresh(LoggerContext ctx, Configuration conf, Collection<String> names) {
+		if (UPDATE_CONFIGURATION == null || FIRE_PROPERTY_CHANGE_EVENT == null || conf != ctx.getConfiguration()
+				|| names.stream().anyMatch(LogManager.ROOT_LOGGER_NAME::equals)) {
+			ctx.updateLoggers(conf);
+			return -1;
+		}
+		LoggerIndex loggerIndex = getIndex(ctx);
+		int updated = 0;
+		for (String name : names) {
+			updated += loggerIndex.updateSubtree(name, conf);
+		}
+		firePropertyChangeEvent(ctx, new PropertyChangeEvent(ctx, LoggerContext.PROPERTY_CONFIG, conf, conf));
+		return updated;
+	}
+
+	/**
+	 * @return true if `loggerName` is `name` or a descendant of `name`.
+	 */
+	public static boolean isSelfOrDescendant(String loggerName, String name) {
+		return loggerName.startsWith(name)
+				&& (loggerName.length() == name.length() || loggerName.charAt(name.length()) == '.');
+	}
+
+	private LoggerIndex getIndex(LoggerContext ctx) {
+		LoggerIndex current = index;
+		int size = registrySize(ctx);
+		if (current == null || current.ctx != ctx || size < 0 || current.size != size) {
+			current = new LoggerIndex(ctx, size, ctx.getLoggers());
+			index = current;
+		}
+		return current;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static int registrySize(LoggerContext ctx) {
+		if (LOGGER_REGISTRY_MAP == null) {
+			return -1;
+		}
+		try {
+			Map<?, ? extends Map<?, ?>> registryMap = (Map<?, ? extends Map<?, ?>>) LOGGER_REGISTRY_MAP.invoke(ctx.getLoggerRegistry());
+			int size = 0;
+			for (Map<?, ?> inner : registryMap.values()) {
+				size += inner.size();
+			}
+			return size;
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			return -1;
+		}
+	}
+
+	private static void updateConfiguration(Logger logger, Configuration conf) {
+		try {
+			UPDATE_CONFIGURATION.invokeExact(logger, conf);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void firePropertyChangeEvent(LoggerContext ctx, PropertyChangeEvent event) {
+		try {
+			FIRE_PROPERTY_CHANGE_EVENT.invokeExact(ctx, event);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static MethodHandle findUpdateConfiguration() {
+		try {
+			return MethodHandles.privateLookupIn(Logger.class, MethodHandles.lookup())
+					.findVirtual(Logger.class, "updateConfiguration", MethodType.methodType(void.class, Configuration.class));
+		} catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+			// fallback to LoggerContext#updateLoggers
+			return null;
+		}
+	}
+
+	private static MethodHandle findFirePropertyChangeEvent() {
+		try {
+			return MethodHandles.privateLookupIn(LoggerContext.class, MethodHandles.lookup())
+					.findVirtual(LoggerContext.class, "firePropertyChangeEvent", MethodType.methodType(void.class, PropertyChangeEvent.class));
+		} catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+			// fallback to LoggerContext#updateLoggers
+			return null;
+		}
+	}
+
+	private static MethodHandle findLoggerRegistryMap() {
+		try {
+			return MethodHandles.privateLookupIn(LoggerRegistry.class, MethodHandles.lookup())
+					.findGetter(LoggerRegistry.class, "map", Map.class);
+		} catch (NoSuchFieldException | IllegalAccessException | RuntimeException e) {
+			// fallback to an index rebuild on each call
+			return null;
+		}
+	}
+
+	/**
+	 * Context loggers sorted by name.
+	 */
+	private static class LoggerIndex {
+
+		private final LoggerContext ctx;
+		
+		private final int size;
+		
+		private final String[] names;
+		
+		private final Logger[] loggers;
+		
+		private LoggerIndex(LoggerContext ctx, int size, Collection<Logger> contextLoggers) {
+			this.ctx = ctx;
+			this.size = size;
+			Logger[] sorted = contextLoggers.toArray(new Logger[0]);
+			Arrays.sort(sorted, Comparator.comparing(Logger::getName));
+			this.loggers = sorted;
+			this.names = Arrays.stream(sorted).map(Logger::getName).toArray(String[]::new);
+		}
+		
+		/**
+		 * Update logger `name` and loggers `name.*`. Loggers with the same name (other message factories) are
+		 * contiguous; descendants are in the range [`name.`, `name/`).
+		 */
+		private int updateSubtree(String name, Configuration conf) {
+			int updated = 0;
+			for (int i = firstIndex(name); i < names.length && names[i].equals(name); i++) {
+				updateConfiguration(loggers[i], conf);
+				updated++;
+			}
+			String descendantPrefix = name + ".";
+			for (int i = firstIndex(descendantPrefix); i < names.length && names[i].startsWith(descendantPrefix); i++) {
+				updateConfiguration(loggers[i], conf);
+				updated++;
+			}
+			return updated;
+		}
+		
+		/**
+		 * @return index of the first name greater or equal to `name`.
+		 */
+		private int firstIndex(String name) {
+			int low = 0;
+			int high = names.length;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (names[middle].compareTo(name) < 0) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+
+	}
+
+}
@@ -1,42 +1,246 @@
 package igloo.log4j2jmx.jmx;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Objects;
 
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.LoggerConfig;
 
-public class Log4j2LoggingConfigurator {
+import igloo.julhelper.api.JulBackendLevelCache;
+import igloo.julhelper.util.EventSampler;
+import igloo.julhelper.util.ManagedLogger;
+import igloo.julhelper.util.ManagedLoggerRegistry;
+import igloo.log4j2jmx.filter.SamplingFilter;
 
-	public Logger doSetLevel(final String name, final String levelAsString, Set<Logger> loggers, Map<String, LevelWrapper> originalLevels) {
-		// getting or creating a logger
-		Logger logger = getLogger(name, loggers);
+public class Log4j2LoggingConfigurator implements AutoCloseable {
+
+	private final Log4j2ReconfigurationStatistics statistics = new Log4j2ReconfigurationStatistics();
+
+	private final Log4j2LoggerRefresher refresher = new Log4j2LoggerRefresher();
+
+	private final Log4j2ReconfigurationScheduler scheduler;
+
+	private final boolean awaitReconfiguration;
+
+	/**
+	 * Loggers are updated synchronously on each modification.
+	 */
+	public Log4j2LoggingConfigurator() {
+		this(0, true);
+	}
+
+	/**
+	 * If `quietWindowMillis` is positive, loggers update is delayed and performed once after `quietWindowMillis`
+	 * without any new modification. LoggerConfig modifications are applied right away.
+	 * 
+	 * @param quietWindowMillis delay used to coalesce loggers updates. 0 or negative to update loggers synchronously.
+	 * @param awaitReconfiguration if true, {@link #awaitReconfiguration()} waits for loggers update.
+	 */
+	public Log4j2LoggingConfigurator(long quietWindowMillis, boolean awaitReconfiguration) {
+		super();
+		this.awaitReconfiguration = awaitReconfiguration;
+		if (quietWindowMillis > 0) {
+			this.scheduler = new Log4j2ReconfigurationScheduler(quietWindowMillis, quietWindowMillis * 10,
+					(ctx, names) -> refresh(ctx, ctx.getConfiguration(), names), statistics::recordFlush);
+		} else {
+			this.scheduler = null;
+		}
+	}
+
+	/**
+	 * Switch LoggerConfig `name` to `levelAsString`, or restore its original level if `levelAsString` is null, and
+	 * update impacted loggers.
+	 * 
+	 * @param name a logger name. Required.
+	 * @param levelAsString a Log4j2 level, or null to restore the original level.
+	 * @param loggers managed loggers; updated with added or removed logger.
+	 * @return the override for logger `name`, or null if level is restored.
+	 */
+	public ManagedLogger<Level, Void> doSetLevel(final String name, final String levelAsString, ManagedLoggerRegistry<Level, Void> loggers) {
+		LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
+		Configuration conf = ctx.getConfiguration();
+		ManagedLogger<Level, Void> logger = applyLevel(name, levelAsString, conf, loggers);
+		
+		updateLoggers(ctx, conf, List.of(name));
+		return logger;
+	}
+
+	/**
+	 * Switch LoggerConfig `name` to `levelAsString` with a {@link SamplingFilter}: events less specific than the
+	 * original level are accepted only when sampled. Filter is attached before loggers update, so that the
+	 * override is never effective unsampled.
+	 * 
+	 * @param name a logger name. Required.
+	 * @param levelAsString a Log4j2 level. Required.
+	 * @param sampler sampler applied to events less specific than original level. Required.
+	 * @param loggers managed loggers; updated with added logger.
+	 * @return the attached filter, to be removed with {@link #removeFilter(String, Filter)}.
+	 */
+	public SamplingFilter doSetSampledLevel(final String name, final String levelAsString, EventSampler sampler,
+			ManagedLoggerRegistry<Level, Void> loggers) {
+		LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
+		Configuration conf = ctx.getConfiguration();
+		ManagedLogger<Level, Void> logger = applyLevel(name, levelAsString, conf, loggers);
+		SamplingFilter filter = new SamplingFilter(logger.getOriginalLevel(), sampler);
+		addFilter(conf, name, filter);
+		
+		updateLoggers(ctx, conf, List.of(name));
+		return filter;
+	}
+
+	/**
+	 * Apply a batch of level changes. All {@link LoggerConfig} are updated before a single loggers update.
+	 * 
+	 * @param levels logger names to target levels; a null level restores the original level. Required.
+	 * @param loggers managed loggers; updated with added and removed loggers.
+	 */
+	public void doSetLevels(final Map<String, String> levels, ManagedLoggerRegistry<Level, Void> loggers) {
+		// check all levels before any modification
+		checkLevels(levels.values());
+		if (levels.isEmpty()) {
+			return;
+		}
+		
 		LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
 		Configuration conf = ctx.getConfiguration();
+		for (Map.Entry<String, String> level : levels.entrySet()) {
+			applyLevel(level.getKey(), level.getValue(), conf, loggers);
+		}
+		
+		updateLoggers(ctx, conf, levels.keySet());
+	}
+
+	/**
+	 * Check levels without any modification.
+	 * 
+	 * @param levels Log4j2 levels; null values are ignored. Required.
+	 * @throws IllegalArgumentException if a level is not a Log4j2 level.
+	 */
+	public void checkLevels(final Collection<String> levels) {
+		levels.stream().filter(Objects::nonNull).forEach(Level::valueOf);
+	}
+
+	/**
+	 * Restore original level of a batch of loggers, with a single loggers update.
+	 * 
+	 * @see #doSetLevels(Map, ManagedLoggerRegistry)
+	 */
+	public void doUnsetLevels(final Collection<String> names, ManagedLoggerRegistry<Level, Void> loggers) {
+		Map<String, String> levels = new LinkedHashMap<>();
+		names.forEach(name -> levels.put(name, null));
+		doSetLevels(levels, loggers);
+	}
+
+	public void doUnsetLevel(final String name, ManagedLoggerRegistry<Level, Void> loggers) {
+		doSetLevel(name, null, loggers);
+	}
+
+	/**
+	 * Attach `filter` to LoggerConfig `name`. Filter is effective right away for loggers using this LoggerConfig;
+	 * no loggers update is needed.
+	 * 
+	 * @param name a managed logger name; its LoggerConfig must exist (see {@link #doSetLevel(String, String, ManagedLoggerRegistry)}).
+	 * @param filter filter to attach. Required.
+	 * @throws IllegalStateException if there is no LoggerConfig `name`.
+	 */
+	public void addFilter(final String name, final Filter filter) {
+		addFilter(((LoggerContext) LogManager.getContext(false)).getConfiguration(), name, filter);
+	}
+
+	private void addFilter(Configuration conf, final String name, final Filter filter) {
+		LoggerConfig lconf = conf.getLoggerConfig(name);
+		if (!lconf.getName().equals(name)) {
+			throw new IllegalStateException(String.format("No LoggerConfig for %s", name));
+		}
+		filter.start();
+		lconf.addFilter(filter);
+	}
+
+	/**
+	 * Detach `filter` from LoggerConfig `name`, if it still exists.
+	 * 
+	 * @param name a logger name. Required.
+	 * @param filter filter to detach. Required.
+	 */
+	public void removeFilter(final String name, final Filter filter) {
+		LoggerConfig lconf = ((LoggerContext) LogManager.getContext(false)).getConfiguration().getLoggerConfig(name);
+		if (lconf.getName().equals(name)) {
+			lconf.removeFilter(filter);
+		}
+		filter.stop();
+	}
+
+	/**
+	 * Wait for pending loggers update if loggers update is delayed and configurator is configured to wait for
+	 * reconfiguration. Must be called without holding any lock needed to modify loggers configuration, so that
+	 * concurrent modifications can be merged.
+	 */
+	public void awaitReconfiguration() {
+		if (scheduler != null && awaitReconfiguration) {
+			scheduler.getPendingFlush().join();
+		}
+	}
+
+	public Log4j2ReconfigurationStatistics getStatistics() {
+		return statistics;
+	}
+
+	/**
+	 * Apply pending loggers update and stop scheduler.
+	 */
+	@Override
+	public void close() {
+		if (scheduler != null) {
+			scheduler.close();
+		}
+	}
+
+	/**
+	 * Parse a multiline `name=LEVEL` configuration. Blank lines and lines starting with `#` are ignored.
+	 * 
+	 * @param levels a multiline string of loggerName=loggerLevel entries. Required.
+	 * @return logger names to levels, in declaration order.
+	 * @throws IllegalArgumentException if a line cannot be parsed.
+	 * 
+	 * @see ManagedLoggerRegistry#parseLevels(String)
+	 */
+	public Map<String, String> parseLevels(final String levels) {
+		return ManagedLoggerRegistry.parseLevels(levels);
+	}
+
+	/**
+	 * Update {@link LoggerConfig} for logger `name` and managed loggers. Loggers update is left to the caller.
+	 */
+	private ManagedLogger<Level, Void> applyLevel(final String name, final String levelAsString, Configuration conf, ManagedLoggerRegistry<Level, Void> loggers) {
+		ManagedLogger<Level, Void> current = loggers.get(name);
 		// server logger
 		LoggerConfig lconf = conf.getLoggerConfig(name);
 		
 		// 
 		if (levelAsString != null) {
-			// server logger level
-			Level originalLevel = lconf.getLevel();
+			Level level = Level.valueOf(levelAsString);
+			// keep the original level if logger is already managed
+			Level originalLevel = current != null ? current.getOriginalLevel() : lconf.getLevel();
 			// add server logger
-			if (!lconf.getName().equals(logger.getName())) {
-				lconf = new LoggerConfig(logger.getName(), Level.valueOf(levelAsString), true);
-				conf.addLogger(logger.getName(), lconf);
+			if (!lconf.getName().equals(name)) {
+				conf.addLogger(name, new LoggerConfig(name, level, true));
 			// set existing server logger
 			} else {
-				lconf.setLevel(Level.valueOf(levelAsString));
+				lconf.setLevel(level);
 			}
-			// add the original level if not yet in local
-			originalLevels.computeIfAbsent(name, n -> new LevelWrapper(originalLevel));
+			ManagedLogger<Level, Void> logger = new ManagedLogger<>(name, level, originalLevel, null);
+			loggers.put(logger);
+			return logger;
 		// reset the logger level to default
 		} else {
-			Level targetLevel = popOriginalLevel(name, originalLevels);
+			Level targetLevel = current != null ? current.getOriginalLevel() : null;
 			// no default level -> delete server logger
 			if (targetLevel == null) {
 				conf.removeLogger(name);
@@ -44,51 +248,32 @@ public class Log4j2LoggingConfigurator {
 			} else {
 				lconf.setLevel(targetLevel);
 			}
+			loggers.remove(name);
+			return null;
 		}
-		
-		ctx.updateLoggers(conf);
-		
-		// no level means that the local logger is deleted
-		if (levelAsString == null) {
-			loggers.remove(logger);
-		// add logger only if it does not exist yet
-		} else {
-			loggers.add(logger);
-		}
-		return logger;
-	}
-
-	public Logger getLogger(final String name, Set<Logger> loggers) {
-		return loggers.stream().filter(i -> i.getName().equals(name))
-			.findFirst()
-			.orElseGet(() -> (Logger) LogManager.getLogger(name));
 	}
 
-	public Level popOriginalLevel(final String name, Map<String, LevelWrapper> originalLevels) {
-		if (originalLevels.containsKey(name)) {
-			return originalLevels.remove(name).level;
+	/**
+	 * Update loggers impacted by LoggerConfig `names` modification, now or later if a scheduler is configured.
+	 * 
+	 * @see Log4j2LoggerRefresher
+	 */
+	private void updateLoggers(LoggerContext ctx, Configuration conf, Collection<String> names) {
+		if (scheduler != null) {
+			scheduler.schedule(ctx, names);
 		} else {
-			return null;
+			refresh(ctx, conf, names);
+			statistics.recordFlush(names.size());
 		}
 	}
 
-	public void doUnsetLevel(final String name, Set<Logger> loggers, Map<String, LevelWrapper> originalLevels) {
-		doSetLevel(name, null, loggers, originalLevels);
-	}
-
 	/**
-	 * This class allows to store null {@link Level} values in {@link Log4j2LoggingManagerImpl#loggers}.
+	 * JUL levels cached from Log4j2 (see {@link JulBackendLevelCache}) are discarded once loggers are updated, so that
+	 * a level read during a delayed update is not kept.
 	 */
-	public static class LevelWrapper {
-		private final Level level;
-		
-		public LevelWrapper(Level level) {
-			this.level = level;
-		}
-		
-		public String name() {
-			return this.level != null ? this.level.name() : "NONE";
-		}
+	private void refresh(LoggerContext ctx, Configuration conf, Collection<String> names) {
+		refresher.refresh(ctx, conf, names);
+		JulBackendLevelCache.invalidate();
 	}
 
 }
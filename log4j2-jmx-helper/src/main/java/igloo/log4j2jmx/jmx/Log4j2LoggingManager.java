@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Set;
 
 import igloo.julhelper.api.JulLoggingManager;
+import igloo.log4j2jmx.rewrite.ThrowableFingerprintRewritePolicy;
 
 /**
  * This MBean is a complement to log4j2 JMX implementation. It allows to update logger level for loggers not
@@ -22,13 +23,51 @@ public interface Log4j2LoggingManager {
 	List<String> getLoggerNames();
 
 	/**
-	 * Switch the logger `name` to `level` and reload Log4j2 loggers.
+	 * Switch the logger `name` to `level` and reload Log4j2 loggers. If a volume budget is set (see
+	 * {@link #setVolumeBudget(long)}), the override is checked against {@link #estimateVolume(String, String)} first.
 	 * 
 	 * @param name a logger name. Required.
 	 * @param level a Log4j2 logging level (TRACE, DEBUG, INFO, WARN, INDO). Required.
 	 */
 	void setLevel(String name, String level);
 
+	/**
+	 * Apply {@link #setLevel(String, String)}, then restore logger `name` (see {@link #unsetLevel(String)}) after
+	 * `durationMillis`. Overrides falling due together are restored by a single Log4j2 loggers reload. Remaining
+	 * time is shown by {@link #getLoggerConfig()}. A later {@link #setLevel(String, String)} on the same logger makes
+	 * it permanent.
+	 * 
+	 * @param name a logger name. Required.
+	 * @param level a Log4j2 logging level. Required.
+	 * @param durationMillis override duration in milliseconds. Must be positive.
+	 */
+	void setLevel(String name, String level, long durationMillis);
+
+	/**
+	 * Apply {@link #setLevel(String, String)} with an event-rate ceiling: events of LoggerConfig `name` are counted,
+	 * and if their rate exceeds `maxEventsPerSecond` for `windowSeconds`, logger `name` is restored (see
+	 * {@link #unsetLevel(String)}). A warning is logged and a JMX notification is sent when an override is reverted.
+	 * 
+	 * @param name a logger name. Required.
+	 * @param level a Log4j2 logging level. Required.
+	 * @param maxEventsPerSecond event rate ceiling. Must be positive.
+	 * @param windowSeconds duration the ceiling must be exceeded before the override is reverted. Must be positive.
+	 */
+	void setLevelWithRateCeiling(String name, String level, long maxEventsPerSecond, int windowSeconds);
+
+	/**
+	 * Apply {@link #setLevel(String, String)}, but events less specific than the original level of logger `name` are
+	 * logged only when sampled: 1 event in `sampleRate`, and at most `maxEventsPerSecond` events by second. Sampling
+	 * is performed by a LoggerConfig filter, without lock on logging threads. A later {@link #setLevel(String, String)}
+	 * on the same logger removes sampling.
+	 * 
+	 * @param name a logger name. Required.
+	 * @param level a Log4j2 logging level. Required.
+	 * @param sampleRate log 1 event in `sampleRate`; 1 to log all events up to `maxEventsPerSecond`. Must be positive.
+	 * @param maxEventsPerSecond maximum sampled events by second; 0 for no cap. Must not be negative.
+	 */
+	void setSampledLevel(String name, String level, int sampleRate, long maxEventsPerSecond);
+
 	/**
 	 * Reset logger `name` level, reset handlers and enable usage of parent handlers.
 	 * 
@@ -36,12 +75,34 @@ public interface Log4j2LoggingManager {
 	 */
 	void unsetLevel(String name);
 
+	/**
+	 * Switch a batch of loggers to the given levels and reload Log4j2 loggers once.
+	 * 
+	 * <pre>{@code
+	 * logger.name=DEBUG
+	 * logger2.name=TRACE
+	 * }</pre>
+	 * 
+	 * @param levels a multiline string of loggerName=loggerLevel entries. Blank lines and lines starting with `#`
+	 *               are ignored. Required.
+	 */
+	void setLevels(String levels);
+
+	/**
+	 * Reset a batch of loggers and reload Log4j2 loggers once.
+	 * 
+	 * @param names a list of logger names, separated by any whitespace or newline character. Required.
+	 */
+	void unsetLevels(String names);
+
 	/**
 	 * Print managed configuration as a string.
 	 * 
 	 * <pre>{@code
 	 * logger.name=FINE (original: INFO/NONE)
-	 * logger2.name=INFO (original: WARN/NONE)
+	 * logger2.name=INFO (original: WARN/NONE) (expires in 120 s)
+	 * logger3.name=DEBUG (original: NONE) (max 1000 events/s)
+	 * logger4.name=TRACE (original: INFO) (sampled 1/100, max 50 events/s)
 	 * ...
 	 * }</pre>
 	 * 
@@ -76,6 +137,33 @@ public interface Log4j2LoggingManager {
 	 */
 	void updateJulKnownLoggers(String julKnownLoggers);
 
+	/**
+	 * @return JUL subtrees bridged without root logger bridge handler.
+	 * 
+	 * @see JulLoggingManager#getBridgedSubtrees()
+	 */
+	Set<String> getJulBridgedSubtrees();
+
+	/**
+	 * @return number of Log4j2 loggers updates performed since startup.
+	 */
+	long getReconfigurationCount();
+
+	/**
+	 * @return number of logger level modifications applied by Log4j2 loggers updates since startup.
+	 */
+	long getReconfigurationChangeCount();
+
+	/**
+	 * @return number of logger level modifications merged in the last Log4j2 loggers update.
+	 */
+	int getReconfigurationLastMergedChanges();
+
+	/**
+	 * @return maximum number of logger level modifications merged in a single Log4j2 loggers update.
+	 */
+	long getReconfigurationMaxMergedChanges();
+
 	/**
 	 * Is {@link JulLoggingManager} updates enabled ? Only changes to logger configured as JUL known loggers are
 	 * propagated.
@@ -84,4 +172,59 @@ public interface Log4j2LoggingManager {
 	 */
 	boolean getJulLoggingManagementEnabled();
 
-}
\ No newline at end of file
+	/**
+	 * Estimate the additional events per second that `level` would produce on logger `name` and its descendants:
+	 * rate of logging calls currently rejected by logger level, with a level at least as specific as `level`.
+	 * Needs a `VolumeEstimate` context-wide filter in Log4j2 configuration (see
+	 * {@link igloo.log4j2jmx.filter.VolumeEstimateFilter}); only loggers matching its prefixes are counted.
+	 * 
+	 * @param name a logger name; empty for root logger. Required.
+	 * @param level a Log4j2 logging level. Required.
+	 * @return events per second, averaged since startup or last {@link #resetVolumeEstimates()}; -1 if
+	 *         `VolumeEstimate` filter is not configured.
+	 */
+	double estimateVolume(String name, String level);
+
+	/**
+	 * Reset counters used by {@link #estimateVolume(String, String)}.
+	 */
+	void resetVolumeEstimates();
+
+	/**
+	 * @return maximum estimated events per second accepted for a level override; 0 if overrides are not checked.
+	 */
+	long getVolumeBudget();
+
+	/**
+	 * Set maximum estimated events per second accepted for a level override. Overrides above budget are refused or
+	 * logged as a warning, depending on `log4j2VolumeBudgetPolicy` listener parameter.
+	 * 
+	 * @param volumeBudget events per second; 0 to disable check.
+	 */
+	void setVolumeBudget(long volumeBudget);
+
+	/**
+	 * @return number of overrides reverted by their event-rate circuit breaker since startup.
+	 * 
+	 * @see #setLevelWithRateCeiling(String, String, long, int)
+	 */
+	long getCircuitBreakerTripCount();
+
+	/**
+	 * @return number of events rendered as a reference to a previous identical stack trace by
+	 *         {@link ThrowableFingerprintRewritePolicy} since startup.
+	 */
+	long getThrowableFingerprintHitCount();
+
+	/**
+	 * @return number of events rendered with their full stack trace by {@link ThrowableFingerprintRewritePolicy}
+	 *         since startup.
+	 */
+	long getThrowableFingerprintMissCount();
+
+	/**
+	 * @return {@link ThrowableFingerprintRewritePolicy} hit ratio, between 0 and 1; 0 if no throwable is recorded.
+	 */
+	double getThrowableFingerprintHitRate();
+
+}
@@ -1,28 +1,95 @@
 package igloo.log4j2jmx.jmx;
 
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
-import org.apache.logging.log4j.core.Logger;
+import javax.management.MBeanNotificationInfo;
+import javax.management.Notification;
+import javax.management.NotificationBroadcasterSupport;
 
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Filter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import igloo.julhelper.api.JulBridgeHandlerConfigurable;
 import igloo.julhelper.api.JulLoggingManager;
-import igloo.log4j2jmx.jmx.Log4j2LoggingConfigurator.LevelWrapper;
+import igloo.julhelper.util.EventSampler;
+import igloo.julhelper.util.LevelOverrideExpirations;
+import igloo.julhelper.util.ManagedLogger;
+import igloo.julhelper.util.ManagedLoggerRegistry;
+import igloo.julhelper.util.ManagedLoggerSnapshot;
+import igloo.log4j2jmx.filter.EventRateCircuitBreakerFilter;
+import igloo.log4j2jmx.filter.SamplingFilter;
+import igloo.log4j2jmx.filter.VolumeEstimateFilter;
+import igloo.log4j2jmx.jul.Log4j2BridgeHandler;
+import igloo.log4j2jmx.jul.Log4j2JulLevelPropagator;
+import igloo.log4j2jmx.rewrite.ThrowableFingerprintRewritePolicy;
+
+/**
+ * Implementation for {@link Log4j2LoggingManager} MBean. Modifications are synchronized to ensure {@link #loggers}
+ * consistency. When Log4j2 loggers update is delayed (see {@link Log4j2LoggingConfigurator}), the wait for loggers
+ * update is performed outside of the lock, so that concurrent modifications are merged.
+ * 
+ * Attribute reads are served from an immutable snapshot of {@link #loggers} and do not take the lock.
+ * 
+ * Circuit breaker trips are notified as {@link #CIRCUIT_BREAKER_NOTIFICATION} JMX notifications.
+ */
+public class Log4j2LoggingManagerImpl extends NotificationBroadcasterSupport implements Log4j2LoggingManager {
+
+	/**
+	 * Notification type sent when an override is reverted by its event-rate circuit breaker. User data is the logger
+	 * name.
+	 */
+	public static final String CIRCUIT_BREAKER_NOTIFICATION = "igloo.logging.circuitBreaker.tripped";
 
-public class Log4j2LoggingManagerImpl implements Log4j2LoggingManager {
+	private static final Logger LOGGER = LoggerFactory.getLogger(Log4j2LoggingManagerImpl.class);
 
 	private final Optional<JulLoggingManager> julLoggingManager;
 
 	private final Log4j2LoggingConfigurator log4j2Logging;
 
-	private final Set<Logger> loggers = ConcurrentHashMap.newKeySet();
+	private volatile Log4j2JulLevelPropagator julLevelPropagator;
+
+	/**
+	 * Managed loggers, indexed by name, with their original level. Only names and levels are stored: overridden
+	 * {@link org.apache.logging.log4j.core.config.LoggerConfig} are looked up from configuration when needed.
+	 */
+	private final ManagedLoggerRegistry<Level, Void> loggers = new ManagedLoggerRegistry<>(Log4j2LoggingManagerImpl::render);
+
+	/**
+	 * Expiry of overrides set by {@link #setLevel(String, String, long)}. Timer thread is started on first use.
+	 */
+	private final LevelOverrideExpirations expirations = new LevelOverrideExpirations("igloo-log4j2-level-expiry", this::expireLevels);
+
+	/**
+	 * LoggerConfig filters of overrides, by logger name: event-rate circuit breakers set by
+	 * {@link #setLevelWithRateCeiling(String, String, long, int)} and sampling filters set by
+	 * {@link #setSampledLevel(String, String, int, long)}. Tripped overrides are reverted on {@link #expirations}
+	 * timer thread.
+	 */
+	private final Map<String, Filter> overrideFilters = new ConcurrentHashMap<>();
+
+	private final LongAdder circuitBreakerTripCount = new LongAdder();
 
-	private final Map<String, LevelWrapper> originalLevels = new ConcurrentHashMap<>();
+	private final AtomicLong notificationSequence = new AtomicLong();
+
+	/**
+	 * Maximum estimated events per second for an override; 0 to disable check.
+	 */
+	private volatile long volumeBudget;
+
+	private volatile VolumeBudgetPolicy volumeBudgetPolicy = VolumeBudgetPolicy.WARN;
 
 	public Log4j2LoggingManagerImpl() {
 		this(null);
@@ -33,69 +100,303 @@ public class Log4j2LoggingManagerImpl implements Log4j2LoggingManager {
 	}
 
 	public Log4j2LoggingManagerImpl(JulLoggingManager julLoggingManager, Log4j2LoggingConfigurator log4j2Logging) {
+		this(julLoggingManager, log4j2Logging, false);
+	}
+
+	/**
+	 * @param julLoggingManager JUL manager used to propagate overrides to JUL loggers; null to skip propagation.
+	 * @param log4j2Logging configurator used to perform Log4j2 configuration. Required.
+	 * @param directJulBridge if true and if `julLoggingManager` allows it ({@link JulBridgeHandlerConfigurable}),
+	 *        overridden JUL loggers are bridged with {@link Log4j2BridgeHandler} instead of the SLF4J bridge handler
+	 *        (at the end of the configured bridge handler chain, if any).
+	 *        Installed JUL {@link java.util.logging.LogManager} backend handler is replaced too if it allows it. As
+	 *        this modifies JVM-wide JUL routing, other constructors do not enable it.
+	 */
+	public Log4j2LoggingManagerImpl(JulLoggingManager julLoggingManager, Log4j2LoggingConfigurator log4j2Logging,
+			boolean directJulBridge) {
 		super();
 		this.julLoggingManager = Optional.ofNullable(julLoggingManager);
 		this.log4j2Logging = log4j2Logging;
+		if (directJulBridge && julLoggingManager instanceof JulBridgeHandlerConfigurable) {
+			((JulBridgeHandlerConfigurable) julLoggingManager).setBridgeHandlerSupplier(Log4j2BridgeHandler::new);
+		}
+		// backend-aware JUL LogManager (jul-helper IglooJulLogManager)
+		java.util.logging.LogManager julLogManager = java.util.logging.LogManager.getLogManager();
+		if (directJulBridge && julLogManager instanceof JulBridgeHandlerConfigurable) {
+			((JulBridgeHandlerConfigurable) julLogManager).setBridgeHandlerSupplier(Log4j2BridgeHandler::new);
+		}
 	}
 
 	/**
 	 * @see Log4j2LoggingManager#getLoggerNames()
 	 */
 	@Override
-	public synchronized List<String> getLoggerNames() {
-		List<String> names = loggers.stream().map(Logger::getName).collect(Collectors.toList());
-		names.sort(String::compareTo);
-		return names;
+	public List<String> getLoggerNames() {
+		return loggers.snapshot().getNames();
 	}
 
 	/**
 	 * @see Log4j2LoggingManager#getLoggerConfig()
 	 */
 	@Override
-	public synchronized String getLoggerConfig() {
-		List<Logger> sortedLoggers = loggers.stream().collect(Collectors.toList());
-		sortedLoggers.sort((l1, l2) -> l1.getName().compareTo(l2.getName()));
-		return sortedLoggers.stream()
-				.map(l -> String.format(
-						"%s=%s (original: %s)",
-						// logger name
-						l.getName(),
-						// = current level
-						l.getLevel().name(),
-						// (original: <original level>)
-						Optional.ofNullable(originalLevels.get(l.getName())).map(LevelWrapper::name).orElse("NONE")
-				))
+	public String getLoggerConfig() {
+		ManagedLoggerSnapshot<Level, Void> snapshot = loggers.snapshot();
+		if (expirations.isEmpty() && overrideFilters.isEmpty()) {
+			return snapshot.getConfig();
+		}
+		// remaining time changes on each read; it is not part of the cached configuration
+		return snapshot.getLoggers().stream()
+				.map(l -> render(l) + renderOverrideFilter(l.getName()) + expirations.renderRemaining(l.getName()))
 				.collect(Collectors.joining("\n"));
 	}
 
+	private String renderOverrideFilter(String name) {
+		Filter filter = overrideFilters.get(name);
+		if (filter instanceof EventRateCircuitBreakerFilter) {
+			return String.format(" (max %d events/s)", ((EventRateCircuitBreakerFilter) filter).getMaxEventsPerSecond());
+		} else if (filter instanceof SamplingFilter) {
+			return String.format(" (%s)", ((SamplingFilter) filter).getSampler().describe());
+		}
+		return "";
+	}
+
+	private static String render(ManagedLogger<Level, Void> logger) {
+		return String.format(
+				"%s=%s (original: %s)",
+				// logger name
+				logger.getName(),
+				// = current level
+				logger.getLevel().name(),
+				// (original: <original level>)
+				Optional.ofNullable(logger.getOriginalLevel()).map(Level::name).orElse("NONE")
+		);
+	}
+
 	/**
 	 * @see Log4j2LoggingManager#setLevel(String, String)
 	 */
 	@Override
-	public synchronized void setLevel(final String name, final String level) {
-		log4j2Logging.doSetLevel(name, level, loggers, originalLevels);
+	public void setLevel(final String name, final String level) {
+		checkVolumeBudget(name, level);
+		synchronized (this) {
+			doSetLevel(name, level);
+			expirations.cancel(name);
+		}
+		log4j2Logging.awaitReconfiguration();
+	}
+
+	/**
+	 * @see Log4j2LoggingManager#setLevel(String, String, long)
+	 */
+	@Override
+	public void setLevel(final String name, final String level, final long durationMillis) {
+		LevelOverrideExpirations.checkDuration(durationMillis);
+		checkVolumeBudget(name, level);
+		synchronized (this) {
+			doSetLevel(name, level);
+			expirations.schedule(name, durationMillis);
+		}
+		log4j2Logging.awaitReconfiguration();
+	}
+
+	/**
+	 * @see Log4j2LoggingManager#setLevelWithRateCeiling(String, String, long, int)
+	 */
+	@Override
+	public void setLevelWithRateCeiling(final String name, final String level, final long maxEventsPerSecond,
+			final int windowSeconds) {
+		EventRateCircuitBreakerFilter circuitBreaker = new EventRateCircuitBreakerFilter(maxEventsPerSecond,
+				windowSeconds, f -> trip(name, f));
+		checkVolumeBudget(name, level);
+		synchronized (this) {
+			doSetLevel(name, level);
+			expirations.cancel(name);
+			log4j2Logging.addFilter(name, circuitBreaker);
+			overrideFilters.put(name, circuitBreaker);
+		}
+		log4j2Logging.awaitReconfiguration();
+	}
+
+	/**
+	 * @see Log4j2LoggingManager#setSampledLevel(String, String, int, long)
+	 */
+	@Override
+	public void setSampledLevel(final String name, final String level, final int sampleRate,
+			final long maxEventsPerSecond) {
+		EventSampler sampler = new EventSampler(sampleRate, maxEventsPerSecond);
+		checkVolumeBudget(name, level);
+		synchronized (this) {
+			// both levels are checked before any modification
+			log4j2Logging.checkLevels(Collections.singletonList(level));
+			julLoggingManager.ifPresent(m -> m.setLevelIfWellKnown(name, level));
+			removeOverrideFilter(name);
+			overrideFilters.put(name, log4j2Logging.doSetSampledLevel(name, level, sampler, loggers));
+			expirations.cancel(name);
+			propagateJulLevels();
+		}
+		log4j2Logging.awaitReconfiguration();
+	}
+
+	/**
+	 * Called once by a logging thread when `circuitBreaker` trips: override is reverted on timer thread.
+	 */
+	private void trip(String name, EventRateCircuitBreakerFilter circuitBreaker) {
+		// ignore circuit breakers replaced concurrently
+		if (overrideFilters.get(name) == circuitBreaker) {
+			expirations.expireNow(name);
+		}
+	}
+
+	/**
+	 * Check `level` estimated volume for logger `name` against {@link #volumeBudget}. No check is performed if
+	 * {@link VolumeEstimateFilter} is not configured.
+	 * 
+	 * @throws IllegalStateException if estimate exceeds budget and policy is {@link VolumeBudgetPolicy#REFUSE}.
+	 */
+	private void checkVolumeBudget(final String name, final String level) {
+		long budget = volumeBudget;
+		if (budget <= 0 || !VolumeEstimateFilter.isInstalled()) {
+			return;
+		}
+		double estimate = VolumeEstimateFilter.estimate(name, Level.valueOf(level));
+		if (estimate <= budget) {
+			return;
+		}
+		String message = String.format(Locale.ROOT, "%s=%s is estimated to produce %.1f events/s, above volume budget (%d events/s)",
+				name, level, estimate, budget);
+		if (volumeBudgetPolicy == VolumeBudgetPolicy.REFUSE) {
+			throw new IllegalStateException(message);
+		}
+		LOGGER.warn(message);
+	}
+
+	private void removeOverrideFilter(final String name) {
+		Filter filter = overrideFilters.remove(name);
+		if (filter != null) {
+			log4j2Logging.removeFilter(name, filter);
+		}
+	}
+
+	private void doSetLevel(final String name, final String level) {
+		// both levels are checked before any modification
+		log4j2Logging.checkLevels(Collections.singletonList(level));
 		julLoggingManager.ifPresent(m -> m.setLevelIfWellKnown(name, level));
+		removeOverrideFilter(name);
+		log4j2Logging.doSetLevel(name, level, loggers);
+		propagateJulLevels();
+	}
+
+	/**
+	 * Restore overrides set by {@link #setLevel(String, String, long)} that fall due and overrides whose circuit
+	 * breaker tripped, with a single loggers update. Called on expiry timer thread.
+	 */
+	private void expireLevels() {
+		Map<String, EventRateCircuitBreakerFilter> tripped = new TreeMap<>();
+		synchronized (this) {
+			List<String> expired = expirations.pollExpired();
+			if (expired.isEmpty()) {
+				return;
+			}
+			for (String name : expired) {
+				Filter filter = overrideFilters.get(name);
+				if (filter instanceof EventRateCircuitBreakerFilter && ((EventRateCircuitBreakerFilter) filter).isTripped()) {
+					tripped.put(name, (EventRateCircuitBreakerFilter) filter);
+				}
+			}
+			doUnsetLevels(expired);
+			propagateJulLevels();
+		}
+		tripped.forEach(this::notifyTripped);
+		log4j2Logging.awaitReconfiguration();
+	}
+
+	private void notifyTripped(String name, EventRateCircuitBreakerFilter circuitBreaker) {
+		circuitBreakerTripCount.increment();
+		String message = String.format("Level override on %s reverted: %d events/s exceeded %d events/s for %d s",
+				name, circuitBreaker.getLastEventsPerSecond(), circuitBreaker.getMaxEventsPerSecond(),
+				circuitBreaker.getWindowSeconds());
+		LOGGER.warn(message);
+		Notification notification = new Notification(CIRCUIT_BREAKER_NOTIFICATION, Log4j2LoggingManagerMBean.OBJECT_NAME,
+				notificationSequence.incrementAndGet(), message);
+		notification.setUserData(name);
+		sendNotification(notification);
 	}
 
 	/**
 	 * @see Log4j2LoggingManager#unsetLevel(String)
 	 */
 	@Override
-	public synchronized void unsetLevel(final String name) {
-		log4j2Logging.doUnsetLevel(name, loggers, originalLevels);
-		julLoggingManager.ifPresent(m -> m.unsetLevel(name));
+	public void unsetLevel(final String name) {
+		synchronized (this) {
+			expirations.cancel(name);
+			removeOverrideFilter(name);
+			log4j2Logging.doUnsetLevel(name, loggers);
+			julLoggingManager.ifPresent(m -> m.unsetLevel(name));
+			propagateJulLevels();
+		}
+		log4j2Logging.awaitReconfiguration();
+	}
+
+	/**
+	 * @see Log4j2LoggingManager#setLevels(String)
+	 */
+	@Override
+	public void setLevels(final String levels) {
+		Map<String, String> parsedLevels = log4j2Logging.parseLevels(levels);
+		parsedLevels.forEach(this::checkVolumeBudget);
+		synchronized (this) {
+			// Log4j2 levels, then JUL levels (JUL batch is checked before any modification), so that a level
+			// unknown to one side does not leave a half-applied batch
+			log4j2Logging.checkLevels(parsedLevels.values());
+			julLoggingManager.ifPresent(m -> m.setLevelsIfWellKnown(levels));
+			parsedLevels.keySet().forEach(this::removeOverrideFilter);
+			log4j2Logging.doSetLevels(parsedLevels, loggers);
+			parsedLevels.keySet().forEach(expirations::cancel);
+			propagateJulLevels();
+		}
+		log4j2Logging.awaitReconfiguration();
+	}
+
+	/**
+	 * @see Log4j2LoggingManager#unsetLevels(String)
+	 */
+	@Override
+	public void unsetLevels(final String names) {
+		synchronized (this) {
+			doUnsetLevels(Arrays.asList(names.strip().split("\\s+")));
+			propagateJulLevels();
+		}
+		log4j2Logging.awaitReconfiguration();
 	}
 
 	/**
 	 * @see Log4j2LoggingManager#reset()
 	 */
 	@Override
-	public synchronized void reset() {
-		Set<Logger> loggersCopy = new HashSet<>(this.loggers);
-		for (Logger logger : loggersCopy) {
-			log4j2Logging.doUnsetLevel(logger.getName(), loggers, originalLevels);
-			julLoggingManager.ifPresent(m -> m.unsetLevel(logger.getName()));
+	public void reset() {
+		synchronized (this) {
+			doUnsetLevels(loggers.getSortedNames());
+			propagateJulLevels();
 		}
+		log4j2Logging.awaitReconfiguration();
+	}
+
+	private void propagateJulLevels() {
+		Log4j2JulLevelPropagator propagator = julLevelPropagator;
+		if (propagator != null) {
+			propagator.propagate();
+		}
+	}
+
+	private void doUnsetLevels(List<String> names) {
+		List<String> filteredNames = names.stream().filter(n -> !n.isEmpty()).collect(Collectors.toList());
+		if (filteredNames.isEmpty()) {
+			return;
+		}
+		filteredNames.forEach(expirations::cancel);
+		filteredNames.forEach(this::removeOverrideFilter);
+		log4j2Logging.doUnsetLevels(filteredNames, loggers);
+		julLoggingManager.ifPresent(m -> m.unsetLevels(String.join("\n", filteredNames)));
 	}
 
 	/**
@@ -122,6 +423,46 @@ public class Log4j2LoggingManagerImpl implements Log4j2LoggingManager {
 		julLoggingManager.ifPresent(m -> m.updateJulKnownLoggers(julKnownLoggers));
 	}
 
+	/**
+	 * @see Log4j2LoggingManager#getJulBridgedSubtrees()
+	 */
+	@Override
+	public Set<String> getJulBridgedSubtrees() {
+		return julLoggingManager.map(JulLoggingManager::getBridgedSubtrees).orElseGet(Collections::emptySet);
+	}
+
+	/**
+	 * @see Log4j2LoggingManager#getReconfigurationCount()
+	 */
+	@Override
+	public long getReconfigurationCount() {
+		return log4j2Logging.getStatistics().getFlushCount();
+	}
+
+	/**
+	 * @see Log4j2LoggingManager#getReconfigurationChangeCount()
+	 */
+	@Override
+	public long getReconfigurationChangeCount() {
+		return log4j2Logging.getStatistics().getChangeCount();
+	}
+
+	/**
+	 * @see Log4j2LoggingManager#getReconfigurationLastMergedChanges()
+	 */
+	@Override
+	public int getReconfigurationLastMergedChanges() {
+		return log4j2Logging.getStatistics().getLastFlushChanges();
+	}
+
+	/**
+	 * @see Log4j2LoggingManager#getReconfigurationMaxMergedChanges()
+	 */
+	@Override
+	public long getReconfigurationMaxMergedChanges() {
+		return log4j2Logging.getStatistics().getMaxFlushChanges();
+	}
+
 	/**
 	 * @see Log4j2LoggingManager#getJulLoggingManagementEnabled()
 	 */
@@ -130,8 +471,106 @@ public class Log4j2LoggingManagerImpl implements Log4j2LoggingManager {
 		return julLoggingManager.isPresent();
 	}
 
+	/**
+	 * @see Log4j2LoggingManager#getThrowableFingerprintHitCount()
+	 */
+	@Override
+	public long getThrowableFingerprintHitCount() {
+		return ThrowableFingerprintRewritePolicy.getHitCount();
+	}
+
+	/**
+	 * @see Log4j2LoggingManager#getThrowableFingerprintMissCount()
+	 */
+	@Override
+	public long getThrowableFingerprintMissCount() {
+		return ThrowableFingerprintRewritePolicy.getMissCount();
+	}
+
+	/**
+	 * @see Log4j2LoggingManager#getThrowableFingerprintHitRate()
+	 */
+	@Override
+	public double getThrowableFingerprintHitRate() {
+		long hits = ThrowableFingerprintRewritePolicy.getHitCount();
+		long total = hits + ThrowableFingerprintRewritePolicy.getMissCount();
+		return total == 0 ? 0d : (double) hits / total;
+	}
+
+	/**
+	 * @see Log4j2LoggingManager#getCircuitBreakerTripCount()
+	 */
+	@Override
+	public long getCircuitBreakerTripCount() {
+		return circuitBreakerTripCount.sum();
+	}
+
+	/**
+	 * @see Log4j2LoggingManager#estimateVolume(String, String)
+	 */
+	@Override
+	public double estimateVolume(String name, String level) {
+		if (!VolumeEstimateFilter.isInstalled()) {
+			return -1;
+		}
+		return VolumeEstimateFilter.estimate(name.strip(), Level.valueOf(level.strip()));
+	}
+
+	/**
+	 * @see Log4j2LoggingManager#resetVolumeEstimates()
+	 */
+	@Override
+	public void resetVolumeEstimates() {
+		VolumeEstimateFilter.reset();
+	}
+
+	/**
+	 * @see Log4j2LoggingManager#getVolumeBudget()
+	 */
+	@Override
+	public long getVolumeBudget() {
+		return volumeBudget;
+	}
+
+	/**
+	 * @see Log4j2LoggingManager#setVolumeBudget(long)
+	 */
+	@Override
+	public void setVolumeBudget(long volumeBudget) {
+		this.volumeBudget = volumeBudget;
+	}
+
+	/**
+	 * @param volumeBudgetPolicy behavior when an override exceeds volume budget. Required.
+	 */
+	public void setVolumeBudgetPolicy(VolumeBudgetPolicy volumeBudgetPolicy) {
+		this.volumeBudgetPolicy = volumeBudgetPolicy;
+	}
+
+	@Override
+	public MBeanNotificationInfo[] getNotificationInfo() {
+		return new MBeanNotificationInfo[] {
+				new MBeanNotificationInfo(new String[] { CIRCUIT_BREAKER_NOTIFICATION }, Notification.class.getName(),
+						"Level override reverted by its event-rate circuit breaker")
+		};
+	}
+
+	/**
+	 * @param julLevelPropagator if not null, Log4j2 levels are propagated to JUL loggers after each modification.
+	 */
+	public void setJulLevelPropagator(Log4j2JulLevelPropagator julLevelPropagator) {
+		this.julLevelPropagator = julLevelPropagator;
+	}
+
+	/**
+	 * Stop override expiry timer. Pending time-boxed overrides are kept.
+	 */
+	public void close() {
+		expirations.close();
+	}
+
 	// Used for unit tests
-	public Set<Logger> getLoggers() {
+	public ManagedLoggerRegistry<Level, Void> getLoggers() {
 		return loggers;
 	}
 
@@ -8,8 +8,10 @@ import javax.management.MBeanRegistrationException;
 import javax.management.MBeanServer;
 import javax.management.MalformedObjectNameException;
 import javax.management.NotCompliantMBeanException;
+import javax.management.NotificationBroadcasterSupport;
+import javax.management.NotificationEmitter;
 import javax.management.ObjectName;
-import javax.management.StandardMBean;
+import javax.management.StandardEmitterMBean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,7 +19,11 @@ import org.slf4j.LoggerFactory;
 import igloo.julhelper.api.JulLoggingManager;
 import igloo.julhelper.api.JulLoggingManagerHolder;
 
-public class Log4j2LoggingManagerMBean extends StandardMBean {
+/**
+ * MBean registration handling. Notifications are emitted by the implementation if it is a
+ * {@link NotificationEmitter} (see {@link Log4j2LoggingManagerImpl}).
+ */
+public class Log4j2LoggingManagerMBean extends StandardEmitterMBean {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(Log4j2LoggingManagerMBean.class);
 
@@ -25,6 +31,11 @@ public class Log4j2LoggingManagerMBean extends StandardMBean {
 	public static final Object TYPE = "LoggingManager";
 	public static final Object NAME = Log4j2LoggingManager.class.getSimpleName();
 
+	/**
+	 * `igloo:type=LoggingManager,name=Log4j2LoggingManager`; also used as notification source.
+	 */
+	public static final ObjectName OBJECT_NAME = objectName();
+
 	/**
 	 * Register `igloo:type=LoggingManager,name=Log4j2LoggingManagerMBean`.
 	 * 
@@ -33,14 +44,57 @@ public class Log4j2LoggingManagerMBean extends StandardMBean {
 	 * @see Log4j2LoggingManager
 	 */
 	public static ObjectName registerMBean() {
-		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		return registerMBean(new Log4j2LoggingConfigurator());
+	}
+
+	/**
+	 * Register `igloo:type=LoggingManager,name=Log4j2LoggingManagerMBean`.
+	 * 
+	 * @param log4j2LoggingConfigurator configurator used to perform Log4j2 configuration.
+	 * @return Added MBean {@link ObjectName}.
+	 * 
+	 * @see Log4j2LoggingManager
+	 */
+	public static ObjectName registerMBean(Log4j2LoggingConfigurator log4j2LoggingConfigurator) {
+		return registerMBean(log4j2LoggingConfigurator, false);
+	}
+
+	/**
+	 * Register `igloo:type=LoggingManager,name=Log4j2LoggingManagerMBean`.
+	 * 
+	 * @param log4j2LoggingConfigurator configurator used to perform Log4j2 configuration.
+	 * @param directJulBridge true to bridge overridden JUL loggers directly to Log4j2.
+	 * @return Added MBean {@link ObjectName}.
+	 * 
+	 * @see Log4j2LoggingManagerImpl#Log4j2LoggingManagerImpl(JulLoggingManager, Log4j2LoggingConfigurator, boolean)
+	 */
+	public static ObjectName registerMBean(Log4j2LoggingConfigurator log4j2LoggingConfigurator, boolean directJulBridge) {
 		JulLoggingManager julHelper = JulLoggingManagerHolder.getInstance();
+		return registerMBean(new Log4j2LoggingManagerImpl(julHelper, log4j2LoggingConfigurator, directJulBridge));
+	}
+
+	/**
+	 * Register `igloo:type=LoggingManager,name=Log4j2LoggingManagerMBean`.
+	 * 
+	 * @param impl manager implementation. Required.
+	 * @return Added MBean {@link ObjectName}.
+	 * 
+	 * @see Log4j2LoggingManager
+	 */
+	public static ObjectName registerMBean(Log4j2LoggingManager impl) {
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
 		try {
-			ObjectName objectName = new ObjectName(String.format("%s:type=%s,name=%s", DOMAIN, TYPE, NAME));
-			server.registerMBean(new Log4j2LoggingManagerMBean(julHelper), objectName);
-			return objectName;
-		} catch (MalformedObjectNameException | InstanceAlreadyExistsException | MBeanRegistrationException
-				| NotCompliantMBeanException e) {
+			server.registerMBean(new Log4j2LoggingManagerMBean(impl), OBJECT_NAME);
+			return OBJECT_NAME;
+		} catch (InstanceAlreadyExistsException | MBeanRegistrationException | NotCompliantMBeanException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static ObjectName objectName() {
+		try {
+			return new ObjectName(String.format("%s:type=%s,name=%s", DOMAIN, TYPE, NAME));
+		} catch (MalformedObjectNameException e) {
 			throw new IllegalStateException(e);
 		}
 	}
@@ -55,10 +109,24 @@ public class Log4j2LoggingManagerMBean extends StandardMBean {
 	}
 
 	public Log4j2LoggingManagerMBean() {
-		this(null);
+		this((JulLoggingManager) null);
 	}
 
 	public Log4j2LoggingManagerMBean(JulLoggingManager julHelper) {
-		super(new Log4j2LoggingManagerImpl(julHelper), Log4j2LoggingManager.class, true);
+		this(julHelper, new Log4j2LoggingConfigurator());
+	}
+
+	public Log4j2LoggingManagerMBean(JulLoggingManager julHelper, Log4j2LoggingConfigurator log4j2LoggingConfigurator) {
+		this(julHelper, log4j2LoggingConfigurator, false);
+	}
+
+	public Log4j2LoggingManagerMBean(JulLoggingManager julHelper, Log4j2LoggingConfigurator log4j2LoggingConfigurator,
+			boolean directJulBridge) {
+		this(new Log4j2LoggingManagerImpl(julHelper, log4j2LoggingConfigurator, directJulBridge));
+	}
+
+	public Log4j2LoggingManagerMBean(Log4j2LoggingManager impl) {
+		super(impl, Log4j2LoggingManager.class, true,
+				impl instanceof NotificationEmitter ? (NotificationEmitter) impl : new NotificationBroadcasterSupport());
 	}
 }
@@ -0,0 +1,164 @@
+package igloo.log4j2jmx.jmx;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.IntConsumer;
+
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesce {@link LoggerContext#updateLoggers(Configuration)} calls. {@link org.apache.logging.log4j.core.config.LoggerConfig}
+ * modifications are applied by the caller right away; loggers update is performed once, after a quiet window
+ * without any new modification.
+ * 
+ * To avoid starvation with a continuous flow of modifications, a flush is never postponed more than
+ * `maxDelayMillis` after the first pending modification.
+ */
+public class Log4j2ReconfigurationScheduler implements AutoCloseable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(Log4j2ReconfigurationScheduler.class);
+
+	private final long quietWindowMillis;
+
+	private final long maxDelayMillis;
+
+	private final ScheduledExecutorService executor;
+
+	private final BiConsumer<LoggerContext, Set<String>> flushAction;
+
+	private final IntConsumer flushListener;
+
+	private final Map<LoggerContext, Set<String>> pendingContexts = new IdentityHashMap<>();
+
+	private CompletableFuture<Void> pendingFlush;
+
+	private ScheduledFuture<?> scheduledFlush;
+
+	private int pendingChanges;
+
+	private long firstPendingNanos;
+
+	/**
+	 * @param quietWindowMillis delay without modification before loggers are updated.
+	 * @param maxDelayMillis maximum delay between the first pending modification and loggers update.
+	 * @param flushAction action performed to update loggers of a context, with modified LoggerConfig names.
+	 * @param flushListener notified with the number of merged modifications after each flush.
+	 */
+	public Log4j2ReconfigurationScheduler(long quietWindowMillis, long maxDelayMillis,
+			BiConsumer<LoggerContext, Set<String>> flushAction, IntConsumer flushListener) {
+		super();
+		this.quietWindowMillis = quietWindowMillis;
+		this.maxDelayMillis = Math.max(quietWindowMillis, maxDelayMillis);
+		this.flushAction = flushAction;
+		this.flushListener = flushListener;
+		this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "igloo-log4j2-reconfiguration");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Register modifications of LoggerConfig `names` on `ctx` and (re)schedule loggers update.
+	 * 
+	 * @param ctx the modified {@link LoggerContext}. Required.
+	 * @param names modified LoggerConfig names, one item by modification. Required.
+	 * @return a future completed when loggers are updated.
+	 */
+	public synchronized CompletableFuture<Void> schedule(LoggerContext ctx, Collection<String> names) {
+		if (executor.isShutdown()) {
+			// scheduler closed, update right now
+			flushAction.accept(ctx, new HashSet<>(names));
+			flushListener.accept(names.size());
+			return CompletableFuture.completedFuture(null);
+		}
+		long now = System.nanoTime();
+		if (pendingFlush == null) {
+			pendingFlush = new CompletableFuture<>();
+			firstPendingNanos = now;
+		}
+		pendingContexts.computeIfAbsent(ctx, c -> new HashSet<>()).addAll(names);
+		pendingChanges += names.size();
+		
+		long delayMillis = Math.min(quietWindowMillis,
+				maxDelayMillis - TimeUnit.NANOSECONDS.toMillis(now - firstPendingNanos));
+		if (scheduledFlush != null) {
+			scheduledFlush.cancel(false);
+		}
+		scheduledFlush = executor.schedule(this::flush, Math.max(0, delayMillis), TimeUnit.MILLISECONDS);
+		return pendingFlush;
+	}
+
+	/**
+	 * @return a future completed when currently pending modifications are applied.
+	 */
+	public synchronized CompletableFuture<Void> getPendingFlush() {
+		return pendingFlush != null ? pendingFlush : CompletableFuture.completedFuture(null);
+	}
+
+	private void flush() {
+		CompletableFuture<Void> flush;
+		Map<LoggerContext, Set<String>> contexts;
+		int changes;
+		synchronized (this) {
+			if (pendingFlush == null) {
+				return;
+			}
+			flush = pendingFlush;
+			contexts = new IdentityHashMap<>(pendingContexts);
+			changes = pendingChanges;
+			pendingFlush = null;
+			scheduledFlush = null;
+			pendingContexts.clear();
+			pendingChanges = 0;
+		}
+		try {
+			contexts.forEach(flushAction);
+			flushListener.accept(changes);
+			flush.complete(null);
+		} catch (Throwable e) {
+			// errors included: callers wait for this future
+			LOGGER.error("Log4j2 loggers update failed", e);
+			flush.completeExceptionally(e);
+		}
+	}
+
+	/**
+	 * Flush pending modifications and stop scheduler thread.
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			if (executor.isShutdown()) {
+				return;
+			}
+			if (scheduledFlush != null) {
+				scheduledFlush.cancel(false);
+				scheduledFlush = null;
+			}
+			// run pending flush now, if any
+			executor.execute(this::flush);
+			executor.shutdown();
+		}
+		try {
+			if (!executor.awaitTermination(maxDelayMillis + 1000, TimeUnit.MILLISECONDS)) {
+				LOGGER.warn("Log4j2 reconfiguration scheduler not stopped after {} ms", maxDelayMillis + 1000);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,55 @@
+package igloo.log4j2jmx.jmx;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Counters on Log4j2 loggers updates: number of updates, and number of LoggerConfig modifications merged in these
+ * updates.
+ */
+public class Log4j2ReconfigurationStatistics {
+
+	private final AtomicLong flushCount = new AtomicLong();
+
+	private final AtomicLong changeCount = new AtomicLong();
+
+	private final LongAccumulator maxFlushChanges = new LongAccumulator(Math::max, 0);
+
+	private volatile int lastFlushChanges;
+
+	public void recordFlush(int changes) {
+		flushCount.incrementAndGet();
+		changeCount.addAndGet(changes);
+		maxFlushChanges.accumulate(changes);
+		lastFlushChanges = changes;
+	}
+
+	/**
+	 * @return number of loggers updates.
+	 */
+	public long getFlushCount() {
+		return flushCount.get();
+	}
+
+	/**
+	 * @return number of LoggerConfig modifications applied by loggers updates.
+	 */
+	public long getChangeCount() {
+		return changeCount.get();
+	}
+
+	/**
+	 * @return number of LoggerConfig modifications merged in the last loggers update.
+	 */
+	public int getLastFlushChanges() {
+		return lastFlushChanges;
+	}
+
+	/**
+	 * @return maximum number of LoggerConfig modifications merged in a single loggers update.
+	 */
+	public long getMaxFlushChanges() {
+		return maxFlushChanges.get();
+	}
+
+}
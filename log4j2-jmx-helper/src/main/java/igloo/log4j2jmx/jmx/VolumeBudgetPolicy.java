@@ -0,0 +1,32 @@
+package igloo.log4j2jmx.jmx;
+
+import java.util.Locale;
+
+/**
+ * Behavior of {@link Log4j2LoggingManagerImpl} when a level override is estimated to produce more events than the
+ * configured volume budget (see {@link Log4j2LoggingManager#estimateVolume(String, String)}).
+ */
+public enum VolumeBudgetPolicy {
+
+	/**
+	 * Override is applied and a warning is logged.
+	 */
+	WARN,
+	/**
+	 * Override is refused with an {@link IllegalStateException}.
+	 */
+	REFUSE;
+
+	/**
+	 * @param value a policy name (case-insensitive), or null or blank for default policy ({@link #WARN}).
+	 * @return matching policy.
+	 * @throws IllegalArgumentException if value is not a known policy.
+	 */
+	public static VolumeBudgetPolicy fromParameter(String value) {
+		if (value == null || value.isBlank()) {
+			return WARN;
+		}
+		return valueOf(value.strip().toUpperCase(Locale.ROOT));
+	}
+
+}
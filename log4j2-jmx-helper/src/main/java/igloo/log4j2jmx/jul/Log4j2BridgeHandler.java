@@ -0,0 +1,226 @@
+package igloo.log4j2jmx.jul;
+
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.MessageFormatMessage;
+import org.apache.logging.log4j.message.ReusableMessageFactory;
+
+import igloo.julhelper.api.JulBridgeStatistics;
+import igloo.julhelper.api.JulBridgeStatistics.LoggerCounters;
+import igloo.julhelper.api.JulCallerLocation;
+import igloo.julhelper.util.JulMessagePatterns;
+
+/**
+ * JUL handler that publishes {@link LogRecord}s straight to the matching Log4j2 core {@link Logger}, without the
+ * SLF4J indirection (`SLF4JBridgeHandler` → slf4j-api → log4j-slf4j binding).
+ * 
+ * * JUL levels are mapped through a precomputed table;
+ * * Log4j2 loggers are cached by JUL logger name;
+ * * without context-wide filter, target level is checked before resource bundle lookup and formatting. With a
+ *   context-wide filter (as `RegexFilter`), the message is built first and the filter is evaluated once, with the
+ *   message, as SLF4J calls would do; a level-only check would evaluate stateful filters (as `BurstFilter`) twice;
+ * * messages using simple sequential placeholders are rewritten as `{}` patterns (see {@link JulMessagePatterns})
+ *   and logged with record parameters, through the logger message factory. When Log4j2 garbage-free mode is enabled,
+ *   reusable messages are used and no message object is allocated. Other messages are formatted lazily with a
+ *   {@link MessageFormatMessage}.
+ * 
+ * Caller location is disabled by default (see {@link JulCallerLocation}): events carry a placeholder location (JUL
+ * logger name as class name) and no stack walking is performed. When enabled for a logger, location is computed
+ * lazily by Log4j2, only if the layout needs it, as for `SLF4JBridgeHandler` (caller of
+ * {@link java.util.logging.Logger}). {@link LogRecord} source class and method are never read, so JUL caller inference
+ * is never triggered.
+ */
+public class Log4j2BridgeHandler extends Handler {
+
+	private static final String FQCN = java.util.logging.Logger.class.getName();
+
+	private static final String UNKNOWN_LOGGER_NAME = "unknown.jul.logger";
+
+	/**
+	 * Log4j2 level by JUL level value, rounded up to the next hundred (index 0 to 10). JUL standard levels are
+	 * multiples of 100.
+	 */
+	private static final Level[] LEVELS = new Level[11];
+
+	static {
+		for (int i = 0; i < LEVELS.length; i++) {
+			int julLevelValue = i * 100;
+			Level level;
+			if (julLevelValue <= java.util.logging.Level.FINEST.intValue()) {
+				level = Level.TRACE;
+			} else if (julLevelValue <= java.util.logging.Level.FINE.intValue()) {
+				level = Level.DEBUG;
+			} else if (julLevelValue <= java.util.logging.Level.INFO.intValue()) {
+				level = Level.INFO;
+			} else if (julLevelValue <= java.util.logging.Level.WARNING.intValue()) {
+				level = Level.WARN;
+			} else {
+				level = Level.ERROR;
+			}
+			LEVELS[i] = level;
+		}
+	}
+
+	private final LoggerContext loggerContext;
+
+	private final Map<String, BridgedLogger> loggers = new ConcurrentHashMap<>();
+
+	/**
+	 * Records are published to the current {@link LoggerContext}.
+	 */
+	public Log4j2BridgeHandler() {
+		this((LoggerContext) LogManager.getContext(false));
+	}
+
+	/**
+	 * @param loggerContext target Log4j2 context. Required.
+	 */
+	public Log4j2BridgeHandler(LoggerContext loggerContext) {
+		super();
+		this.loggerContext = loggerContext;
+	}
+
+	/**
+	 * @return the Log4j2 level matching `julLevel`.
+	 */
+	public static Level toLog4j2Level(java.util.logging.Level julLevel) {
+		int value = julLevel.intValue();
+		if (value <= 0) {
+			return LEVELS[0];
+		} else if (value > (LEVELS.length - 1) * 100) {
+			return LEVELS[LEVELS.length - 1];
+		}
+		return LEVELS[(value + 99) / 100];
+	}
+
+	@Override
+	public void publish(LogRecord record) {
+		if (record == null) {
+			return;
+		}
+		BridgedLogger bridgedLogger = getBridgedLogger(record);
+		Logger logger = bridgedLogger.logger;
+		Level level = toLog4j2Level(record.getLevel());
+		boolean contextWideFilter = loggerContext.getConfiguration().getFilter() != null;
+		if (!contextWideFilter && !logger.isEnabled(level)) {
+			bridgedLogger.counters().record(record.getLevel().intValue(), false);
+			return;
+		}
+		
+		String message = record.getMessage();
+		Throwable thrown = record.getThrown();
+		if (message != null) {
+			ResourceBundle bundle = record.getResourceBundle();
+			if (bundle != null) {
+				try {
+					message = bundle.getString(message);
+				} catch (MissingResourceException e) {
+					// keep message as is
+				}
+			}
+		}
+		Object[] parameters = record.getParameters();
+		Message log4j2Message;
+		if (message == null || parameters == null || parameters.length == 0) {
+			log4j2Message = logger.getMessageFactory().newMessage(message);
+		} else {
+			String pattern = JulMessagePatterns.toParameterizedPattern(message, parameters);
+			if (pattern == null) {
+				log4j2Message = new MessageFormatMessage(message, parameters);
+			} else {
+				log4j2Message = logger.getMessageFactory().newMessage(pattern, JulMessagePatterns.usedParameters(pattern, parameters));
+			}
+		}
+		if (contextWideFilter) {
+			boolean enabled = logger.isEnabled(level, null, log4j2Message, thrown);
+			bridgedLogger.counters().record(record.getLevel().intValue(), enabled);
+			if (!enabled) {
+				// logMessage releases reusable messages only when called
+				ReusableMessageFactory.release(log4j2Message);
+				return;
+			}
+		} else {
+			bridgedLogger.counters().record(record.getLevel().intValue(), true);
+		}
+		// null location is computed lazily by Log4j2, only if needed
+		logger.logMessage(level, null, FQCN, bridgedLogger.location() ? null : bridgedLogger.noLocation, log4j2Message, thrown);
+	}
+
+	@Override
+	public void flush() {
+		// nothing to flush
+	}
+
+	@Override
+	public void close() {
+		// nothing to close
+	}
+
+	private BridgedLogger getBridgedLogger(LogRecord record) {
+		String name = record.getLoggerName();
+		if (name == null) {
+			name = UNKNOWN_LOGGER_NAME;
+		}
+		return loggers.computeIfAbsent(name, n -> new BridgedLogger(loggerContext.getLogger(n)));
+	}
+
+	/**
+	 * Log4j2 logger, with its {@link JulCallerLocation} state and {@link JulBridgeStatistics} counters.
+	 */
+	private static final class BridgedLogger {
+
+		private final Logger logger;
+
+		/**
+		 * Placeholder location used when location is disabled: JUL logger name as class name, no method, no line.
+		 */
+		private final StackTraceElement noLocation;
+
+		private volatile LoggerCounters counters;
+
+		/**
+		 * {@link JulCallerLocation#version()} shifted left by one bit, with location switch as lowest bit.
+		 */
+		private volatile long locationState = -1;
+
+		private BridgedLogger(Logger logger) {
+			this.logger = logger;
+			this.noLocation = new StackTraceElement(logger.getName(), "?", null, -1);
+			this.counters = JulBridgeStatistics.forLogger(logger.getName());
+		}
+
+		private boolean location() {
+			long state = locationState;
+			int version = JulCallerLocation.version();
+			if (state >>> 1 != version) {
+				state = ((long) version << 1) | (JulCallerLocation.isEnabled(logger.getName()) ? 1 : 0);
+				locationState = state;
+			}
+			return (state & 1) == 1;
+		}
+
+		/**
+		 * @return counters, resolved again when {@link JulBridgeStatistics#version()} changes.
+		 */
+		private LoggerCounters counters() {
+			LoggerCounters current = counters;
+			if (current.getVersion() != JulBridgeStatistics.version()) {
+				current = JulBridgeStatistics.forLogger(logger.getName());
+				counters = current;
+			}
+			return current;
+		}
+
+	}
+
+}
@@ -0,0 +1,173 @@
+package igloo.log4j2jmx.jul;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Push Log4j2 configured levels into JUL loggers, so that JUL discards records that Log4j2 would discard before any
+ * {@link java.util.logging.LogRecord} is allocated.
+ * 
+ * For each Log4j2 {@link LoggerConfig} (root included), the JUL logger with the same name gets the lowest JUL level
+ * that is bridged to an enabled Log4j2 level (see {@link #toJulLevel(Level)}). JUL loggers without LoggerConfig keep
+ * a null level and inherit it from their nearest configured ancestor, as Log4j2 loggers do.
+ * 
+ * Levels are propagated:
+ * 
+ * * on {@link #start()};
+ * * on each Log4j2 reconfiguration or loggers update (configuration reload, `LoggerContext#updateLoggers`);
+ * * on each {@link #propagate()} call (performed by Log4j2LoggingManager after each modification).
+ * 
+ * Names returned by `excludedNames` (loggers overridden through JulLoggingManager) are left untouched. JUL loggers
+ * modified by propagation are strongly referenced, so that their level is not lost by garbage collection. Original
+ * levels are restored by {@link #close()}.
+ */
+public class Log4j2JulLevelPropagator implements PropertyChangeListener, AutoCloseable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(Log4j2JulLevelPropagator.class);
+
+	private final LoggerContext loggerContext;
+
+	private final Supplier<Collection<String>> excludedNames;
+
+	/**
+	 * JUL loggers modified by propagation, with their original level.
+	 */
+	private final Map<String, PropagatedLogger> propagatedLoggers = new HashMap<>();
+
+	/**
+	 * @param loggerContext observed Log4j2 context. Required.
+	 * @param excludedNames names of JUL loggers that must not be modified. Required.
+	 */
+	public Log4j2JulLevelPropagator(LoggerContext loggerContext, Supplier<Collection<String>> excludedNames) {
+		super();
+		this.loggerContext = loggerContext;
+		this.excludedNames = excludedNames;
+	}
+
+	/**
+	 * Propagate current levels and listen for Log4j2 reconfigurations.
+	 */
+	public void start() {
+		loggerContext.addPropertyChangeListener(this);
+		propagate();
+	}
+
+	@Override
+	public void propertyChange(PropertyChangeEvent evt) {
+		if (LoggerContext.PROPERTY_CONFIG.equals(evt.getPropertyName()) && evt.getNewValue() instanceof Configuration) {
+			propagate((Configuration) evt.getNewValue());
+		}
+	}
+
+	/**
+	 * Propagate levels of current Log4j2 configuration.
+	 */
+	public void propagate() {
+		propagate(loggerContext.getConfiguration());
+	}
+
+	private synchronized void propagate(Configuration configuration) {
+		Set<String> excluded = new HashSet<>(excludedNames.get());
+		Map<String, LoggerConfig> loggerConfigs = new HashMap<>(configuration.getLoggers());
+		LoggerConfig root = configuration.getRootLogger();
+		loggerConfigs.put(root.getName(), root);
+		
+		int modified = 0;
+		for (Map.Entry<String, LoggerConfig> loggerConfig : loggerConfigs.entrySet()) {
+			String name = loggerConfig.getKey();
+			if (!excluded.contains(name)
+					&& setJulLevel(name, toJulLevel(loggerConfig.getValue().getLevel()))) {
+				modified++;
+			}
+		}
+		// LoggerConfig removed since last propagation: restore original level
+		for (String name : new HashSet<>(propagatedLoggers.keySet())) {
+			if (!loggerConfigs.containsKey(name) && !excluded.contains(name)) {
+				PropagatedLogger propagatedLogger = propagatedLoggers.remove(name);
+				propagatedLogger.logger.setLevel(propagatedLogger.originalLevel);
+				modified++;
+			}
+		}
+		LOGGER.debug("Log4j2 levels propagated to JUL ({} JUL loggers modified)", modified);
+	}
+
+	/**
+	 * @return true if JUL logger level is modified.
+	 */
+	private boolean setJulLevel(String name, java.util.logging.Level julLevel) {
+		PropagatedLogger propagatedLogger = propagatedLoggers.get(name);
+		java.util.logging.Logger logger;
+		if (propagatedLogger != null) {
+			logger = propagatedLogger.logger;
+		} else {
+			logger = java.util.logging.Logger.getLogger(name);
+		}
+		if (julLevel.equals(logger.getLevel())) {
+			return false;
+		}
+		if (propagatedLogger == null) {
+			propagatedLoggers.put(name, new PropagatedLogger(logger, logger.getLevel()));
+		}
+		logger.setLevel(julLevel);
+		return true;
+	}
+
+	/**
+	 * Map a Log4j2 threshold to the lowest JUL level bridged to an enabled Log4j2 level by JUL bridge handlers
+	 * (FINEST → TRACE, FINER and FINE → DEBUG, CONFIG and INFO → INFO, WARNING → WARN, SEVERE → ERROR).
+	 */
+	public static java.util.logging.Level toJulLevel(Level level) {
+		if (level.isMoreSpecificThan(Level.OFF)) {
+			return java.util.logging.Level.OFF;
+		} else if (level.isMoreSpecificThan(Level.ERROR)) {
+			return java.util.logging.Level.SEVERE;
+		} else if (level.isMoreSpecificThan(Level.WARN)) {
+			return java.util.logging.Level.WARNING;
+		} else if (level.isMoreSpecificThan(Level.INFO)) {
+			return java.util.logging.Level.CONFIG;
+		} else if (level.isMoreSpecificThan(Level.DEBUG)) {
+			return java.util.logging.Level.FINER;
+		} else {
+			return java.util.logging.Level.ALL;
+		}
+	}
+
+	/**
+	 * Stop listening for Log4j2 reconfigurations and restore original JUL levels.
+	 */
+	@Override
+	public synchronized void close() {
+		loggerContext.removePropertyChangeListener(this);
+		for (PropagatedLogger propagatedLogger : propagatedLoggers.values()) {
+			propagatedLogger.logger.setLevel(propagatedLogger.originalLevel);
+		}
+		propagatedLoggers.clear();
+	}
+
+	private static class PropagatedLogger {
+
+		private final java.util.logging.Logger logger;
+		
+		private final java.util.logging.Level originalLevel;
+		
+		private PropagatedLogger(java.util.logging.Logger logger, java.util.logging.Level originalLevel) {
+			this.logger = logger;
+			this.originalLevel = originalLevel;
+		}
+
+	}
+
+}
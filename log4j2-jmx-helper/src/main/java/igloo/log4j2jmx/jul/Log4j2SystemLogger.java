@@ -0,0 +1,68 @@
+package igloo.log4j2jmx.jul;
+
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.message.MessageFormatMessage;
+
+import igloo.julhelper.util.AbstractSystemLogger;
+import igloo.julhelper.util.JulMessagePatterns;
+
+/**
+ * `System.Logger` publishing straight to a Log4j2 core {@link Logger}. Simple `{0}` patterns are logged as
+ * parameterized messages (see {@link JulMessagePatterns}); other patterns are formatted lazily with a
+ * {@link MessageFormatMessage}.
+ */
+public class Log4j2SystemLogger extends AbstractSystemLogger {
+
+	private final Logger logger;
+
+	/**
+	 * @param logger target Log4j2 logger. Required.
+	 */
+	public Log4j2SystemLogger(Logger logger) {
+		super(logger.getName());
+		this.logger = logger;
+	}
+
+	/**
+	 * @return the Log4j2 level matching `level`.
+	 */
+	public static org.apache.logging.log4j.Level toLog4j2Level(Level level) {
+		switch (level) {
+		case ALL:
+			return org.apache.logging.log4j.Level.ALL;
+		case TRACE:
+			return org.apache.logging.log4j.Level.TRACE;
+		case DEBUG:
+			return org.apache.logging.log4j.Level.DEBUG;
+		case INFO:
+			return org.apache.logging.log4j.Level.INFO;
+		case WARNING:
+			return org.apache.logging.log4j.Level.WARN;
+		case ERROR:
+			return org.apache.logging.log4j.Level.ERROR;
+		default:
+			return org.apache.logging.log4j.Level.OFF;
+		}
+	}
+
+	@Override
+	protected boolean isEnabled(Level level) {
+		return logger.isEnabled(toLog4j2Level(level));
+	}
+
+	@Override
+	protected void publish(Level level, String message, Object[] parameters, Throwable thrown) {
+		org.apache.logging.log4j.Level log4j2Level = toLog4j2Level(level);
+		if (parameters == null || message == null) {
+			logger.logIfEnabled(FQCN, log4j2Level, null, message, thrown);
+			return;
+		}
+		String pattern = JulMessagePatterns.toParameterizedPattern(message, parameters);
+		if (pattern == null) {
+			logger.logIfEnabled(FQCN, log4j2Level, null, new MessageFormatMessage(message, parameters), thrown);
+			return;
+		}
+		logger.logIfEnabled(FQCN, log4j2Level, null, pattern, JulMessagePatterns.usedParameters(pattern, parameters));
+	}
+
+}
@@ -0,0 +1,37 @@
+package igloo.log4j2jmx.jul;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+
+import igloo.julhelper.api.SystemLoggerBackend;
+
+/**
+ * `System.Logger` backend mapping platform loggers to Log4j2 core loggers of the current {@link LoggerContext}.
+ * Registered as a {@link SystemLoggerBackend} service, with a priority higher than jul-helper SLF4J backend.
+ */
+public class Log4j2SystemLoggerBackend implements SystemLoggerBackend {
+
+	public static final String NAME = "log4j2";
+
+	public Log4j2SystemLoggerBackend() {
+		super();
+		// fails service instantiation if log4j-core is not available
+		LoggerContext.class.getName();
+	}
+
+	@Override
+	public String getName() {
+		return NAME;
+	}
+
+	@Override
+	public int getPriority() {
+		return 10;
+	}
+
+	@Override
+	public System.Logger getLogger(String name) {
+		return new Log4j2SystemLogger(((LoggerContext) LogManager.getContext(false)).getLogger(name));
+	}
+
+}
@@ -0,0 +1,106 @@
+package igloo.log4j2jmx.rewrite;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.rewrite.RewritePolicy;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+
+import igloo.julhelper.util.ThrowableFingerprintCache;
+import igloo.julhelper.util.ThrowableFingerprintCache.Occurrence;
+
+/**
+ * Log4j2 rewrite policy that avoids rendering identical stack traces repeatedly. Events with a throwable are
+ * fingerprinted (see {@link ThrowableFingerprintCache}):
+ * 
+ * * first occurrence in window is kept with its throwable, and message is suffixed with `[throwable #<id>]`;
+ * * later occurrences are rewritten without throwable, and message is suffixed with
+ *   `[<type> #<id>, occurrence <n>, stack trace omitted]`.
+ * 
+ * Use it with a `Rewrite` appender in front of the appenders that render stack traces:
+ * 
+ * <pre>{@code
+ * <Rewrite name="rewrite">
+ *   <AppenderRef ref="console"/>
+ *   <ThrowableFingerprint windowMillis="60000" cacheSize="256"/>
+ * </Rewrite>
+ * }</pre>
+ * 
+ * Hit and miss counts of all instances are exposed by Log4j2LoggingManager MBean; they are kept across Log4j2
+ * reconfigurations.
+ */
+@Plugin(name = "ThrowableFingerprint", category = Core.CATEGORY_NAME, elementType = "rewritePolicy", printObject = true)
+public final class ThrowableFingerprintRewritePolicy implements RewritePolicy {
+
+	private static final LongAdder HIT_COUNT = new LongAdder();
+
+	private static final LongAdder MISS_COUNT = new LongAdder();
+
+	private final ThrowableFingerprintCache cache;
+
+	private ThrowableFingerprintRewritePolicy(ThrowableFingerprintCache cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * @param windowMillis time during which an identical stack trace is rendered as a reference. Default to 60000.
+	 * @param cacheSize maximum number of fingerprints kept. Default to 256.
+	 */
+	@PluginFactory
+	public static ThrowableFingerprintRewritePolicy createPolicy(
+			@PluginAttribute(value = "windowMillis", defaultLong = ThrowableFingerprintCache.DEFAULT_WINDOW_MILLIS) long windowMillis,
+			@PluginAttribute(value = "cacheSize", defaultInt = ThrowableFingerprintCache.DEFAULT_MAX_SIZE) int cacheSize) {
+		return new ThrowableFingerprintRewritePolicy(new ThrowableFingerprintCache(cacheSize, windowMillis));
+	}
+
+	@Override
+	public LogEvent rewrite(LogEvent source) {
+		Throwable thrown = source.getThrown();
+		if (thrown == null) {
+			return source;
+		}
+		Occurrence occurrence = cache.record(thrown, source.getTimeMillis());
+		Log4jLogEvent.Builder builder = new Log4jLogEvent.Builder(source);
+		String message = source.getMessage() != null ? source.getMessage().getFormattedMessage() : "";
+		if (occurrence.isFirst()) {
+			MISS_COUNT.increment();
+			builder.setMessage(new SimpleMessage(String.format("%s [throwable #%s]", message, occurrence.getId())));
+		} else {
+			HIT_COUNT.increment();
+			builder.setMessage(new SimpleMessage(String.format("%s [%s #%s, occurrence %d, stack trace omitted]", message,
+					thrown.getClass().getName(), occurrence.getId(), occurrence.getCount())))
+					.setThrown(null)
+					.setThrownProxy(null);
+		}
+		return builder.build();
+	}
+
+	public ThrowableFingerprintCache getCache() {
+		return cache;
+	}
+
+	/**
+	 * @return number of events rendered as a reference to a previous identical stack trace, by all instances.
+	 */
+	public static long getHitCount() {
+		return HIT_COUNT.sum();
+	}
+
+	/**
+	 * @return number of events rendered with their full stack trace, by all instances.
+	 */
+	public static long getMissCount() {
+		return MISS_COUNT.sum();
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ThrowableFingerprint[windowMillis=%d]", cache.getWindowMillis());
+	}
+
+}
@@ -1,24 +1,60 @@
 package igloo.log4j2jmx.servlet;
 
+import java.beans.PropertyChangeListener;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
 import javax.management.ObjectName;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import igloo.julhelper.api.JulBackendLevelCache;
+import igloo.julhelper.api.JulLoggingManager;
+import igloo.julhelper.api.JulLoggingManagerHolder;
 import igloo.julhelper.internal.AbstractJulLoggingListener;
+import igloo.log4j2jmx.jmx.Log4j2LoggingConfigurator;
 import igloo.log4j2jmx.jmx.Log4j2LoggingManager;
+import igloo.log4j2jmx.jmx.Log4j2LoggingManagerImpl;
 import igloo.log4j2jmx.jmx.Log4j2LoggingManagerMBean;
+import igloo.log4j2jmx.jmx.VolumeBudgetPolicy;
+import igloo.log4j2jmx.jul.Log4j2BridgeHandler;
+import igloo.log4j2jmx.jul.Log4j2JulLevelPropagator;
 
 /**
- * Install a {@link Log4j2LoggingManager} MBean. This listener does not use any `context-param`. This logging manager
- * installs a MBean that allows to dynamically reconfigure log4j2 loggers (log4j2 default implementation only
- * allows to reconfigure already configured loggers).
+ * Install a {@link Log4j2LoggingManager} MBean. This logging manager installs a MBean that allows to dynamically
+ * reconfigure log4j2 loggers (log4j2 default implementation only allows to reconfigure already configured loggers).
+ * 
+ * Behavior can be controlled with these `context-param`:
+ * 
+ * * `log4j2ReconfigurationQuietWindow`: if a positive value (milliseconds) is provided, Log4j2 loggers update is
+ *   delayed and performed once after this delay without any new modification. Bursts of modifications then trigger
+ *   a single loggers update. Default to 0 (loggers are updated on each modification);
+ * * `log4j2ReconfigurationAwait`: if `false`, JMX operations return without waiting for the delayed loggers update.
+ *   Default to `true`, so that a modification is effective when the JMX operation returns;
+ * * `log4j2DirectJulBridge`: if `true`, JUL loggers overridden through this manager are bridged with
+ *   {@link Log4j2BridgeHandler}, that publishes JUL records straight to Log4j2. As JUL routing is JVM-wide, it is
+ *   opt-in. Default to `false`: the handler configured by jul-helper is used;
+ * * `log4j2JulLevelPropagation`: if `true`, Log4j2 configured levels are pushed into JUL loggers at startup, on each
+ *   Log4j2 reconfiguration and on each modification performed by this manager, so that JUL discards records that
+ *   Log4j2 would discard (see {@link Log4j2JulLevelPropagator}). JUL root level is then driven by Log4j2 root level.
+ *   Default to `false`;
+ * * `log4j2VolumeBudget`: maximum estimated events per second for a level override (see
+ *   {@link Log4j2LoggingManager#estimateVolume(String, String)}; needs a `VolumeEstimate` filter in Log4j2
+ *   configuration). Default to 0 (no check);
+ * * `log4j2VolumeBudgetPolicy`: `warn` to apply overrides above budget with a warning, `refuse` to reject them.
+ *   Default to `warn`.
  * 
  * {@link AbstractJulLoggingListener} (jul-helper dependency) is a needed companion if you want to reconfigure JUL loggers at runtime.
  * julKnownLoggers configuration (runtime or startup) may need customization to allow JUL logging override. See
  * {@link AbstractJulLoggingListener} for further documentation.
  * 
- * `igloo-logging:jul-helper` dependency must be added to use JUL reconfiguration.
+ * `igloo-logging:jul-helper` dependency must be added to use JUL reconfiguration. If jul-helper
+ * `IglooJulLogManager` is installed, its cached levels are discarded on each Log4j2 reconfiguration, and its
+ * backend handler is replaced by {@link Log4j2BridgeHandler} if `log4j2DirectJulBridge` is `true`.
  * 
  * Commplete default setup :
  * 
@@ -37,18 +73,90 @@ public abstract class AbstractLog4j2LoggingManagerListener {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(AbstractLog4j2LoggingManagerListener.class);
 
+	private static final String PARAMETER_LOG4J2_RECONFIGURATION_QUIET_WINDOW = "log4j2ReconfigurationQuietWindow";
+	private static final String PARAMETER_LOG4J2_RECONFIGURATION_AWAIT = "log4j2ReconfigurationAwait";
+	private static final String PARAMETER_LOG4J2_DIRECT_JUL_BRIDGE = "log4j2DirectJulBridge";
+	private static final String PARAMETER_LOG4J2_JUL_LEVEL_PROPAGATION = "log4j2JulLevelPropagation";
+	private static final String PARAMETER_LOG4J2_VOLUME_BUDGET = "log4j2VolumeBudget";
+	private static final String PARAMETER_LOG4J2_VOLUME_BUDGET_POLICY = "log4j2VolumeBudgetPolicy";
+
 	private ObjectName mbeanObjectName;
 
+	private Log4j2LoggingConfigurator log4j2LoggingConfigurator;
+
+	private Log4j2LoggingManagerImpl manager;
+
+	private Log4j2JulLevelPropagator julLevelPropagator;
+
+	/**
+	 * Discards JUL levels cached from Log4j2 configuration (see {@link JulBackendLevelCache}) on Log4j2 reconfiguration.
+	 */
+	private final PropertyChangeListener julBackendLevelCacheListener = event -> JulBackendLevelCache.invalidate();
+
 	public void contextInitialized() {
-		mbeanObjectName = Log4j2LoggingManagerMBean.registerMBean();
+		contextInitialized(paramName -> null);
+	}
+
+	/**
+	 * @param initParameters `context-param` provider. Required.
+	 * 
+	 * @see AbstractLog4j2LoggingManagerListener
+	 */
+	public void contextInitialized(UnaryOperator<String> initParameters) {
+		long quietWindow = getLongParameter(initParameters, PARAMETER_LOG4J2_RECONFIGURATION_QUIET_WINDOW, 0L);
+		boolean await = !Boolean.FALSE.toString().equals(initParameters.apply(PARAMETER_LOG4J2_RECONFIGURATION_AWAIT));
+		boolean directJulBridge = Boolean.TRUE.toString().equals(initParameters.apply(PARAMETER_LOG4J2_DIRECT_JUL_BRIDGE));
+		boolean julLevelPropagation = Boolean.TRUE.toString().equals(initParameters.apply(PARAMETER_LOG4J2_JUL_LEVEL_PROPAGATION));
+		log4j2LoggingConfigurator = new Log4j2LoggingConfigurator(quietWindow, await);
+		JulLoggingManager julLoggingManager = JulLoggingManagerHolder.getInstance();
+		manager = new Log4j2LoggingManagerImpl(julLoggingManager, log4j2LoggingConfigurator, directJulBridge);
+		manager.setVolumeBudget(getLongParameter(initParameters, PARAMETER_LOG4J2_VOLUME_BUDGET, 0L));
+		manager.setVolumeBudgetPolicy(VolumeBudgetPolicy.fromParameter(initParameters.apply(PARAMETER_LOG4J2_VOLUME_BUDGET_POLICY)));
+		LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
+		ctx.addPropertyChangeListener(julBackendLevelCacheListener);
+		if (julLevelPropagation) {
+			julLevelPropagator = new Log4j2JulLevelPropagator(ctx,
+					() -> julLoggingManager != null ? julLoggingManager.getLoggerNames() : List.of());
+			julLevelPropagator.start();
+			manager.setJulLevelPropagator(julLevelPropagator);
+		}
+		mbeanObjectName = Log4j2LoggingManagerMBean.registerMBean(manager);
 		
-		LOGGER.info("jul-to-slf4j installed");
+		LOGGER.info("Log4j2LoggingManager installed");
 	}
 
 	public void contextDestroyed() {
 		if (mbeanObjectName != null) {
 			Log4j2LoggingManagerMBean.unregisterMBean(mbeanObjectName);
 		}
+		if (manager != null) {
+			// stop time-boxed overrides timer before reconfiguration scheduler
+			manager.close();
+		}
+		if (log4j2LoggingConfigurator != null) {
+			log4j2LoggingConfigurator.close();
+		}
+		if (julLevelPropagator != null) {
+			julLevelPropagator.close();
+		}
+		((LoggerContext) LogManager.getContext(false)).removePropertyChangeListener(julBackendLevelCacheListener);
+	}
+
+	/**
+	 * Extract long parameter named `paramName` from `initParameters`.
+	 * 
+	 * @param initParameters `context-param` provider. Required.
+	 * @param paramName name of the long parameter to extract. Required.
+	 * @param defaultValue value returned for a missing or blank parameter.
+	 * @return parameter value, or `defaultValue`.
+	 * @throws NumberFormatException if parameter value is not a long.
+	 */
+	private static long getLongParameter(UnaryOperator<String> initParameters, String paramName, long defaultValue) {
+		return Optional.ofNullable(initParameters.apply(paramName))
+				.map(String::strip)
+				.filter(s -> !s.isEmpty())
+				.map(Long::parseLong)
+				.orElse(defaultValue);
 	}
 
 }
@@ -0,0 +1,165 @@
+package igloo.log4j2jmx.servlet;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import igloo.log4j2jmx.filter.RequestLevelFilter;
+import igloo.log4j2jmx.filter.RequestLevelFilterInstaller;
+
+/**
+ * Servlet filter that enables a per-request level override: requests carrying a level header (or processed on a thread
+ * whose {@link ThreadContext} already holds the context key, set by an upstream filter) are logged with this level,
+ * whatever the logger levels. Override is enforced by a context-wide {@link RequestLevelFilter}, installed at filter
+ * initialization unless Log4j2 configuration declares it. Only the request thread pays for the additional logging;
+ * requests without header only cost a header lookup.
+ * 
+ * As any client can send the header, header overrides are disabled unless `log4j2RequestLevelToken` is set or
+ * `log4j2RequestLevelAllowUntrusted` is `true`. Overrides set in {@link ThreadContext} by an upstream filter are always
+ * applied.
+ * 
+ * Behavior can be controlled with these `init-param`:
+ * 
+ * * `log4j2RequestLevelHeader`: request header holding the override level (`DEBUG`, `TRACE`, ...). Default to
+ *   `X-Igloo-Log-Level`;
+ * * `log4j2RequestLevelContextKey`: {@link ThreadContext} key holding the override level during the request, so that
+ *   layouts can show it. Default to `igloo.requestLevel`;
+ * * `log4j2RequestLevelMax`: most verbose level allowed; more verbose requested levels are lowered to it. Default to
+ *   `DEBUG`;
+ * * `log4j2RequestLevelToken`: if set, header value must be `<level> <token>`, so that only operators knowing the token
+ *   can enable an override. Default to none;
+ * * `log4j2RequestLevelAllowUntrusted`: if `true` and no token is set, header value is the level alone and any client
+ *   can enable an override (for deployments reachable only by trusted clients). Default to `false`.
+ * 
+ * <pre>{@code
+ * <filter>
+ *   <filter-name>requestLevel</filter-name>
+ *   <filter-class>igloo.log4j2jmx.servlet.Log4j2RequestLevelFilter</filter-class>
+ *   <init-param>
+ *     <param-name>log4j2RequestLevelToken</param-name>
+ *     <param-value>...</param-value>
+ *   </init-param>
+ * </filter>
+ * <filter-mapping>
+ *   <filter-name>requestLevel</filter-name>
+ *   <url-pattern>/*</url-pattern>
+ * </filter-mapping>
+ * }</pre>
+ * 
+ * Work handed over to other threads is not overridden. JUL records are bridged only if JUL logger level allows them.
+ */
+public abstract class AbstractLog4j2RequestLevelFilter {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AbstractLog4j2RequestLevelFilter.class);
+
+	private static final String PARAMETER_LOG4J2_REQUEST_LEVEL_HEADER = "log4j2RequestLevelHeader";
+	private static final String PARAMETER_LOG4J2_REQUEST_LEVEL_CONTEXT_KEY = "log4j2RequestLevelContextKey";
+	private static final String PARAMETER_LOG4J2_REQUEST_LEVEL_MAX = "log4j2RequestLevelMax";
+	private static final String PARAMETER_LOG4J2_REQUEST_LEVEL_TOKEN = "log4j2RequestLevelToken";
+	private static final String PARAMETER_LOG4J2_REQUEST_LEVEL_ALLOW_UNTRUSTED = "log4j2RequestLevelAllowUntrusted";
+
+	public static final String DEFAULT_HEADER = "X-Igloo-Log-Level";
+
+	private String header = DEFAULT_HEADER;
+
+	private String contextKey = RequestLevelFilter.DEFAULT_KEY;
+
+	private Level maxLevel = Level.DEBUG;
+
+	private byte[] token;
+
+	/**
+	 * Header overrides are applied without token.
+	 */
+	private boolean allowUntrusted;
+
+	private RequestLevelFilterInstaller installer;
+
+	/**
+	 * @param initParameters `init-param` provider. Required.
+	 * 
+	 * @see AbstractLog4j2RequestLevelFilter
+	 */
+	public void init(UnaryOperator<String> initParameters) {
+		header = parameter(initParameters, PARAMETER_LOG4J2_REQUEST_LEVEL_HEADER).orElse(DEFAULT_HEADER);
+		contextKey = parameter(initParameters, PARAMETER_LOG4J2_REQUEST_LEVEL_CONTEXT_KEY).orElse(RequestLevelFilter.DEFAULT_KEY);
+		maxLevel = parameter(initParameters, PARAMETER_LOG4J2_REQUEST_LEVEL_MAX).map(Level::valueOf).orElse(Level.DEBUG);
+		token = parameter(initParameters, PARAMETER_LOG4J2_REQUEST_LEVEL_TOKEN)
+				.map(s -> s.getBytes(StandardCharsets.UTF_8))
+				.orElse(null);
+		allowUntrusted = Boolean.TRUE.toString().equals(initParameters.apply(PARAMETER_LOG4J2_REQUEST_LEVEL_ALLOW_UNTRUSTED));
+		installer = new RequestLevelFilterInstaller((LoggerContext) LogManager.getContext(false), contextKey);
+		installer.start();
+		
+		if (token == null && !allowUntrusted) {
+			LOGGER.warn("Log4j2 request level header {} ignored: set {} or {}=true to enable it", header,
+					PARAMETER_LOG4J2_REQUEST_LEVEL_TOKEN, PARAMETER_LOG4J2_REQUEST_LEVEL_ALLOW_UNTRUSTED);
+		}
+		LOGGER.info("Log4j2 request level filter installed (header {}, max level {})", header, maxLevel);
+	}
+
+	private static Optional<String> parameter(UnaryOperator<String> initParameters, String name) {
+		return Optional.ofNullable(initParameters.apply(name))
+				.map(String::strip)
+				.filter(s -> !s.isEmpty());
+	}
+
+	/**
+	 * Open a level override if request carries the level header, or if current thread context already holds a level.
+	 * 
+	 * @param headers request header provider. Required.
+	 * @return override scope, to be closed when request is processed; null if request is not overridden.
+	 */
+	public RequestLevelFilter.Scope enter(UnaryOperator<String> headers) {
+		String value = headers.apply(header);
+		Level level;
+		if (value != null) {
+			level = parseHeader(value);
+		} else {
+			// context key set by an upstream filter
+			String current = ThreadContext.get(contextKey);
+			level = current != null ? Level.getLevel(current) : null;
+		}
+		if (level == null) {
+			return null;
+		}
+		if (level.isLessSpecificThan(maxLevel)) {
+			level = maxLevel;
+		}
+		return RequestLevelFilter.enter(contextKey, level);
+	}
+
+	/**
+	 * @return requested level; null if header value is invalid, if token does not match or if header overrides are
+	 *         disabled.
+	 */
+	private Level parseHeader(String value) {
+		if (token == null && !allowUntrusted) {
+			return null;
+		}
+		String[] parts = value.strip().split("\\s+", 2);
+		if (token != null && (parts.length < 2 || !MessageDigest.isEqual(token, parts[1].getBytes(StandardCharsets.UTF_8)))) {
+			return null;
+		}
+		if (token == null && parts.length > 1) {
+			return null;
+		}
+		return Level.getLevel(parts[0].toUpperCase(Locale.ROOT));
+	}
+
+	public void destroy() {
+		if (installer != null) {
+			installer.close();
+		}
+	}
+
+}
@@ -8,7 +8,7 @@ public class JakartaLog4j2LoggingManagerListener extends AbstractLog4j2LoggingMa
 	
 	@Override
 	public void contextInitialized(ServletContextEvent sce) {
-		super.contextInitialized();
+		super.contextInitialized(sce.getServletContext()::getInitParameter);
 	}
 
 	@Override
@@ -0,0 +1,44 @@
+package igloo.log4j2jmx.servlet;
+
+import java.io.IOException;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.FilterConfig;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+
+import igloo.log4j2jmx.filter.RequestLevelFilter;
+
+public class JakartaLog4j2RequestLevelFilter extends AbstractLog4j2RequestLevelFilter implements Filter {
+	
+	@Override
+	public void init(FilterConfig filterConfig) throws ServletException {
+		super.init(filterConfig::getInitParameter);
+	}
+
+	@Override
+	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+			throws IOException, ServletException {
+		if (!(request instanceof HttpServletRequest)) {
+			chain.doFilter(request, response);
+			return;
+		}
+		RequestLevelFilter.Scope scope = enter(((HttpServletRequest) request)::getHeader);
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			if (scope != null) {
+				scope.close();
+			}
+		}
+	}
+
+	@Override
+	public void destroy() {
+		super.destroy();
+	}
+
+}
@@ -8,7 +8,7 @@ public class Log4j2LoggingManagerListener extends AbstractLog4j2LoggingManagerLi
 	
 	@Override
 	public void contextInitialized(ServletContextEvent sce) {
-		super.contextInitialized();
+		super.contextInitialized(sce.getServletContext()::getInitParameter);
 	}
 
 	@Override
@@ -0,0 +1,44 @@
+package igloo.log4j2jmx.servlet;
+
+import java.io.IOException;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+
+import igloo.log4j2jmx.filter.RequestLevelFilter;
+
+public class Log4j2RequestLevelFilter extends AbstractLog4j2RequestLevelFilter implements Filter {
+	
+	@Override
+	public void init(FilterConfig filterConfig) throws ServletException {
+		super.init(filterConfig::getInitParameter);
+	}
+
+	@Override
+	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+			throws IOException, ServletException {
+		if (!(request instanceof HttpServletRequest)) {
+			chain.doFilter(request, response);
+			return;
+		}
+		RequestLevelFilter.Scope scope = enter(((HttpServletRequest) request)::getHeader);
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			if (scope != null) {
+				scope.close();
+			}
+		}
+	}
+
+	@Override
+	public void destroy() {
+		super.destroy();
+	}
+
+}
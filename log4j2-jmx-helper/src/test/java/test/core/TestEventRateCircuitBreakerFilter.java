@@ -0,0 +1,83 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Filter.Result;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+
+import igloo.log4j2jmx.filter.EventRateCircuitBreakerFilter;
+
+class TestEventRateCircuitBreakerFilter {
+
+	@Test
+	void test_filter_trip() {
+		List<EventRateCircuitBreakerFilter> trips = new ArrayList<>();
+		EventRateCircuitBreakerFilter filter = new EventRateCircuitBreakerFilter(10, 2, trips::add);
+		long start = System.currentTimeMillis();
+		
+		// 100 events/s during 4 s
+		for (int i = 0; i < 400; i++) {
+			assertThat(filter.filter(event(start + i * 10))).isEqualTo(Result.NEUTRAL);
+		}
+		
+		assertThat(trips).containsExactly(filter);
+		assertThat(filter.isTripped()).isTrue();
+		assertThat(filter.getLastEventsPerSecond()).isGreaterThan(10);
+	}
+
+	@Test
+	void test_filter_belowCeiling() {
+		List<EventRateCircuitBreakerFilter> trips = new ArrayList<>();
+		EventRateCircuitBreakerFilter filter = new EventRateCircuitBreakerFilter(10, 2, trips::add);
+		long start = System.currentTimeMillis();
+		
+		// 5 events/s during 10 s
+		for (int i = 0; i < 50; i++) {
+			filter.filter(event(start + i * 200));
+		}
+		
+		assertThat(trips).isEmpty();
+		assertThat(filter.isTripped()).isFalse();
+	}
+
+	@Test
+	void test_filter_burstShorterThanWindow() {
+		List<EventRateCircuitBreakerFilter> trips = new ArrayList<>();
+		EventRateCircuitBreakerFilter filter = new EventRateCircuitBreakerFilter(10, 3, trips::add);
+		long start = System.currentTimeMillis();
+		
+		// 100 events/s during 2 s, then 5 events/s during 4 s
+		for (int i = 0; i < 200; i++) {
+			filter.filter(event(start + i * 10));
+		}
+		for (int i = 0; i < 20; i++) {
+			filter.filter(event(start + 2_000 + i * 200));
+		}
+		
+		assertThat(trips).isEmpty();
+	}
+
+	@Test
+	void test_invalid() {
+		assertThatThrownBy(() -> new EventRateCircuitBreakerFilter(0, 1, f -> {})).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new EventRateCircuitBreakerFilter(1, 0, f -> {})).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static LogEvent event(long timeMillis) {
+		return Log4jLogEvent.newBuilder()
+				.setLoggerName("test.circuitBreaker")
+				.setLevel(Level.DEBUG)
+				.setMessage(new SimpleMessage("message"))
+				.setTimeMillis(timeMillis)
+				.build();
+	}
+
+}
@@ -0,0 +1,184 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.LogRecord;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.Filter.Result;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+import org.apache.logging.log4j.core.filter.RegexFilter;
+import org.apache.logging.log4j.message.Message;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import igloo.julhelper.api.JulCallerLocation;
+import igloo.log4j2jmx.jul.Log4j2BridgeHandler;
+
+class TestLog4j2BridgeHandler {
+
+	private static final String LOGGER_NAME = "bridgeTest";
+
+	private final List<LogEvent> events = new CopyOnWriteArrayList<>();
+
+	private Log4j2BridgeHandler handler;
+
+	@BeforeEach
+	void setUp() {
+		LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
+		Configuration conf = ctx.getConfiguration();
+		AbstractAppender appender = new AbstractAppender("capture", null, null, true, Property.EMPTY_ARRAY) {
+			@Override
+			public void append(LogEvent event) {
+				// location is computed lazily, as a layout printing location would do
+				event.getSource();
+				events.add(event.toImmutable());
+			}
+		};
+		appender.start();
+		LoggerConfig loggerConfig = new LoggerConfig(LOGGER_NAME, Level.DEBUG, false);
+		loggerConfig.addAppender(appender, null, null);
+		conf.addLogger(LOGGER_NAME, loggerConfig);
+		ctx.updateLoggers();
+		handler = new Log4j2BridgeHandler(ctx);
+	}
+
+	@AfterEach
+	void clean() {
+		for (Entry<String, LoggerConfig> loggerConfig : ((LoggerContext) LogManager.getContext(false)).getConfiguration().getLoggers().entrySet()) {
+			((LoggerContext) LogManager.getContext(false)).getConfiguration().removeLogger(loggerConfig.getKey());
+		};
+		((LoggerContext) LogManager.getContext(false)).updateLoggers();
+	}
+
+	@Test
+	void test_toLog4j2Level() {
+		assertThat(Log4j2BridgeHandler.toLog4j2Level(java.util.logging.Level.ALL)).isEqualTo(Level.TRACE);
+		assertThat(Log4j2BridgeHandler.toLog4j2Level(java.util.logging.Level.FINEST)).isEqualTo(Level.TRACE);
+		assertThat(Log4j2BridgeHandler.toLog4j2Level(java.util.logging.Level.FINER)).isEqualTo(Level.DEBUG);
+		assertThat(Log4j2BridgeHandler.toLog4j2Level(java.util.logging.Level.FINE)).isEqualTo(Level.DEBUG);
+		assertThat(Log4j2BridgeHandler.toLog4j2Level(java.util.logging.Level.CONFIG)).isEqualTo(Level.INFO);
+		assertThat(Log4j2BridgeHandler.toLog4j2Level(java.util.logging.Level.INFO)).isEqualTo(Level.INFO);
+		assertThat(Log4j2BridgeHandler.toLog4j2Level(java.util.logging.Level.WARNING)).isEqualTo(Level.WARN);
+		assertThat(Log4j2BridgeHandler.toLog4j2Level(java.util.logging.Level.SEVERE)).isEqualTo(Level.ERROR);
+		assertThat(Log4j2BridgeHandler.toLog4j2Level(java.util.logging.Level.OFF)).isEqualTo(Level.ERROR);
+		// custom level between INFO and WARNING
+		assertThat(Log4j2BridgeHandler.toLog4j2Level(java.util.logging.Level.parse("850"))).isEqualTo(Level.WARN);
+	}
+
+	@Test
+	void test_publish() {
+		IllegalStateException exception = new IllegalStateException();
+		
+		handler.publish(record(java.util.logging.Level.INFO, "value {0}", null, "a"));
+		handler.publish(record(java.util.logging.Level.WARNING, "reordered {1} {0}", exception, "a", "b"));
+		handler.publish(record(java.util.logging.Level.FINEST, "discarded", null));
+		
+		assertThat(events).hasSize(2);
+		assertThat(events.get(0).getLevel()).isEqualTo(Level.INFO);
+		assertThat(events.get(0).getMessage().getFormattedMessage()).isEqualTo("value a");
+		assertThat(events.get(0).getLoggerFqcn()).isEqualTo(java.util.logging.Logger.class.getName());
+		assertThat(events.get(1).getLevel()).isEqualTo(Level.WARN);
+		assertThat(events.get(1).getMessage().getFormattedMessage()).isEqualTo("reordered b a");
+		assertThat(events.get(1).getThrown()).isSameAs(exception);
+	}
+
+	@Test
+	void test_publish_parametersWithThrown() {
+		IllegalStateException exception = new IllegalStateException();
+		
+		handler.publish(record(java.util.logging.Level.SEVERE, "value {0}", exception, "a"));
+		
+		assertThat(events).hasSize(1);
+		assertThat(events.get(0).getMessage().getFormattedMessage()).isEqualTo("value a");
+		assertThat(events.get(0).getThrown()).isSameAs(exception);
+	}
+
+	@Test
+	void test_publish_callerLocation() {
+		java.util.logging.Logger julLogger = java.util.logging.Logger.getLogger(LOGGER_NAME);
+		julLogger.setUseParentHandlers(false);
+		julLogger.addHandler(handler);
+		try {
+			julLogger.info("no location");
+			JulCallerLocation.enable(LOGGER_NAME);
+			julLogger.info("with location");
+		} finally {
+			JulCallerLocation.disable(LOGGER_NAME);
+			julLogger.removeHandler(handler);
+			julLogger.setUseParentHandlers(true);
+		}
+		
+		assertThat(events).hasSize(2);
+		assertThat(events.get(0).getSource().getClassName()).isEqualTo(LOGGER_NAME);
+		assertThat(events.get(0).getSource().getLineNumber()).isEqualTo(-1);
+		assertThat(events.get(1).getSource().getClassName()).isEqualTo(TestLog4j2BridgeHandler.class.getName());
+		assertThat(events.get(1).getSource().getMethodName()).isEqualTo("test_publish_callerLocation");
+	}
+
+	@Test
+	void test_publish_contextWideFilter() throws Exception {
+		Configuration conf = ((LoggerContext) LogManager.getContext(false)).getConfiguration();
+		RegexFilter filter = RegexFilter.createFilter(".*secret.*", null, false, Result.DENY, Result.NEUTRAL);
+		conf.addFilter(filter);
+		try {
+			handler.publish(record(java.util.logging.Level.INFO, "value {0}", null, "secret"));
+			handler.publish(record(java.util.logging.Level.INFO, "value {0}", null, "public"));
+		} finally {
+			conf.removeFilter(filter);
+		}
+		
+		assertThat(events).hasSize(1);
+		assertThat(events.get(0).getMessage().getFormattedMessage()).isEqualTo("value public");
+	}
+
+	@Test
+	void test_publish_contextWideFilter_evaluatedOnce() throws Exception {
+		Configuration conf = ((LoggerContext) LogManager.getContext(false)).getConfiguration();
+		List<Object> evaluations = new CopyOnWriteArrayList<>();
+		AbstractFilter filter = new AbstractFilter() {
+			@Override
+			public Result filter(Logger logger, Level level, Marker marker, Object msg, Throwable t) {
+				evaluations.add(String.valueOf(msg));
+				return Result.NEUTRAL;
+			}
+			
+			@Override
+			public Result filter(Logger logger, Level level, Marker marker, Message msg, Throwable t) {
+				evaluations.add(msg.getFormattedMessage());
+				return Result.NEUTRAL;
+			}
+		};
+		conf.addFilter(filter);
+		try {
+			handler.publish(record(java.util.logging.Level.INFO, "value {0}", null, "counted"));
+		} finally {
+			conf.removeFilter(filter);
+		}
+		
+		assertThat(evaluations).containsExactly("value counted");
+		assertThat(events).hasSize(1);
+	}
+
+	private static LogRecord record(java.util.logging.Level level, String message, Throwable thrown, Object... parameters) {
+		LogRecord record = new LogRecord(level, message);
+		record.setLoggerName(LOGGER_NAME);
+		record.setThrown(thrown);
+		record.setParameters(parameters);
+		return record;
+	}
+
+}
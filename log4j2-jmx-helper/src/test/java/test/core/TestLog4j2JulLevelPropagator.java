@@ -0,0 +1,96 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import igloo.log4j2jmx.jul.Log4j2JulLevelPropagator;
+
+class TestLog4j2JulLevelPropagator {
+
+	private LoggerContext ctx;
+
+	private Log4j2JulLevelPropagator propagator;
+
+	@BeforeEach
+	void setUp() {
+		ctx = (LoggerContext) LogManager.getContext(false);
+		propagator = new Log4j2JulLevelPropagator(ctx, () -> List.of("propagation.excluded"));
+	}
+
+	@AfterEach
+	void clean() {
+		propagator.close();
+		for (Entry<String, LoggerConfig> loggerConfig : ctx.getConfiguration().getLoggers().entrySet()) {
+			ctx.getConfiguration().removeLogger(loggerConfig.getKey());
+		};
+		ctx.updateLoggers();
+	}
+
+	@Test
+	void test_start() {
+		java.util.logging.Level rootLevel = java.util.logging.Logger.getLogger("").getLevel();
+		Configuration conf = ctx.getConfiguration();
+		conf.addLogger("propagation.target", new LoggerConfig("propagation.target", Level.DEBUG, true));
+		conf.addLogger("propagation.excluded", new LoggerConfig("propagation.excluded", Level.DEBUG, true));
+		java.util.logging.Logger target = java.util.logging.Logger.getLogger("propagation.target");
+		java.util.logging.Logger child = java.util.logging.Logger.getLogger("propagation.target.child");
+		java.util.logging.Logger excluded = java.util.logging.Logger.getLogger("propagation.excluded");
+		
+		propagator.start();
+		
+		assertThat(java.util.logging.Logger.getLogger("").getLevel()).isEqualTo(java.util.logging.Level.SEVERE);
+		assertThat(target.getLevel()).isEqualTo(java.util.logging.Level.FINER);
+		assertThat(child.getLevel()).isNull();
+		assertThat(child.isLoggable(java.util.logging.Level.FINE)).isTrue();
+		assertThat(child.isLoggable(java.util.logging.Level.FINEST)).isFalse();
+		assertThat(excluded.getLevel()).isNull();
+		
+		propagator.close();
+		
+		assertThat(java.util.logging.Logger.getLogger("").getLevel()).isEqualTo(rootLevel);
+		assertThat(target.getLevel()).isNull();
+	}
+
+	@Test
+	void test_reconfiguration() {
+		Configuration conf = ctx.getConfiguration();
+		conf.addLogger("propagation.target", new LoggerConfig("propagation.target", Level.DEBUG, true));
+		java.util.logging.Logger target = java.util.logging.Logger.getLogger("propagation.target");
+		propagator.start();
+		
+		conf.getLoggerConfig("propagation.target").setLevel(Level.WARN);
+		ctx.updateLoggers();
+		
+		assertThat(target.getLevel()).isEqualTo(java.util.logging.Level.WARNING);
+		
+		conf.removeLogger("propagation.target");
+		ctx.updateLoggers();
+		
+		assertThat(target.getLevel()).isNull();
+		assertThat(target.isLoggable(java.util.logging.Level.WARNING)).isFalse();
+	}
+
+	@Test
+	void test_toJulLevel() {
+		assertThat(Log4j2JulLevelPropagator.toJulLevel(Level.ALL)).isEqualTo(java.util.logging.Level.ALL);
+		assertThat(Log4j2JulLevelPropagator.toJulLevel(Level.TRACE)).isEqualTo(java.util.logging.Level.ALL);
+		assertThat(Log4j2JulLevelPropagator.toJulLevel(Level.DEBUG)).isEqualTo(java.util.logging.Level.FINER);
+		assertThat(Log4j2JulLevelPropagator.toJulLevel(Level.INFO)).isEqualTo(java.util.logging.Level.CONFIG);
+		assertThat(Log4j2JulLevelPropagator.toJulLevel(Level.WARN)).isEqualTo(java.util.logging.Level.WARNING);
+		assertThat(Log4j2JulLevelPropagator.toJulLevel(Level.ERROR)).isEqualTo(java.util.logging.Level.SEVERE);
+		assertThat(Log4j2JulLevelPropagator.toJulLevel(Level.FATAL)).isEqualTo(java.util.logging.Level.SEVERE);
+		assertThat(Log4j2JulLevelPropagator.toJulLevel(Level.OFF)).isEqualTo(java.util.logging.Level.OFF);
+	}
+
+}
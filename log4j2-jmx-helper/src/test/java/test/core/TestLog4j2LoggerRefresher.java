@@ -0,0 +1,97 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import igloo.log4j2jmx.jmx.Log4j2LoggerRefresher;
+
+class TestLog4j2LoggerRefresher {
+
+	private final Log4j2LoggerRefresher refresher = new Log4j2LoggerRefresher();
+
+	@AfterEach
+	void clean() {
+		for (Entry<String, LoggerConfig> loggerConfig : ((LoggerContext) LogManager.getContext(false)).getConfiguration().getLoggers().entrySet()) {
+			((LoggerContext) LogManager.getContext(false)).getConfiguration().removeLogger(loggerConfig.getKey());
+		};
+		((LoggerContext) LogManager.getContext(false)).updateLoggers();
+	}
+
+	@Test
+	void test_refresh_subtree() {
+		LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
+		Configuration conf = ctx.getConfiguration();
+		Logger target = ctx.getLogger("refresher.target");
+		Logger child = ctx.getLogger("refresher.target.child");
+		Logger sibling = ctx.getLogger("refresher.targetSibling");
+		Logger other = ctx.getLogger("refresher.other");
+		
+		conf.addLogger("refresher.target", new LoggerConfig("refresher.target", Level.DEBUG, true));
+		int updated = refresher.refresh(ctx, conf, List.of("refresher.target"));
+		
+		assertThat(updated).isEqualTo(2);
+		assertThat(target.getLevel()).isEqualTo(Level.DEBUG);
+		assertThat(child.getLevel()).isEqualTo(Level.DEBUG);
+		assertThat(sibling.getLevel()).isEqualTo(Level.ERROR);
+		assertThat(other.getLevel()).isEqualTo(Level.ERROR);
+		
+		conf.removeLogger("refresher.target");
+		refresher.refresh(ctx, conf, List.of("refresher.target"));
+		
+		assertThat(target.getLevel()).isEqualTo(Level.ERROR);
+		assertThat(child.getLevel()).isEqualTo(Level.ERROR);
+	}
+
+	@Test
+	void test_refresh_propertyChangeListener() {
+		LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
+		Configuration conf = ctx.getConfiguration();
+		ctx.getLogger("refresher.listened");
+		List<PropertyChangeEvent> events = new ArrayList<>();
+		PropertyChangeListener listener = events::add;
+		ctx.addPropertyChangeListener(listener);
+		
+		try {
+			conf.addLogger("refresher.listened", new LoggerConfig("refresher.listened", Level.DEBUG, true));
+			refresher.refresh(ctx, conf, List.of("refresher.listened"));
+		} finally {
+			ctx.removePropertyChangeListener(listener);
+		}
+		
+		assertThat(events).hasSize(1);
+		assertThat(events.get(0).getPropertyName()).isEqualTo(LoggerContext.PROPERTY_CONFIG);
+		assertThat(events.get(0).getNewValue()).isSameAs(conf);
+	}
+
+	@Test
+	void test_refresh_root() {
+		LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
+		
+		int updated = refresher.refresh(ctx, ctx.getConfiguration(), List.of(LogManager.ROOT_LOGGER_NAME));
+		
+		assertThat(updated).isEqualTo(-1);
+	}
+
+	@Test
+	void test_isSelfOrDescendant() {
+		assertThat(Log4j2LoggerRefresher.isSelfOrDescendant("a.b", "a.b")).isTrue();
+		assertThat(Log4j2LoggerRefresher.isSelfOrDescendant("a.b.c", "a.b")).isTrue();
+		assertThat(Log4j2LoggerRefresher.isSelfOrDescendant("a.bc", "a.b")).isFalse();
+		assertThat(Log4j2LoggerRefresher.isSelfOrDescendant("a", "a.b")).isFalse();
+	}
+
+}
@@ -1,22 +1,22 @@
 package test.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.atIndex;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.core.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.junit.jupiter.api.AfterEach;
@@ -28,8 +28,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import igloo.julhelper.api.JulBackendLevelCache;
+import igloo.julhelper.util.EventSampler;
+import igloo.julhelper.util.ManagedLogger;
+import igloo.julhelper.util.ManagedLoggerRegistry;
+import igloo.log4j2jmx.filter.EventRateCircuitBreakerFilter;
+import igloo.log4j2jmx.filter.SamplingFilter;
 import igloo.log4j2jmx.jmx.Log4j2LoggingConfigurator;
-import igloo.log4j2jmx.jmx.Log4j2LoggingConfigurator.LevelWrapper;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -51,18 +56,53 @@ class TestLog4j2LoggingConfigurator {
 		};
 	}
 
+	@Test
+	void test_addFilter_removeFilter() throws Exception {
+		ManagedLoggerRegistry<Level, Void> localLoggers = new ManagedLoggerRegistry<>();
+		List<EventRateCircuitBreakerFilter> trips = new ArrayList<>();
+		EventRateCircuitBreakerFilter filter = new EventRateCircuitBreakerFilter(1, 1, trips::add);
+		log4j2LoggingConfigurator.doSetLevel(loggerName, "DEBUG", localLoggers);
+		
+		log4j2LoggingConfigurator.addFilter(loggerName, filter);
+		
+		LoggerConfig loggerConfig = ((LoggerContext) LogManager.getContext(false)).getConfiguration().getLoggerConfig(loggerName);
+		assertThat(loggerConfig.getFilter()).isSameAs(filter);
+		assertThat(filter.isStarted()).isTrue();
+		
+		log4j2LoggingConfigurator.removeFilter(loggerName, filter);
+		
+		assertThat(loggerConfig.getFilter()).isNull();
+		assertThat(filter.isStopped()).isTrue();
+		assertThatThrownBy(() -> log4j2LoggingConfigurator.addFilter("unknown", filter)).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void test_doSetSampledLevel() throws Exception {
+		ManagedLoggerRegistry<Level, Void> localLoggers = new ManagedLoggerRegistry<>();
+		Level rootLevel = ((LoggerContext) LogManager.getContext(false)).getConfiguration().getRootLogger().getLevel();
+		
+		SamplingFilter filter = log4j2LoggingConfigurator.doSetSampledLevel(loggerName, "TRACE", new EventSampler(10, 0), localLoggers);
+		
+		LoggerConfig loggerConfig = ((LoggerContext) LogManager.getContext(false)).getConfiguration().getLoggerConfig(loggerName);
+		assertThat(loggerConfig.getName()).isEqualTo(loggerName);
+		assertThat(loggerConfig.getLevel()).isEqualTo(Level.TRACE);
+		assertThat(loggerConfig.getFilter()).isSameAs(filter);
+		assertThat(filter.isStarted()).isTrue();
+		assertThat(filter.getThreshold()).isEqualTo(rootLevel);
+		assertThat(localLoggers.get(loggerName).getLevel()).isEqualTo(Level.TRACE);
+	}
+
 	@Test
 	void test_doSetLevel_newLocalLogger_newServerLogger() throws Exception {
 		String level = "DEBUG";
 		
-		Set<Logger> localLoggers = new HashSet<>();
-		Map<String, LevelWrapper> localOriginalLevels = new ConcurrentHashMap<>();
+		ManagedLoggerRegistry<Level, Void> localLoggers = new ManagedLoggerRegistry<>();
 		
-		log4j2LoggingConfigurator.doSetLevel(loggerName, level, localLoggers, localOriginalLevels);
+		log4j2LoggingConfigurator.doSetLevel(loggerName, level, localLoggers);
 		
 		Map<String, LoggerConfig> serverLoggers = ((LoggerContext) LogManager.getContext(false)).getConfiguration().getLoggers();
 		
-		assertThat(new ArrayList<>(localLoggers))
+		assertThat(new ArrayList<>(localLoggers.values()))
 			.hasSize(1)
 			.satisfies(
 				logger -> {
@@ -82,15 +122,7 @@ class TestLog4j2LoggingConfigurator {
 				}
 			);
 		
-		assertThat(localOriginalLevels)
-			.hasSize(1)
-			.containsKey(loggerName)
-			.satisfies(
-				value -> {
-					LevelWrapper originalLevel = value.get(loggerName);
-					assertThat(originalLevel.name()).isEqualTo("ERROR");
-				}
-			);
+		assertThat(localLoggers.get(loggerName).getOriginalLevel().name()).isEqualTo("ERROR");
 	}
 
 	@Test
@@ -102,14 +134,13 @@ class TestLog4j2LoggingConfigurator {
 			loggerName, new LoggerConfig(loggerName, Level.valueOf(levelOriginal), true)
 		);
 		
-		Set<Logger> localLoggers = new HashSet<>();
-		Map<String, LevelWrapper> localOriginalLevels = new ConcurrentHashMap<>();
+		ManagedLoggerRegistry<Level, Void> localLoggers = new ManagedLoggerRegistry<>();
 		
-		log4j2LoggingConfigurator.doSetLevel(loggerName, level, localLoggers, localOriginalLevels);
+		log4j2LoggingConfigurator.doSetLevel(loggerName, level, localLoggers);
 		
 		Map<String, LoggerConfig> serverLoggers = ((LoggerContext) LogManager.getContext(false)).getConfiguration().getLoggers();
 		
-		assertThat(new ArrayList<>(localLoggers))
+		assertThat(new ArrayList<>(localLoggers.values()))
 			.hasSize(1)
 			.satisfies(
 				logger -> {
@@ -129,15 +160,7 @@ class TestLog4j2LoggingConfigurator {
 				}
 			);
 		
-		assertThat(localOriginalLevels)
-			.hasSize(1)
-			.containsKey(loggerName)
-			.satisfies(
-				value -> {
-					LevelWrapper originalLevel = value.get(loggerName);
-					assertThat(originalLevel.name()).isEqualTo(levelOriginal);
-				}
-			);
+		assertThat(localLoggers.get(loggerName).getOriginalLevel().name()).isEqualTo(levelOriginal);
 	}
 
 	@Test
@@ -149,21 +172,16 @@ class TestLog4j2LoggingConfigurator {
 			loggerName, new LoggerConfig(loggerName, Level.valueOf(levelOriginal), true)
 		);
 		
-		Set<Logger> localLoggers = new HashSet<>();
-		Map<String, LevelWrapper> localOriginalLevels = new ConcurrentHashMap<>();
+		ManagedLoggerRegistry<Level, Void> localLoggers = new ManagedLoggerRegistry<>();
 		
-		log4j2LoggingConfigurator.doSetLevel(loggerName, level, localLoggers, localOriginalLevels);
+		log4j2LoggingConfigurator.doSetLevel(loggerName, level, localLoggers);
 		
 		Map<String, LoggerConfig> serverLoggers = ((LoggerContext) LogManager.getContext(false)).getConfiguration().getLoggers();
 		
-		assertThat(new ArrayList<>(localLoggers))
-			.isEmpty();
+		assertThat(localLoggers.isEmpty()).isTrue();
 			
 		assertThat(serverLoggers)
 			.isEmpty();
-		
-		assertThat(localOriginalLevels)
-			.isEmpty();
 	}
 
 	@Test
@@ -175,17 +193,14 @@ class TestLog4j2LoggingConfigurator {
 			loggerName, new LoggerConfig(loggerName, Level.valueOf(levelOriginal), true)
 		);
 		
-		Set<Logger> localLoggers = new HashSet<>();
-		localLoggers.add((Logger) LogManager.getLogger(loggerName));
-		Map<String, LevelWrapper> localOriginalLevels = new ConcurrentHashMap<>();
-		localOriginalLevels.put(loggerName, new LevelWrapper(Level.valueOf(levelOriginal)));
+		ManagedLoggerRegistry<Level, Void> localLoggers = new ManagedLoggerRegistry<>();
+		localLoggers.put(new ManagedLogger<>(loggerName, Level.DEBUG, Level.valueOf(levelOriginal), null));
 		
-		log4j2LoggingConfigurator.doSetLevel(loggerName, level, localLoggers, localOriginalLevels);
+		log4j2LoggingConfigurator.doSetLevel(loggerName, level, localLoggers);
 		
 		Map<String, LoggerConfig> serverLoggers = ((LoggerContext) LogManager.getContext(false)).getConfiguration().getLoggers();
 		
-		assertThat(new ArrayList<>(localLoggers))
-			.isEmpty();
+		assertThat(localLoggers.isEmpty()).isTrue();
 			
 		assertThat(serverLoggers)
 			.hasSize(1)
@@ -196,74 +211,126 @@ class TestLog4j2LoggingConfigurator {
 					assertThat(loggerConfig.getLevel().name()).isEqualTo(levelOriginal);
 				}
 			);
-		
-		assertThat(localOriginalLevels)
-			.isEmpty();
 	}
 
 	@Test
-	void test_doUnsetLevel() throws Exception {
-		log4j2LoggingConfigurator = Mockito.spy(log4j2LoggingConfigurator);
+	void test_doSetLevels() throws Exception {
+		String levelOriginal = "TRACE";
 		
-		Set<Logger> localLoggers = new HashSet<>();
-		Map<String, LevelWrapper> localOriginalLevels = new ConcurrentHashMap<>();
+		((LoggerContext) LogManager.getContext(false)).getConfiguration().addLogger(
+			"otherLoggerTest", new LoggerConfig("otherLoggerTest", Level.valueOf(levelOriginal), true)
+		);
+		
+		ManagedLoggerRegistry<Level, Void> localLoggers = new ManagedLoggerRegistry<>();
+		Map<String, String> levels = new LinkedHashMap<>();
+		levels.put(loggerName, "DEBUG");
+		levels.put("otherLoggerTest", "INFO");
+		
+		log4j2LoggingConfigurator.doSetLevels(levels, localLoggers);
+		
+		Map<String, LoggerConfig> serverLoggers = ((LoggerContext) LogManager.getContext(false)).getConfiguration().getLoggers();
+		
+		assertThat(localLoggers.values())
+			.hasSize(2)
+			.allSatisfy(logger -> assertThat(logger.getLevel().name()).isEqualTo(levels.get(logger.getName())));
 		
-		doReturn(null).when(log4j2LoggingConfigurator).doSetLevel(any(), any(), any(), any());
+		assertThat(serverLoggers).containsOnlyKeys(loggerName, "otherLoggerTest");
 		
-		log4j2LoggingConfigurator.doUnsetLevel(loggerName, localLoggers, localOriginalLevels);
+		assertThat(localLoggers.getSortedNames()).containsExactly(loggerName, "otherLoggerTest");
+		assertThat(localLoggers.get("otherLoggerTest").getOriginalLevel().name()).isEqualTo(levelOriginal);
 		
-		verify(log4j2LoggingConfigurator, times(1)).doSetLevel(loggerName, null, localLoggers, localOriginalLevels);
+		log4j2LoggingConfigurator.doUnsetLevels(List.of(loggerName, "otherLoggerTest"), localLoggers);
+		
+		assertThat(localLoggers.isEmpty()).isTrue();
+		assertThat(serverLoggers.get("otherLoggerTest").getLevel().name()).isEqualTo(levelOriginal);
 	}
 
 	@Test
-	void test_popOriginalLevel() throws Exception {
-		String levelOriginal = "TRACE";
+	void test_doSetLevels_invalidLevel() throws Exception {
+		ManagedLoggerRegistry<Level, Void> localLoggers = new ManagedLoggerRegistry<>();
+		Map<String, String> levels = new LinkedHashMap<>();
+		levels.put(loggerName, "DEBUG");
+		levels.put("otherLoggerTest", "NOT_A_LEVEL");
+		
+		assertThatThrownBy(() -> log4j2LoggingConfigurator.doSetLevels(levels, localLoggers))
+			.isInstanceOf(IllegalArgumentException.class);
+		
+		// nothing is applied
+		assertThat(localLoggers.isEmpty()).isTrue();
+		assertThat(((LoggerContext) LogManager.getContext(false)).getConfiguration().getLoggers()).isEmpty();
+	}
+
+	@Test
+	void test_parseLevels() throws Exception {
+		Map<String, String> result = log4j2LoggingConfigurator.parseLevels("# comment\n loggerTest = DEBUG \n\notherLoggerTest=TRACE");
 		
-		Map<String, LevelWrapper> localOriginalLevels = new ConcurrentHashMap<>();
-		localOriginalLevels.put(loggerName, new LevelWrapper(Level.valueOf(levelOriginal)));
+		assertThat(result).containsExactly(entry(loggerName, "DEBUG"), entry("otherLoggerTest", "TRACE"));
+		assertThatThrownBy(() -> log4j2LoggingConfigurator.parseLevels("loggerTest"))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void test_doUnsetLevel() throws Exception {
+		log4j2LoggingConfigurator = Mockito.spy(log4j2LoggingConfigurator);
 		
-		Level result = log4j2LoggingConfigurator.popOriginalLevel(loggerName, localOriginalLevels);
+		ManagedLoggerRegistry<Level, Void> localLoggers = new ManagedLoggerRegistry<>();
 		
-		assertThat(result.name()).isEqualTo(levelOriginal);
-		assertThat(localOriginalLevels).isEmpty();
+		doReturn(null).when(log4j2LoggingConfigurator).doSetLevel(any(), any(), any());
+		
+		log4j2LoggingConfigurator.doUnsetLevel(loggerName, localLoggers);
+		
+		verify(log4j2LoggingConfigurator, times(1)).doSetLevel(loggerName, null, localLoggers);
 	}
 
 	@Test
-	void test_popOriginalLevel_returnNull() throws Exception {
+	void test_doSetLevel_keepOriginalLevel() throws Exception {
 		String levelOriginal = "TRACE";
 		
-		Map<String, LevelWrapper> localOriginalLevels = new ConcurrentHashMap<>();
-		localOriginalLevels.put(loggerName, new LevelWrapper(Level.valueOf(levelOriginal)));
+		((LoggerContext) LogManager.getContext(false)).getConfiguration().addLogger(
+			loggerName, new LoggerConfig(loggerName, Level.valueOf(levelOriginal), true)
+		);
+		
+		ManagedLoggerRegistry<Level, Void> localLoggers = new ManagedLoggerRegistry<>();
+		
+		log4j2LoggingConfigurator.doSetLevel(loggerName, "DEBUG", localLoggers);
+		ManagedLogger<Level, Void> result = log4j2LoggingConfigurator.doSetLevel(loggerName, "INFO", localLoggers);
+		
+		assertThat(result.getLevel()).isEqualTo(Level.INFO);
+		assertThat(result.getOriginalLevel().name()).isEqualTo(levelOriginal);
+		assertThat(localLoggers.get(loggerName)).isSameAs(result);
 		
-		Level result = log4j2LoggingConfigurator.popOriginalLevel("loggerUnknown", localOriginalLevels);
+		log4j2LoggingConfigurator.doUnsetLevel(loggerName, localLoggers);
 		
-		assertThat(result).isNull();
-		assertThat(localOriginalLevels).hasSize(1);
+		assertThat(((LoggerContext) LogManager.getContext(false)).getConfiguration().getLoggers().get(loggerName).getLevel().name())
+			.isEqualTo(levelOriginal);
 	}
 
 	@Test
-	void test_getLogger() throws Exception {
-		Set<Logger> localLoggers = new HashSet<>();
-		localLoggers.add((Logger) LogManager.getLogger(loggerName));
-		localLoggers.add((Logger) LogManager.getLogger("otherLoggerTest"));
+	void test_doSetLevel_noLoggerMaterialization() throws Exception {
+		String prefix = "package.never.used";
+		LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
 		
-		Logger result = log4j2LoggingConfigurator.getLogger(loggerName, localLoggers);
+		log4j2LoggingConfigurator.doSetLevel(prefix, "DEBUG", new ManagedLoggerRegistry<>());
 		
-		assertThat(localLoggers).contains(result);
-		assertThat(result.getName()).isEqualTo(loggerName);
+		assertThat(ctx.hasLogger(prefix)).isFalse();
 	}
 
 	@Test
-	void test_getLogger_newLogger() throws Exception {
-		String loggerExpected = "loggerExpected";
-		
-		Set<Logger> localLoggers = new HashSet<>();
-		localLoggers.add((Logger) LogManager.getLogger(loggerName));
-		localLoggers.add((Logger) LogManager.getLogger("otherLoggerTest"));
-		
-		Logger result = log4j2LoggingConfigurator.getLogger(loggerExpected, localLoggers);
-		
-		assertThat(localLoggers).doesNotContain(result);
-		assertThat(result.getName()).isEqualTo(loggerExpected);
+	void test_doSetLevel_quietWindow_julBackendLevelCache() throws Exception {
+		Log4j2LoggingConfigurator delayedConfigurator = new Log4j2LoggingConfigurator(500, true);
+		try {
+			int generation = JulBackendLevelCache.generation();
+			
+			delayedConfigurator.doSetLevel(loggerName, "DEBUG", new ManagedLoggerRegistry<>());
+			
+			// loggers are not updated yet: cached levels are kept
+			assertThat(JulBackendLevelCache.generation()).isEqualTo(generation);
+			
+			delayedConfigurator.awaitReconfiguration();
+			
+			assertThat(JulBackendLevelCache.generation()).isGreaterThan(generation);
+		} finally {
+			delayedConfigurator.close();
+		}
 	}
 }
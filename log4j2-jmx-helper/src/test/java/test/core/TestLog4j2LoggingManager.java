@@ -1,35 +1,58 @@
 package test.core;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.function.Supplier;
+import java.util.logging.Handler;
+
+import javax.management.Notification;
 
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import igloo.julhelper.api.JulBridgeHandlerConfigurable;
 import igloo.julhelper.api.JulLoggingManager;
+import igloo.julhelper.util.EventSampler;
+import igloo.julhelper.util.ManagedLogger;
+import igloo.log4j2jmx.filter.EventRateCircuitBreakerFilter;
+import igloo.log4j2jmx.filter.SamplingFilter;
 import igloo.log4j2jmx.jmx.Log4j2LoggingConfigurator;
 import igloo.log4j2jmx.jmx.Log4j2LoggingManagerImpl;
+import igloo.log4j2jmx.jul.Log4j2BridgeHandler;
+import igloo.log4j2jmx.jul.Log4j2JulLevelPropagator;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -41,6 +64,15 @@ class TestLog4j2LoggingManager {
 	@Mock
 	private Log4j2LoggingConfigurator log4j2LoggingConfiguratorMock;
 
+	@Captor
+	private ArgumentCaptor<Collection<String>> namesCaptor;
+
+	@Captor
+	private ArgumentCaptor<Supplier<Handler>> bridgeHandlerSupplierCaptor;
+
+	@Captor
+	private ArgumentCaptor<Filter> filterCaptor;
+
 	private Log4j2LoggingManagerImpl log4j2LoggingManager;
 
 	private final String loggerName = "loggerTest";
@@ -68,37 +100,171 @@ class TestLog4j2LoggingManager {
 	@Test
 	void test_setLevel() throws Exception {
 		String levelExpected = "TRACE";
-		doReturn(LogManager.getLogger(loggerName)).when(log4j2LoggingConfiguratorMock).doSetLevel(any(), any(), any(), any());
+		doReturn(new ManagedLogger<>(loggerName, Level.TRACE, null, null)).when(log4j2LoggingConfiguratorMock).doSetLevel(any(), any(), any());
 		
 		log4j2LoggingManager.setLevel(loggerName, levelExpected);
 		
-		verify(log4j2LoggingConfiguratorMock, times(1)).doSetLevel(eq(loggerName), eq(levelExpected), any(), any());
+		verify(log4j2LoggingConfiguratorMock, times(1)).doSetLevel(eq(loggerName), eq(levelExpected), any());
 		verify(julLoggingManagerMock, times(1)).setLevelIfWellKnown(loggerName, levelExpected);
 	}
 
+	@Test
+	void test_setLevel_duration_expiry() throws Exception {
+		try {
+			log4j2LoggingManager.setLevel("loggerExpected", "DEBUG", 50);
+			log4j2LoggingManager.setLevel("loggerOtherExpected", "DEBUG", 80);
+			log4j2LoggingManager.setLevel("loggerPermanent", "DEBUG", 80);
+			log4j2LoggingManager.setLevel("loggerPermanent", "DEBUG");
+			
+			// overrides falling due together are restored by a single reconfiguration
+			verify(log4j2LoggingConfiguratorMock, timeout(5000).times(1)).doUnsetLevels(namesCaptor.capture(), any());
+			assertThat(namesCaptor.getValue()).containsExactlyInAnyOrder("loggerExpected", "loggerOtherExpected");
+			verify(julLoggingManagerMock, timeout(5000).times(1)).unsetLevels(any());
+		} finally {
+			log4j2LoggingManager.close();
+		}
+	}
+
+	@Test
+	void test_setLevelWithRateCeiling_trip() throws Exception {
+		// not spied: notification listeners are kept by the real instance
+		Log4j2LoggingManagerImpl manager = new Log4j2LoggingManagerImpl(julLoggingManagerMock, log4j2LoggingConfiguratorMock);
+		List<Notification> notifications = new ArrayList<>();
+		manager.addNotificationListener((n, handback) -> notifications.add(n), null, null);
+		long trips = manager.getCircuitBreakerTripCount();
+		try {
+			manager.setLevelWithRateCeiling(loggerName, "DEBUG", 10, 1);
+			
+			verify(log4j2LoggingConfiguratorMock, times(1)).doSetLevel(eq(loggerName), eq("DEBUG"), any());
+			verify(log4j2LoggingConfiguratorMock, times(1)).addFilter(eq(loggerName), filterCaptor.capture());
+			EventRateCircuitBreakerFilter filter = (EventRateCircuitBreakerFilter) filterCaptor.getValue();
+			long start = System.currentTimeMillis();
+			for (int i = 0; i < 300; i++) {
+				filter.filter(Log4jLogEvent.newBuilder().setLoggerName(loggerName).setTimeMillis(start + i * 10).build());
+			}
+			
+			verify(log4j2LoggingConfiguratorMock, timeout(5000).times(1)).doUnsetLevels(eq(List.of(loggerName)), any());
+			verify(log4j2LoggingConfiguratorMock, timeout(5000).times(1)).removeFilter(loggerName, filter);
+			// notification is sent before waiting for loggers update
+			verify(log4j2LoggingConfiguratorMock, timeout(5000).times(2)).awaitReconfiguration();
+			assertThat(manager.getCircuitBreakerTripCount()).isEqualTo(trips + 1);
+			assertThat(notifications).hasSize(1);
+			assertThat(notifications.get(0).getType()).isEqualTo(Log4j2LoggingManagerImpl.CIRCUIT_BREAKER_NOTIFICATION);
+			assertThat(notifications.get(0).getUserData()).isEqualTo(loggerName);
+		} finally {
+			manager.close();
+		}
+	}
+
+	@Test
+	void test_setLevelWithRateCeiling_replaced() throws Exception {
+		log4j2LoggingManager.setLevelWithRateCeiling(loggerName, "DEBUG", 10, 1);
+		verify(log4j2LoggingConfiguratorMock, times(1)).addFilter(eq(loggerName), filterCaptor.capture());
+		
+		log4j2LoggingManager.setLevel(loggerName, "DEBUG");
+		
+		verify(log4j2LoggingConfiguratorMock, times(1)).removeFilter(loggerName, filterCaptor.getValue());
+	}
+
+	@Test
+	void test_setSampledLevel() throws Exception {
+		SamplingFilter filter = new SamplingFilter(Level.INFO, new EventSampler(100, 50));
+		when(log4j2LoggingConfiguratorMock.doSetSampledLevel(eq(loggerName), eq("TRACE"), any(), any())).then(invocation -> {
+			log4j2LoggingManager.getLoggers().put(new ManagedLogger<>(loggerName, Level.TRACE, Level.INFO, null));
+			return filter;
+		});
+		
+		log4j2LoggingManager.setSampledLevel(loggerName, "TRACE", 100, 50);
+		
+		verify(julLoggingManagerMock, times(1)).setLevelIfWellKnown(loggerName, "TRACE");
+		assertThat(log4j2LoggingManager.getLoggerConfig())
+				.isEqualTo(loggerName + "=TRACE (original: INFO) (sampled 1/100, max 50 events/s)");
+		
+		log4j2LoggingManager.unsetLevel(loggerName);
+		
+		verify(log4j2LoggingConfiguratorMock, times(1)).removeFilter(loggerName, filter);
+	}
+
+	@Test
+	void test_setSampledLevel_invalid() throws Exception {
+		assertThatThrownBy(() -> log4j2LoggingManager.setSampledLevel(loggerName, "TRACE", 1, 0))
+				.isInstanceOf(IllegalArgumentException.class);
+		
+		verify(log4j2LoggingConfiguratorMock, never()).doSetSampledLevel(any(), any(), any(), any());
+	}
+
 	@Test
 	void test_unsetLevel() throws Exception {
 		log4j2LoggingManager.unsetLevel(loggerName);
 		
-		verify(log4j2LoggingConfiguratorMock, times(1)).doUnsetLevel(eq(loggerName), any(), any());
+		verify(log4j2LoggingConfiguratorMock, times(1)).doUnsetLevel(eq(loggerName), any());
 		verify(julLoggingManagerMock, times(1)).unsetLevel(loggerName);
 	}
 
+	@Test
+	void test_setLevels() throws Exception {
+		String levels = "loggerExpected=DEBUG\nloggerOtherExpected=TRACE";
+		when(log4j2LoggingConfiguratorMock.parseLevels(levels)).thenReturn(Map.of("loggerExpected", "DEBUG", "loggerOtherExpected", "TRACE"));
+		
+		log4j2LoggingManager.setLevels(levels);
+		
+		verify(log4j2LoggingConfiguratorMock, times(1)).doSetLevels(eq(Map.of("loggerExpected", "DEBUG", "loggerOtherExpected", "TRACE")), any());
+		verify(julLoggingManagerMock, times(1)).setLevelsIfWellKnown(levels);
+	}
+
+	@Test
+	void test_setLevels_julLevelRejected() throws Exception {
+		String levels = "loggerExpected=DEBUG";
+		when(log4j2LoggingConfiguratorMock.parseLevels(levels)).thenReturn(Map.of("loggerExpected", "DEBUG"));
+		doThrow(new IllegalArgumentException()).when(julLoggingManagerMock).setLevelsIfWellKnown(levels);
+		
+		assertThatThrownBy(() -> log4j2LoggingManager.setLevels(levels)).isInstanceOf(IllegalArgumentException.class);
+		
+		// Log4j2 side is left untouched
+		verify(log4j2LoggingConfiguratorMock, never()).doSetLevels(any(), any());
+	}
+
+	@Test
+	void test_unsetLevels() throws Exception {
+		log4j2LoggingManager.unsetLevels(" loggerExpected\n loggerOtherExpected ");
+		
+		verify(log4j2LoggingConfiguratorMock, times(1)).doUnsetLevels(eq(List.of("loggerExpected", "loggerOtherExpected")), any());
+		verify(julLoggingManagerMock, times(1)).unsetLevels("loggerExpected\nloggerOtherExpected");
+	}
+
 	@Test
 	void test_reset() throws Exception {
-		Logger loggerExpected = (Logger) LogManager.getLogger("loggerExpected");
-		Logger loggerOtherExpected = (Logger) LogManager.getLogger("loggerOtherExpected");
-		log4j2LoggingManager.getLoggers().add(loggerExpected);
-		log4j2LoggingManager.getLoggers().add(loggerOtherExpected);
+		ManagedLogger<Level, Void> loggerExpected = new ManagedLogger<>("loggerExpected", Level.ERROR, null, null);
+		ManagedLogger<Level, Void> loggerOtherExpected = new ManagedLogger<>("loggerOtherExpected", Level.ERROR, null, null);
+		log4j2LoggingManager.getLoggers().put(loggerExpected);
+		log4j2LoggingManager.getLoggers().put(loggerOtherExpected);
 		
 		log4j2LoggingManager.reset();
 		
-		verify(log4j2LoggingConfiguratorMock, times(2)).doUnsetLevel(any(), any(), any());
-		verify(log4j2LoggingConfiguratorMock, times(1)).doUnsetLevel(eq(loggerExpected.getName()), any(), any());
-		verify(log4j2LoggingConfiguratorMock, times(1)).doUnsetLevel(eq(loggerOtherExpected.getName()), any(), any());
-		verify(julLoggingManagerMock, times(2)).unsetLevel(any());
-		verify(julLoggingManagerMock, times(1)).unsetLevel(loggerExpected.getName());
-		verify(julLoggingManagerMock, times(1)).unsetLevel(loggerOtherExpected.getName());
+		verify(log4j2LoggingConfiguratorMock, times(1)).doUnsetLevels(namesCaptor.capture(), any());
+		verify(log4j2LoggingConfiguratorMock, never()).doUnsetLevel(any(), any());
+		assertThat(namesCaptor.getValue()).containsExactlyInAnyOrder(loggerExpected.getName(), loggerOtherExpected.getName());
+		verify(julLoggingManagerMock, times(1)).unsetLevels(any());
+		verify(julLoggingManagerMock, never()).unsetLevel(any());
+	}
+
+	@Test
+	void test_setLevel_julLevelPropagation() throws Exception {
+		Log4j2JulLevelPropagator propagator = mock(Log4j2JulLevelPropagator.class);
+		log4j2LoggingManager.setJulLevelPropagator(propagator);
+		
+		log4j2LoggingManager.setLevel(loggerName, "DEBUG");
+		log4j2LoggingManager.unsetLevel(loggerName);
+		
+		verify(propagator, times(2)).propagate();
+	}
+
+	@Test
+	void test_reset_empty() throws Exception {
+		log4j2LoggingManager.reset();
+		
+		verify(log4j2LoggingConfiguratorMock, never()).doUnsetLevels(any(), any());
+		verify(julLoggingManagerMock, never()).unsetLevels(any());
 	}
 
 	@Test
@@ -113,6 +279,13 @@ class TestLog4j2LoggingManager {
 		verify(julLoggingManagerMock, times(1)).getJulKnownLoggers();
 	}
 
+	@Test
+	void test_getJulBridgedSubtrees() throws Exception {
+		when(julLoggingManagerMock.getBridgedSubtrees()).thenReturn(Set.of("subtree"));
+		
+		assertThat(log4j2LoggingManager.getJulBridgedSubtrees()).containsExactly("subtree");
+	}
+
 	@Test
 	void test_getJulKnownLoggers_isNull() throws Exception {
 		Set<String> result = log4j2LoggingManager.getJulKnownLoggers();
@@ -142,6 +315,26 @@ class TestLog4j2LoggingManager {
 		assertThat(result).isTrue();
 	}
 
+	@Test
+	void test_directJulBridge() throws Exception {
+		JulLoggingManager julLoggingManager = mock(JulLoggingManager.class, withSettings().extraInterfaces(JulBridgeHandlerConfigurable.class));
+		
+		new Log4j2LoggingManagerImpl(julLoggingManager, log4j2LoggingConfiguratorMock, true);
+		
+		verify((JulBridgeHandlerConfigurable) julLoggingManager, times(1)).setBridgeHandlerSupplier(bridgeHandlerSupplierCaptor.capture());
+		assertThat(bridgeHandlerSupplierCaptor.getValue().get()).isInstanceOf(Log4j2BridgeHandler.class);
+	}
+
+	@Test
+	void test_directJulBridge_disabled() throws Exception {
+		JulLoggingManager julLoggingManager = mock(JulLoggingManager.class, withSettings().extraInterfaces(JulBridgeHandlerConfigurable.class));
+		
+		// opt-in
+		new Log4j2LoggingManagerImpl(julLoggingManager, log4j2LoggingConfiguratorMock);
+		
+		verify((JulBridgeHandlerConfigurable) julLoggingManager, never()).setBridgeHandlerSupplier(any());
+	}
+
 	@Test
 	void test_getJulLoggingManagementEnabled_isDisabled() throws Exception {
 		log4j2LoggingManager = new Log4j2LoggingManagerImpl();
@@ -153,11 +346,11 @@ class TestLog4j2LoggingManager {
 
 	@Test
 	void test_getLoggerNames() throws Exception {
-		Logger loggerExpected = (Logger) LogManager.getLogger("loggerExpected");
-		Logger loggerOtherExpected = (Logger) LogManager.getLogger("loggerOtherExpected");
+		ManagedLogger<Level, Void> loggerExpected = new ManagedLogger<>("loggerExpected", Level.ERROR, null, null);
+		ManagedLogger<Level, Void> loggerOtherExpected = new ManagedLogger<>("loggerOtherExpected", Level.ERROR, null, null);
 		
-		log4j2LoggingManager.getLoggers().add(loggerExpected);
-		log4j2LoggingManager.getLoggers().add(loggerOtherExpected);
+		log4j2LoggingManager.getLoggers().put(loggerExpected);
+		log4j2LoggingManager.getLoggers().put(loggerOtherExpected);
 		
 		List<String> results = log4j2LoggingManager.getLoggerNames();
 		
@@ -168,11 +361,11 @@ class TestLog4j2LoggingManager {
 
 	@Test
 	void test_getLoggerConfig() throws Exception {
-		Logger loggerExpected = (Logger) LogManager.getLogger("loggerExpected");
-		Logger loggerOtherExpected = (Logger) LogManager.getLogger("loggerOtherExpected");
+		ManagedLogger<Level, Void> loggerExpected = new ManagedLogger<>("loggerExpected", Level.ERROR, null, null);
+		ManagedLogger<Level, Void> loggerOtherExpected = new ManagedLogger<>("loggerOtherExpected", Level.ERROR, null, null);
 		
-		log4j2LoggingManager.getLoggers().add(loggerExpected);
-		log4j2LoggingManager.getLoggers().add(loggerOtherExpected);
+		log4j2LoggingManager.getLoggers().put(loggerExpected);
+		log4j2LoggingManager.getLoggers().put(loggerOtherExpected);
 		
 		String result = log4j2LoggingManager.getLoggerConfig();
 		
@@ -0,0 +1,94 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import igloo.log4j2jmx.jmx.Log4j2ReconfigurationScheduler;
+
+class TestLog4j2ReconfigurationScheduler {
+
+	private final AtomicInteger flushActions = new AtomicInteger();
+
+	private final List<Integer> flushes = new CopyOnWriteArrayList<>();
+
+	private Log4j2ReconfigurationScheduler scheduler;
+
+	private LoggerContext ctx;
+
+	@BeforeEach
+	void setUp() {
+		scheduler = new Log4j2ReconfigurationScheduler(100, 1000, (c, names) -> flushActions.incrementAndGet(), flushes::add);
+		ctx = (LoggerContext) LogManager.getContext(false);
+	}
+
+	@AfterEach
+	void clean() {
+		scheduler.close();
+	}
+
+	@Test
+	void test_schedule_coalesce() throws Exception {
+		CompletableFuture<Void> first = scheduler.schedule(ctx, List.of("logger1"));
+		CompletableFuture<Void> second = scheduler.schedule(ctx, List.of("logger1"));
+		CompletableFuture<Void> third = scheduler.schedule(ctx, List.of("logger2", "logger3"));
+		
+		assertThat(first).isSameAs(second).isSameAs(third);
+		assertThat(flushActions).hasValue(0);
+		
+		third.get(5, TimeUnit.SECONDS);
+		
+		assertThat(flushActions).hasValue(1);
+		assertThat(flushes).containsExactly(4);
+		assertThat(scheduler.getPendingFlush()).isCompleted();
+	}
+
+	@Test
+	void test_schedule_afterFlush() throws Exception {
+		scheduler.schedule(ctx, List.of("logger1")).get(5, TimeUnit.SECONDS);
+		scheduler.schedule(ctx, List.of("logger1")).get(5, TimeUnit.SECONDS);
+		
+		assertThat(flushActions).hasValue(2);
+		assertThat(flushes).containsExactly(1, 1);
+	}
+
+	@Test
+	void test_schedule_flushError() throws Exception {
+		Log4j2ReconfigurationScheduler failing = new Log4j2ReconfigurationScheduler(10, 100,
+				(c, names) -> { throw new AssertionError("flush"); }, flushes::add);
+		try {
+			CompletableFuture<Void> pending = failing.schedule(ctx, List.of("logger1"));
+			
+			// future is completed, so that waiting callers are released
+			assertThatThrownBy(() -> pending.get(5, TimeUnit.SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCauseInstanceOf(AssertionError.class);
+			assertThat(failing.getPendingFlush()).isCompleted();
+		} finally {
+			failing.close();
+		}
+	}
+
+	@Test
+	void test_close_flushPending() throws Exception {
+		CompletableFuture<Void> pending = scheduler.schedule(ctx, List.of("logger1", "logger2", "logger3"));
+		
+		scheduler.close();
+		
+		assertThat(pending).isCompleted();
+		assertThat(flushes).containsExactly(3);
+	}
+
+}
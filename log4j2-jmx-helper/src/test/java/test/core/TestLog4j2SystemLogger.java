@@ -0,0 +1,61 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.System.Logger;
+import java.util.Map.Entry;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import igloo.julhelper.systemlogger.IglooLoggerFinder;
+import igloo.log4j2jmx.jul.Log4j2SystemLogger;
+import igloo.log4j2jmx.jul.Log4j2SystemLoggerBackend;
+
+class TestLog4j2SystemLogger {
+
+	@AfterEach
+	void clean() {
+		LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
+		for (Entry<String, LoggerConfig> loggerConfig : ctx.getConfiguration().getLoggers().entrySet()) {
+			ctx.getConfiguration().removeLogger(loggerConfig.getKey());
+		};
+		ctx.updateLoggers();
+	}
+
+	@Test
+	void test_finder() {
+		// backend is discovered as a service
+		System.setProperty("igloo.julhelper.systemLoggerBackend", IglooLoggerFinder.BACKEND_AUTO);
+		IglooLoggerFinder finder;
+		try {
+			finder = new IglooLoggerFinder();
+		} finally {
+			System.clearProperty("igloo.julhelper.systemLoggerBackend");
+		}
+		
+		assertThat(finder.getBackend().getName()).isEqualTo(Log4j2SystemLoggerBackend.NAME);
+		assertThat(finder.getLogger("igloo.platform", getClass().getModule())).isInstanceOf(Log4j2SystemLogger.class);
+	}
+
+	@Test
+	void test_isLoggable() {
+		Logger logger = new Log4j2SystemLoggerBackend().getLogger("igloo.platform");
+		
+		assertThat(logger.isLoggable(Logger.Level.INFO)).isFalse();
+		assertThat(logger.isLoggable(Logger.Level.ERROR)).isTrue();
+		
+		LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
+		ctx.getConfiguration().addLogger("igloo.platform", new LoggerConfig("igloo.platform", Level.DEBUG, true));
+		ctx.updateLoggers();
+		
+		assertThat(logger.isLoggable(Logger.Level.DEBUG)).isTrue();
+		assertThat(logger.isLoggable(Logger.Level.TRACE)).isFalse();
+		assertThat(logger.isLoggable(Logger.Level.OFF)).isFalse();
+	}
+
+}
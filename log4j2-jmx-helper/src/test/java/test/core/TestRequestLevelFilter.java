@@ -0,0 +1,154 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Filter.Result;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.filter.CompositeFilter;
+import org.apache.logging.log4j.core.filter.ThresholdFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import igloo.log4j2jmx.filter.RequestLevelFilter;
+import igloo.log4j2jmx.servlet.AbstractLog4j2RequestLevelFilter;
+
+class TestRequestLevelFilter {
+
+	private AbstractLog4j2RequestLevelFilter requestLevelFilter;
+
+	@BeforeEach
+	void setUp() {
+		requestLevelFilter = new AbstractLog4j2RequestLevelFilter() {};
+	}
+
+	@AfterEach
+	void clean() {
+		requestLevelFilter.destroy();
+		ThreadContext.clearMap();
+	}
+
+	@Test
+	void test_enter_header() throws Exception {
+		requestLevelFilter.init(Map.of("log4j2RequestLevelAllowUntrusted", "true")::get);
+		// default configuration: root logger at ERROR
+		Logger logger = LogManager.getLogger("test.requestLevel.Service");
+		
+		assertThat(configuration().getFilter()).isInstanceOf(RequestLevelFilter.class);
+		assertThat(logger.isDebugEnabled()).isFalse();
+		try (RequestLevelFilter.Scope scope = requestLevelFilter.enter(Map.of(AbstractLog4j2RequestLevelFilter.DEFAULT_HEADER, "debug")::get)) {
+			assertThat(scope).isNotNull();
+			assertThat(ThreadContext.get(RequestLevelFilter.DEFAULT_KEY)).isEqualTo("DEBUG");
+			assertThat(logger.isDebugEnabled()).isTrue();
+			assertThat(logger.isTraceEnabled()).isFalse();
+			// other threads are not overridden
+			assertThat(CompletableFuture.supplyAsync(logger::isDebugEnabled).get()).isFalse();
+		}
+		
+		assertThat(ThreadContext.get(RequestLevelFilter.DEFAULT_KEY)).isNull();
+		assertThat(logger.isDebugEnabled()).isFalse();
+	}
+
+	@Test
+	void test_enter_noHeader() throws Exception {
+		requestLevelFilter.init(Map.of("log4j2RequestLevelAllowUntrusted", "true")::get);
+		
+		assertThat(requestLevelFilter.enter(Map.of("Other", "DEBUG")::get)).isNull();
+		assertThat(requestLevelFilter.enter(Map.of(AbstractLog4j2RequestLevelFilter.DEFAULT_HEADER, "verbose")::get)).isNull();
+	}
+
+	@Test
+	void test_enter_maxLevel() throws Exception {
+		requestLevelFilter.init(Map.of("log4j2RequestLevelAllowUntrusted", "true")::get);
+		
+		try (RequestLevelFilter.Scope scope = requestLevelFilter.enter(Map.of(AbstractLog4j2RequestLevelFilter.DEFAULT_HEADER, "TRACE")::get)) {
+			assertThat(scope).isNotNull();
+			assertThat(ThreadContext.get(RequestLevelFilter.DEFAULT_KEY)).isEqualTo("DEBUG");
+		}
+	}
+
+	@Test
+	void test_enter_untrusted() throws Exception {
+		// neither token nor allowUntrusted: header is ignored
+		requestLevelFilter.init(p -> null);
+		
+		assertThat(requestLevelFilter.enter(Map.of(AbstractLog4j2RequestLevelFilter.DEFAULT_HEADER, "DEBUG")::get)).isNull();
+	}
+
+	@Test
+	void test_enter_token() throws Exception {
+		requestLevelFilter.init(Map.of("log4j2RequestLevelHeader", "X-Debug", "log4j2RequestLevelToken", "s3cret")::get);
+		
+		assertThat(requestLevelFilter.enter(Map.of("X-Debug", "DEBUG")::get)).isNull();
+		assertThat(requestLevelFilter.enter(Map.of("X-Debug", "DEBUG wrong")::get)).isNull();
+		try (RequestLevelFilter.Scope scope = requestLevelFilter.enter(Map.of("X-Debug", "DEBUG s3cret")::get)) {
+			assertThat(scope).isNotNull();
+		}
+	}
+
+	@Test
+	void test_enter_contextKey() throws Exception {
+		requestLevelFilter.init(p -> null);
+		Logger logger = LogManager.getLogger("test.requestLevel.Service");
+		ThreadContext.put(RequestLevelFilter.DEFAULT_KEY, "INFO");
+		
+		try (RequestLevelFilter.Scope scope = requestLevelFilter.enter(h -> null)) {
+			assertThat(scope).isNotNull();
+			assertThat(logger.isInfoEnabled()).isTrue();
+			assertThat(logger.isDebugEnabled()).isFalse();
+		}
+		
+		// upstream value is restored
+		assertThat(ThreadContext.get(RequestLevelFilter.DEFAULT_KEY)).isEqualTo("INFO");
+	}
+
+	@Test
+	void test_init_installedLast() throws Exception {
+		Filter declared = ThresholdFilter.createFilter(Level.TRACE, Result.NEUTRAL, Result.NEUTRAL);
+		configuration().addFilter(declared);
+		try {
+			requestLevelFilter.init(p -> null);
+			
+			// ACCEPT result does not skip declared context-wide filters
+			Filter[] filters = ((CompositeFilter) configuration().getFilter()).getFiltersArray();
+			assertThat(filters).hasSize(2);
+			assertThat(filters[0]).isSameAs(declared);
+			assertThat(filters[1]).isInstanceOf(RequestLevelFilter.class);
+		} finally {
+			requestLevelFilter.destroy();
+			configuration().removeFilter(declared);
+		}
+	}
+
+	@Test
+	void test_destroy() throws Exception {
+		requestLevelFilter.init(p -> null);
+		
+		requestLevelFilter.destroy();
+		
+		assertThat(configuration().getFilter()).isNull();
+	}
+
+	@Test
+	void test_filter_noOverride() {
+		RequestLevelFilter filter = RequestLevelFilter.createFilter(null);
+		ThreadContext.put(RequestLevelFilter.DEFAULT_KEY, "DEBUG");
+		
+		// no open override: thread context is not read
+		assertThat(filter.filter(null, Level.DEBUG, null, "message")).isEqualTo(Result.NEUTRAL);
+	}
+
+	private static Configuration configuration() {
+		return ((LoggerContext) LogManager.getContext(false)).getConfiguration();
+	}
+
+}
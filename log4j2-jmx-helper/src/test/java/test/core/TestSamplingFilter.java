@@ -0,0 +1,80 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Filter.Result;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+
+import igloo.julhelper.util.EventSampler;
+import igloo.log4j2jmx.filter.SamplingFilter;
+
+class TestSamplingFilter {
+
+	@Test
+	void test_filter_ratio() {
+		SamplingFilter filter = new SamplingFilter(Level.INFO, new EventSampler(10, 0));
+		
+		int accepted = 0;
+		for (int i = 0; i < 10_000; i++) {
+			if (filter.filter(event(Level.DEBUG)) == Result.NEUTRAL) {
+				accepted++;
+			}
+		}
+		
+		// 1 in 10 on average
+		assertThat(accepted).isBetween(700, 1300);
+	}
+
+	@Test
+	void test_filter_cap() {
+		SamplingFilter filter = new SamplingFilter(Level.INFO, new EventSampler(1, 5));
+		
+		int accepted = 0;
+		for (int i = 0; i < 1_000; i++) {
+			if (filter.filter(event(Level.DEBUG)) == Result.NEUTRAL) {
+				accepted++;
+			}
+		}
+		
+		// a second boundary may be crossed during the loop
+		assertThat(accepted).isBetween(5, 10);
+	}
+
+	@Test
+	void test_filter_originalLevel() {
+		SamplingFilter filter = new SamplingFilter(Level.INFO, new EventSampler(1_000_000, 1));
+		
+		for (int i = 0; i < 100; i++) {
+			assertThat(filter.filter(event(Level.INFO))).isEqualTo(Result.NEUTRAL);
+			assertThat(filter.filter(event(Level.ERROR))).isEqualTo(Result.NEUTRAL);
+		}
+	}
+
+	@Test
+	void test_describe() {
+		assertThat(new EventSampler(100, 0).describe()).isEqualTo("sampled 1/100");
+		assertThat(new EventSampler(1, 50).describe()).isEqualTo("sampled max 50 events/s");
+		assertThat(new EventSampler(100, 50).describe()).isEqualTo("sampled 1/100, max 50 events/s");
+	}
+
+	@Test
+	void test_invalid() {
+		assertThatThrownBy(() -> new EventSampler(0, 10)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new EventSampler(10, -1)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new EventSampler(1, 0)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static LogEvent event(Level level) {
+		return Log4jLogEvent.newBuilder()
+				.setLoggerName("test.sampling")
+				.setLevel(level)
+				.setMessage(new SimpleMessage("message"))
+				.build();
+	}
+
+}
@@ -0,0 +1,55 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.junit.jupiter.api.Test;
+
+import igloo.log4j2jmx.jmx.Log4j2LoggingManagerImpl;
+import igloo.log4j2jmx.rewrite.ThrowableFingerprintRewritePolicy;
+
+class TestThrowableFingerprintRewritePolicy {
+
+	@Test
+	void test_rewrite() {
+		ThrowableFingerprintRewritePolicy policy = ThrowableFingerprintRewritePolicy.createPolicy(60_000, 16);
+		Log4j2LoggingManagerImpl manager = new Log4j2LoggingManagerImpl();
+		long hits = manager.getThrowableFingerprintHitCount();
+		long misses = manager.getThrowableFingerprintMissCount();
+		IllegalStateException exception = new IllegalStateException();
+		LogEvent noThrowable = event(null, 1_000);
+		
+		LogEvent unchanged = policy.rewrite(noThrowable);
+		LogEvent full = policy.rewrite(event(exception, 1_000));
+		LogEvent reference = policy.rewrite(event(exception, 2_000));
+		LogEvent nextWindow = policy.rewrite(event(exception, 61_000));
+		
+		assertThat(unchanged).isSameAs(noThrowable);
+		assertThat(full.getThrown()).isSameAs(exception);
+		assertThat(full.getMessage().getFormattedMessage()).matches("failure param \\[throwable #[0-9a-f]{8}\\]");
+		assertThat(full.getLoggerName()).isEqualTo("test.fingerprint");
+		assertThat(full.getLevel()).isEqualTo(Level.ERROR);
+		assertThat(reference.getThrown()).isNull();
+		assertThat(reference.getThrownProxy()).isNull();
+		assertThat(reference.getMessage().getFormattedMessage()).matches(
+				"failure param \\[java.lang.IllegalStateException #[0-9a-f]{8}, occurrence 2, stack trace omitted\\]");
+		assertThat(nextWindow.getThrown()).isSameAs(exception);
+		assertThat(manager.getThrowableFingerprintHitCount() - hits).isEqualTo(1);
+		assertThat(manager.getThrowableFingerprintMissCount() - misses).isEqualTo(2);
+		assertThat(manager.getThrowableFingerprintHitRate()).isPositive();
+	}
+
+	private static LogEvent event(Throwable thrown, long timeMillis) {
+		return Log4jLogEvent.newBuilder()
+				.setLoggerName("test.fingerprint")
+				.setLevel(Level.ERROR)
+				.setMessage(new ParameterizedMessage("failure {}", "param"))
+				.setThrown(thrown)
+				.setTimeMillis(timeMillis)
+				.build();
+	}
+
+}
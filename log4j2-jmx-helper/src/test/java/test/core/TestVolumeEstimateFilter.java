@@ -0,0 +1,102 @@
+package test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import igloo.log4j2jmx.filter.VolumeEstimateFilter;
+import igloo.log4j2jmx.jmx.Log4j2LoggingManagerImpl;
+import igloo.log4j2jmx.jmx.VolumeBudgetPolicy;
+
+class TestVolumeEstimateFilter {
+
+	private VolumeEstimateFilter filter;
+
+	private Log4j2LoggingManagerImpl manager;
+
+	@BeforeEach
+	void setUp() {
+		filter = VolumeEstimateFilter.createFilter("test.volume, test.other.Counted");
+		filter.start();
+		configuration().addFilter(filter);
+		manager = new Log4j2LoggingManagerImpl();
+		manager.resetVolumeEstimates();
+	}
+
+	@AfterEach
+	void clean() {
+		manager.reset();
+		configuration().removeFilter(filter);
+		filter.stop();
+	}
+
+	@Test
+	void test_estimateVolume() {
+		// default configuration: root logger at ERROR
+		Logger logger = LogManager.getLogger("test.volume.app.Service");
+		Logger ignored = LogManager.getLogger("test.other.Ignored");
+		for (int i = 0; i < 100; i++) {
+			logger.debug("debug {}", i);
+			ignored.debug("debug {}", i);
+		}
+		for (int i = 0; i < 50; i++) {
+			logger.info("info {} {}", i, i);
+			logger.error("error");
+		}
+		
+		double debugVolume = manager.estimateVolume("test.volume", "DEBUG");
+		double infoVolume = manager.estimateVolume("test.volume.app", "INFO");
+		
+		assertThat(VolumeEstimateFilter.isInstalled()).isTrue();
+		assertThat(debugVolume).isGreaterThan(infoVolume);
+		assertThat(infoVolume).isPositive();
+		assertThat(manager.estimateVolume("test.volume", "ERROR")).isZero();
+		assertThat(manager.estimateVolume("test.other", "TRACE")).isZero();
+		assertThat(manager.estimateVolume("test.volumex", "TRACE")).isZero();
+		
+		manager.resetVolumeEstimates();
+		
+		assertThat(manager.estimateVolume("", "ALL")).isZero();
+	}
+
+	@Test
+	void test_volumeBudget() {
+		Logger logger = LogManager.getLogger("test.volume.app.Service");
+		for (int i = 0; i < 1000; i++) {
+			logger.debug("debug {}", i);
+		}
+		manager.setVolumeBudget(1);
+		
+		// estimate is checked before any modification
+		manager.setVolumeBudgetPolicy(VolumeBudgetPolicy.REFUSE);
+		assertThatThrownBy(() -> manager.setLevel("test.volume", "DEBUG")).isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("above volume budget");
+		assertThat(manager.getLoggerNames()).isEmpty();
+		manager.setLevel("test.volume", "ERROR");
+		
+		manager.setVolumeBudgetPolicy(VolumeBudgetPolicy.WARN);
+		manager.setLevel("test.volume", "DEBUG");
+		
+		assertThat(logger.isDebugEnabled()).isTrue();
+		assertThat(manager.getLoggerNames()).containsExactly("test.volume");
+	}
+
+	@Test
+	void test_volumeBudgetPolicy_fromParameter() {
+		assertThat(VolumeBudgetPolicy.fromParameter(null)).isEqualTo(VolumeBudgetPolicy.WARN);
+		assertThat(VolumeBudgetPolicy.fromParameter(" refuse ")).isEqualTo(VolumeBudgetPolicy.REFUSE);
+		assertThatThrownBy(() -> VolumeBudgetPolicy.fromParameter("ignore")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static Configuration configuration() {
+		return ((LoggerContext) LogManager.getContext(false)).getConfiguration();
+	}
+
+}